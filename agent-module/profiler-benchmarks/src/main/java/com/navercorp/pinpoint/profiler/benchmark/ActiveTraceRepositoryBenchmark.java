@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHandle;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHistogram;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.id.LocalTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ReuseResponseTimeCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * register/purge of {@link ActiveTraceRepository} from concurrent request threads,
+ * and the active trace histogram collected while {@code activeTraceSize} traces are running.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActiveTraceRepositoryBenchmark {
+
+    private static final int TRACE_ROOT_SIZE = 1024;
+
+    @Param({"0", "1000"})
+    private int activeTraceSize;
+
+    private final AtomicLong transactionId = new AtomicLong();
+    private ActiveTraceRepository repository;
+    private final List<ActiveTraceHandle> activeTraces = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final ResponseTimeCollector responseTimeCollector = new ReuseResponseTimeCollector();
+        this.repository = new DefaultActiveTraceRepository(responseTimeCollector);
+
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < activeTraceSize; i++) {
+            // spread over the histogram buckets
+            final long startTime = now - (i * 10L) % 10_000;
+            activeTraces.add(repository.register(newTraceRoot(startTime)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        final long now = System.currentTimeMillis();
+        for (ActiveTraceHandle activeTrace : activeTraces) {
+            activeTrace.purge(now);
+        }
+        activeTraces.clear();
+    }
+
+    private LocalTraceRoot newTraceRoot(long startTime) {
+        return TraceRoot.local("agentId", startTime, transactionId.incrementAndGet());
+    }
+
+    @State(Scope.Thread)
+    public static class RequestThread {
+        private final LocalTraceRoot[] traceRoots = new LocalTraceRoot[TRACE_ROOT_SIZE];
+        private int index;
+
+        @Setup(Level.Iteration)
+        public void setup(ActiveTraceRepositoryBenchmark benchmark) {
+            final long now = System.currentTimeMillis();
+            for (int i = 0; i < traceRoots.length; i++) {
+                traceRoots[i] = benchmark.newTraceRoot(now);
+            }
+        }
+
+        LocalTraceRoot next() {
+            return traceRoots[index++ & (TRACE_ROOT_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ActiveTraceHandle registerAndPurge(RequestThread requestThread) {
+        final LocalTraceRoot traceRoot = requestThread.next();
+        final ActiveTraceHandle handle = repository.register(traceRoot);
+        handle.purge(traceRoot.getTraceStartTime() + 10);
+        return handle;
+    }
+
+    @Benchmark
+    public ActiveTraceHistogram histogram() {
+        return repository.getActiveTraceHistogram(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.profiler.context.CallStack;
+import com.navercorp.pinpoint.profiler.context.DefaultCallStack;
+import com.navercorp.pinpoint.profiler.context.DepthCompressCallStack;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * push/pop of {@link DefaultCallStack} and {@link DepthCompressCallStack}, {@code depth} frames per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DefaultCallStackBenchmark {
+
+    @Param({"DEFAULT", "DEPTH_COMPRESS"})
+    private String type;
+
+    @Param({"1", "16", "64"})
+    private int depth;
+
+    private CallStack<SpanEvent> callStack;
+    private SpanEvent[] frames;
+
+    @Setup
+    public void setup() {
+        final SpanEventFactory factory = new SpanEventFactory();
+        if ("DEPTH_COMPRESS".equals(type)) {
+            this.callStack = new DepthCompressCallStack<>(factory, 64);
+        } else {
+            this.callStack = new DefaultCallStack<>(factory, 64);
+        }
+        this.frames = new SpanEvent[depth];
+        for (int i = 0; i < depth; i++) {
+            frames[i] = new SpanEvent();
+        }
+    }
+
+    @Benchmark
+    public SpanEvent pushPop() {
+        for (SpanEvent frame : frames) {
+            callStack.push(frame);
+        }
+        SpanEvent spanEvent = null;
+        for (int i = 0; i < frames.length; i++) {
+            spanEvent = callStack.pop();
+        }
+        return spanEvent;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.profiler.context.AsyncContextFactory;
+import com.navercorp.pinpoint.profiler.context.CallStack;
+import com.navercorp.pinpoint.profiler.context.CallStackFactoryV1;
+import com.navercorp.pinpoint.profiler.context.CloseListener;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanFactory;
+import com.navercorp.pinpoint.profiler.context.DefaultTrace;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SqlCountService;
+import com.navercorp.pinpoint.profiler.context.errorhandler.BypassErrorHandler;
+import com.navercorp.pinpoint.profiler.context.exception.ExceptionRecorder;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.recorder.DefaultSpanRecorder;
+import com.navercorp.pinpoint.profiler.context.recorder.WrappedSpanEventRecorder;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * traceBlockBegin/traceBlockEnd of {@link DefaultTrace}, nested {@code depth} times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DefaultTraceBenchmark {
+
+    @Param({"1", "8"})
+    private int depth;
+
+    private long transactionId;
+    private Trace trace;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final long startTime = System.currentTimeMillis();
+        final long transactionId = this.transactionId++;
+        final TraceRoot traceRoot = TraceRoot.remote(new DefaultTraceId("agentId", startTime, transactionId), "agentId", startTime, transactionId);
+
+        final CallStack<SpanEvent> callStack = new CallStackFactoryV1(64, -1, 1000).newCallStack();
+        final Span span = new DefaultSpanFactory().newSpan(traceRoot);
+
+        final StringMetaDataService stringMetaDataService = stub(StringMetaDataService.class);
+        final SqlMetaDataService sqlMetaDataService = stub(SqlMetaDataService.class);
+        final ExceptionRecorder exceptionRecorder = stub(ExceptionRecorder.class);
+        final BypassErrorHandler errorHandler = new BypassErrorHandler();
+
+        final SpanRecorder spanRecorder = new DefaultSpanRecorder(span, stringMetaDataService, sqlMetaDataService, errorHandler, exceptionRecorder);
+        final WrappedSpanEventRecorder wrappedSpanEventRecorder = new WrappedSpanEventRecorder(traceRoot, stub(AsyncContextFactory.class),
+                stringMetaDataService, sqlMetaDataService, errorHandler, exceptionRecorder, stub(SqlCountService.class));
+
+        this.trace = new DefaultTrace(span, callStack, new NoopStorage(), spanRecorder, wrappedSpanEventRecorder, CloseListener.EMPTY);
+    }
+
+    private static <T> T stub(Class<T> type) {
+        // stub only mocks do not record invocations
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        trace.close();
+    }
+
+    @Benchmark
+    public SpanEventRecorder traceBlock() {
+        SpanEventRecorder recorder = null;
+        for (int i = 0; i < depth; i++) {
+            recorder = trace.traceBlockBegin();
+        }
+        for (int i = 0; i < depth; i++) {
+            trace.traceBlockEnd();
+        }
+        return recorder;
+    }
+
+    private static class NoopStorage implements Storage {
+        @Override
+        public void store(SpanEvent spanEvent) {
+        }
+
+        @Override
+        public void store(Span span) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.profiler.sender.grpc.SenderQueueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound queue of the gRPC data senders, {@link SenderQueueType}.
+ * Application threads offer while the single sender thread polls, as in GrpcDataSender.
+ * A full queue rejects the offer, so the offer and poll rates are reported separately.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class SenderQueueBenchmark {
+
+    private static final Object MESSAGE = new Object();
+
+    @Param({"RING_BUFFER", "LINKED"})
+    private SenderQueueType queueType;
+
+    private BlockingQueue<Object> queue;
+
+    @Setup
+    public void setup() {
+        this.queue = queueType.newQueue(1024 * 5);
+    }
+
+    @Benchmark
+    @Group("senderQueue")
+    @GroupThreads(4)
+    public boolean offer() {
+        return queue.offer(MESSAGE);
+    }
+
+    @Benchmark
+    @Group("senderQueue")
+    @GroupThreads(1)
+    public Object poll() {
+        return queue.poll();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.annotation.Annotations;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanAutoUriGetter;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.AnnotationValueMapperImpl;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapper;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapperImpl;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span to PSpan conversion through {@link SpanMessageMapper}.
+ * <p>
+ * {@code converter} is the {@link GrpcSpanMessageConverter} path, reusing the builders and mapping span events into nested builders.
+ * {@code builtSpanEvents} is the previous path, adding built PSpanEvents that {@link GrpcSpanProcessorV2#postProcess} turns back into builders.
+ * Run with {@code -prof gc} to compare the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpanMessageMapperBenchmark {
+
+    private static final short APPLICATION_SERVICE_TYPE = 1000;
+
+    @Param({"10", "100"})
+    private int spanEventSize;
+
+    private final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor = new GrpcSpanProcessorV2();
+    private final SpanMessageMapper mapper = new SpanMessageMapperImpl(new AnnotationValueMapperImpl(), new SpanAutoUriGetter());
+    private final GrpcSpanMessageConverter converter = new GrpcSpanMessageConverter("agentId", APPLICATION_SERVICE_TYPE, spanProcessor, mapper);
+
+    private Span span;
+
+    @Setup
+    public void setup() {
+        final TraceRoot traceRoot = TraceRoot.remote(new DefaultTraceId("agentId", 1, 0), "agentId", 0, 3);
+        final Span span = new Span(traceRoot);
+        span.setStartTime(1000);
+        span.setElapsedTime(100);
+        span.setApiId(10);
+
+        final List<SpanEvent> spanEventList = new ArrayList<>(spanEventSize);
+        for (int i = 0; i < spanEventSize; i++) {
+            final SpanEvent spanEvent = new SpanEvent();
+            spanEvent.setSequence(i);
+            spanEvent.setDepth(i % 3 + 1);
+            spanEvent.setStartTime(1000 + i);
+            spanEvent.setElapsedTime(1);
+            spanEvent.setServiceType((short) 5011);
+            spanEvent.setApiId(i);
+            spanEvent.setEndPoint("localhost:8080");
+            final List<Annotation<?>> annotations = new ArrayList<>();
+            annotations.add(Annotations.of(12, "value-" + i));
+            spanEvent.setAnnotations(annotations);
+            spanEventList.add(spanEvent);
+        }
+        span.setSpanEventList(spanEventList);
+        this.span = span;
+    }
+
+    @Benchmark
+    public GeneratedMessageV3 converter() {
+        return converter.toMessage(span);
+    }
+
+    @Benchmark
+    public PSpan builtSpanEvents() {
+        final PSpan.Builder builder = PSpan.newBuilder();
+        spanProcessor.preProcess(span, builder);
+        mapper.map(span, APPLICATION_SERVICE_TYPE, builder);
+        for (SpanEvent spanEvent : span.getSpanEventList()) {
+            builder.addSpanEvent(mapper.map(spanEvent));
+        }
+        spanProcessor.postProcess(span, builder);
+        return builder.build();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.common.profiler.sql.DefaultSqlNormalizer;
+import com.navercorp.pinpoint.common.profiler.sql.NormalizedSql;
+import com.navercorp.pinpoint.common.profiler.sql.SqlNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultSqlNormalizer#normalizeSql(String)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SqlNormalizerBenchmark {
+
+    @Param({"SELECT", "INSERT", "COMMENT"})
+    private String query;
+
+    private final SqlNormalizer sqlNormalizer = new DefaultSqlNormalizer();
+    private String sql;
+
+    @Setup
+    public void setup() {
+        switch (query) {
+            case "INSERT":
+                this.sql = "INSERT INTO orders (id, user_id, status, amount, created_at) VALUES (1234567, 42, 'PAID', 19.99, '2024-01-01 00:00:00')";
+                break;
+            case "COMMENT":
+                this.sql = "/* order lookup */ SELECT o.id, o.amount FROM orders o -- by user\n WHERE o.user_id = 42 AND o.status IN ('PAID', 'SHIPPED')";
+                break;
+            default:
+                this.sql = "SELECT u.id, u.name, o.amount FROM users u JOIN orders o ON u.id = o.user_id WHERE u.id = 42 AND o.amount > 10.5 AND u.name = 'pinpoint' LIMIT 100";
+        }
+    }
+
+    @Benchmark
+    public NormalizedSql normalizeSql() {
+        return sqlNormalizer.normalizeSql(sql);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.profiler.context.storage.AsyncQueueingUriStatStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AsyncQueueingUriStatStorage#store} from concurrent request threads.
+ * Stores beyond the queue capacity are rejected, which is part of the measured cost under overload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class UriStatStorageBenchmark {
+
+    private static final String[] URIS = {"/api/users/{id}", "/api/orders", "/api/orders/{id}/items", "/health"};
+
+    private AsyncQueueingUriStatStorage storage;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.storage = new AsyncQueueingUriStatStorage(true, 5120, 1000, "Pinpoint-uri-stat-benchmark");
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        while (storage.poll() != null) {
+            // discard completed data
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        storage.close();
+    }
+
+    @State(Scope.Thread)
+    public static class RequestThread {
+        private int index;
+
+        String nextUri() {
+            return URIS[index++ & (URIS.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public void store(RequestThread requestThread) {
+        final long endTime = System.currentTimeMillis();
+        storage.store(requestThread.nextUri(), "GET", true, endTime - 10, endTime);
+    }
+}
@@ -39,6 +39,14 @@ public class DefaultActiveTraceHistogram implements ActiveTraceHistogram {
         this.histogramSchema = Objects.requireNonNull(histogramSchema, "histogramSchema");
     }
 
+    public DefaultActiveTraceHistogram(HistogramSchema histogramSchema, int fastCount, int normalCount, int slowCount, int verySlowCount) {
+        this.histogramSchema = Objects.requireNonNull(histogramSchema, "histogramSchema");
+        this.fastCount = fastCount;
+        this.normalCount = normalCount;
+        this.slowCount = slowCount;
+        this.verySlowCount = verySlowCount;
+    }
+
     public void increment(HistogramSlot slot) {
         Objects.requireNonNull(slot, "slot");
 
@@ -16,24 +16,30 @@
 
 package com.navercorp.pinpoint.profiler.context.active;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
 import com.navercorp.pinpoint.common.trace.HistogramSchema;
-import com.navercorp.pinpoint.common.trace.HistogramSlot;
 import com.navercorp.pinpoint.profiler.context.id.LocalTraceRoot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Active traces are kept in lock striped, slot indexed arrays, and counted by start time in a {@link StartTimeWheel},
+ * so the histogram does not walk the active traces.
+ * <p>
+ * When a stripe is full, the trace with the oldest start time is evicted to make room for the new one,
+ * so the newest, live requests stay visible in the histogram and the thread dump.
+ * An evicted trace leaves the histogram, its response time is still recorded when it is purged.
+ * <p>
+ * The wheel is incremented before the started count and decremented after it,
+ * so a concurrent histogram never counts a trace in the started total without its wheel slot (as very slow).
+ *
  * @author Taejin Koo
  */
 public class DefaultActiveTraceRepository implements ActiveTraceRepository {
@@ -41,16 +47,24 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
     // memory leak defense threshold
     private static final int DEFAULT_MAX_ACTIVE_TRACE_SIZE = 1024 * 10;
 
+    private static final int STRIPE_COUNT = 16;
+
+    // traces started after the histogram time, because of the clock resolution
+    private static final int FUTURE_MARGIN = 1000;
+
     private final Logger logger = LogManager.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
-    // oom safe cache
-    private final ConcurrentMap<ActiveTraceHandle, ActiveTrace> activeTraceInfoMap;
+    private final Stripe[] stripes;
+    private final StartTimeWheel startTimeWheel = new StartTimeWheel();
 
     private final ResponseTimeCollector responseTimeCollector;
 
     private final HistogramSchema histogramSchema = BaseHistogramSchema.NORMAL_SCHEMA;
     private final ActiveTraceHistogram emptyActiveTraceHistogram = new EmptyActiveTraceHistogram(histogramSchema);
+    private final int fastTime = histogramSchema.getFastSlot().getSlotTime();
+    private final int normalTime = histogramSchema.getNormalSlot().getSlotTime();
+    private final int slowTime = histogramSchema.getSlowSlot().getSlotTime();
 
     public DefaultActiveTraceRepository(ResponseTimeCollector responseTimeCollector) {
         this(responseTimeCollector, DEFAULT_MAX_ACTIVE_TRACE_SIZE);
@@ -58,31 +72,24 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
 
     public DefaultActiveTraceRepository(ResponseTimeCollector responseTimeCollector, int maxActiveTraceSize) {
         this.responseTimeCollector = Objects.requireNonNull(responseTimeCollector, "responseTimeCollector");
-        this.activeTraceInfoMap = createCache(maxActiveTraceSize);
-    }
-
-    private ConcurrentMap<ActiveTraceHandle, ActiveTrace> createCache(int maxActiveTraceSize) {
-        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
-        cacheBuilder.initialCapacity(maxActiveTraceSize);
-        cacheBuilder.maximumSize(maxActiveTraceSize);
-
-        final Cache<ActiveTraceHandle, ActiveTrace> localCache = cacheBuilder.build();
-        return localCache.asMap();
-    }
-
-
-    private void remove(ActiveTraceHandle key, long purgeTime) {
-        if (isDebug) {
-            logger.debug("remove ActiveTrace key:{}", key);
+        if (maxActiveTraceSize <= 0) {
+            throw new IllegalArgumentException("maxActiveTraceSize must be positive");
         }
-        final ActiveTrace activeTrace = this.activeTraceInfoMap.remove(key);
-        if (activeTrace != null) {
-            final long responseTime = purgeTime - activeTrace.getStartTime();
-            responseTimeCollector.add(responseTime);
+        if (slowTime + FUTURE_MARGIN >= StartTimeWheel.SPAN) {
+            throw new IllegalStateException("slowTime out of StartTimeWheel span:" + slowTime);
         }
-    }
 
+        final int stripeCapacity = (maxActiveTraceSize + STRIPE_COUNT - 1) / STRIPE_COUNT;
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
 
+    private Stripe getStripe(long id) {
+        final int hash = (int) (id ^ (id >>> 32));
+        return stripes[hash & (STRIPE_COUNT - 1)];
+    }
 
     @Override
     public ActiveTraceHandle register(LocalTraceRoot localTraceRoot) {
@@ -90,33 +97,65 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
             logger.debug("register ActiveTrace key:{}", localTraceRoot);
         }
 
-        final long id = localTraceRoot.getLocalTransactionId();
+        final ActiveTrace activeTrace = new DefaultActiveTrace(localTraceRoot);
+        final long startTime = activeTrace.getStartTime();
 
-        final ActiveTraceHandle handle = new DefaultActiveTraceHandle(id);
-
-        this.activeTraceInfoMap.computeIfAbsent(handle, activeTraceHandle -> new DefaultActiveTrace(localTraceRoot));
+        if (isStarted(startTime)) {
+            startTimeWheel.increment(startTime);
+        }
+        final Stripe stripe = getStripe(activeTrace.getId());
+        final int slot = stripe.add(activeTrace);
+        return new DefaultActiveTraceHandle(stripe, slot, activeTrace);
+    }
 
-        return handle;
+    private void remove(DefaultActiveTraceHandle handle, long purgeTime) {
+        if (isDebug) {
+            logger.debug("remove ActiveTrace key:{}", handle);
+        }
+        if (handle.purged) {
+            return;
+        }
+        handle.purged = true;
+
+        final ActiveTrace activeTrace = handle.activeTrace;
+        final long startTime = activeTrace.getStartTime();
+        // false if evicted, the wheel slot has already been released
+        if (handle.stripe.remove(handle.slot, activeTrace)) {
+            if (isStarted(startTime)) {
+                startTimeWheel.decrement(startTime);
+            }
+        }
+        final long responseTime = purgeTime - startTime;
+        responseTimeCollector.add(responseTime);
     }
 
+    private List<ActiveTrace> collectStarted() {
+        List<ActiveTrace> collectData = null;
+        for (Stripe stripe : stripes) {
+            if (stripe.startedCount == 0) {
+                continue;
+            }
+            if (collectData == null) {
+                collectData = new ArrayList<>();
+            }
+            stripe.collectStarted(collectData);
+        }
+        if (collectData == null) {
+            return Collections.emptyList();
+        }
+        return collectData;
+    }
 
     // @ThreadSafe
     @Override
     public List<ActiveTraceSnapshot> snapshot() {
-        if (this.activeTraceInfoMap.isEmpty()) {
+        final List<ActiveTrace> activeTraceList = collectStarted();
+        if (activeTraceList.isEmpty()) {
             return Collections.emptyList();
         }
-        final Collection<ActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
-        final List<ActiveTraceSnapshot> collectData = new ArrayList<>(activeTraceCollection.size());
-
-        for (ActiveTrace trace : activeTraceCollection) {
-            final long startTime = trace.getStartTime();
-            // not started
-            if (!isStarted(startTime)) {
-                continue;
-            }
-            final ActiveTraceSnapshot snapshot = trace.snapshot();
-            collectData.add(snapshot);
+        final List<ActiveTraceSnapshot> collectData = new ArrayList<>(activeTraceList.size());
+        for (ActiveTrace trace : activeTraceList) {
+            collectData.add(trace.snapshot());
         }
         if (isDebug) {
             logger.debug("activeTraceSnapshot size:{}", collectData.size());
@@ -124,22 +163,15 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
         return collectData;
     }
 
-
     // @ThreadSafe
     @Override
     public List<Long> getThreadIdList() {
-        if (this.activeTraceInfoMap.isEmpty()) {
+        final List<ActiveTrace> activeTraceList = collectStarted();
+        if (activeTraceList.isEmpty()) {
             return Collections.emptyList();
         }
-        final Collection<ActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
-        final List<Long> collectData = new ArrayList<>(activeTraceCollection.size());
-
-        for (ActiveTrace trace : activeTraceCollection) {
-            final long startTime = trace.getStartTime();
-            // not started
-            if (!isStarted(startTime)) {
-                continue;
-            }
+        final List<Long> collectData = new ArrayList<>(activeTraceList.size());
+        for (ActiveTrace trace : activeTraceList) {
             final ActiveTraceSnapshot snapshot = trace.snapshot();
             collectData.add(snapshot.getThreadId());
         }
@@ -152,62 +184,141 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
     // @ThreadSafe
     @Override
     public ActiveTraceHistogram getActiveTraceHistogram(long currentTime) {
-        if (this.activeTraceInfoMap.isEmpty()) {
+        int startedCount = 0;
+        for (Stripe stripe : stripes) {
+            startedCount += stripe.startedCount;
+        }
+        if (startedCount == 0) {
             return emptyActiveTraceHistogram;
         }
-        final Collection<ActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
 
+        final int fastCount = startTimeWheel.count(currentTime - fastTime, currentTime + FUTURE_MARGIN);
+        final int normalCount = startTimeWheel.count(currentTime - normalTime, currentTime - fastTime - 1);
+        final int slowCount = startTimeWheel.count(currentTime - slowTime, currentTime - normalTime - 1);
+        // everything older, including the traces older than the wheel span
+        final int verySlowCount = Math.max(0, startedCount - fastCount - normalCount - slowCount);
 
-        final DefaultActiveTraceHistogram histogram = new DefaultActiveTraceHistogram(histogramSchema);
-        for (ActiveTrace activeTraceInfo : activeTraceCollection) {
-            final long startTime = activeTraceInfo.getStartTime();
-            if (!isStarted(startTime)) {
-                continue;
-            }
-            final int elapsedTime = (int) (currentTime - startTime);
-            final HistogramSlot slot = histogramSchema.findHistogramSlot(elapsedTime, false);
-            histogram.increment(slot);
-        }
-
-        return histogram;
+        return new DefaultActiveTraceHistogram(histogramSchema, fastCount, normalCount, slowCount, verySlowCount);
     }
 
-    private boolean isStarted(long startTime) {
+    private static boolean isStarted(long startTime) {
         return startTime > 0;
     }
 
 
-    private class DefaultActiveTraceHandle implements ActiveTraceHandle {
-        private final long id;
+    private class Stripe {
+        private static final int INITIAL_CAPACITY = 16;
 
-        DefaultActiveTraceHandle(long id) {
-            this.id = id;
+        private final int capacity;
+
+        private ActiveTrace[] traces = new ActiveTrace[INITIAL_CAPACITY];
+        // stack of released slots below the high water mark
+        private int[] freeSlots = new int[INITIAL_CAPACITY];
+        private int freeCount;
+        private int highWaterMark;
+
+        private volatile int startedCount;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
         }
 
-        @Override
-        public void purge(long purgeTime) {
-            remove(this, purgeTime);
+        private synchronized int add(ActiveTrace activeTrace) {
+            final int slot;
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                if (highWaterMark == capacity) {
+                    slot = evictOldest();
+                    traces[slot] = activeTrace;
+                    incrementStarted(activeTrace);
+                    return slot;
+                }
+                if (highWaterMark == traces.length) {
+                    final int newLength = Math.min(capacity, traces.length * 2);
+                    traces = Arrays.copyOf(traces, newLength);
+                    freeSlots = Arrays.copyOf(freeSlots, newLength);
+                }
+                slot = highWaterMark++;
+            }
+            traces[slot] = activeTrace;
+            incrementStarted(activeTrace);
+            return slot;
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
+        private void incrementStarted(ActiveTrace activeTrace) {
+            if (isStarted(activeTrace.getStartTime())) {
+                startedCount++;
+            }
+        }
 
-            DefaultActiveTraceHandle that = (DefaultActiveTraceHandle) o;
+        // full : every slot below the high water mark is in use
+        private int evictOldest() {
+            int oldest = 0;
+            for (int i = 1; i < highWaterMark; i++) {
+                if (traces[i].getStartTime() < traces[oldest].getStartTime()) {
+                    oldest = i;
+                }
+            }
+            final ActiveTrace evicted = traces[oldest];
+            traces[oldest] = null;
+            final long startTime = evicted.getStartTime();
+            if (isStarted(startTime)) {
+                startedCount--;
+                startTimeWheel.decrement(startTime);
+            }
+            if (isDebug) {
+                logger.debug("ActiveTrace stripe full, evict id:{} startTime:{}", evicted.getId(), startTime);
+            }
+            return oldest;
+        }
 
-            return id == that.id;
+        private synchronized boolean remove(int slot, ActiveTrace activeTrace) {
+            if (traces[slot] != activeTrace) {
+                // evicted
+                return false;
+            }
+            traces[slot] = null;
+            freeSlots[freeCount++] = slot;
+            if (isStarted(activeTrace.getStartTime())) {
+                startedCount--;
+            }
+            return true;
+        }
+
+        private synchronized void collectStarted(List<ActiveTrace> collectData) {
+            for (int i = 0; i < highWaterMark; i++) {
+                final ActiveTrace activeTrace = traces[i];
+                if (activeTrace != null && isStarted(activeTrace.getStartTime())) {
+                    collectData.add(activeTrace);
+                }
+            }
+        }
+    }
+
+    private class DefaultActiveTraceHandle implements ActiveTraceHandle {
+        private final Stripe stripe;
+        private final int slot;
+        private final ActiveTrace activeTrace;
+        // purged by the thread owning the trace
+        private boolean purged;
+
+        DefaultActiveTraceHandle(Stripe stripe, int slot, ActiveTrace activeTrace) {
+            this.stripe = stripe;
+            this.slot = slot;
+            this.activeTrace = activeTrace;
         }
 
         @Override
-        public int hashCode() {
-            return (int) (id ^ (id >>> 32));
+        public void purge(long purgeTime) {
+            remove(this, purgeTime);
         }
 
         @Override
         public String toString() {
             return "DefaultActiveTraceHandle{" +
-                    "id=" + id +
+                    "id=" + activeTrace.getId() +
+                    ", slot=" + slot +
                     '}';
         }
     }
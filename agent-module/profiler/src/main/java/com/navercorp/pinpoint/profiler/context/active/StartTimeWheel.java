@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts active traces by start time in a two level timing wheel, one slot per millisecond and one block per 64 milliseconds.
+ * <p>
+ * Each entry packs the start time it counts together with the count.
+ * An entry left over from a start time one wheel span ago is reset by the next start time that maps to it,
+ * and is never counted for a range it does not belong to, so the wheel never needs to be advanced.
+ * Counting a range of start times reads O(range / 64 + 128) entries, regardless of the number of active traces.
+ * <p>
+ * Traces older than the wheel span are not counted.
+ */
+final class StartTimeWheel {
+
+    // 8192ms
+    static final int SPAN = 1 << 13;
+
+    private static final int SLOT_MASK = SPAN - 1;
+
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = (SPAN >> BLOCK_SHIFT) - 1;
+
+    // up to a million traces per entry
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots = new AtomicLongArray(SPAN);
+    private final AtomicLongArray blocks = new AtomicLongArray(SPAN >> BLOCK_SHIFT);
+
+    void increment(long startTime) {
+        increment(slots, startTime, SLOT_MASK);
+        increment(blocks, startTime >> BLOCK_SHIFT, BLOCK_MASK);
+    }
+
+    void decrement(long startTime) {
+        decrement(slots, startTime, SLOT_MASK);
+        decrement(blocks, startTime >> BLOCK_SHIFT, BLOCK_MASK);
+    }
+
+    /**
+     * @return number of traces started between from and to, inclusive
+     */
+    int count(long from, long to) {
+        long count = 0;
+        long time = from;
+        while (time <= to && (time & (BLOCK_SIZE - 1)) != 0) {
+            count += get(slots, time, SLOT_MASK);
+            time++;
+        }
+        while (time + BLOCK_SIZE - 1 <= to) {
+            count += get(blocks, time >> BLOCK_SHIFT, BLOCK_MASK);
+            time += BLOCK_SIZE;
+        }
+        while (time <= to) {
+            count += get(slots, time, SLOT_MASK);
+            time++;
+        }
+        return (int) count;
+    }
+
+    private static void increment(AtomicLongArray wheel, long time, int mask) {
+        final int index = (int) (time & mask);
+        while (true) {
+            final long entry = wheel.get(index);
+            final long entryTime = entry >>> COUNT_BITS;
+            final long update;
+            if (entryTime == time) {
+                if ((entry & COUNT_MASK) == COUNT_MASK) {
+                    return;
+                }
+                update = entry + 1;
+            } else if (entryTime < time) {
+                update = (time << COUNT_BITS) | 1;
+            } else {
+                // taken over by a later start time, older than the wheel span
+                return;
+            }
+            if (wheel.compareAndSet(index, entry, update)) {
+                return;
+            }
+        }
+    }
+
+    private static void decrement(AtomicLongArray wheel, long time, int mask) {
+        final int index = (int) (time & mask);
+        while (true) {
+            final long entry = wheel.get(index);
+            if ((entry >>> COUNT_BITS) != time || (entry & COUNT_MASK) == 0) {
+                return;
+            }
+            if (wheel.compareAndSet(index, entry, entry - 1)) {
+                return;
+            }
+        }
+    }
+
+    private static long get(AtomicLongArray wheel, long time, int mask) {
+        final long entry = wheel.get((int) (time & mask));
+        if ((entry >>> COUNT_BITS) != time) {
+            return 0;
+        }
+        return entry & COUNT_MASK;
+    }
+}
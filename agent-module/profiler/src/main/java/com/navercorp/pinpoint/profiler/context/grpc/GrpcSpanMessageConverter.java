@@ -47,7 +47,9 @@ public class GrpcSpanMessageConverter implements MessageConverter<SpanType, Gene
 
     private final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor;
     // WARNING not thread safe
-
+    // reused by the sender thread, cleared before each conversion
+    private final PSpan.Builder pSpanBuilder = PSpan.newBuilder();
+    private final PSpanChunk.Builder pSpanChunkBuilder = PSpanChunk.newBuilder();
 
     private final SpanMessageMapper mapper;
 
@@ -75,21 +77,24 @@ public class GrpcSpanMessageConverter implements MessageConverter<SpanType, Gene
 
     @VisibleForTesting
     PSpan buildPSpan(Span span) {
-        final PSpan.Builder pSpan = PSpan.newBuilder();
+        final PSpan.Builder pSpan = this.pSpanBuilder;
+        pSpan.clear();
 
         this.spanProcessor.preProcess(span, pSpan);
         mapper.map(span, applicationServiceType, pSpan);
+        mapper.mapSpanEvents(span.getSpanEventList(), pSpan);
         this.spanProcessor.postProcess(span, pSpan);
         return pSpan.build();
-
     }
 
     @VisibleForTesting
     PSpanChunk buildPSpanChunk(SpanChunk spanChunk) {
-        final PSpanChunk.Builder pSpanChunk = PSpanChunk.newBuilder();
+        final PSpanChunk.Builder pSpanChunk = this.pSpanChunkBuilder;
+        pSpanChunk.clear();
 
         this.spanProcessor.preProcess(spanChunk, pSpanChunk);
         mapper.map(spanChunk, applicationServiceType, pSpanChunk);
+        mapper.mapSpanEvents(spanChunk.getSpanEventList(), pSpanChunk);
         this.spanProcessor.postProcess(spanChunk, pSpanChunk);
         return pSpanChunk.build();
     }
@@ -77,6 +77,13 @@ public class GrpcTransportConfig {
     public static final boolean DEFAULT_NETTY_SYSTEM_PROPERTY_TRY_REFLECTIVE_SET_ACCESSIBLE = true;
 
     private static final boolean DEFAULT_ENABLE_SPAN_STATS_LOGGING = false;
+    private static final boolean DEFAULT_ENABLE_STAT_STATS_LOGGING = false;
+    private static final String DEFAULT_SENDER_QUEUE_TYPE = "RING_BUFFER";
+
+    private static final boolean DEFAULT_SPAN_BATCH_ENABLE = false;
+    private static final int DEFAULT_SPAN_BATCH_SIZE = 64;
+    private static final long DEFAULT_SPAN_BATCH_LINGER_MILLIS = 10;
+    private static final int DEFAULT_SPAN_BATCH_MAX_SPAN_EVENT_SIZE = 512;
 
     private ClientOption agentClientOption = new ClientOption();
     private ClientOption metadataClientOption = new ClientOption();
@@ -140,6 +147,11 @@ public class GrpcTransportConfig {
     private int statSenderExecutorQueueSize = DEFAULT_STAT_SENDER_EXECUTOR_QUEUE_SIZE;
     @Value("${profiler.transport.grpc.stat.sender.channel.executor.queue.size}")
     private int statChannelExecutorQueueSize = DEFAULT_STAT_CHANNEL_EXECUTOR_QUEUE_SIZE;
+    // LINKED, RING_BUFFER
+    @Value("${profiler.transport.grpc.stat.sender.queue.type}")
+    private String statSenderQueueType = DEFAULT_SENDER_QUEUE_TYPE;
+    @Value("${profiler.transport.grpc.stat.stats.logging.enable}")
+    private boolean statEnableStatLogging = DEFAULT_ENABLE_STAT_STATS_LOGGING;
 
     @Value("${profiler.transport.grpc.span.collector.ip}")
     private String spanCollectorIp = DEFAULT_IP;
@@ -153,6 +165,9 @@ public class GrpcTransportConfig {
     private int spanSenderExecutorQueueSize = DEFAULT_SPAN_SENDER_EXECUTOR_QUEUE_SIZE;
     @Value("${profiler.transport.grpc.span.sender.channel.executor.queue.size}")
     private int spanChannelExecutorQueueSize = DEFAULT_SPAN_CHANNEL_EXECUTOR_QUEUE_SIZE;
+    // LINKED, RING_BUFFER
+    @Value("${profiler.transport.grpc.span.sender.queue.type}")
+    private String spanSenderQueueType = DEFAULT_SENDER_QUEUE_TYPE;
     @Value("${profiler.transport.grpc.span.stats.logging.enable}")
     private boolean spanEnableStatLogging = DEFAULT_ENABLE_SPAN_STATS_LOGGING;
 
@@ -167,6 +182,15 @@ public class GrpcTransportConfig {
     @Value("${profiler.transport.grpc.span.sender.rpc.age.max.millis}")
     private long spanRpcMaxAgeMillis = DEFAULT_RPC_MAX_AGE_MILLIS;
 
+    @Value("${profiler.transport.grpc.span.sender.batch.enable}")
+    private boolean spanBatchEnable = DEFAULT_SPAN_BATCH_ENABLE;
+    @Value("${profiler.transport.grpc.span.sender.batch.size}")
+    private int spanBatchSize = DEFAULT_SPAN_BATCH_SIZE;
+    @Value("${profiler.transport.grpc.span.sender.batch.linger.millis}")
+    private long spanBatchLingerMillis = DEFAULT_SPAN_BATCH_LINGER_MILLIS;
+    @Value("${profiler.transport.grpc.span.sender.batch.spanevent.size.max}")
+    private int spanBatchMaxSpanEventSize = DEFAULT_SPAN_BATCH_MAX_SPAN_EVENT_SIZE;
+
     @Value("${profiler.transport.grpc.loadbalancer.renew.period.millis}")
     private long renewTransportPeriodMillis = DEFAULT_RENEW_TRANSPORT_PERIOD_MILLIS;
 
@@ -306,6 +330,14 @@ public class GrpcTransportConfig {
         return statSenderExecutorQueueSize;
     }
 
+    public String getSpanSenderQueueType() {
+        return spanSenderQueueType;
+    }
+
+    public String getStatSenderQueueType() {
+        return statSenderQueueType;
+    }
+
     public int getSpanDiscardLogRateLimit() {
         return spanDiscardLogRateLimit;
     }
@@ -326,6 +358,22 @@ public class GrpcTransportConfig {
         return spanRpcMaxAgeMillis;
     }
 
+    public boolean isSpanBatchEnable() {
+        return spanBatchEnable;
+    }
+
+    public int getSpanBatchSize() {
+        return spanBatchSize;
+    }
+
+    public long getSpanBatchLingerMillis() {
+        return spanBatchLingerMillis;
+    }
+
+    public int getSpanBatchMaxSpanEventSize() {
+        return spanBatchMaxSpanEventSize;
+    }
+
     public long getRenewTransportPeriodMillis() {
         return renewTransportPeriodMillis;
     }
@@ -414,6 +462,10 @@ public class GrpcTransportConfig {
         return spanEnableStatLogging;
     }
 
+    public boolean isStatEnableStatLogging() {
+        return statEnableStatLogging;
+    }
+
     public boolean isNettySystemPropertyTryReflectiveSetAccessible() {
         return nettySystemPropertyTryReflectiveSetAccessible;
     }
@@ -442,6 +494,8 @@ public class GrpcTransportConfig {
         sb.append(", metadataSenderExecutorQueueSize=").append(metadataSenderExecutorQueueSize);
         sb.append(", spanSenderExecutorQueueSize=").append(spanSenderExecutorQueueSize);
         sb.append(", statSenderExecutorQueueSize=").append(statSenderExecutorQueueSize);
+        sb.append(", spanSenderQueueType=").append(spanSenderQueueType);
+        sb.append(", statSenderQueueType=").append(statSenderQueueType);
         sb.append(", agentChannelExecutorQueueSize=").append(agentChannelExecutorQueueSize);
         sb.append(", metadataChannelExecutorQueueSize=").append(metadataChannelExecutorQueueSize);
         sb.append(", statChannelExecutorQueueSize=").append(statChannelExecutorQueueSize);
@@ -455,6 +509,10 @@ public class GrpcTransportConfig {
         sb.append(", nettySystemPropertyTryReflectiveSetAccessible=").append(nettySystemPropertyTryReflectiveSetAccessible);
         sb.append(", spanDiscardLogRateLimit=").append(spanDiscardLogRateLimit);
         sb.append(", spanDiscardMaxPendingThreshold=").append(spanDiscardMaxPendingThreshold);
+        sb.append(", spanBatchEnable=").append(spanBatchEnable);
+        sb.append(", spanBatchSize=").append(spanBatchSize);
+        sb.append(", spanBatchLingerMillis=").append(spanBatchLingerMillis);
+        sb.append(", spanBatchMaxSpanEventSize=").append(spanBatchMaxSpanEventSize);
         sb.append('}');
         return sb.toString();
     }
@@ -45,6 +45,8 @@ import org.mapstruct.Named;
 import org.mapstruct.NullValueCheckStrategy;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
+import java.util.List;
+
 /**
  * @author intr3p1d
  */
@@ -85,7 +87,8 @@ public interface SpanMessageMapper {
 
             @Mapping(source = "span.annotations", target = "annotation"),
 
-            @Mapping(source = "span.spanEventList", target = "spanEvent")
+            // mapped into the nested builders by mapSpanEvents()
+            @Mapping(target = "spanEvent", ignore = true)
     })
     void map(Span span, short applicationServiceType, @MappingTarget PSpan.Builder builder);
 
@@ -105,7 +108,7 @@ public interface SpanMessageMapper {
             @Mapping(source = "spanChunk.traceRoot.traceId.spanId", target = "spanId"),
             @Mapping(source = "spanChunk.traceRoot.shared.endPoint", target = "endPoint"),
 
-            @Mapping(source = "spanChunk.spanEventList", target = "spanEvent"),
+            @Mapping(target = "spanEvent", ignore = true),
 
             @Mapping(target = "keyTime", ignore = true),
             @Mapping(target = "localAsyncId", ignore = true),
@@ -139,6 +142,39 @@ public interface SpanMessageMapper {
     })
     PSpanEvent map(SpanEvent spanEvent);
 
+    @Mappings({
+            @Mapping(source = "elapsedTime", target = "endElapsed"),
+            @Mapping(source = "depth", target = "depth", conditionQualifiedBy = MapperUtils.IsNotMinusOne.class),
+            @Mapping(source = ".", target = "nextEvent"),
+            @Mapping(source = "asyncIdObject.asyncId", target = "asyncEvent"),
+            @Mapping(source = "annotations", target = "annotation"),
+
+            @Mapping(target = "startElapsed", ignore = true)
+    })
+    void map(SpanEvent spanEvent, @MappingTarget PSpanEvent.Builder builder);
+
+    /**
+     * Maps the SpanEvents directly into the nested builders of the span message.
+     * Adding built PSpanEvents and calling getSpanEventBuilderList() later would convert every event back to a builder.
+     */
+    default void mapSpanEvents(List<SpanEvent> spanEventList, @MappingTarget PSpan.Builder builder) {
+        if (spanEventList == null) {
+            return;
+        }
+        for (SpanEvent spanEvent : spanEventList) {
+            map(spanEvent, builder.addSpanEventBuilder());
+        }
+    }
+
+    default void mapSpanEvents(List<SpanEvent> spanEventList, @MappingTarget PSpanChunk.Builder builder) {
+        if (spanEventList == null) {
+            return;
+        }
+        for (SpanEvent spanEvent : spanEventList) {
+            map(spanEvent, builder.addSpanEventBuilder());
+        }
+    }
+
 
     @Mappings({
             @Mapping(source = ".", target = "messageEvent"),
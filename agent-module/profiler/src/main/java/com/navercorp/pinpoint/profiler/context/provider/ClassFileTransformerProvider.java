@@ -29,6 +29,8 @@ import com.navercorp.pinpoint.profiler.instrument.classloading.DebugTransformerC
 import com.navercorp.pinpoint.profiler.instrument.config.InstrumentConfig;
 import com.navercorp.pinpoint.profiler.instrument.config.InstrumentMatcherCacheConfig;
 import com.navercorp.pinpoint.profiler.instrument.transformer.BypassLambdaClassFileResolver;
+import com.navercorp.pinpoint.profiler.instrument.transformer.ClassMetadataCache;
+import com.navercorp.pinpoint.profiler.instrument.transformer.ClassMetadataPreScanner;
 import com.navercorp.pinpoint.profiler.instrument.transformer.DebugTransformer;
 import com.navercorp.pinpoint.profiler.instrument.transformer.DebugTransformerRegistry;
 import com.navercorp.pinpoint.profiler.instrument.transformer.DefaultLambdaClassFileResolver;
@@ -141,11 +143,28 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
 
     private TransformerRegistry newDefaultTransformerRegistry(List<MatchableClassFileTransformer> matchableClassFileTransformerList) {
         if (this.instrumentMatcherCacheConfig.isInstrumentMatcherEnable()) {
-            return new MatchableTransformerRegistry(this.instrumentMatcherCacheConfig, matchableClassFileTransformerList);
+            final ClassMetadataCache classMetadataCache = newClassMetadataCache();
+            return new MatchableTransformerRegistry(this.instrumentMatcherCacheConfig, matchableClassFileTransformerList, classMetadataCache);
         }
         return new DefaultTransformerRegistry(matchableClassFileTransformerList);
     }
 
+    private ClassMetadataCache newClassMetadataCache() {
+        final int metadataCacheSize = this.instrumentMatcherCacheConfig.getMetadataCacheSize();
+        if (metadataCacheSize <= 0) {
+            return null;
+        }
+        final ClassMetadataCache classMetadataCache = new ClassMetadataCache(metadataCacheSize);
+
+        final List<String> preScanJars = StringUtils.tokenizeToStringList(this.instrumentMatcherCacheConfig.getPreScanJars(), ",");
+        if (!preScanJars.isEmpty()) {
+            logger.info("Start class metadata pre-scan. jars:{}", preScanJars);
+            final ClassMetadataPreScanner preScanner = new ClassMetadataPreScanner(classMetadataCache, ClassLoader.getSystemClassLoader(), preScanJars);
+            preScanner.start();
+        }
+        return classMetadataCache;
+    }
+
     private List<MatchableClassFileTransformer> getMatchableTransformers(PluginContextLoadResult pluginContexts) {
         Objects.requireNonNull(pluginContexts, "pluginContexts");
 
@@ -34,12 +34,15 @@ import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.grpc.config.GrpcTransportConfig;
 import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.ReconnectExecutor;
+import com.navercorp.pinpoint.profiler.sender.grpc.SenderQueueType;
 import com.navercorp.pinpoint.profiler.sender.grpc.SimpleStreamState;
+import com.navercorp.pinpoint.profiler.sender.grpc.SpanBatchOption;
 import com.navercorp.pinpoint.profiler.sender.grpc.SpanGrpcDataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.StreamState;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzReporter;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzScheduledReporter;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.DefaultChannelzReporter;
+import com.navercorp.pinpoint.profiler.sender.grpc.metric.SenderQueueReporter;
 import io.grpc.ClientInterceptor;
 import io.grpc.NameResolverProvider;
 import io.netty.handler.ssl.SslContext;
@@ -98,6 +101,8 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
         final int collectorPort = grpcTransportConfig.getSpanCollectorPort();
         final boolean sslEnable = grpcTransportConfig.isSpanSslEnable();
         final int senderExecutorQueueSize = grpcTransportConfig.getSpanSenderExecutorQueueSize();
+        final SenderQueueType queueType = SenderQueueType.of(grpcTransportConfig.getSpanSenderQueueType(), SenderQueueType.RING_BUFFER);
+        logger.info("span sender queueType:{}", queueType);
 
         final ChannelFactoryBuilder channelFactoryBuilder = newChannelFactoryBuilder(sslEnable);
         final ChannelFactory channelFactory = channelFactoryBuilder.build();
@@ -108,9 +113,12 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
         final StreamState failState = new SimpleStreamState(spanClientOption.getLimitCount(), spanClientOption.getLimitTime());
         logger.info("failState:{}", failState);
 
+        final SpanBatchOption batchOption = newBatchOption();
+        logger.info("batchOption:{}", batchOption);
+
         final SpanGrpcDataSender spanGrpcDataSender = new SpanGrpcDataSender(collectorIp, collectorPort,
-                senderExecutorQueueSize, messageConverter,
-                reconnectExecutor, channelFactory, failState, grpcTransportConfig.getSpanRpcMaxAgeMillis());
+                senderExecutorQueueSize, queueType, messageConverter,
+                reconnectExecutor, channelFactory, failState, grpcTransportConfig.getSpanRpcMaxAgeMillis(), batchOption);
 
         if (grpcTransportConfig.isSpanEnableStatLogging()) {
             registerChannelzReporter(spanGrpcDataSender);
@@ -119,9 +127,18 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
         return spanGrpcDataSender;
     }
 
+    private SpanBatchOption newBatchOption() {
+        if (!grpcTransportConfig.isSpanBatchEnable()) {
+            return SpanBatchOption.disable();
+        }
+        return new SpanBatchOption(true, grpcTransportConfig.getSpanBatchSize(),
+                grpcTransportConfig.getSpanBatchLingerMillis(), grpcTransportConfig.getSpanBatchMaxSpanEventSize());
+    }
+
     private void registerChannelzReporter(SpanGrpcDataSender spanGrpcDataSender) {
         final Logger statChannelLogger = LogManager.getLogger(SPAN_CHANNELZ);
-        ChannelzReporter statReporter = new DefaultChannelzReporter(statChannelLogger);
+        ChannelzReporter channelzReporter = new DefaultChannelzReporter(statChannelLogger);
+        ChannelzReporter statReporter = new SenderQueueReporter(statChannelLogger, spanGrpcDataSender, channelzReporter);
         reporter.registerRootChannel(spanGrpcDataSender.getLogId(), statReporter);
     }
 
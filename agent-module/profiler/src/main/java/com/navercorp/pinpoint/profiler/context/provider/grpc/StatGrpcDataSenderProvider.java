@@ -31,7 +31,12 @@ import com.navercorp.pinpoint.profiler.context.grpc.config.GrpcTransportConfig;
 import com.navercorp.pinpoint.profiler.context.module.StatDataSender;
 import com.navercorp.pinpoint.profiler.monitor.metric.MetricType;
 import com.navercorp.pinpoint.profiler.sender.grpc.ReconnectExecutor;
+import com.navercorp.pinpoint.profiler.sender.grpc.SenderQueueType;
 import com.navercorp.pinpoint.profiler.sender.grpc.StatGrpcDataSender;
+import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzReporter;
+import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzScheduledReporter;
+import com.navercorp.pinpoint.profiler.sender.grpc.metric.DefaultChannelzReporter;
+import com.navercorp.pinpoint.profiler.sender.grpc.metric.SenderQueueReporter;
 import io.grpc.ClientInterceptor;
 import io.grpc.NameResolverProvider;
 import io.netty.handler.ssl.SslContext;
@@ -53,22 +58,27 @@ public class StatGrpcDataSenderProvider implements Provider<DataSender<MetricTyp
     private final HeaderFactory headerFactory;
     private final Provider<ReconnectExecutor> reconnectExecutorProvider;
     private final NameResolverProvider nameResolverProvider;
+    private final ChannelzScheduledReporter reporter;
 
     private List<ClientInterceptor> clientInterceptorList;
     private final Provider<SslContext> sslContextProvider;
 
+    public static final String STAT_CHANNELZ = "com.navercorp.pinpoint.metric.StatChannel";
+
     @Inject
     public StatGrpcDataSenderProvider(GrpcTransportConfig grpcTransportConfig,
                                       @StatDataSender MessageConverter<MetricType, GeneratedMessageV3> messageConverter,
                                       HeaderFactory headerFactory,
                                       Provider<ReconnectExecutor> reconnectExecutor,
                                       NameResolverProvider nameResolverProvider,
+                                      ChannelzScheduledReporter reporter,
                                       Provider<SslContext> sslContextProvider) {
         this.grpcTransportConfig = Objects.requireNonNull(grpcTransportConfig, "profilerConfig");
         this.messageConverter = Objects.requireNonNull(messageConverter, "messageConverter");
         this.headerFactory = Objects.requireNonNull(headerFactory, "agentHeaderFactory");
         this.reconnectExecutorProvider = Objects.requireNonNull(reconnectExecutor, "reconnectExecutorProvider");
         this.nameResolverProvider = Objects.requireNonNull(nameResolverProvider, "nameResolverProvider");
+        this.reporter = Objects.requireNonNull(reporter, "reporter");
         this.sslContextProvider = Objects.requireNonNull(sslContextProvider, "sslContextProvider");
     }
 
@@ -83,13 +93,28 @@ public class StatGrpcDataSenderProvider implements Provider<DataSender<MetricTyp
         final int collectorPort = grpcTransportConfig.getStatCollectorPort();
         final boolean sslEnable = grpcTransportConfig.isStatSslEnable();
         final int senderExecutorQueueSize = grpcTransportConfig.getStatSenderExecutorQueueSize();
+        final SenderQueueType queueType = SenderQueueType.of(grpcTransportConfig.getStatSenderQueueType(), SenderQueueType.RING_BUFFER);
+        logger.info("stat sender queueType:{}", queueType);
 
         final ChannelFactoryBuilder channelFactoryBuilder = newChannelFactoryBuilder(sslEnable);
         final ChannelFactory channelFactory = channelFactoryBuilder.build();
 
         // not singleton
         ReconnectExecutor reconnectExecutor = reconnectExecutorProvider.get();
-        return new StatGrpcDataSender(collectorIp, collectorPort, senderExecutorQueueSize, messageConverter, reconnectExecutor, channelFactory);
+        final StatGrpcDataSender statGrpcDataSender = new StatGrpcDataSender(collectorIp, collectorPort,
+                senderExecutorQueueSize, queueType, messageConverter, reconnectExecutor, channelFactory);
+
+        if (grpcTransportConfig.isStatEnableStatLogging()) {
+            registerChannelzReporter(statGrpcDataSender);
+        }
+        return statGrpcDataSender;
+    }
+
+    private void registerChannelzReporter(StatGrpcDataSender statGrpcDataSender) {
+        final Logger statChannelLogger = LogManager.getLogger(STAT_CHANNELZ);
+        ChannelzReporter channelzReporter = new DefaultChannelzReporter(statChannelLogger);
+        ChannelzReporter statReporter = new SenderQueueReporter(statChannelLogger, statGrpcDataSender, channelzReporter);
+        reporter.registerRootChannel(statGrpcDataSender.getLogId(), statReporter);
     }
 
     private ChannelFactoryBuilder newChannelFactoryBuilder(boolean sslEnable) {
@@ -40,6 +40,13 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
     @Value("${profiler.instrument.matcher.super.cache.entry.size}")
     private int superCacheEntrySize = 4;
 
+    // disabled if 0
+    @Value("${profiler.instrument.matcher.metadata.cache.size}")
+    private int metadataCacheSize = 0;
+    // comma separated jar paths read in the background to warm the metadata cache
+    @Value("${profiler.instrument.matcher.prescan.jars}")
+    private String preScanJars = "";
+
     @Override
     public boolean isInstrumentMatcherEnable() {
         return instrumentMatcherEnable;
@@ -103,6 +110,24 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
         this.superCacheEntrySize = superCacheEntrySize;
     }
 
+    @Override
+    public int getMetadataCacheSize() {
+        return metadataCacheSize;
+    }
+
+    public void setMetadataCacheSize(int metadataCacheSize) {
+        this.metadataCacheSize = metadataCacheSize;
+    }
+
+    @Override
+    public String getPreScanJars() {
+        return preScanJars;
+    }
+
+    public void setPreScanJars(String preScanJars) {
+        this.preScanJars = preScanJars;
+    }
+
     @Override
     public String toString() {
         return "DefaultInstrumentMatcherCacheConfig{" +
@@ -112,6 +137,8 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
                 ", annotationCacheEntrySize=" + annotationCacheEntrySize +
                 ", superCacheSize=" + superCacheSize +
                 ", superCacheEntrySize=" + superCacheEntrySize +
+                ", metadataCacheSize=" + metadataCacheSize +
+                ", preScanJars='" + preScanJars + '\'' +
                 '}';
     }
 }
\ No newline at end of file
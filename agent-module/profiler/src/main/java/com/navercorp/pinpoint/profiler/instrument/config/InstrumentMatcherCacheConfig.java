@@ -30,4 +30,8 @@ public interface InstrumentMatcherCacheConfig {
     int getSuperCacheSize();
 
     int getSuperCacheEntrySize();
+
+    int getMetadataCacheSize();
+
+    String getPreScanJars();
 }
@@ -18,6 +18,9 @@ package com.navercorp.pinpoint.profiler.instrument.scanner;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.Objects;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -61,6 +64,23 @@ public class JarFileScanner implements Scanner {
         }
     }
 
+    public List<String> getEntryNames(String suffix) {
+        Objects.requireNonNull(suffix, "suffix");
+        final List<String> entryNames = new ArrayList<>();
+        final Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            final JarEntry jarEntry = entries.nextElement();
+            if (!jarEntry.isDirectory() && jarEntry.getName().endsWith(suffix)) {
+                entryNames.add(jarEntry.getName());
+            }
+        }
+        return entryNames;
+    }
+
+    public String getPath() {
+        return jarFile.getName();
+    }
+
     public void close() {
         if (jarFile != null) {
             try {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
+
+import java.util.Objects;
+
+/**
+ * Metadata of the classes read while matching the class hierarchy, by class loader.
+ * Class loaders are weakly referenced, so the cache does not keep an undeployed application alive.
+ */
+public class ClassMetadataCache {
+
+    private final int maximumSize;
+
+    private final Cache<ClassLoader, Cache<String, InternalClassMetadata>> caches;
+    private final Cache<String, InternalClassMetadata> bootstrapCache;
+
+    public ClassMetadataCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("negative cache size:" + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.caches = Caffeine.newBuilder()
+                .weakKeys()
+                .build();
+        this.bootstrapCache = newCache();
+    }
+
+    private Cache<String, InternalClassMetadata> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    private Cache<String, InternalClassMetadata> getCache(ClassLoader classLoader) {
+        if (classLoader == null) {
+            return bootstrapCache;
+        }
+        return caches.get(classLoader, key -> newCache());
+    }
+
+    public InternalClassMetadata get(ClassLoader classLoader, String classInternalName) {
+        Objects.requireNonNull(classInternalName, "classInternalName");
+        return getCache(classLoader).getIfPresent(classInternalName);
+    }
+
+    public void put(ClassLoader classLoader, String classInternalName, InternalClassMetadata classMetadata) {
+        Objects.requireNonNull(classInternalName, "classInternalName");
+        Objects.requireNonNull(classMetadata, "classMetadata");
+        getCache(classLoader).put(classInternalName, classMetadata);
+    }
+
+    public void putIfAbsent(ClassLoader classLoader, String classInternalName, InternalClassMetadata classMetadata) {
+        Objects.requireNonNull(classInternalName, "classInternalName");
+        Objects.requireNonNull(classMetadata, "classMetadata");
+        getCache(classLoader).asMap().putIfAbsent(classInternalName, classMetadata);
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassMetadataCache{" +
+                "maximumSize=" + maximumSize +
+                ", classLoaders=" + caches.estimatedSize() +
+                '}';
+    }
+}
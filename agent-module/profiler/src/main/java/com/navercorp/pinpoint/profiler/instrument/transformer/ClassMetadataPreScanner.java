@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.IOUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
+import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadataReader;
+import com.navercorp.pinpoint.profiler.instrument.scanner.JarFileScanner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads the class metadata of the given jar files in the background, so the hierarchy of the classes
+ * loaded at startup is matched from the {@link ClassMetadataCache} instead of being read on the loading thread.
+ * <p>
+ * A class is cached only if the class loader resolves it to the scanned jar file.
+ * Nested jars, e.g. the libraries of a Spring Boot executable jar, are not scanned.
+ */
+public class ClassMetadataPreScanner implements Runnable {
+
+    private static final String THREAD_NAME = "Pinpoint-metadata-prescan";
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final ClassMetadataCache classMetadataCache;
+    private final ClassLoader classLoader;
+    private final List<String> jarPaths;
+
+    public ClassMetadataPreScanner(ClassMetadataCache classMetadataCache, ClassLoader classLoader, List<String> jarPaths) {
+        this.classMetadataCache = Objects.requireNonNull(classMetadataCache, "classMetadataCache");
+        this.classLoader = Objects.requireNonNull(classLoader, "classLoader");
+        this.jarPaths = Objects.requireNonNull(jarPaths, "jarPaths");
+    }
+
+    public void start() {
+        final Thread thread = new PinpointThreadFactory(THREAD_NAME, true).newThread(this);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        final long startTime = System.currentTimeMillis();
+        int count = 0;
+        for (String jarPath : jarPaths) {
+            // the cache would evict the classes scanned first
+            final int limit = classMetadataCache.getMaximumSize() - count;
+            if (limit <= 0) {
+                break;
+            }
+            count += scan(jarPath, limit);
+        }
+        logger.info("Class metadata pre-scan completed. classes:{} elapsed:{}ms", count, System.currentTimeMillis() - startTime);
+    }
+
+    int scan(String jarPath, int limit) {
+        final JarFileScanner scanner;
+        try {
+            scanner = new JarFileScanner(jarPath);
+        } catch (IllegalStateException e) {
+            logger.warn("Failed to open jar file for pre-scan. path:{}", jarPath);
+            return 0;
+        }
+        try {
+            final String jarUrl = "jar:" + new File(scanner.getPath()).toURI() + "!/";
+            int count = 0;
+            for (String entryName : scanner.getEntryNames(CLASS_EXTENSION)) {
+                if (count >= limit) {
+                    break;
+                }
+                if (entryName.startsWith("META-INF/") || entryName.endsWith("module-info.class")) {
+                    continue;
+                }
+                if (!isResolvedTo(jarUrl, entryName)) {
+                    continue;
+                }
+                if (read(scanner, entryName)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private boolean isResolvedTo(String jarUrl, String entryName) {
+        final URL url = classLoader.getResource(entryName);
+        if (url == null) {
+            return false;
+        }
+        return url.toString().equals(jarUrl + entryName);
+    }
+
+    private boolean read(JarFileScanner scanner, String entryName) {
+        final InputStream inputStream = scanner.openStream(entryName);
+        if (inputStream == null) {
+            return false;
+        }
+        try {
+            final byte[] bytes = IOUtils.toByteArray(inputStream);
+            final InternalClassMetadata classMetadata = InternalClassMetadataReader.readInternalClassMetadata(bytes);
+            final String classInternalName = entryName.substring(0, entryName.length() - CLASS_EXTENSION.length());
+            classMetadataCache.putIfAbsent(classLoader, classInternalName, classMetadata);
+            return true;
+        } catch (Exception e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to read class metadata. entry:{}", entryName, e);
+            }
+            return false;
+        }
+    }
+}
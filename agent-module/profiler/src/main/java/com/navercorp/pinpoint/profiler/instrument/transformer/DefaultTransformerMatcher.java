@@ -43,11 +43,18 @@ public class DefaultTransformerMatcher implements TransformerMatcher {
     private final HierarchyCaches interfaceCaches;
     private final HierarchyCaches annotationCaches;
     private final HierarchyCaches superCaches;
+    // nullable
+    private final ClassMetadataCache classMetadataCache;
 
     public DefaultTransformerMatcher(final InstrumentMatcherCacheConfig cacheConfig) {
+        this(cacheConfig, null);
+    }
+
+    public DefaultTransformerMatcher(final InstrumentMatcherCacheConfig cacheConfig, final ClassMetadataCache classMetadataCache) {
         this.interfaceCaches = newHierarchyCaches(cacheConfig.getInterfaceCacheSize(), cacheConfig.getInterfaceCacheEntrySize());
         this.annotationCaches = newHierarchyCaches(cacheConfig.getAnnotationCacheSize(), cacheConfig.getAnnotationCacheEntrySize());
         this.superCaches = newHierarchyCaches(cacheConfig.getSuperCacheSize(), cacheConfig.getSuperCacheEntrySize());
+        this.classMetadataCache = classMetadataCache;
     }
 
     private HierarchyCaches newHierarchyCaches(final int size, final int entrySize) {
@@ -234,8 +241,19 @@ public class DefaultTransformerMatcher implements TransformerMatcher {
             return null;
         }
 
+        if (classMetadataCache != null) {
+            final InternalClassMetadata cached = classMetadataCache.get(classLoader, classInternalName);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         try {
-            return InternalClassMetadataReader.readInternalClassMetadata(classLoader, classInternalName);
+            final InternalClassMetadata classMetadata = InternalClassMetadataReader.readInternalClassMetadata(classLoader, classInternalName);
+            if (classMetadataCache != null && classMetadata != null) {
+                classMetadataCache.put(classLoader, classInternalName, classMetadata);
+            }
+            return classMetadata;
         } catch (Exception e) {
             if (logger.isInfoEnabled()) {
                 logger.info("Failed to read metadata of class. classLoader={}, internalName={}", classLoader, classInternalName, e);
@@ -58,6 +58,11 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     private final TransformerMatcher transformerMatcher;
 
     public MatchableTransformerRegistry(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, List<MatchableClassFileTransformer> matchableClassFileTransformerList) {
+        this(instrumentMatcherCacheConfig, matchableClassFileTransformerList, null);
+    }
+
+    public MatchableTransformerRegistry(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, List<MatchableClassFileTransformer> matchableClassFileTransformerList,
+                                        ClassMetadataCache classMetadataCache) {
         Objects.requireNonNull(instrumentMatcherCacheConfig, "instrumentMatcherCacheConfig");
         Objects.requireNonNull(matchableClassFileTransformerList, "matchableClassFileTransformerList");
 
@@ -78,7 +83,7 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
             }
         }
 
-        this.transformerMatcher = new DefaultTransformerMatcher(instrumentMatcherCacheConfig);
+        this.transformerMatcher = new DefaultTransformerMatcher(instrumentMatcherCacheConfig, classMetadataCache);
 
     }
 
@@ -25,6 +25,7 @@ import com.navercorp.pinpoint.common.profiler.message.MessageConverter;
 import com.navercorp.pinpoint.grpc.ExecutorUtils;
 import com.navercorp.pinpoint.grpc.ManagedChannelUtils;
 import com.navercorp.pinpoint.grpc.client.ChannelFactory;
+import com.navercorp.pinpoint.profiler.util.queue.MpscArrayBlockingQueue;
 import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import org.apache.logging.log4j.LogManager;
@@ -33,8 +34,8 @@ import org.apache.logging.log4j.Logger;
 import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -60,6 +61,7 @@ public abstract class GrpcDataSender<T> implements DataSender<T> {
     protected volatile boolean shutdown;
     
     protected final BlockingQueue<T> queue;
+    private final LongAdder rejectCount = new LongAdder();
     protected final ThrottledLogger tLogger;
 
 
@@ -67,6 +69,14 @@ public abstract class GrpcDataSender<T> implements DataSender<T> {
                           int executorQueueSize,
                           MessageConverter<T, GeneratedMessageV3> messageConverter,
                           ChannelFactory channelFactory) {
+        this(host, port, executorQueueSize, SenderQueueType.LINKED, messageConverter, channelFactory);
+    }
+
+    public GrpcDataSender(String host, int port,
+                          int executorQueueSize,
+                          SenderQueueType queueType,
+                          MessageConverter<T, GeneratedMessageV3> messageConverter,
+                          ChannelFactory channelFactory) {
         this.channelFactory = Objects.requireNonNull(channelFactory, "channelFactory");
 
         this.name = Objects.requireNonNull(channelFactory.getFactoryName(), "channelFactory.name");
@@ -85,13 +95,36 @@ public abstract class GrpcDataSender<T> implements DataSender<T> {
 
 
         this.tLogger = ThrottledLogger.getLogger(logger, 100);
-        this.queue = new LinkedBlockingQueue<>(executorQueueSize);
+        Objects.requireNonNull(queueType, "queueType");
+        this.queue = queueType.newQueue(executorQueueSize);
     }
 
     public long getLogId() {
         return logId;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+    /**
+     * @return number of producer CAS failures, 0 if the queue is not a ring buffer
+     */
+    public long getContendedCount() {
+        if (queue instanceof MpscArrayBlockingQueue) {
+            return ((MpscArrayBlockingQueue<T>) queue).getContendedCount();
+        }
+        return 0;
+    }
+
     private class ConnectivityStateMonitor implements Runnable {
         private final ConnectivityState before;
 
@@ -120,6 +153,7 @@ public abstract class GrpcDataSender<T> implements DataSender<T> {
         if (this.queue.offer(data)) {
             return true;
         }
+        rejectCount.increment();
         if (logger.isDebugEnabled()) {
             logger.debug("reject message queue size:{}", this.queue.size());
         } else {
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import com.navercorp.pinpoint.profiler.util.queue.MpscArrayBlockingQueue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Outbound queue of {@link GrpcDataSender}
+ */
+public enum SenderQueueType {
+    /**
+     * lock based, allocates a node per message
+     */
+    LINKED {
+        @Override
+        public <T> BlockingQueue<T> newQueue(int capacity) {
+            return new LinkedBlockingQueue<>(capacity);
+        }
+    },
+    /**
+     * pre-allocated lock-free multi-producer/single-consumer ring buffer
+     */
+    RING_BUFFER {
+        @Override
+        public <T> BlockingQueue<T> newQueue(int capacity) {
+            return new MpscArrayBlockingQueue<>(capacity);
+        }
+    };
+
+    public abstract <T> BlockingQueue<T> newQueue(int capacity);
+
+    public static SenderQueueType of(String name, SenderQueueType defaultType) {
+        if (name == null) {
+            return defaultType;
+        }
+        for (SenderQueueType type : values()) {
+            if (type.name().equalsIgnoreCase(name.trim())) {
+                return type;
+            }
+        }
+        return defaultType;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+/**
+ * @see SpanMessageBatcher
+ */
+public class SpanBatchOption {
+
+    private static final SpanBatchOption DISABLE = new SpanBatchOption(false, 1, 0, Integer.MAX_VALUE);
+
+    private final boolean enable;
+    // max number of queued messages per batch
+    private final int batchSize;
+    private final long lingerMillis;
+    // max number of SpanEvents per packed message
+    private final int maxSpanEventSize;
+
+    public SpanBatchOption(boolean enable, int batchSize, long lingerMillis, int maxSpanEventSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("lingerMillis must not be negative");
+        }
+        if (maxSpanEventSize <= 0) {
+            throw new IllegalArgumentException("maxSpanEventSize must be positive");
+        }
+        this.enable = enable;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.maxSpanEventSize = maxSpanEventSize;
+    }
+
+    public static SpanBatchOption disable() {
+        return DISABLE;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    public int getMaxSpanEventSize() {
+        return maxSpanEventSize;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanBatchOption{" +
+                "enable=" + enable +
+                ", batchSize=" + batchSize +
+                ", lingerMillis=" + lingerMillis +
+                ", maxSpanEventSize=" + maxSpanEventSize +
+                '}';
+    }
+}
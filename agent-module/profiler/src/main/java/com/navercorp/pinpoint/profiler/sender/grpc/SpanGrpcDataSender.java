@@ -27,6 +27,7 @@ import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
 import com.navercorp.pinpoint.grpc.trace.SpanGrpc;
 import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.grpc.config.GrpcTransportConfig;
+import com.navercorp.pinpoint.profiler.sender.grpc.stream.BatchStreamTask;
 import com.navercorp.pinpoint.profiler.sender.grpc.stream.ClientStreamingProvider;
 import com.navercorp.pinpoint.profiler.sender.grpc.stream.DefaultStreamTask;
 import com.navercorp.pinpoint.profiler.sender.grpc.stream.StreamExecutorFactory;
@@ -61,6 +62,8 @@ public class SpanGrpcDataSender extends GrpcDataSender<SpanType> {
     private final IntervalFunction interval;
     private final AtomicLong rpcExpiredAt;
 
+    private final SpanBatchOption batchOption;
+
     public final MessageDispatcher<SpanType, PSpanMessage> dispatcher = new MessageDispatcher<SpanType, PSpanMessage>() {
         @Override
         public void onDispatch(ClientCallStreamObserver<PSpanMessage> stream, SpanType data) {
@@ -94,8 +97,22 @@ public class SpanGrpcDataSender extends GrpcDataSender<SpanType> {
                               ChannelFactory channelFactory,
                               StreamState failState,
                               long maxRpcAgeMillis) {
-        super(host, port, executorQueueSize, messageConverter, channelFactory);
+        this(host, port, executorQueueSize, SenderQueueType.RING_BUFFER, messageConverter,
+                reconnectExecutor, channelFactory, failState, maxRpcAgeMillis, SpanBatchOption.disable());
+    }
+
+    public SpanGrpcDataSender(String host, int port,
+                              int executorQueueSize,
+                              SenderQueueType queueType,
+                              MessageConverter<SpanType, GeneratedMessageV3> messageConverter,
+                              ReconnectExecutor reconnectExecutor,
+                              ChannelFactory channelFactory,
+                              StreamState failState,
+                              long maxRpcAgeMillis,
+                              SpanBatchOption batchOption) {
+        super(host, port, executorQueueSize, queueType, messageConverter, channelFactory);
 
+        this.batchOption = Objects.requireNonNull(batchOption, "batchOption");
         this.interval = newIntervalFunction(maxRpcAgeMillis);
         this.rpcExpiredAt = new AtomicLong(System.currentTimeMillis());
 
@@ -162,8 +179,7 @@ public class SpanGrpcDataSender extends GrpcDataSender<SpanType> {
 
     private void startStream() {
         try {
-            StreamTask<SpanType, PSpanMessage> streamTask = new DefaultStreamTask<>(id, clientStreamService,
-                    this.streamExecutorFactory, this.queue, this.dispatcher, failState);
+            StreamTask<SpanType, PSpanMessage> streamTask = newStreamTask();
             streamTask.start();
             this.currentStreamTask = streamTask;
         } catch (Throwable th) {
@@ -171,6 +187,16 @@ public class SpanGrpcDataSender extends GrpcDataSender<SpanType> {
         }
     }
 
+    private StreamTask<SpanType, PSpanMessage> newStreamTask() {
+        if (batchOption.isEnable()) {
+            final SpanMessageBatcher batcher = new SpanMessageBatcher(batchOption.getMaxSpanEventSize());
+            return new BatchStreamTask<>(id, clientStreamService, this.streamExecutorFactory, this.queue, this.dispatcher, failState,
+                    batcher, batchOption.getBatchSize(), batchOption.getLingerMillis());
+        }
+        return new DefaultStreamTask<>(id, clientStreamService,
+                this.streamExecutorFactory, this.queue, this.dispatcher, failState);
+    }
+
     @Override
     public void stop() {
         if (shutdown) {
@@ -199,6 +225,7 @@ public class SpanGrpcDataSender extends GrpcDataSender<SpanType> {
                 "name='" + name + '\'' +
                 ", host='" + host + '\'' +
                 ", port=" + port +
+                ", batchOption=" + batchOption +
                 "} " + super.toString();
     }
 
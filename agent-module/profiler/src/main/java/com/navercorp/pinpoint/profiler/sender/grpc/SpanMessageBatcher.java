@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import com.navercorp.pinpoint.common.util.CollectionUtils;
+import com.navercorp.pinpoint.profiler.context.AsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DefaultAsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunk;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.sender.grpc.stream.MessageBatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Packs the SpanEvents of a batch into fewer span messages.
+ * <ul>
+ *     <li>SpanChunks of a Span are folded into the Span</li>
+ *     <li>SpanChunks of the same Span are folded into one SpanChunk</li>
+ *     <li>AsyncSpanChunks of the same LocalAsyncId are folded into one AsyncSpanChunk</li>
+ * </ul>
+ * The wire format does not change, so the collector needs no special handling.
+ * Not thread safe, the dispatch thread only.
+ *
+ * @see com.navercorp.pinpoint.profiler.sender.grpc.stream.BatchStreamTask
+ */
+public class SpanMessageBatcher implements MessageBatcher<SpanType> {
+
+    private final int maxSpanEventSize;
+
+    private final List<SpanType> packed = new ArrayList<>();
+
+    public SpanMessageBatcher(int maxSpanEventSize) {
+        if (maxSpanEventSize <= 0) {
+            throw new IllegalArgumentException("maxSpanEventSize must be positive");
+        }
+        this.maxSpanEventSize = maxSpanEventSize;
+    }
+
+    @Override
+    public List<SpanType> pack(List<SpanType> messages) {
+        if (messages.size() <= 1) {
+            return messages;
+        }
+        final List<SpanType> packed = this.packed;
+        packed.clear();
+
+        for (SpanType message : messages) {
+            if (message instanceof Span) {
+                packSpan((Span) message);
+            } else if (message instanceof SpanChunk) {
+                packSpanChunk((SpanChunk) message);
+            } else {
+                packed.add(message);
+            }
+        }
+        return packed;
+    }
+
+    private void packSpan(Span span) {
+        // fold the SpanChunks that arrived before the Span
+        for (int i = 0; i < packed.size(); i++) {
+            final SpanType message = packed.get(i);
+            if (!(message instanceof SpanChunk) || message instanceof AsyncSpanChunk) {
+                continue;
+            }
+            final SpanChunk spanChunk = (SpanChunk) message;
+            if (spanChunk.getTraceRoot() != span.getTraceRoot()) {
+                continue;
+            }
+            if (appendable(span.getSpanEventList(), spanChunk.getSpanEventList())) {
+                span.setSpanEventList(merge(span.getSpanEventList(), spanChunk.getSpanEventList()));
+                packed.remove(i--);
+            }
+        }
+        packed.add(span);
+    }
+
+    private void packSpanChunk(SpanChunk spanChunk) {
+        for (int i = 0; i < packed.size(); i++) {
+            final SpanType message = packed.get(i);
+            if (message instanceof Span) {
+                final Span span = (Span) message;
+                if (spanChunk instanceof AsyncSpanChunk || span.getTraceRoot() != spanChunk.getTraceRoot()) {
+                    continue;
+                }
+                if (appendable(span.getSpanEventList(), spanChunk.getSpanEventList())) {
+                    span.setSpanEventList(merge(span.getSpanEventList(), spanChunk.getSpanEventList()));
+                    return;
+                }
+            } else if (message instanceof SpanChunk) {
+                final SpanChunk target = (SpanChunk) message;
+                if (!isSameChunk(target, spanChunk)) {
+                    continue;
+                }
+                if (appendable(target.getSpanEventList(), spanChunk.getSpanEventList())) {
+                    packed.set(i, newSpanChunk(target, merge(target.getSpanEventList(), spanChunk.getSpanEventList())));
+                    return;
+                }
+            }
+        }
+        packed.add(spanChunk);
+    }
+
+    private boolean isSameChunk(SpanChunk target, SpanChunk spanChunk) {
+        if (target.getTraceRoot() != spanChunk.getTraceRoot()) {
+            return false;
+        }
+        final boolean targetAsync = target instanceof AsyncSpanChunk;
+        final boolean async = spanChunk instanceof AsyncSpanChunk;
+        if (targetAsync != async) {
+            return false;
+        }
+        if (!async) {
+            return true;
+        }
+        return Objects.equals(((AsyncSpanChunk) target).getLocalAsyncId(), ((AsyncSpanChunk) spanChunk).getLocalAsyncId());
+    }
+
+    private boolean appendable(List<SpanEvent> target, List<SpanEvent> spanEventList) {
+        return CollectionUtils.nullSafeSize(target) + CollectionUtils.nullSafeSize(spanEventList) <= maxSpanEventSize;
+    }
+
+    private SpanChunk newSpanChunk(SpanChunk spanChunk, List<SpanEvent> spanEventList) {
+        if (spanChunk instanceof AsyncSpanChunk) {
+            return new DefaultAsyncSpanChunk(spanChunk.getTraceRoot(), spanEventList, ((AsyncSpanChunk) spanChunk).getLocalAsyncId());
+        }
+        return new DefaultSpanChunk(spanChunk.getTraceRoot(), spanEventList);
+    }
+
+    private List<SpanEvent> merge(List<SpanEvent> target, List<SpanEvent> spanEventList) {
+        final List<SpanEvent> merged = new ArrayList<>(CollectionUtils.nullSafeSize(target) + CollectionUtils.nullSafeSize(spanEventList));
+        if (target != null) {
+            merged.addAll(target);
+        }
+        if (spanEventList != null) {
+            merged.addAll(spanEventList);
+        }
+        return merged;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanMessageBatcher{" +
+                "maxSpanEventSize=" + maxSpanEventSize +
+                '}';
+    }
+}
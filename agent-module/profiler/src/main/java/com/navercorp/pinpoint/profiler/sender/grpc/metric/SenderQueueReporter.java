@@ -0,0 +1,49 @@
+package com.navercorp.pinpoint.profiler.sender.grpc.metric;
+
+import com.google.common.base.MoreObjects;
+import com.navercorp.pinpoint.profiler.sender.grpc.GrpcDataSender;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+
+/**
+ * Reports outbound queue depth, reject count and producer contention of a {@link GrpcDataSender}
+ * along with the channelz stats of the delegate.
+ */
+public class SenderQueueReporter implements ChannelzReporter {
+    private final Logger logger;
+    private final GrpcDataSender<?> dataSender;
+    private final ChannelzReporter delegate;
+
+    private long lastRejectCount;
+    private long lastContendedCount;
+
+    public SenderQueueReporter(Logger logger, GrpcDataSender<?> dataSender, ChannelzReporter delegate) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.dataSender = Objects.requireNonNull(dataSender, "dataSender");
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public void reportRootChannel(long id) {
+        reportQueue();
+        delegate.reportRootChannel(id);
+    }
+
+    // single scheduler thread
+    private void reportQueue() {
+        final long rejectCount = dataSender.getRejectCount();
+        final long contendedCount = dataSender.getContendedCount();
+
+        MoreObjects.ToStringHelper queueStrHelper = MoreObjects.toStringHelper("");
+        queueStrHelper.add("queueSize", dataSender.getQueueSize());
+        queueStrHelper.add("rejectCount", rejectCount);
+        queueStrHelper.add("rejectDelta", rejectCount - lastRejectCount);
+        queueStrHelper.add("contendedCount", contendedCount);
+        queueStrHelper.add("contendedDelta", contendedCount - lastContendedCount);
+        logger.info("{}-Queue {}", dataSender.getName(), queueStrHelper);
+
+        this.lastRejectCount = rejectCount;
+        this.lastContendedCount = contendedCount;
+    }
+}
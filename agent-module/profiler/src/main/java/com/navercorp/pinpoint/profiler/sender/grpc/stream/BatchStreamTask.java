@@ -0,0 +1,85 @@
+package com.navercorp.pinpoint.profiler.sender.grpc.stream;
+
+import com.navercorp.pinpoint.profiler.sender.grpc.ClientStreamingService;
+import com.navercorp.pinpoint.profiler.sender.grpc.MessageDispatcher;
+import com.navercorp.pinpoint.profiler.sender.grpc.StreamState;
+import io.grpc.stub.ClientCallStreamObserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains up to batchSize messages, waiting at most lingerMillis for the batch to fill,
+ * and dispatches the packed result.
+ */
+public class BatchStreamTask<M, ReqT, ResT> extends DefaultStreamTask<M, ReqT, ResT> {
+
+    private final MessageBatcher<M> batcher;
+    private final int batchSize;
+    private final long lingerNanos;
+
+    public BatchStreamTask(String id, ClientStreamingService<ReqT, ResT> clientStreamingService,
+                           StreamExecutorFactory<ReqT> streamExecutorFactory,
+                           BlockingQueue<M> queue, MessageDispatcher<M, ReqT> dispatcher, StreamState failState,
+                           MessageBatcher<M> batcher, int batchSize, long lingerMillis) {
+        super(id, clientStreamingService, streamExecutorFactory, queue, dispatcher, failState);
+        this.batcher = Objects.requireNonNull(batcher, "batcher");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+    }
+
+    @Override
+    protected FinishStatus dispatchLoop(ClientCallStreamObserver<ReqT> stream) throws InterruptedException {
+        final BlockingQueue<M> queue = getQueue();
+        final List<M> batch = new ArrayList<>(batchSize);
+
+        final Thread thread = Thread.currentThread();
+        while (!thread.isInterrupted()) {
+            batch.add(queue.take());
+            fill(queue, batch);
+
+            final List<M> packed = batcher.pack(batch);
+            for (M message : packed) {
+                if (!dispatchMessage(stream, message)) {
+                    return FinishStatus.ISREADY_ERROR;
+                }
+            }
+            batch.clear();
+        }
+        return FinishStatus.UNKNOWN;
+    }
+
+    private void fill(BlockingQueue<M> queue, List<M> batch) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        if (lingerNanos == 0) {
+            return;
+        }
+        final long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            final long remain = deadline - System.nanoTime();
+            if (remain <= 0) {
+                return;
+            }
+            final M message = queue.poll(remain, TimeUnit.NANOSECONDS);
+            if (message == null) {
+                return;
+            }
+            batch.add(message);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStreamTask{" +
+                "batchSize=" + batchSize +
+                ", lingerNanos=" + lingerNanos +
+                "} " + super.toString();
+    }
+}
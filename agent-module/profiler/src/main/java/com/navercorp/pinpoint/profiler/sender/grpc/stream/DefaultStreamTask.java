@@ -18,7 +18,7 @@ import java.util.concurrent.TimeUnit;
 
 public class DefaultStreamTask<M, ReqT, ResT> implements StreamTask<M, ReqT> {
 
-    private final Logger logger = LogManager.getLogger(this.getClass());
+    protected final Logger logger = LogManager.getLogger(this.getClass());
 
     private final StreamId streamId;
 
@@ -64,7 +64,7 @@ public class DefaultStreamTask<M, ReqT, ResT> implements StreamTask<M, ReqT> {
         this.stream = clientStreamingService.newStream(job);
     }
 
-    enum FinishStatus {
+    protected enum FinishStatus {
         UNKNOWN,
         INTERRUPTED,
         ISREADY_ERROR
@@ -82,27 +82,10 @@ public class DefaultStreamTask<M, ReqT, ResT> implements StreamTask<M, ReqT> {
                 FinishStatus status = FinishStatus.UNKNOWN;
 
                 try {
-//            while (true) {
-                    final Thread thread = Thread.currentThread();
-                    while (!thread.isInterrupted()) {
-                        final M message = queue.take();
-                        if (stream.isReady()) {
-                            try {
-                                dispatcher.onDispatch(stream, message);
-                            } catch (Exception e) {
-                                logger.warn("dispatch failed", e);
-                            }
-                            failState.success();
-                        } else {
-                            failState.fail();
-
-                            if (failState.isFailure()) {
-                                logger.info("isReadyState error, Trigger stream.cancel {}", this);
-                                stream.cancel("isReadyState error", new Exception("isReadyState error"));
-                                status = FinishStatus.ISREADY_ERROR;
-                                break;
-                            }
-                        }
+                    status = dispatchLoop(stream);
+                    if (status == FinishStatus.ISREADY_ERROR) {
+                        logger.info("isReadyState error, Trigger stream.cancel {}", this);
+                        stream.cancel("isReadyState error", new Exception("isReadyState error"));
                     }
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
@@ -120,6 +103,38 @@ public class DefaultStreamTask<M, ReqT, ResT> implements StreamTask<M, ReqT> {
         };
     }
 
+    protected FinishStatus dispatchLoop(ClientCallStreamObserver<ReqT> stream) throws InterruptedException {
+        final Thread thread = Thread.currentThread();
+        while (!thread.isInterrupted()) {
+            final M message = queue.take();
+            if (!dispatchMessage(stream, message)) {
+                return FinishStatus.ISREADY_ERROR;
+            }
+        }
+        return FinishStatus.UNKNOWN;
+    }
+
+    /**
+     * @return false if the stream is no longer ready and should be cancelled
+     */
+    protected boolean dispatchMessage(ClientCallStreamObserver<ReqT> stream, M message) {
+        if (stream.isReady()) {
+            try {
+                dispatcher.onDispatch(stream, message);
+            } catch (Exception e) {
+                logger.warn("dispatch failed", e);
+            }
+            failState.success();
+            return true;
+        }
+        failState.fail();
+        return !failState.isFailure();
+    }
+
+    protected BlockingQueue<M> getQueue() {
+        return queue;
+    }
+
 
     @Override
     public void stop() {
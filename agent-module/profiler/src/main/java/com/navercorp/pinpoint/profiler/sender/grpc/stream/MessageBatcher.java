@@ -0,0 +1,11 @@
+package com.navercorp.pinpoint.profiler.sender.grpc.stream;
+
+import java.util.List;
+
+/**
+ * Packs the messages drained from the queue into fewer messages.
+ * Called only by the dispatch thread.
+ */
+public interface MessageBatcher<M> {
+    List<M> pack(List<M> messages);
+}
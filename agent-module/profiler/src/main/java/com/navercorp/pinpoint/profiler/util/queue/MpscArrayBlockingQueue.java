@@ -0,0 +1,344 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded, pre-allocated multi-producer/single-consumer ring buffer.
+ * <p>
+ * Producers claim a slot with a single CAS and never allocate or lock.
+ * Only ONE thread may consume (poll/take/drainTo) at a time.
+ * The capacity is rounded up to the next power of two (minimum 2).
+ * <p>
+ * The iterator is weakly consistent and read only, it returns the elements published between
+ * the consumer and producer index at its creation that have not been consumed yet.
+ * Removing an element other than the head ({@link #remove(Object)}, {@link Iterator#remove()}) is not supported.
+ */
+public class MpscArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final long PUT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicReferenceArray<E> buffer;
+    // slot sequence, see Dmitry Vyukov's bounded MPMC queue
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    private final LongAdder contendedCount = new LongAdder();
+
+    private volatile Thread waiter;
+
+    public MpscArrayBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = roundToPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("capacity is too large " + value);
+        }
+        // a single slot can not tell a published slot from a free one
+        if (value <= 2) {
+            return 2;
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "e");
+
+        final AtomicLong producerIndex = this.producerIndex;
+        long index;
+        int offset;
+        while (true) {
+            index = producerIndex.get();
+            offset = (int) (index & mask);
+            final long sequence = sequences.get(offset);
+            final long diff = sequence - index;
+            if (diff == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    break;
+                }
+                contendedCount.increment();
+            } else if (diff < 0) {
+                // full
+                return false;
+            } else {
+                // another producer has already claimed this slot
+                contendedCount.increment();
+            }
+        }
+        buffer.lazySet(offset, e);
+        // volatile store : must not be reordered with the waiter read below
+        sequences.set(offset, index + 1);
+
+        final Thread waiter = this.waiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        final long index = consumerIndex.get();
+        final int offset = (int) (index & mask);
+        final long sequence = sequences.get(offset);
+        if (sequence != index + 1) {
+            // empty or not yet published
+            return null;
+        }
+        final E e = buffer.get(offset);
+        buffer.lazySet(offset, null);
+        sequences.lazySet(offset, index + capacity);
+        consumerIndex.lazySet(index + 1);
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        final long index = consumerIndex.get();
+        final int offset = (int) (index & mask);
+        if (sequences.get(offset) != index + 1) {
+            return null;
+        }
+        return buffer.get(offset);
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(this, PUT_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remain = deadline - System.nanoTime();
+            if (remain <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, Math.min(remain, PUT_PARK_NANOS));
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        while (true) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            this.waiter = Thread.currentThread();
+            try {
+                // recheck after publishing the waiter to avoid a lost wakeup
+                e = poll();
+                if (e != null) {
+                    return e;
+                }
+                LockSupport.park(this);
+            } finally {
+                this.waiter = null;
+            }
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remain = deadline - System.nanoTime();
+            if (remain <= 0) {
+                return null;
+            }
+            this.waiter = Thread.currentThread();
+            try {
+                e = poll();
+                if (e != null) {
+                    return e;
+                }
+                LockSupport.parkNanos(this, remain);
+            } finally {
+                this.waiter = null;
+            }
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c, "c");
+        if (c == this) {
+            throw new IllegalArgumentException("c == this");
+        }
+        int count = 0;
+        while (count < maxElements) {
+            final E e = poll();
+            if (e == null) {
+                break;
+            }
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        long after = consumerIndex.get();
+        while (true) {
+            final long before = after;
+            final long producer = producerIndex.get();
+            after = consumerIndex.get();
+            if (before == after) {
+                final long size = producer - after;
+                return (int) Math.max(0, Math.min(size, capacity));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr(consumerIndex.get(), producerIndex.get());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    private class Itr implements Iterator<E> {
+        private final long limit;
+        private long index;
+        private E next;
+
+        private Itr(long index, long limit) {
+            this.index = index;
+            this.limit = limit;
+            this.next = advance();
+        }
+
+        private E advance() {
+            while (index < limit) {
+                final long current = index++;
+                final int offset = (int) (current & mask);
+                if (sequences.get(offset) != current + 1) {
+                    // not yet published or already consumed
+                    continue;
+                }
+                final E e = buffer.get(offset);
+                // recheck : the slot may have been consumed and reused while reading
+                if (e != null && sequences.get(offset) == current + 1) {
+                    return e;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            final E e = next;
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            this.next = advance();
+            return e;
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of failed slot claims caused by concurrent producers
+     */
+    public long getContendedCount() {
+        return contendedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "MpscArrayBlockingQueue{" +
+                "capacity=" + capacity +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DefaultActiveTraceRepositoryTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final ResponseTimeCollector responseTimeCollector = Mockito.mock(ResponseTimeCollector.class);
+
+    private long nextId = 1;
+
+    @Test
+    public void histogram() {
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector);
+        register(repository, NOW);
+        register(repository, NOW - 1000);
+        register(repository, NOW + 10);
+        register(repository, NOW - 1001);
+        register(repository, NOW - 3000);
+        register(repository, NOW - 3001);
+        register(repository, NOW - 5000);
+        register(repository, NOW - 5001);
+        // older than the wheel span
+        register(repository, NOW - 60_000);
+
+        ActiveTraceHistogram histogram = repository.getActiveTraceHistogram(NOW);
+        assertHistogram(histogram, 3, 2, 2, 2);
+    }
+
+    @Test
+    public void histogram_sameAsElapsedTime() {
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector);
+        List<Long> startTimes = new ArrayList<>();
+        for (long elapsed = 0; elapsed < 20_000; elapsed += 37) {
+            startTimes.add(NOW - elapsed);
+            register(repository, NOW - elapsed);
+        }
+
+        for (long time = NOW; time < NOW + 10_000; time += 997) {
+            DefaultActiveTraceHistogram expected = new DefaultActiveTraceHistogram(BaseHistogramSchema.NORMAL_SCHEMA);
+            for (long startTime : startTimes) {
+                expected.increment(BaseHistogramSchema.NORMAL_SCHEMA.findHistogramSlot((int) (time - startTime), false));
+            }
+            ActiveTraceHistogram histogram = repository.getActiveTraceHistogram(time);
+            assertHistogram(histogram, expected.getFastCount(), expected.getNormalCount(), expected.getSlowCount(), expected.getVerySlowCount());
+        }
+    }
+
+    @Test
+    public void purge() {
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector);
+        ActiveTraceHandle fast = register(repository, NOW);
+        ActiveTraceHandle slow = register(repository, NOW - 4000);
+        ActiveTraceHandle old = register(repository, NOW - 60_000);
+
+        slow.purge(NOW);
+        slow.purge(NOW);
+        old.purge(NOW);
+        Mockito.verify(responseTimeCollector).add(4000);
+        Mockito.verify(responseTimeCollector).add(60_000);
+
+        assertHistogram(repository.getActiveTraceHistogram(NOW), 1, 0, 0, 0);
+        Assertions.assertEquals(1, repository.snapshot().size());
+
+        fast.purge(NOW);
+        Assertions.assertTrue(repository.snapshot().isEmpty());
+        assertHistogram(repository.getActiveTraceHistogram(NOW), 0, 0, 0, 0);
+    }
+
+    @Test
+    public void notStarted() {
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector);
+        ActiveTraceHandle handle = register(repository, 0);
+
+        Assertions.assertTrue(repository.snapshot().isEmpty());
+        assertHistogram(repository.getActiveTraceHistogram(NOW), 0, 0, 0, 0);
+        handle.purge(NOW);
+    }
+
+    @Test
+    public void maxActiveTraceSize() {
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector, 16);
+        List<ActiveTraceHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            handles.add(register(repository, NOW));
+        }
+        Assertions.assertEquals(16, repository.snapshot().size());
+
+        for (ActiveTraceHandle handle : handles) {
+            handle.purge(NOW + 10);
+        }
+        Mockito.verify(responseTimeCollector, Mockito.times(32)).add(10);
+        Assertions.assertTrue(repository.snapshot().isEmpty());
+
+        // released slots are reused
+        for (int i = 0; i < 16; i++) {
+            register(repository, NOW);
+        }
+        Assertions.assertEquals(16, repository.snapshot().size());
+    }
+
+    @Test
+    public void maxActiveTraceSize_evictOldest() {
+        // a single slot per stripe
+        DefaultActiveTraceRepository repository = new DefaultActiveTraceRepository(responseTimeCollector, 16);
+        ActiveTraceHandle old = repository.register(TraceRoot.local("agent", NOW - 60_000, 1));
+        ActiveTraceHandle live = repository.register(TraceRoot.local("agent", NOW, 17));
+
+        Assertions.assertEquals(1, repository.snapshot().size());
+        assertHistogram(repository.getActiveTraceHistogram(NOW), 1, 0, 0, 0);
+
+        old.purge(NOW);
+        Mockito.verify(responseTimeCollector).add(60_000);
+        Assertions.assertEquals(1, repository.snapshot().size());
+
+        live.purge(NOW);
+        Assertions.assertTrue(repository.snapshot().isEmpty());
+        assertHistogram(repository.getActiveTraceHistogram(NOW), 0, 0, 0, 0);
+    }
+
+    private ActiveTraceHandle register(ActiveTraceRepository repository, long startTime) {
+        return repository.register(TraceRoot.local("agent", startTime, nextId++));
+    }
+
+    private void assertHistogram(ActiveTraceHistogram histogram, int fast, int normal, int slow, int verySlow) {
+        Assertions.assertEquals(fast, histogram.getFastCount(), "fast");
+        Assertions.assertEquals(normal, histogram.getNormalCount(), "normal");
+        Assertions.assertEquals(slow, histogram.getSlowCount(), "slow");
+        Assertions.assertEquals(verySlow, histogram.getVerySlowCount(), "verySlow");
+    }
+}
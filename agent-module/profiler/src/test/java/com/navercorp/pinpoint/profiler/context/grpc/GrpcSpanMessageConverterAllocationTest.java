@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.grpc;
+
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.annotation.Annotations;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanAutoUriGetter;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.AnnotationValueMapperImpl;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapper;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapperImpl;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocation (bytes/op) regression test of the span conversion.
+ * Compares against the previous conversion that added built PSpanEvents and rebuilt them in postProcess.
+ */
+public class GrpcSpanMessageConverterAllocationTest {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final int SPAN_EVENT_SIZE = 100;
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 2000;
+
+    private final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor = new GrpcSpanProcessorV2();
+    private final SpanMessageMapper mapper = new SpanMessageMapperImpl(new AnnotationValueMapperImpl(), new SpanAutoUriGetter());
+    private final GrpcSpanMessageConverter converter = new GrpcSpanMessageConverter("agentId", (short) 1, spanProcessor, mapper);
+
+    @Test
+    public void allocatedBytesPerSpan() {
+        final com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+        Assumptions.assumeTrue(threadMXBean != null, "ThreadAllocatedMemory not supported");
+
+        final Span span = newSpan();
+        Assertions.assertEquals(legacyPSpan(span), converter.buildPSpan(span));
+
+        final long legacy = allocatedBytesPerOp(threadMXBean, () -> legacyPSpan(span));
+        final long current = allocatedBytesPerOp(threadMXBean, () -> converter.buildPSpan(span));
+        logger.info("bytes/op legacy:{} current:{}", legacy, current);
+
+        Assertions.assertTrue(current < legacy, "bytes/op regression legacy:" + legacy + " current:" + current);
+    }
+
+    private long allocatedBytesPerOp(com.sun.management.ThreadMXBean threadMXBean, Runnable op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        final long after = threadMXBean.getThreadAllocatedBytes(threadId);
+        return (after - before) / ITERATIONS;
+    }
+
+    private com.sun.management.ThreadMXBean threadMXBean() {
+        final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        final com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!sunThreadMXBean.isThreadAllocatedMemorySupported() || !sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        return sunThreadMXBean;
+    }
+
+    private PSpan legacyPSpan(Span span) {
+        final PSpan.Builder builder = PSpan.newBuilder();
+        spanProcessor.preProcess(span, builder);
+        mapper.map(span, (short) 1, builder);
+        for (SpanEvent spanEvent : span.getSpanEventList()) {
+            builder.addSpanEvent(mapper.map(spanEvent));
+        }
+        spanProcessor.postProcess(span, builder);
+        return builder.build();
+    }
+
+    private Span newSpan() {
+        final TraceRoot traceRoot = TraceRoot.remote(new DefaultTraceId("agentId", 1, 0), "agentId", 0, 3);
+        final Span span = new Span(traceRoot);
+        span.setStartTime(1000);
+        span.setElapsedTime(100);
+        span.setApiId(10);
+
+        final List<SpanEvent> spanEventList = new ArrayList<>(SPAN_EVENT_SIZE);
+        for (int i = 0; i < SPAN_EVENT_SIZE; i++) {
+            final SpanEvent spanEvent = new SpanEvent();
+            spanEvent.setSequence(i);
+            spanEvent.setDepth(i % 3 + 1);
+            spanEvent.setStartTime(1000 + i);
+            spanEvent.setElapsedTime(1);
+            spanEvent.setServiceType((short) 5011);
+            spanEvent.setApiId(i);
+            spanEvent.setEndPoint("localhost:8080");
+            final List<Annotation<?>> annotations = new ArrayList<>();
+            annotations.add(Annotations.of(12, "value-" + i));
+            spanEvent.setAnnotations(annotations);
+            spanEventList.add(spanEvent);
+        }
+        span.setSpanEventList(spanEventList);
+        return span;
+    }
+}
@@ -308,4 +308,43 @@ class GrpcSpanMessageConverterTest {
         assertEquals(asyncSpanChunk.getLocalAsyncId().getSequence(), pSpanChunk.getLocalAsyncId().getSequence());
     }
 
+    @Test
+    void testReuseBuilder() {
+        Span span = newSpan();
+        SpanChunk spanChunk = newSpanChunk();
+
+        PSpan pSpan = converter.buildPSpan(span);
+        PSpanChunk pSpanChunk = converter.buildPSpanChunk(spanChunk);
+
+        assertEquals(legacyPSpan(span), pSpan);
+        assertEquals(legacyPSpanChunk(spanChunk), pSpanChunk);
+
+        // the reused builder must not leak the previous message
+        assertEquals(pSpan, converter.buildPSpan(span));
+        assertEquals(pSpanChunk, converter.buildPSpanChunk(spanChunk));
+        assertEquals(legacyPSpan(span), pSpan);
+    }
+
+    private PSpan legacyPSpan(Span span) {
+        PSpan.Builder builder = PSpan.newBuilder();
+        spanProcessorProtoV2.preProcess(span, builder);
+        spanMessageMapper.map(span, applicationServiceType, builder);
+        for (SpanEvent spanEvent : span.getSpanEventList()) {
+            builder.addSpanEvent(spanMessageMapper.map(spanEvent));
+        }
+        spanProcessorProtoV2.postProcess(span, builder);
+        return builder.build();
+    }
+
+    private PSpanChunk legacyPSpanChunk(SpanChunk spanChunk) {
+        PSpanChunk.Builder builder = PSpanChunk.newBuilder();
+        spanProcessorProtoV2.preProcess(spanChunk, builder);
+        spanMessageMapper.map(spanChunk, applicationServiceType, builder);
+        for (SpanEvent spanEvent : spanChunk.getSpanEventList()) {
+            builder.addSpanEvent(spanMessageMapper.map(spanEvent));
+        }
+        spanProcessorProtoV2.postProcess(spanChunk, builder);
+        return builder.build();
+    }
+
 }
\ No newline at end of file
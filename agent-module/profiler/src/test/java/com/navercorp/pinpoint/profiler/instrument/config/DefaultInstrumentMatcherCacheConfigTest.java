@@ -55,6 +55,9 @@ public class DefaultInstrumentMatcherCacheConfigTest {
         properties.put("profiler.instrument.matcher.super.cache.size", "5");
         properties.put("profiler.instrument.matcher.super.cache.entry.size", "6");
 
+        properties.put("profiler.instrument.matcher.metadata.cache.size", "7");
+        properties.put("profiler.instrument.matcher.prescan.jars", "a.jar,b.jar");
+
         InstrumentMatcherCacheConfig config = new DefaultInstrumentMatcherCacheConfig();
         ValueAnnotationProcessor reader = new ValueAnnotationProcessor();
         reader.process(config, properties);
@@ -65,5 +68,7 @@ public class DefaultInstrumentMatcherCacheConfigTest {
         assertEquals(4, config.getAnnotationCacheEntrySize());
         assertEquals(5, config.getSuperCacheSize());
         assertEquals(6, config.getSuperCacheEntrySize());
+        assertEquals(7, config.getMetadataCacheSize());
+        assertEquals("a.jar,b.jar", config.getPreScanJars());
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.navercorp.pinpoint.common.util.IOUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+public class ClassMetadataPreScannerTest {
+
+    private static final String CLASS_INTERNAL_NAME = ClassMetadataPreScannerTest.class.getName().replace('.', '/');
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void scan() throws Exception {
+        Path jar = newJar();
+        ClassMetadataCache cache = new ClassMetadataCache(16);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            ClassMetadataPreScanner preScanner = new ClassMetadataPreScanner(cache, classLoader, Collections.singletonList(jar.toString()));
+            Assertions.assertEquals(1, preScanner.scan(jar.toString(), 16));
+
+            InternalClassMetadata classMetadata = cache.get(classLoader, CLASS_INTERNAL_NAME);
+            Assertions.assertNotNull(classMetadata);
+            Assertions.assertEquals(CLASS_INTERNAL_NAME, classMetadata.getClassInternalName());
+            Assertions.assertEquals("java/lang/Object", classMetadata.getSuperClassInternalName());
+        }
+    }
+
+    @Test
+    public void scan_resolvedToOtherLocation() throws Exception {
+        Path jar = newJar();
+        ClassMetadataCache cache = new ClassMetadataCache(16);
+        ClassLoader classLoader = ClassMetadataPreScannerTest.class.getClassLoader();
+        ClassMetadataPreScanner preScanner = new ClassMetadataPreScanner(cache, classLoader, Collections.singletonList(jar.toString()));
+
+        Assertions.assertEquals(0, preScanner.scan(jar.toString(), 16));
+        Assertions.assertNull(cache.get(classLoader, CLASS_INTERNAL_NAME));
+    }
+
+    @Test
+    public void scan_notFound() {
+        ClassMetadataCache cache = new ClassMetadataCache(16);
+        String path = tempDir.resolve("notFound.jar").toString();
+        ClassMetadataPreScanner preScanner = new ClassMetadataPreScanner(cache, ClassLoader.getSystemClassLoader(), Collections.singletonList(path));
+
+        Assertions.assertEquals(0, preScanner.scan(path, 16));
+    }
+
+    private Path newJar() throws IOException {
+        final String entryName = CLASS_INTERNAL_NAME + ".class";
+        final byte[] classBytes;
+        try (InputStream inputStream = ClassMetadataPreScannerTest.class.getClassLoader().getResourceAsStream(entryName)) {
+            classBytes = IOUtils.toByteArray(inputStream);
+        }
+
+        Path jar = tempDir.resolve("prescan.jar");
+        try (OutputStream outputStream = Files.newOutputStream(jar);
+             JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+            jarOutputStream.putNextEntry(new JarEntry(entryName));
+            jarOutputStream.write(classBytes);
+            jarOutputStream.closeEntry();
+        }
+        return jar;
+    }
+}
@@ -33,7 +33,10 @@ import javax.annotation.Resource;
 import java.io.IOException;
 import java.io.InputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -178,6 +181,29 @@ public class DefaultTransformerMatcherTest {
         assertFalse(result);
     }
 
+    @Test
+    public void classMetadataCache() throws Exception {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        // hierarchy caches disabled
+        DefaultInstrumentMatcherCacheConfig config = new DefaultInstrumentMatcherCacheConfig();
+        config.setSuperCacheSize(0);
+        ClassMetadataCache classMetadataCache = new ClassMetadataCache(16);
+        TransformerMatcher matcher = new DefaultTransformerMatcher(config, classMetadataCache);
+
+        InternalClassMetadata extendsExtendsThreadClassMetadata = readClassMetadata(classLoader, ExtendsExtendsThread.class.getName());
+        SuperClassInternalNameMatcherOperand superMatcherOperand = new SuperClassInternalNameMatcherOperand("java/lang/Thread", true);
+        assertTrue(matcher.match(classLoader, superMatcherOperand, extendsExtendsThreadClassMetadata));
+
+        String extendsThread = JavaAssistUtils.javaNameToJvmName(ExtendsThread.class.getName());
+        InternalClassMetadata cached = classMetadataCache.get(classLoader, extendsThread);
+        assertNotNull(cached);
+        assertEquals("java/lang/Thread", cached.getSuperClassInternalName());
+
+        assertTrue(matcher.match(classLoader, superMatcherOperand, extendsExtendsThreadClassMetadata));
+        assertSame(cached, classMetadataCache.get(classLoader, extendsThread));
+    }
+
     class ExtendsThread extends Thread {
     }
 
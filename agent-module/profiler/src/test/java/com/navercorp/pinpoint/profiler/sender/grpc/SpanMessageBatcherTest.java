@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.profiler.context.AsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DefaultAsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DefaultLocalAsyncId;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunk;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SpanMessageBatcherTest {
+
+    @Test
+    public void pack_chunk_into_span() {
+        TraceRoot traceRoot = newTraceRoot(1);
+        SpanChunk chunk = new DefaultSpanChunk(traceRoot, newSpanEvents(3));
+        Span span = new Span(traceRoot);
+        span.setSpanEventList(newSpanEvents(2));
+
+        SpanMessageBatcher batcher = new SpanMessageBatcher(100);
+        List<SpanType> packed = batcher.pack(Arrays.asList(chunk, span));
+
+        Assertions.assertEquals(1, packed.size());
+        Assertions.assertSame(span, packed.get(0));
+        Assertions.assertEquals(5, span.getSpanEventList().size());
+    }
+
+    @Test
+    public void pack_chunks() {
+        TraceRoot traceRoot = newTraceRoot(1);
+        SpanChunk chunk1 = new DefaultSpanChunk(traceRoot, newSpanEvents(3));
+        SpanChunk chunk2 = new DefaultSpanChunk(traceRoot, newSpanEvents(4));
+        SpanChunk other = new DefaultSpanChunk(newTraceRoot(2), newSpanEvents(1));
+
+        SpanMessageBatcher batcher = new SpanMessageBatcher(100);
+        List<SpanType> packed = batcher.pack(Arrays.asList(chunk1, other, chunk2));
+
+        Assertions.assertEquals(2, packed.size());
+        Assertions.assertEquals(7, ((SpanChunk) packed.get(0)).getSpanEventList().size());
+        Assertions.assertSame(other, packed.get(1));
+    }
+
+    @Test
+    public void pack_asyncChunks() {
+        TraceRoot traceRoot = newTraceRoot(1);
+        SpanChunk async1 = new DefaultAsyncSpanChunk(traceRoot, newSpanEvents(1), new DefaultLocalAsyncId(1, 1));
+        SpanChunk async2 = new DefaultAsyncSpanChunk(traceRoot, newSpanEvents(1), new DefaultLocalAsyncId(2, 1));
+        SpanChunk async3 = new DefaultAsyncSpanChunk(traceRoot, newSpanEvents(1), new DefaultLocalAsyncId(1, 1));
+        Span span = new Span(traceRoot);
+
+        SpanMessageBatcher batcher = new SpanMessageBatcher(100);
+        List<SpanType> packed = batcher.pack(Arrays.asList(async1, async2, span, async3));
+
+        Assertions.assertEquals(3, packed.size());
+        AsyncSpanChunk packedChunk = (AsyncSpanChunk) packed.get(0);
+        Assertions.assertEquals(new DefaultLocalAsyncId(1, 1), packedChunk.getLocalAsyncId());
+        Assertions.assertEquals(2, packedChunk.getSpanEventList().size());
+        Assertions.assertSame(async2, packed.get(1));
+        Assertions.assertSame(span, packed.get(2));
+        Assertions.assertNull(span.getSpanEventList());
+    }
+
+    @Test
+    public void pack_maxSpanEventSize() {
+        TraceRoot traceRoot = newTraceRoot(1);
+        SpanChunk chunk1 = new DefaultSpanChunk(traceRoot, newSpanEvents(3));
+        SpanChunk chunk2 = new DefaultSpanChunk(traceRoot, newSpanEvents(3));
+
+        SpanMessageBatcher batcher = new SpanMessageBatcher(5);
+        List<SpanType> packed = batcher.pack(Arrays.asList(chunk1, chunk2));
+
+        Assertions.assertEquals(2, packed.size());
+    }
+
+    private TraceRoot newTraceRoot(long transactionId) {
+        TraceId traceId = new DefaultTraceId("agent", 1, transactionId);
+        return TraceRoot.remote(traceId, "agent", 0, transactionId);
+    }
+
+    private List<SpanEvent> newSpanEvents(int size) {
+        List<SpanEvent> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new SpanEvent());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class MpscArrayBlockingQueueTest {
+
+    @Test
+    public void capacity() {
+        Assertions.assertEquals(2, new MpscArrayBlockingQueue<>(1).capacity());
+        Assertions.assertEquals(8, new MpscArrayBlockingQueue<>(5).capacity());
+        Assertions.assertEquals(1024, new MpscArrayBlockingQueue<>(1000).capacity());
+        Assertions.assertEquals(1024, new MpscArrayBlockingQueue<>(1024).capacity());
+    }
+
+    @Test
+    public void offer_poll() {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(4);
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertNull(queue.poll());
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(queue.offer(i));
+        }
+        Assertions.assertFalse(queue.offer(4));
+        Assertions.assertEquals(4, queue.size());
+        Assertions.assertEquals(0, queue.remainingCapacity());
+        Assertions.assertEquals(0, queue.peek());
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(i, queue.poll());
+        }
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void wrapAround() {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(2);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(queue.offer(i));
+            Assertions.assertTrue(queue.offer(i + 1000));
+            Assertions.assertFalse(queue.offer(-1));
+            Assertions.assertEquals(i, queue.poll());
+            Assertions.assertEquals(i + 1000, queue.poll());
+        }
+    }
+
+    @Test
+    public void drainTo() {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(8);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drain = new ArrayList<>();
+        Assertions.assertEquals(3, queue.drainTo(drain, 3));
+        Assertions.assertEquals(2, queue.drainTo(drain));
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, 4), drain);
+    }
+
+    @Test
+    public void iterator() {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+        queue.offer(4);
+
+        List<Integer> list = new ArrayList<>();
+        queue.iterator().forEachRemaining(list::add);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), list);
+        Assertions.assertTrue(queue.contains(4));
+        Assertions.assertFalse(queue.contains(0));
+        Assertions.assertArrayEquals(new Object[]{1, 2, 3, 4}, queue.toArray());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> queue.remove(2));
+    }
+
+    @Test
+    public void iterator_weaklyConsistent() {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(4);
+        queue.offer(0);
+        queue.offer(1);
+
+        Iterator<Integer> iterator = queue.iterator();
+        queue.poll();
+        queue.offer(2);
+
+        Assertions.assertEquals(0, iterator.next());
+        Assertions.assertEquals(1, iterator.next());
+        Assertions.assertFalse(iterator.hasNext());
+        Assertions.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void poll_timeout() throws InterruptedException {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(8);
+        Assertions.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void take_interrupted() throws Exception {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(8);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> future = executor.submit(queue::take);
+            executor.shutdownNow();
+            Assertions.assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+            Assertions.assertTrue(future.isDone());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void multiProducer() throws Exception {
+        final int producers = 4;
+        final int count = 50_000;
+        final MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(128);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < count; i++) {
+                        queue.put(producer * count + i);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            final int[] lastValue = new int[producers];
+            Arrays.fill(lastValue, -1);
+            for (int i = 0; i < producers * count; i++) {
+                Integer value = queue.poll(10, TimeUnit.SECONDS);
+                Assertions.assertNotNull(value);
+                int producer = value / count;
+                // per producer FIFO
+                Assertions.assertTrue(value > lastValue[producer]);
+                lastValue[producer] = value;
+            }
+            Assertions.assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao;
+
+import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Response histogram of the calls of one link, accumulated before being written to the statistics tables.
+ * Not thread safe.
+ */
+public class CallHistogram {
+
+    private final ServiceType calleeServiceType;
+
+    // a histogram schema has only a few slots, a linear search is enough
+    private short[] slotNumbers = new short[8];
+    private long[] counts = new long[8];
+    private int size;
+
+    private long totalCount;
+    private long sum;
+    private int max;
+
+    public CallHistogram(ServiceType calleeServiceType) {
+        this.calleeServiceType = Objects.requireNonNull(calleeServiceType, "calleeServiceType");
+    }
+
+    public void addCall(int elapsed, boolean isError) {
+        final short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
+        addSlot(slotNumber, 1);
+
+        this.totalCount++;
+        this.sum += elapsed;
+        this.max = Math.max(this.max, elapsed);
+    }
+
+    private void addSlot(short slotNumber, long count) {
+        for (int i = 0; i < size; i++) {
+            if (slotNumbers[i] == slotNumber) {
+                counts[i] += count;
+                return;
+            }
+        }
+        if (size == slotNumbers.length) {
+            slotNumbers = Arrays.copyOf(slotNumbers, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        slotNumbers[size] = slotNumber;
+        counts[size] = count;
+        size++;
+    }
+
+    public ServiceType getCalleeServiceType() {
+        return calleeServiceType;
+    }
+
+    public int getSlotSize() {
+        return size;
+    }
+
+    public short getSlotNumber(int index) {
+        Objects.checkIndex(index, size);
+        return slotNumbers[index];
+    }
+
+    public long getCount(int index) {
+        Objects.checkIndex(index, size);
+        return counts[index];
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CallHistogram{");
+        sb.append("calleeServiceType=").append(calleeServiceType);
+        sb.append(", slots=[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(slotNumbers[i]).append('=').append(counts[i]);
+        }
+        sb.append(']');
+        sb.append(", totalCount=").append(totalCount);
+        sb.append(", sum=").append(sum);
+        sb.append(", max=").append(max);
+        sb.append('}');
+        return sb.toString();
+    }
+}
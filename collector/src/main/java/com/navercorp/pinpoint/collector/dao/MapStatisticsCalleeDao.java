@@ -25,4 +25,6 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
  */
 public interface MapStatisticsCalleeDao extends CachedStatisticsDao {
     void update(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, int elapsed, boolean isError);
+
+    void update(String calleeApplicationName, String callerApplicationName, ServiceType callerServiceType, String callerHost, CallHistogram callHistogram);
 }
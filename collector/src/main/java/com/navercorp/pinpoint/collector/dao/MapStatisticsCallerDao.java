@@ -25,4 +25,6 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
  */
 public interface MapStatisticsCallerDao extends CachedStatisticsDao {
     void update(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, int elapsed, boolean isError);
+
+    void update(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, String calleeHost, CallHistogram callHistogram);
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.collector.dao.ApplicationHeatMapDao;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkWriter;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.ColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.HeatMapColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.HeatMapRowKey;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKey;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.util.HeatMapTileUtils;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Objects;
+
+/**
+ * Save heatmap tiles of application
+ * <p>
+ * One row per application and time slot, one counter per elapsed bucket and success/fail.
+ * The counters are merged in memory and flushed with the link statistics.
+ */
+@Repository
+public class HbaseApplicationHeatMapDao implements ApplicationHeatMapDao {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final boolean enable;
+    private final TimeSlot timeSlot;
+    private final BulkWriter bulkWriter;
+
+    public HbaseApplicationHeatMapDao(@Value("${collector.heatmap.tile.enable:false}") boolean enable,
+                                      TimeSlot timeSlot,
+                                      @Qualifier("heatMapBulkWriter") BulkWriter bulkWriter) {
+        this.enable = enable;
+        this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        this.bulkWriter = Objects.requireNonNull(bulkWriter, "bulkWriter");
+        logger.info("heatmap tile enable:{}", enable);
+    }
+
+    @Override
+    public void insert(SpanBo span) {
+        Objects.requireNonNull(span, "span");
+        if (!enable) {
+            return;
+        }
+
+        final long rowTimeSlot = timeSlot.getTimeSlot(span.getCollectorAcceptTime());
+        final RowKey rowKey = new HeatMapRowKey(span.getApplicationId(), rowTimeSlot);
+
+        final int elapsedBucket = HeatMapTileUtils.getElapsedBucket(span.getElapsed());
+        final ColumnName columnName = new HeatMapColumnName(elapsedBucket, span.getErrCode() == 0);
+        this.bulkWriter.increment(rowKey, columnName);
+    }
+
+    @Override
+    public void flushLink() {
+        this.bulkWriter.flushLink();
+    }
+
+    @Override
+    public void flushAvgMax() {
+        // no max column
+    }
+}
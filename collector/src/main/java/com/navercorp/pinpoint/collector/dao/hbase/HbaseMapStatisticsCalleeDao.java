@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase;
 
+import com.navercorp.pinpoint.collector.dao.CallHistogram;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkWriter;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallRowKey;
@@ -111,6 +112,48 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
         }
     }
 
+    @Override
+    public void update(String calleeApplicationName, String callerApplicationName, ServiceType callerServiceType, String callerHost, CallHistogram callHistogram) {
+        Objects.requireNonNull(calleeApplicationName, "calleeApplicationName");
+        Objects.requireNonNull(callerApplicationName, "callerApplicationName");
+        Objects.requireNonNull(callHistogram, "callHistogram");
+
+        final ServiceType calleeServiceType = callHistogram.getCalleeServiceType();
+        if (logger.isDebugEnabled()) {
+            logger.debug("[Callee] {} ({}) <- {} ({})[{}] {}",
+                    calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, callHistogram);
+        }
+
+        // there may be no endpoint in case of httpclient
+        callerHost = StringUtils.defaultString(callerHost);
+
+        if (ignoreStatFilter.filter(calleeServiceType, callerHost)) {
+            logger.debug("[Ignore-Callee] {} ({}) <- {} ({})[{}]",
+                    calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost);
+            return;
+        }
+
+        // make row key. rowkey is me
+        final long acceptedTime = acceptedTimeService.getAcceptedTime();
+        final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
+        final RowKey calleeRowKey = new CallRowKey(calleeApplicationName, calleeServiceType.getCode(), rowTimeSlot);
+
+        for (int i = 0; i < callHistogram.getSlotSize(); i++) {
+            final ColumnName callerColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, callHistogram.getSlotNumber(i));
+            this.bulkWriter.increment(calleeRowKey, callerColumnName, callHistogram.getCount(i));
+        }
+
+        HistogramSchema histogramSchema = calleeServiceType.getHistogramSchema();
+        if (mapLinkConfiguration.isEnableAvg()) {
+            final ColumnName sumColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, histogramSchema.getSumStatSlot().getSlotTime());
+            this.bulkWriter.increment(calleeRowKey, sumColumnName, callHistogram.getSum());
+        }
+        if (mapLinkConfiguration.isEnableMax()) {
+            final ColumnName maxColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, histogramSchema.getMaxStatSlot().getSlotTime());
+            this.bulkWriter.updateMax(calleeRowKey, maxColumnName, callHistogram.getMax());
+        }
+    }
+
 
     @Override
     public void flushLink() {
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase;
 
+import com.navercorp.pinpoint.collector.dao.CallHistogram;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkWriter;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallRowKey;
@@ -103,6 +104,42 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
 
     }
 
+    @Override
+    public void update(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, String calleeHost, CallHistogram callHistogram) {
+        Objects.requireNonNull(callerApplicationName, "callerApplicationName");
+        Objects.requireNonNull(calleeApplicationName, "calleeApplicationName");
+        Objects.requireNonNull(callHistogram, "callHistogram");
+
+        final ServiceType calleeServiceType = callHistogram.getCalleeServiceType();
+        if (logger.isDebugEnabled()) {
+            logger.debug("[Caller] {} ({}) {} -> {} ({})[{}] {}", callerApplicationName, callerServiceType, callerAgentId,
+                    calleeApplicationName, calleeServiceType, calleeHost, callHistogram);
+        }
+
+        // there may be no endpoint in case of httpclient
+        calleeHost = StringUtils.defaultString(calleeHost);
+
+        // make row key. rowkey is me
+        final long acceptedTime = acceptedTimeService.getAcceptedTime();
+        final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
+        final RowKey callerRowKey = new CallRowKey(callerApplicationName, callerServiceType.getCode(), rowTimeSlot);
+
+        for (int i = 0; i < callHistogram.getSlotSize(); i++) {
+            final ColumnName calleeColumnName = new CalleeColumnName(callerAgentId, calleeServiceType.getCode(), calleeApplicationName, calleeHost, callHistogram.getSlotNumber(i));
+            this.bulkWriter.increment(callerRowKey, calleeColumnName, callHistogram.getCount(i));
+        }
+
+        HistogramSchema histogramSchema = callerServiceType.getHistogramSchema();
+        if (mapLinkConfiguration.isEnableAvg()) {
+            final ColumnName sumColumnName = new CalleeColumnName(callerAgentId, calleeServiceType.getCode(), calleeApplicationName, calleeHost, histogramSchema.getSumStatSlot().getSlotTime());
+            this.bulkWriter.increment(callerRowKey, sumColumnName, callHistogram.getSum());
+        }
+        if (mapLinkConfiguration.isEnableMax()) {
+            final ColumnName maxColumnName = new CalleeColumnName(callerAgentId, calleeServiceType.getCode(), calleeApplicationName, calleeHost, histogramSchema.getMaxStatSlot().getSlotTime());
+            this.bulkWriter.updateMax(callerRowKey, maxColumnName, callHistogram.getMax());
+        }
+    }
+
     @Override
     public void flushLink() {
         this.bulkWriter.flushLink();
@@ -34,16 +34,20 @@ public class BulkConfiguration {
 
     private final int selfLimitSize;
 
+    private final int heatMapLimitSize;
+
     private final boolean enableBulk;
 
 
     public BulkConfiguration(@Value("${collector.cachedStatDao.caller.limit:-1}") int callerLimitSize,
                              @Value("${collector.cachedStatDao.callee.limit:-1}") int calleeLimitSize,
                              @Value("${collector.cachedStatDao.self.limit:-1}") int selfLimitSize,
+                             @Value("${collector.cachedStatDao.heatmap.limit:-1}") int heatMapLimitSize,
                              @Value("${collector.cachedStatDao.bulk.enable:true}") boolean enableBulk) {
         this.callerLimitSize = callerLimitSize;
         this.calleeLimitSize = calleeLimitSize;
         this.selfLimitSize = selfLimitSize;
+        this.heatMapLimitSize = heatMapLimitSize;
         this.enableBulk = enableBulk;
     }
 
@@ -59,6 +63,10 @@ public class BulkConfiguration {
         return selfLimitSize;
     }
 
+    public int getHeatMapLimitSize() {
+        return heatMapLimitSize;
+    }
+
     public boolean enableBulk() {
         return enableBulk;
     }
@@ -74,6 +82,7 @@ public class BulkConfiguration {
                 "callerLimitSize=" + callerLimitSize +
                 ", calleeLimitSize=" + calleeLimitSize +
                 ", selfLimitSize=" + selfLimitSize +
+                ", heatMapLimitSize=" + heatMapLimitSize +
                 ", enableBulk=" + enableBulk +
                 '}';
     }
@@ -1,6 +1,7 @@
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
 import com.navercorp.pinpoint.collector.dao.hbase.BulkOperationReporter;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseApplicationHeatMapDao;
 import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapResponseTimeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCalleeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCallerDao;
@@ -141,6 +142,31 @@ public class BulkFactory {
         return newBulkWriter(loggerName, hbaseTemplate, HbaseColumnFamily.MAP_STATISTICS_SELF_VER2_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater);
     }
 
+    @Bean
+    public BulkIncrementer heatMapBulkIncrementer() {
+        String reporterName = "heatMapBulkIncrementerReporter";
+        HbaseColumnFamily hbaseColumnFamily = HbaseColumnFamily.APPLICATION_HEATMAP_COUNTER;
+        int limitSize = bulkConfiguration.getHeatMapLimitSize();
+
+        return newBulkIncrementer(reporterName, hbaseColumnFamily, limitSize);
+    }
+
+    @Bean
+    public BulkUpdater heatMapBulkUpdater() {
+        String reporterName = "heatMapBulkUpdaterReporter";
+        return getBulkUpdater(reporterName);
+    }
+
+    @Bean
+    public BulkWriter heatMapBulkWriter(HbaseOperations hbaseTemplate,
+                                        TableNameProvider tableNameProvider,
+                                        @Qualifier("statisticsSelfRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
+                                        @Qualifier("heatMapBulkIncrementer") BulkIncrementer bulkIncrementer,
+                                        @Qualifier("heatMapBulkUpdater") BulkUpdater bulkUpdater) {
+        String loggerName = newBulkWriterName(HbaseApplicationHeatMapDao.class.getName());
+        return newBulkWriter(loggerName, hbaseTemplate, HbaseColumnFamily.APPLICATION_HEATMAP_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater);
+    }
+
     private String newBulkWriterName(String className) {
         return className + "-writer";
     }
@@ -15,24 +15,64 @@
  */
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
-import com.google.common.util.concurrent.AtomicLongMap;
-import com.navercorp.pinpoint.collector.util.AtomicLongMapUtils;
+import com.navercorp.pinpoint.common.util.Assert;
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Increment;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Counters are striped into shards selected by the calling thread, so concurrent increments of a hot link
+ * rarely meet on the same lock. The first RowKey/ColumnName instance of a cell is kept as the key,
+ * later increments of the same cell only look it up and do not allocate.
+ * Shards are swapped out and merged at flush time.
+ * <p>
+ * The same cell may be held by several shards, {@link #getSize()} returns the number of distinct cells.
+ * A cell is registered once per shard on its first increment, hot cells do not touch the shared set.
+ * The count is approximate around a flush.
+ */
 class DefaultBulkIncrementer implements BulkIncrementer {
 
+    static final int DEFAULT_SHARD_SIZE = defaultShardSize();
+
     private final RowKeyMerge rowKeyMerge;
 
-    private final AtomicLongMap<RowInfo> counter = AtomicLongMap.create();
+    private final Shard[] shards;
+    private final int shardMask;
+
+    private volatile Set<RowInfo> distinctCells = ConcurrentHashMap.newKeySet();
 
     DefaultBulkIncrementer(RowKeyMerge rowKeyMerge) {
+        this(rowKeyMerge, DEFAULT_SHARD_SIZE);
+    }
+
+    DefaultBulkIncrementer(RowKeyMerge rowKeyMerge, int shardSize) {
         this.rowKeyMerge = Objects.requireNonNull(rowKeyMerge, "rowKeyMerge");
+        Assert.isTrue(shardSize > 0, "shardSize must be ' > 0'");
+
+        final int size = powerOfTwo(shardSize);
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+    }
+
+    private static int defaultShardSize() {
+        return powerOfTwo(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    private static int powerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        return Math.min(Integer.highestOneBit(value - 1) << 1, 1 << 16);
     }
 
     public void increment(TableName tableName, RowKey rowKey, ColumnName columnName) {
@@ -40,18 +80,93 @@ class DefaultBulkIncrementer implements BulkIncrementer {
     }
 
     public void increment(TableName tableName, RowKey rowKey, ColumnName columnName, long addition) {
-        RowInfo rowInfo = new DefaultRowInfo(tableName, rowKey, columnName);
-        counter.addAndGet(rowInfo, addition);
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(rowKey, "rowKey");
+        Objects.requireNonNull(columnName, "columnName");
+
+        final Shard shard = shards[shardIndex()];
+        if (shard.increment(tableName, rowKey, columnName, addition)) {
+            distinctCells.add(new DefaultRowInfo(tableName, rowKey, columnName));
+        }
+    }
+
+    private int shardIndex() {
+        final long threadId = Thread.currentThread().getId();
+        final int hash = (int) (threadId ^ (threadId >>> 32));
+        return (hash ^ (hash >>> 16)) & shardMask;
     }
 
     @Override
     public Map<TableName, List<Increment>> getIncrements(RowKeyDistributorByHashPrefix rowKeyDistributor) {
-        final Map<RowInfo, Long> snapshot = AtomicLongMapUtils.remove(counter);
-        return rowKeyMerge.createBulkIncrement(snapshot, rowKeyDistributor);
+        final Map<TableName, Map<RowKey, Map<ColumnName, Long>>> snapshot = new HashMap<>();
+        this.distinctCells = ConcurrentHashMap.newKeySet();
+        for (Shard shard : shards) {
+            final Map<TableName, Map<RowKey, Map<ColumnName, Counter>>> tables = shard.swap();
+            merge(snapshot, tables);
+        }
+        return rowKeyMerge.createTableIncrement(snapshot, rowKeyDistributor);
+    }
+
+    private void merge(Map<TableName, Map<RowKey, Map<ColumnName, Long>>> snapshot,
+                       Map<TableName, Map<RowKey, Map<ColumnName, Counter>>> tables) {
+        for (Map.Entry<TableName, Map<RowKey, Map<ColumnName, Counter>>> table : tables.entrySet()) {
+            final Map<RowKey, Map<ColumnName, Long>> rows = snapshot.computeIfAbsent(table.getKey(), k -> new HashMap<>());
+            for (Map.Entry<RowKey, Map<ColumnName, Counter>> row : table.getValue().entrySet()) {
+                final Map<ColumnName, Long> columns = rows.computeIfAbsent(row.getKey(), k -> new HashMap<>());
+                for (Map.Entry<ColumnName, Counter> column : row.getValue().entrySet()) {
+                    columns.merge(column.getKey(), column.getValue().value, Long::sum);
+                }
+            }
+        }
     }
 
     @Override
     public int getSize() {
-        return counter.size();
+        return distinctCells.size();
+    }
+
+    int getShardSize() {
+        return shards.length;
+    }
+
+    private static final class Shard {
+        private Map<TableName, Map<RowKey, Map<ColumnName, Counter>>> tables = new HashMap<>();
+
+        /**
+         * @return true if the cell is new to this shard
+         */
+        synchronized boolean increment(TableName tableName, RowKey rowKey, ColumnName columnName, long addition) {
+            Map<RowKey, Map<ColumnName, Counter>> rows = tables.get(tableName);
+            if (rows == null) {
+                rows = new HashMap<>();
+                tables.put(tableName, rows);
+            }
+            Map<ColumnName, Counter> columns = rows.get(rowKey);
+            if (columns == null) {
+                columns = new HashMap<>();
+                rows.put(rowKey, columns);
+            }
+            final Counter counter = columns.get(columnName);
+            if (counter == null) {
+                columns.put(columnName, new Counter(addition));
+                return true;
+            }
+            counter.value += addition;
+            return false;
+        }
+
+        synchronized Map<TableName, Map<RowKey, Map<ColumnName, Counter>>> swap() {
+            final Map<TableName, Map<RowKey, Map<ColumnName, Counter>>> copy = this.tables;
+            this.tables = new HashMap<>();
+            return copy;
+        }
+    }
+
+    private static final class Counter {
+        private long value;
+
+        private Counter(long value) {
+            this.value = value;
+        }
     }
 }
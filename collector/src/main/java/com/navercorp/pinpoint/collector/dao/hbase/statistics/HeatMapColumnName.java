@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.common.server.util.HeatMapTileUtils;
+
+public class HeatMapColumnName implements ColumnName {
+
+    private final int elapsedBucket;
+    private final boolean success;
+
+    private long callCount;
+
+    public HeatMapColumnName(int elapsedBucket, boolean success) {
+        this.elapsedBucket = elapsedBucket;
+        this.success = success;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public void setCallCount(long callCount) {
+        this.callCount = callCount;
+    }
+
+    public byte[] getColumnName() {
+        return HeatMapTileUtils.makeColumnName(elapsedBucket, success);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        HeatMapColumnName that = (HeatMapColumnName) o;
+
+        if (elapsedBucket != that.elapsedBucket) return false;
+        return success == that.success;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = elapsedBucket;
+        result = 31 * result + (success ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "HeatMapColumnName{" +
+                "elapsedBucket=" + elapsedBucket +
+                ", success=" + success +
+                ", callCount=" + callCount +
+                '}';
+    }
+}
@@ -50,19 +50,24 @@ public class RowKeyMerge {
         this.family = Arrays.copyOf(family, family.length);
     }
 
-    public Map<TableName, List<Increment>> createBulkIncrement(Map<RowInfo, Long> data, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
-        if (data.isEmpty()) {
+    public Map<TableName, List<Increment>> createTableIncrement(Map<TableName, Map<RowKey, Map<ColumnName, Long>>> tables, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+        if (tables.isEmpty()) {
             return Collections.emptyMap();
         }
 
         final Map<TableName, List<Increment>> tableIncrementMap = new HashMap<>();
-        final Map<TableName, Map<RowKey, List<ColumnName>>> tableRowKeyMap = mergeRowKeys(data);
-
-        for (Map.Entry<TableName, Map<RowKey, List<ColumnName>>> tableRowKeys : tableRowKeyMap.entrySet()) {
+        for (Map.Entry<TableName, Map<RowKey, Map<ColumnName, Long>>> tableRowKeys : tables.entrySet()) {
             final TableName tableName = tableRowKeys.getKey();
-            final List<Increment> incrementList = new ArrayList<>();
-            for (Map.Entry<RowKey, List<ColumnName>> rowKeyEntry : tableRowKeys.getValue().entrySet()) {
-                Increment increment = createIncrement(rowKeyEntry, rowKeyDistributorByHashPrefix);
+            final Map<RowKey, Map<ColumnName, Long>> rows = tableRowKeys.getValue();
+            final List<Increment> incrementList = new ArrayList<>(rows.size());
+            for (Map.Entry<RowKey, Map<ColumnName, Long>> rowKeyEntry : rows.entrySet()) {
+                final RowKey rowKey = rowKeyEntry.getKey();
+                final Increment increment = new Increment(getRowKey(rowKey, rowKeyDistributorByHashPrefix));
+                // the column count is not written back to the ColumnName, the instance may still be referenced by callers
+                for (Map.Entry<ColumnName, Long> column : rowKeyEntry.getValue().entrySet()) {
+                    increment.addColumn(family, column.getKey().getColumnName(), column.getValue());
+                }
+                logger.trace("create increment row:{}, column:{}", rowKey, rowKeyEntry.getValue());
                 incrementList.add(increment);
             }
             tableIncrementMap.put(tableName, incrementList);
@@ -70,17 +75,6 @@ public class RowKeyMerge {
         return tableIncrementMap;
     }
 
-    private Increment createIncrement(Map.Entry<RowKey, List<ColumnName>> rowKeyEntry, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
-        RowKey rowKey = rowKeyEntry.getKey();
-        byte[] key = getRowKey(rowKey, rowKeyDistributorByHashPrefix);
-        final Increment increment = new Increment(key);
-        for (ColumnName columnName : rowKeyEntry.getValue()) {
-            increment.addColumn(family, columnName.getColumnName(), columnName.getCallCount());
-        }
-        logger.trace("create increment row:{}, column:{}", rowKey, rowKeyEntry.getValue());
-        return increment;
-    }
-
     private byte[] getRowKey(RowKey rowKey, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
         if (rowKeyDistributorByHashPrefix == null) {
             return rowKey.getRowKey();
@@ -88,23 +82,4 @@ public class RowKeyMerge {
             return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey.getRowKey());
         }
     }
-
-    private Map<TableName, Map<RowKey, List<ColumnName>>> mergeRowKeys(Map<RowInfo, Long> data) {
-        final Map<TableName, Map<RowKey, List<ColumnName>>> tables = new HashMap<>();
-
-        for (Map.Entry<RowInfo, Long> entry : data.entrySet()) {
-            final RowInfo rowInfo = entry.getKey();
-            // write callCount to columnName and throw away
-            long callCount = entry.getValue();
-            rowInfo.getColumnName().setCallCount(callCount);
-
-            final TableName tableName = rowInfo.getTableName();
-            final RowKey rowKey = rowInfo.getRowKey();
-
-            Map<RowKey, List<ColumnName>> rows = tables.computeIfAbsent(tableName, k -> new HashMap<>());
-            List<ColumnName> columnNames = rows.computeIfAbsent(rowKey, k -> new ArrayList<>());
-            columnNames.add(rowInfo.getColumnName());
-        }
-        return tables;
-    }
 }
@@ -49,7 +49,7 @@ public class SyncWriter implements BulkWriter {
 
         TableName tableName = tableNameProvider.getTableName(this.tableDescriptor.getTable());
         final byte[] rowKeyBytes = getDistributedKey(rowKey.getRowKey());
-        Increment increment = Increments.increment(rowKeyBytes, getColumnFamilyName(), columnName.getColumnName(), 1);
+        Increment increment = Increments.increment(rowKeyBytes, getColumnFamilyName(), columnName.getColumnName(), addition);
         this.hbaseTemplate.asyncIncrement(tableName, increment);
     }
 
@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.collector.service;
 
+import com.navercorp.pinpoint.collector.dao.ApplicationHeatMapDao;
 import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.collector.dao.CallHistogram;
 import com.navercorp.pinpoint.collector.dao.HostApplicationMapDao;
 import com.navercorp.pinpoint.collector.dao.TraceDao;
 import com.navercorp.pinpoint.collector.event.SpanStorePublisher;
@@ -37,8 +39,12 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
@@ -53,6 +59,8 @@ public class HbaseTraceService implements TraceService {
 
     private final ApplicationTraceIndexDao applicationTraceIndexDao;
 
+    private final ApplicationHeatMapDao applicationHeatMapDao;
+
     private final HostApplicationMapDao hostApplicationMapDao;
 
     private final StatisticsService statisticsService;
@@ -64,6 +72,7 @@ public class HbaseTraceService implements TraceService {
 
     public HbaseTraceService(TraceDao traceDao,
                              ApplicationTraceIndexDao applicationTraceIndexDao,
+                             ApplicationHeatMapDao applicationHeatMapDao,
                              HostApplicationMapDao hostApplicationMapDao,
                              StatisticsService statisticsService,
                              ServiceTypeRegistryService registry,
@@ -71,6 +80,7 @@ public class HbaseTraceService implements TraceService {
                              @Qualifier("grpcSpanServerExecutor") Executor grpcSpanServerExecutor) {
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
         this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao");
+        this.applicationHeatMapDao = Objects.requireNonNull(applicationHeatMapDao, "applicationHeatMapDao");
         this.hostApplicationMapDao = Objects.requireNonNull(hostApplicationMapDao, "hostApplicationMapDao");
         this.statisticsService = Objects.requireNonNull(statisticsService, "statisticsService");
         this.registry = Objects.requireNonNull(registry, "registry");
@@ -85,7 +95,6 @@ public class HbaseTraceService implements TraceService {
         final ServiceType applicationServiceType = getApplicationServiceType(spanChunkBo);
         final List<SpanEventBo> spanEventList = spanChunkBo.getSpanEventBoList();
         if (spanEventList != null) {
-            // TODO need to batch update later.
             insertSpanEventList(spanEventList, applicationServiceType, spanChunkBo.getApplicationId(), spanChunkBo.getAgentId(), spanChunkBo.getEndPoint());
         }
 
@@ -103,6 +112,7 @@ public class HbaseTraceService implements TraceService {
         SpanInsertEvent event = publisher.captureContext(spanBo);
         CompletableFuture<Void> future = traceDao.asyncInsert(spanBo);
         applicationTraceIndexDao.insert(spanBo);
+        applicationHeatMapDao.insert(spanBo);
         insertAcceptorHost(spanBo);
         insertSpanStat(spanBo);
         insertSpanEventStat(spanBo);
@@ -114,20 +124,6 @@ public class HbaseTraceService implements TraceService {
         }, grpcSpanServerExecutor);
     }
 
-    private void insertAcceptorHost(SpanEventBo spanEvent, String applicationId, ServiceType serviceType) {
-        final String endPoint = spanEvent.getEndPoint();
-        if (endPoint == null) {
-            logger.debug("endPoint is null. spanEvent:{}", spanEvent);
-            return;
-        }
-        final String destinationId = spanEvent.getDestinationId();
-        if (destinationId == null) {
-            logger.debug("destinationId is null. spanEvent:{}", spanEvent);
-            return;
-        }
-        hostApplicationMapDao.insert(endPoint, destinationId, spanEvent.getServiceType(), applicationId, serviceType.getCode());
-    }
-
     private void insertAcceptorHost(SpanBo span) {
         // save host application map
         // acceptor host is set at profiler module only when the span is not the kind of root span
@@ -228,17 +224,22 @@ public class HbaseTraceService implements TraceService {
         }
 
         final ServiceType applicationServiceType = getApplicationServiceType(span);
-        // TODO need to batch update later.
         insertSpanEventList(spanEventList, applicationServiceType, span.getApplicationId(), span.getAgentId(), span.getEndPoint());
     }
 
     private void insertSpanEventList(List<SpanEventBo> spanEventList, ServiceType applicationServiceType, String applicationId, String agentId, String endPoint) {
+        // RPC events of a span usually repeat the same few links, merge them before updating the statistics
+        final Set<AcceptorHost> acceptorHosts = new LinkedHashSet<>();
+        final Map<Link, CallHistogram> links = new LinkedHashMap<>();
 
         for (SpanEventBo spanEvent : spanEventList) {
             final ServiceType spanEventType = registry.findServiceType(spanEvent.getServiceType());
 
             if (isAlias(spanEventType, spanEvent)) {
-                insertAcceptorHost(spanEvent, applicationId, applicationServiceType);
+                final AcceptorHost acceptorHost = newAcceptorHost(spanEvent);
+                if (acceptorHost != null) {
+                    acceptorHosts.add(acceptorHost);
+                }
                 continue;
             }
 
@@ -260,15 +261,47 @@ public class HbaseTraceService implements TraceService {
                 continue;
             }
 
+            final Link link = new Link(spanEventApplicationName, spanEventType.getCode(), spanEventEndPoint);
+            final CallHistogram callHistogram = links.computeIfAbsent(link, key -> new CallHistogram(spanEventType));
+            callHistogram.addCall(elapsed, hasException);
+        }
+
+        for (AcceptorHost acceptorHost : acceptorHosts) {
+            hostApplicationMapDao.insert(acceptorHost.endPoint(), acceptorHost.destinationId(), acceptorHost.serviceType(), applicationId, applicationServiceType.getCode());
+        }
+
+        for (Map.Entry<Link, CallHistogram> entry : links.entrySet()) {
+            final Link link = entry.getKey();
+            final CallHistogram callHistogram = entry.getValue();
             /*
              * save information to draw a server map based on statistics
              */
             // save the information of caller (the spanevent that called span)
-            statisticsService.updateCaller(applicationId, applicationServiceType, agentId, spanEventApplicationName, spanEventType, spanEventEndPoint, elapsed, hasException);
+            statisticsService.updateCaller(applicationId, applicationServiceType, agentId, link.applicationName(), link.endPoint(), callHistogram);
 
             // save the information of callee (the span that spanevent called)
-            statisticsService.updateCallee(spanEventApplicationName, spanEventType, applicationId, applicationServiceType, endPoint, elapsed, hasException);
+            statisticsService.updateCallee(link.applicationName(), applicationId, applicationServiceType, endPoint, callHistogram);
+        }
+    }
+
+    private AcceptorHost newAcceptorHost(SpanEventBo spanEvent) {
+        final String endPoint = spanEvent.getEndPoint();
+        if (endPoint == null) {
+            logger.debug("endPoint is null. spanEvent:{}", spanEvent);
+            return null;
         }
+        final String destinationId = spanEvent.getDestinationId();
+        if (destinationId == null) {
+            logger.debug("destinationId is null. spanEvent:{}", spanEvent);
+            return null;
+        }
+        return new AcceptorHost(endPoint, destinationId, spanEvent.getServiceType());
+    }
+
+    private record AcceptorHost(String endPoint, String destinationId, short serviceType) {
+    }
+
+    private record Link(String applicationName, short serviceType, String endPoint) {
     }
 
     private String normalize(String spanEventApplicationName, ServiceType spanEventType) {
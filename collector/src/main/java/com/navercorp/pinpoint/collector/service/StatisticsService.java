@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.service;
 
+import com.navercorp.pinpoint.collector.dao.CallHistogram;
 import com.navercorp.pinpoint.collector.dao.MapResponseTimeDao;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCallerDao;
@@ -96,6 +97,35 @@ public class StatisticsService {
         mapStatisticsCalleeDao.update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, elapsed, isError);
     }
 
+    /**
+     * Batched {@link #updateCaller(String, ServiceType, String, String, ServiceType, String, int, boolean)}.
+     * The callee service type is the one of the callHistogram.
+     */
+    public void updateCaller(
+            @NotBlank String callerApplicationName,
+            ServiceType callerServiceType,
+            @NotBlank String callerAgentId,
+            @NotBlank String calleeApplicationName,
+            String calleeHost,
+            CallHistogram callHistogram
+    ) {
+        mapStatisticsCallerDao.update(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeHost, callHistogram);
+    }
+
+    /**
+     * Batched {@link #updateCallee(String, ServiceType, String, ServiceType, String, int, boolean)}.
+     * The callee service type is the one of the callHistogram.
+     */
+    public void updateCallee(
+            @NotBlank String calleeApplicationName,
+            @NotBlank String callerApplicationName,
+            ServiceType callerServiceType,
+            String callerHost,
+            CallHistogram callHistogram
+    ) {
+        mapStatisticsCalleeDao.update(calleeApplicationName, callerApplicationName, callerServiceType, callerHost, callHistogram);
+    }
+
     public void updateResponseTime(
             @NotBlank String applicationName,
             ServiceType serviceType,
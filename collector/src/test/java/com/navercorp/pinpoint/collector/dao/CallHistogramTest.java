@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao;
+
+import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CallHistogramTest {
+
+    @Test
+    public void addCall() {
+        CallHistogram callHistogram = new CallHistogram(ServiceType.STAND_ALONE);
+        callHistogram.addCall(10, false);
+        callHistogram.addCall(20, false);
+        callHistogram.addCall(5000, false);
+        callHistogram.addCall(30, true);
+
+        Assertions.assertEquals(3, callHistogram.getSlotSize());
+        Assertions.assertEquals(4, callHistogram.getTotalCount());
+        Assertions.assertEquals(5060, callHistogram.getSum());
+        Assertions.assertEquals(5000, callHistogram.getMax());
+
+        long count = 0;
+        for (int i = 0; i < callHistogram.getSlotSize(); i++) {
+            count += callHistogram.getCount(i);
+        }
+        Assertions.assertEquals(callHistogram.getTotalCount(), count);
+
+        short fastSlot = ApplicationMapStatisticsUtils.getSlotNumber(ServiceType.STAND_ALONE, 10, false);
+        Assertions.assertEquals(fastSlot, callHistogram.getSlotNumber(0));
+        Assertions.assertEquals(2, callHistogram.getCount(0));
+    }
+
+    @Test
+    public void slotIndex() {
+        CallHistogram callHistogram = new CallHistogram(ServiceType.STAND_ALONE);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> callHistogram.getSlotNumber(0));
+    }
+}
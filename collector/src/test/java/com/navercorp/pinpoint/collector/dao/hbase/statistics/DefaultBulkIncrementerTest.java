@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.Flusher;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.Incrementer;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.TestData;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.TestDataSet;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.TestVerifier;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+public class DefaultBulkIncrementerTest {
+
+    private static final byte[] CF = Bytes.toBytes("CF");
+
+    @Test
+    public void shardSize() {
+        Assertions.assertEquals(1, new DefaultBulkIncrementer(new RowKeyMerge(CF), 1).getShardSize());
+        Assertions.assertEquals(4, new DefaultBulkIncrementer(new RowKeyMerge(CF), 3).getShardSize());
+        Assertions.assertEquals(8, new DefaultBulkIncrementer(new RowKeyMerge(CF), 8).getShardSize());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DefaultBulkIncrementer(new RowKeyMerge(CF), 0));
+    }
+
+    @Test
+    public void size() {
+        DefaultBulkIncrementer bulkIncrementer = new DefaultBulkIncrementer(new RowKeyMerge(CF), 4);
+        TableName tableA = TableName.valueOf("A");
+        TestDataSet testDataSetA_0_0 = new TestDataSet(tableA, 0, 0, 10);
+        TestDataSet testDataSetA_0_1 = new TestDataSet(tableA, 0, 1, 10);
+
+        for (TestData testData : testDataSetA_0_0.getTestDatas()) {
+            bulkIncrementer.increment(testData.getTableName(), testData.getRowKey(), testData.getColumnName());
+        }
+        bulkIncrementer.increment(tableA, testDataSetA_0_1.getRowKey(), testDataSetA_0_1.getColumnName(), 10);
+        Assertions.assertEquals(2, bulkIncrementer.getSize());
+
+        Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(null);
+        Assertions.assertEquals(0, bulkIncrementer.getSize());
+        Assertions.assertEquals(1, incrementMap.get(tableA).size());
+
+        TestVerifier verifier = new TestVerifier(incrementMap);
+        verifier.verify(testDataSetA_0_0);
+        verifier.verify(testDataSetA_0_1);
+
+        Assertions.assertTrue(bulkIncrementer.getIncrements(null).isEmpty());
+    }
+
+    @Test
+    public void size_distinctCellsAcrossShards() throws Exception {
+        DefaultBulkIncrementer bulkIncrementer = new DefaultBulkIncrementer(new RowKeyMerge(CF), 16);
+        TableName tableA = TableName.valueOf("A");
+        TestDataSet testDataSet = new TestDataSet(tableA, 0, 0, 1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            threads.add(new Thread(() -> bulkIncrementer.increment(tableA, testDataSet.getRowKey(), testDataSet.getColumnName())));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(1, bulkIncrementer.getSize());
+
+        bulkIncrementer.getIncrements(null);
+        Assertions.assertEquals(0, bulkIncrementer.getSize());
+    }
+
+    @Test
+    public void mergeShards() throws Exception {
+        DefaultBulkIncrementer bulkIncrementer = new DefaultBulkIncrementer(new RowKeyMerge(CF), 16);
+        TableName tableA = TableName.valueOf("A");
+        TestDataSet testDataSetA_0_0 = new TestDataSet(tableA, 0, 0, 100000);
+        TestDataSet testDataSetA_1_0 = new TestDataSet(tableA, 1, 0, 100001);
+
+        List<TestData> testDatas = new ArrayList<>();
+        testDatas.addAll(testDataSetA_0_0.getTestDatas());
+        testDatas.addAll(testDataSetA_1_0.getTestDatas());
+        Collections.shuffle(testDatas);
+
+        final int numIncrementers = 16;
+        List<List<TestData>> testDataPartitions = ListUtils.partition(testDatas, testDatas.size() / (numIncrementers - 1));
+        final CountDownLatch completeLatch = new CountDownLatch(testDataPartitions.size());
+        final CountDownLatch flusherLatch = new CountDownLatch(1);
+
+        FutureTask<Map<TableName, List<Increment>>> flushTask = new FutureTask<>(new Flusher(bulkIncrementer, null, completeLatch, flusherLatch));
+        new Thread(flushTask, "Flusher").start();
+
+        int counter = 0;
+        for (List<TestData> testDataPartition : testDataPartitions) {
+            Incrementer incrementer = new Incrementer(bulkIncrementer, completeLatch, testDataPartition);
+            new Thread(incrementer, "Incrementer-" + counter++).start();
+        }
+
+        Assertions.assertTrue(flusherLatch.await(30L, TimeUnit.SECONDS));
+
+        Map<TableName, List<Increment>> incrementMap = flushTask.get(5L, TimeUnit.SECONDS);
+        TestVerifier verifier = new TestVerifier(incrementMap);
+        verifier.verify(testDataSetA_0_0);
+        verifier.verify(testDataSetA_1_0);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.dao.ApplicationHeatMapDao;
+import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.collector.dao.CallHistogram;
+import com.navercorp.pinpoint.collector.dao.HostApplicationMapDao;
+import com.navercorp.pinpoint.collector.dao.TraceDao;
+import com.navercorp.pinpoint.collector.event.SpanStorePublisher;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeFactory;
+import com.navercorp.pinpoint.common.trace.ServiceTypeProperty;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HbaseTraceServiceTest {
+
+    private static final ServiceType RPC = ServiceTypeFactory.of(9900, "TEST_RPC", ServiceTypeProperty.RECORD_STATISTICS);
+    private static final ServiceType ALIAS = ServiceTypeFactory.of(9901, "TEST_ALIAS", ServiceTypeProperty.ALIAS);
+
+    @Mock
+    private TraceDao traceDao;
+    @Mock
+    private ApplicationTraceIndexDao applicationTraceIndexDao;
+    @Mock
+    private ApplicationHeatMapDao applicationHeatMapDao;
+    @Mock
+    private HostApplicationMapDao hostApplicationMapDao;
+    @Mock
+    private StatisticsService statisticsService;
+    @Mock
+    private ServiceTypeRegistryService registry;
+    @Mock
+    private SpanStorePublisher publisher;
+
+    private HbaseTraceService traceService;
+
+    @BeforeEach
+    public void setUp() {
+        when(registry.findServiceType(anyShort())).thenAnswer(invocation -> {
+            short code = invocation.getArgument(0);
+            if (code == RPC.getCode()) {
+                return RPC;
+            }
+            if (code == ALIAS.getCode()) {
+                return ALIAS;
+            }
+            return ServiceType.STAND_ALONE;
+        });
+        traceService = new HbaseTraceService(traceDao, applicationTraceIndexDao, applicationHeatMapDao, hostApplicationMapDao,
+                statisticsService, registry, publisher, Runnable::run);
+    }
+
+    @Test
+    public void insertSpanChunk_mergeLinks() {
+        List<SpanEventBo> spanEventList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            spanEventList.add(newSpanEvent(RPC, "remote-a", "10.0.0.1:80", 10));
+        }
+        spanEventList.add(newSpanEvent(RPC, "remote-b", "10.0.0.2:80", 20));
+        for (int i = 0; i < 5; i++) {
+            spanEventList.add(newSpanEvent(ALIAS, "alias", "10.0.0.3:80", 0));
+        }
+
+        SpanChunkBo spanChunkBo = newSpanChunk(spanEventList);
+        traceService.insertSpanChunk(spanChunkBo);
+
+        ArgumentCaptor<CallHistogram> callerHistogram = ArgumentCaptor.forClass(CallHistogram.class);
+        verify(statisticsService, times(2)).updateCaller(eq("app"), eq(ServiceType.STAND_ALONE), eq("agent"),
+                any(String.class), any(String.class), callerHistogram.capture());
+        verify(statisticsService, times(2)).updateCallee(any(String.class), eq("app"), eq(ServiceType.STAND_ALONE),
+                eq("localhost:8080"), any(CallHistogram.class));
+
+        List<CallHistogram> histograms = callerHistogram.getAllValues();
+        Assertions.assertEquals(10, histograms.get(0).getTotalCount());
+        Assertions.assertEquals(100, histograms.get(0).getSum());
+        Assertions.assertEquals(1, histograms.get(1).getTotalCount());
+        Assertions.assertEquals(RPC, histograms.get(1).getCalleeServiceType());
+
+        verify(hostApplicationMapDao, times(1)).insert("10.0.0.3:80", "alias", ALIAS.getCode(), "app", ServiceType.STAND_ALONE.getCode());
+    }
+
+    private SpanChunkBo newSpanChunk(List<SpanEventBo> spanEventList) {
+        SpanChunkBo spanChunkBo = new SpanChunkBo();
+        spanChunkBo.setApplicationId("app");
+        spanChunkBo.setAgentId("agent");
+        spanChunkBo.setEndPoint("localhost:8080");
+        spanChunkBo.setApplicationServiceType(ServiceType.STAND_ALONE.getCode());
+        spanChunkBo.addSpanEventBoList(spanEventList);
+        return spanChunkBo;
+    }
+
+    private SpanEventBo newSpanEvent(ServiceType serviceType, String destinationId, String endPoint, int elapsed) {
+        SpanEventBo spanEventBo = new SpanEventBo();
+        spanEventBo.setServiceType(serviceType.getCode());
+        spanEventBo.setDestinationId(destinationId);
+        spanEventBo.setEndPoint(endPoint);
+        spanEventBo.setEndElapsed(elapsed);
+        return spanEventBo;
+    }
+}
@@ -97,6 +97,13 @@ public class HbaseColumnFamily {
         }
     }
 
+    public static final ApplicationHeatMap APPLICATION_HEATMAP_COUNTER = new ApplicationHeatMap(HbaseTable.APPLICATION_HEATMAP, Bytes.toBytes("C"));
+    public static class ApplicationHeatMap extends HbaseColumnFamily {
+        private ApplicationHeatMap(HbaseTable hBaseTable, byte[] columnFamilyName) {
+            super(hBaseTable, columnFamilyName);
+        }
+    }
+
     public static final ApplicationTraceIndexTrace APPLICATION_TRACE_INDEX_TRACE = new ApplicationTraceIndexTrace(HbaseTable.APPLICATION_TRACE_INDEX, Bytes.toBytes("I"));
     public static final ApplicationTraceIndexTrace APPLICATION_TRACE_INDEX_META = new ApplicationTraceIndexTrace(HbaseTable.APPLICATION_TRACE_INDEX, Bytes.toBytes("M"));
     public static class ApplicationTraceIndexTrace extends HbaseColumnFamily {
@@ -28,6 +28,7 @@ public enum HbaseTable {
     AGENT_STAT_VER2("AgentStatV2"),
     AGENT_URI_STAT("AgentUriStat"),
     API_METADATA("ApiMetaData"),
+    APPLICATION_HEATMAP("ApplicationHeatMap"),
     APPLICATION_INDEX("ApplicationIndex"),
     APPLICATION_STAT_AGGRE("ApplicationStatAggre"),
     APPLICATION_TRACE_INDEX("ApplicationTraceIndex"),
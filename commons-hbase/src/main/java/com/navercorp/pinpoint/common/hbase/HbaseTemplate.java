@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.common.hbase.async.AdvancedAsyncTableCallback;
 import com.navercorp.pinpoint.common.hbase.async.AsyncTableCallback;
 import com.navercorp.pinpoint.common.hbase.future.FutureDecorator;
 import com.navercorp.pinpoint.common.hbase.future.FutureLoggingDecorator;
+import com.navercorp.pinpoint.common.hbase.parallel.MergedResultScanner;
 import com.navercorp.pinpoint.common.hbase.parallel.ParallelResultScanner;
 import com.navercorp.pinpoint.common.hbase.parallel.ScanTaskException;
 import com.navercorp.pinpoint.common.hbase.scan.ResultScannerFactory;
@@ -508,6 +509,16 @@ public class HbaseTemplate extends HbaseAccessor implements HbaseOperations, Ini
         return callables;
     }
 
+    /**
+     * DistributedScanner merges the partitions in ascending order only.
+     */
+    private static ResultScanner newDistributedScanner(Scan scan, AbstractRowKeyDistributor rowKeyDistributor, ResultScanner[] scanners) {
+        if (scan.isReversed()) {
+            return new MergedResultScanner(rowKeyDistributor, scanners, true);
+        }
+        return new DistributedScanner(rowKeyDistributor, scanners);
+    }
+
     private boolean isSimpleScan(int parallelism) {
         return !this.enableParallelScan || parallelism <= 1;
     }
@@ -559,7 +570,7 @@ public class HbaseTemplate extends HbaseAccessor implements HbaseOperations, Ini
                 final ScanMetricReporter.Reporter reporter = scanMetric.newReporter(tableName, "block-multi", scans);
 
                 final ResultScanner[] splitScanners = ScanUtils.newScanners(table, scans);
-                try (ResultScanner scanner = new DistributedScanner(rowKeyDistributor, splitScanners)) {
+                try (ResultScanner scanner = newDistributedScanner(scan, rowKeyDistributor, splitScanners)) {
                     if (debugEnabled) {
                         logger.debug("DistributedScanner createTime: {}ms", watch.stop());
                     }
@@ -586,7 +597,7 @@ public class HbaseTemplate extends HbaseAccessor implements HbaseOperations, Ini
                 Scan[] scans = ScanUtils.splitScans(scan, rowKeyDistributor);
                 final ScanMetricReporter.Reporter reporter = scanMetric.newReporter(tableName, "async-multi", scans);
                 final ResultScanner[] splitScanners = ScanUtils.newScanners(table, scans);
-                try (ResultScanner scanner = new DistributedScanner(rowKeyDistributor, splitScanners)) {
+                try (ResultScanner scanner = newDistributedScanner(scan, rowKeyDistributor, splitScanners)) {
                     if (debugEnabled) {
                         logger.debug("DistributedScanner createTime: {}ms", watch.stop());
                         watch.start();
@@ -674,7 +685,7 @@ public class HbaseTemplate extends HbaseAccessor implements HbaseOperations, Ini
                     ScanMetricReporter.Reporter reporter = scanMetric.newReporter(tableName, "async-multi", scans);
                     ResultScanner[] resultScanners = ScanUtils.newScanners(table, scans);
 
-                    ResultScanner scanner = new DistributedScanner(rowKeyDistributor, resultScanners);
+                    ResultScanner scanner = newDistributedScanner(scan, rowKeyDistributor, resultScanners);
                     try (scanner) {
                         return action.extractData(scanner);
                     } finally {
@@ -0,0 +1,28 @@
+package com.navercorp.pinpoint.common.hbase.async;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveConcurrencyDecorator implements HbasePutWriterDecorator {
+    private final int minPermits;
+    private final int maxPermits;
+    private final long targetLatencyMillis;
+    private final double backoffRatio;
+
+    public AdaptiveConcurrencyDecorator(int minPermits, int maxPermits, long targetLatencyMillis, double backoffRatio) {
+        if (maxPermits <= 0) {
+            throw new IllegalArgumentException("maxPermits must be positive");
+        }
+        this.minPermits = minPermits;
+        this.maxPermits = maxPermits;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public HbasePutWriter decorator(HbasePutWriter hbasePutWriter) {
+        final long targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        final int min = Math.min(minPermits, maxPermits);
+        return new AdaptiveLimiterPutWriter(hbasePutWriter,
+                tableName -> new AdaptiveConcurrencyLimiter(min, maxPermits, targetLatencyNanos, backoffRatio));
+    }
+}
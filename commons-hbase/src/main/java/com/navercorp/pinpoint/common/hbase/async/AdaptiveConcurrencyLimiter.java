@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit driven by the latency of the completed requests.
+ * <p>
+ * The limit starts at {@code maxLimit}, so a healthy cluster behaves as with a static limit.
+ * It is cut by {@code backoffRatio} when the smoothed latency exceeds the target or a request fails,
+ * and grows back by one after a full window of fast requests.
+ * The limit is cut at most once per target latency, so a burst of slow responses counts as one congestion signal.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicLong limit;
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong lastBackoffTime;
+    private volatile long smoothedLatencyNanos;
+
+    private final long minLimit;
+    private final long maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    public AdaptiveConcurrencyLimiter(long minLimit, long maxLimit, long targetLatencyNanos, double backoffRatio) {
+        if (minLimit <= 0) {
+            throw new IllegalArgumentException("minLimit must be positive");
+        }
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("maxLimit must be greater than or equal to minLimit");
+        }
+        if (targetLatencyNanos <= 0) {
+            throw new IllegalArgumentException("targetLatencyNanos must be positive");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicLong(maxLimit);
+        this.lastBackoffTime = new AtomicLong(System.nanoTime() - targetLatencyNanos);
+    }
+
+    public boolean acquire(int permits) {
+        final long concurrency = counter.addAndGet(permits);
+        if (concurrency > limit.get()) {
+            counter.addAndGet(-permits);
+            rejectedCount.addAndGet(permits);
+            return false;
+        }
+        return true;
+    }
+
+    public void release(int permits) {
+        this.counter.addAndGet(-permits);
+    }
+
+    public void onComplete(long latencyNanos, Throwable throwable, long nowNanos) {
+        this.counter.decrementAndGet();
+
+        final long smoothed = smooth(latencyNanos);
+        if (throwable != null || smoothed > targetLatencyNanos) {
+            backoff(nowNanos);
+        } else {
+            increase();
+        }
+    }
+
+    private long smooth(long latencyNanos) {
+        // lossy under contention, good enough for a congestion signal
+        final long prev = this.smoothedLatencyNanos;
+        final long smoothed = prev + ((latencyNanos - prev) >> SMOOTHING_SHIFT);
+        this.smoothedLatencyNanos = smoothed;
+        return smoothed;
+    }
+
+    private void increase() {
+        final long currentLimit = limit.get();
+        if (currentLimit >= maxLimit) {
+            return;
+        }
+        if (successCount.incrementAndGet() < currentLimit) {
+            return;
+        }
+        successCount.set(0);
+        limit.compareAndSet(currentLimit, currentLimit + 1);
+    }
+
+    private void backoff(long nowNanos) {
+        final long lastBackoff = lastBackoffTime.get();
+        if (nowNanos - lastBackoff < targetLatencyNanos) {
+            return;
+        }
+        if (!lastBackoffTime.compareAndSet(lastBackoff, nowNanos)) {
+            return;
+        }
+        successCount.set(0);
+        final long currentLimit = limit.get();
+        final long newLimit = Math.max(minLimit, (long) (currentLimit * backoffRatio));
+        limit.compareAndSet(currentLimit, newLimit);
+    }
+
+    public long count() {
+        return counter.get();
+    }
+
+    public long getLimit() {
+        return limit.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getSmoothedLatencyNanos() {
+        return smoothedLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimiter{" +
+                "counter=" + counter +
+                ", limit=" + limit +
+                ", minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", targetLatencyNanos=" + targetLatencyNanos +
+                ", backoffRatio=" + backoffRatio +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.async;
+
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Limits the in-flight puts of each table with an {@link AdaptiveConcurrencyLimiter},
+ * so a slow region server sheds load of its own table instead of piling up futures on the heap.
+ */
+public class AdaptiveLimiterPutWriter implements HbasePutWriter {
+    private final HbasePutWriter putWriter;
+    private final Function<TableName, AdaptiveConcurrencyLimiter> limiterFactory;
+    private final ConcurrentMap<TableName, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveLimiterPutWriter(HbasePutWriter putWriter, Function<TableName, AdaptiveConcurrencyLimiter> limiterFactory) {
+        this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
+        this.limiterFactory = Objects.requireNonNull(limiterFactory, "limiterFactory");
+    }
+
+    @Override
+    public CompletableFuture<Void> put(TableName tableName, Put put) {
+        final AdaptiveConcurrencyLimiter limiter = getLimiter(tableName);
+        acquire(limiter, 1, tableName);
+        boolean success = false;
+        try {
+            final long startTime = System.nanoTime();
+            final CompletableFuture<Void> result = this.putWriter.put(tableName, put);
+            if (result != null) {
+                result.whenComplete(new Release<>(limiter, startTime));
+                success = true;
+            }
+            return result;
+        } finally {
+            if (!success) {
+                limiter.release(1);
+            }
+        }
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> put(TableName tableName, List<Put> puts) {
+        final AdaptiveConcurrencyLimiter limiter = getLimiter(tableName);
+        final int size = puts.size();
+        acquire(limiter, size, tableName);
+        boolean success = false;
+        try {
+            final long startTime = System.nanoTime();
+            final List<CompletableFuture<Void>> results = this.putWriter.put(tableName, puts);
+            if (results != null) {
+                final Release<Void> release = new Release<>(limiter, startTime);
+                for (CompletableFuture<Void> result : results) {
+                    result.whenComplete(release);
+                }
+                success = true;
+            }
+            return results;
+        } finally {
+            if (!success) {
+                limiter.release(size);
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimiter getLimiter(TableName tableName) {
+        return limiters.computeIfAbsent(tableName, limiterFactory);
+    }
+
+    private void acquire(AdaptiveConcurrencyLimiter limiter, int size, TableName tableName) {
+        if (!limiter.acquire(size)) {
+            throw new RequestNotPermittedException("adaptive concurrency limit reached. table:" + tableName + " limit:" + limiter.getLimit(), false);
+        }
+    }
+
+    private static class Release<R> implements BiConsumer<R, Throwable> {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startTime;
+
+        public Release(AdaptiveConcurrencyLimiter limiter, long startTime) {
+            this.limiter = limiter;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void accept(R result, Throwable throwable) {
+            final long now = System.nanoTime();
+            limiter.onComplete(now - startTime, throwable, now);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveLimiterPutWriter{" +
+                "putWriter=" + putWriter +
+                ", limiters=" + limiters +
+                '}';
+    }
+}
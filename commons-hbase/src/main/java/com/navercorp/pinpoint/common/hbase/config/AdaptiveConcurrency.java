@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.config;
+
+public class AdaptiveConcurrency {
+    private int minLimit = 1000;
+    private int maxLimit = 100000;
+    private long targetLatencyMillis = 1000;
+    private double backoffRatio = 0.9;
+
+
+    public AdaptiveConcurrency() {
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * Upper bound of the adaptive limit for the tables without a concurrency limit.
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public long getTargetLatencyMillis() {
+        return targetLatencyMillis;
+    }
+
+    public void setTargetLatencyMillis(long targetLatencyMillis) {
+        this.targetLatencyMillis = targetLatencyMillis;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrency{" +
+                "minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", targetLatencyMillis=" + targetLatencyMillis +
+                ", backoffRatio=" + backoffRatio +
+                '}';
+    }
+}
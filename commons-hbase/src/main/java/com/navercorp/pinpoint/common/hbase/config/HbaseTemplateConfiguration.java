@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.common.hbase.HbaseTableFactory;
 import com.navercorp.pinpoint.common.hbase.HbaseTemplate;
 import com.navercorp.pinpoint.common.hbase.HbaseVersionCheckBean;
 import com.navercorp.pinpoint.common.hbase.TableFactory;
+import com.navercorp.pinpoint.common.hbase.async.AdaptiveConcurrencyDecorator;
 import com.navercorp.pinpoint.common.hbase.async.AsyncHbasePutWriter;
 import com.navercorp.pinpoint.common.hbase.async.AsyncTableCustomizer;
 import com.navercorp.pinpoint.common.hbase.async.AsyncTableFactory;
@@ -35,6 +36,8 @@ import com.navercorp.pinpoint.common.hbase.async.HbaseAsyncTableFactory;
 import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
 import com.navercorp.pinpoint.common.hbase.async.HbasePutWriterDecorator;
 import com.navercorp.pinpoint.common.hbase.async.LoggingHbasePutWriter;
+import com.navercorp.pinpoint.common.hbase.spill.SpillDecorator;
+import com.navercorp.pinpoint.common.hbase.spill.SpillProperties;
 import com.navercorp.pinpoint.common.hbase.util.DefaultScanMetricReporter;
 import com.navercorp.pinpoint.common.hbase.util.EmptyScanMetricReporter;
 import com.navercorp.pinpoint.common.hbase.util.ScanMetricReporter;
@@ -86,6 +89,42 @@ public class HbaseTemplateConfiguration {
         return new ParallelScan();
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "hbase.client.put-writer.adaptive-concurrency.enable", havingValue = "true")
+    @ConfigurationProperties("hbase.client.put-writer.adaptive-concurrency")
+    public AdaptiveConcurrency adaptiveConcurrency() {
+        return new AdaptiveConcurrency();
+    }
+
+    @Bean
+    @ConfigurationProperties("hbase.client.put-writer.spill")
+    public SpillProperties spillProperties() {
+        return new SpillProperties();
+    }
+
+    @Bean
+    public SpillDecorator spillDecorator(SpillProperties spillProperties) {
+        return new SpillDecorator(spillProperties, "put");
+    }
+
+    @Bean
+    public SpillDecorator spanSpillDecorator(SpillProperties spillProperties) {
+        return new SpillDecorator(spillProperties, "span");
+    }
+
+    /**
+     * The concurrency limit is the upper bound of the adaptive limit when adaptive concurrency is enabled.
+     * A table without a concurrency limit is bounded by the max-limit of the adaptive concurrency instead.
+     */
+    static HbasePutWriterDecorator newConcurrencyDecorator(int concurrency, Optional<AdaptiveConcurrency> adaptiveConcurrency) {
+        if (adaptiveConcurrency.isPresent()) {
+            AdaptiveConcurrency adaptive = adaptiveConcurrency.get();
+            final int maxLimit = concurrency > 0 ? concurrency : adaptive.getMaxLimit();
+            return new AdaptiveConcurrencyDecorator(adaptive.getMinLimit(), maxLimit, adaptive.getTargetLatencyMillis(), adaptive.getBackoffRatio());
+        }
+        return new ConcurrencyDecorator(concurrency);
+    }
+
     @Bean
     @ConditionalOnProperty(name = "hbase.client.scan-metric-reporter.enable", havingValue = "true")
     public ScanMetricReporter scannerMetricReporter() {
@@ -135,33 +174,39 @@ public class HbaseTemplateConfiguration {
         @Primary
         @Bean
         public HbasePutWriter hbasePutWriter(@Qualifier("hbaseAsyncTableFactory") AsyncTableFactory asyncTableFactory,
-                                                  @Qualifier("concurrencyDecorator") HbasePutWriterDecorator decorator) {
-            HbasePutWriter putWriter = newPutWriter(asyncTableFactory, decorator);
+                                                  @Qualifier("concurrencyDecorator") HbasePutWriterDecorator decorator,
+                                                  @Qualifier("spillDecorator") HbasePutWriterDecorator spillDecorator) {
+            HbasePutWriter putWriter = newPutWriter(asyncTableFactory, decorator, spillDecorator);
             logger.info("hbasePutWriter {}", putWriter);
             return putWriter;
         }
 
         @Bean
-        public HbasePutWriterDecorator concurrencyDecorator(@Value("${hbase.client.put-writer.concurrency-limit:100000}") int concurrency) {
-            return new ConcurrencyDecorator(concurrency);
+        public HbasePutWriterDecorator concurrencyDecorator(@Value("${hbase.client.put-writer.concurrency-limit:100000}") int concurrency,
+                                                            Optional<AdaptiveConcurrency> adaptiveConcurrency) {
+            return newConcurrencyDecorator(concurrency, adaptiveConcurrency);
         }
 
         @Bean
         public HbasePutWriter spanPutWriter(@Qualifier("hbaseAsyncTableFactory") AsyncTableFactory asyncTableFactory,
-                                             @Qualifier("spanConcurrencyDecorator") HbasePutWriterDecorator decorator) {
-            HbasePutWriter putWriter = newPutWriter(asyncTableFactory, decorator);
+                                             @Qualifier("spanConcurrencyDecorator") HbasePutWriterDecorator decorator,
+                                             @Qualifier("spanSpillDecorator") HbasePutWriterDecorator spillDecorator) {
+            HbasePutWriter putWriter = newPutWriter(asyncTableFactory, decorator, spillDecorator);
             logger.info("hbaseSpanPutWriter {}", putWriter);
             return putWriter;
         }
 
         @Bean
-        public HbasePutWriterDecorator spanConcurrencyDecorator(@Value("${hbase.client.span-put-writer.concurrency-limit:1000000}") int concurrency) {
-            return new ConcurrencyDecorator(concurrency);
+        public HbasePutWriterDecorator spanConcurrencyDecorator(@Value("${hbase.client.span-put-writer.concurrency-limit:1000000}") int concurrency,
+                                                                Optional<AdaptiveConcurrency> adaptiveConcurrency) {
+            return newConcurrencyDecorator(concurrency, adaptiveConcurrency);
         }
 
-        private HbasePutWriter newPutWriter(AsyncTableFactory asyncTableFactory, HbasePutWriterDecorator decorator) {
+        private HbasePutWriter newPutWriter(AsyncTableFactory asyncTableFactory, HbasePutWriterDecorator decorator, HbasePutWriterDecorator spillDecorator) {
             HbasePutWriter writer = new AsyncHbasePutWriter(asyncTableFactory);
             HbasePutWriter putWriter = decorator.decorator(writer);
+            // puts rejected by the concurrency limit are spilled as well
+            putWriter = spillDecorator.decorator(putWriter);
             return new LoggingHbasePutWriter(putWriter);
         }
     }
@@ -179,33 +224,39 @@ public class HbaseTemplateConfiguration {
         @Primary
         @Bean
         public HbasePutWriter hbasePutWriter(@Qualifier("hbaseAsyncTableFactory") AsyncTableFactory asyncTableFactory,
-                                                  @Qualifier("concurrencyDecorator") HbasePutWriterDecorator decorator) {
-            HbasePutWriter hbasePutWriter = newPutWriter(asyncTableFactory, decorator);
+                                                  @Qualifier("concurrencyDecorator") HbasePutWriterDecorator decorator,
+                                                  @Qualifier("spillDecorator") HbasePutWriterDecorator spillDecorator) {
+            HbasePutWriter hbasePutWriter = newPutWriter(asyncTableFactory, decorator, spillDecorator);
             logger.info("hbasePutWriter {}", hbasePutWriter);
             return hbasePutWriter;
         }
 
         @Bean
-        public HbasePutWriterDecorator concurrencyDecorator(@Value("${hbase.client.put-writer.concurrency-limit:100000}") int concurrency) {
-            return new ConcurrencyDecorator(concurrency);
+        public HbasePutWriterDecorator concurrencyDecorator(@Value("${hbase.client.put-writer.concurrency-limit:100000}") int concurrency,
+                                                            Optional<AdaptiveConcurrency> adaptiveConcurrency) {
+            return newConcurrencyDecorator(concurrency, adaptiveConcurrency);
         }
 
         @Bean
         public HbasePutWriter spanPutWriter(@Qualifier("hbaseAsyncTableFactory") AsyncTableFactory asyncTableFactory,
-                                             @Qualifier("spanConcurrencyDecorator") HbasePutWriterDecorator decorator) {
-            HbasePutWriter hbasePutWriter = newPutWriter(asyncTableFactory, decorator);
+                                             @Qualifier("spanConcurrencyDecorator") HbasePutWriterDecorator decorator,
+                                             @Qualifier("spanSpillDecorator") HbasePutWriterDecorator spillDecorator) {
+            HbasePutWriter hbasePutWriter = newPutWriter(asyncTableFactory, decorator, spillDecorator);
             logger.info("HbaseSpanPutWriter {}", hbasePutWriter);
             return hbasePutWriter;
         }
 
         @Bean
-        public HbasePutWriterDecorator spanConcurrencyDecorator(@Value("${hbase.client.span-put-writer.concurrency-limit:1000000}") int concurrency) {
-            return new ConcurrencyDecorator(concurrency);
+        public HbasePutWriterDecorator spanConcurrencyDecorator(@Value("${hbase.client.span-put-writer.concurrency-limit:1000000}") int concurrency,
+                                                                Optional<AdaptiveConcurrency> adaptiveConcurrency) {
+            return newConcurrencyDecorator(concurrency, adaptiveConcurrency);
         }
 
-        private HbasePutWriter newPutWriter(AsyncTableFactory asyncTableFactory, HbasePutWriterDecorator decorator) {
+        private HbasePutWriter newPutWriter(AsyncTableFactory asyncTableFactory, HbasePutWriterDecorator decorator, HbasePutWriterDecorator spillDecorator) {
             HbasePutWriter writer = new BatchAsyncHbasePutWriter(asyncTableFactory);
             HbasePutWriter putWriter = decorator.decorator(writer);
+            // puts rejected by the concurrency limit are spilled as well
+            putWriter = spillDecorator.decorator(putWriter);
             return new LoggingHbasePutWriter(putWriter);
         }
     }
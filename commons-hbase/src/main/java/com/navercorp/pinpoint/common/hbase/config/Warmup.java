@@ -36,7 +36,7 @@ public class Warmup implements Consumer<Connection> {
 
     private final TableNameProvider tableNameProvider;
 
-    private List<HbaseTable> warmUpExclusive = List.of(HbaseTable.AGENT_URI_STAT);
+    private List<HbaseTable> warmUpExclusive = List.of(HbaseTable.AGENT_URI_STAT, HbaseTable.APPLICATION_HEATMAP);
 
     public Warmup(TableNameProvider tableNameProvider) {
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
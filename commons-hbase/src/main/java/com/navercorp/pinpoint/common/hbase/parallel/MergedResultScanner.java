@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.parallel;
+
+import com.navercorp.pinpoint.common.hbase.scan.ScanUtils;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Single threaded scanner over the salted partitions of a scan, merged in scan order by {@link RowKeyMerger}.
+ * <p>
+ * Unlike DistributedScanner, which always returns the smallest original key first, it honours reversed scans.
+ */
+public class MergedResultScanner implements ResultScanner {
+
+    private final ResultScanner[] scanners;
+    private final RowKeyMerger merger;
+
+    public MergedResultScanner(AbstractRowKeyDistributor keyDistributor, ResultScanner[] scanners, boolean reversed) {
+        Objects.requireNonNull(keyDistributor, "keyDistributor");
+        this.scanners = Objects.requireNonNull(scanners, "scanners");
+
+        final List<RowKeyMerger.ResultSource> sources = new ArrayList<>(scanners.length);
+        for (ResultScanner scanner : scanners) {
+            sources.add(scanner::next);
+        }
+        this.merger = new RowKeyMerger(keyDistributor, sources, reversed);
+    }
+
+    @Override
+    public Result next() throws IOException {
+        return merger.next();
+    }
+
+    @Override
+    public void close() {
+        ScanUtils.closeScanner(scanners);
+    }
+
+    @Override
+    public boolean renewLease() {
+        boolean renewed = true;
+        for (ResultScanner scanner : scanners) {
+            renewed &= scanner.renewLease();
+        }
+        return renewed;
+    }
+
+    @Override
+    public ScanMetrics getScanMetrics() {
+        return null;
+    }
+}
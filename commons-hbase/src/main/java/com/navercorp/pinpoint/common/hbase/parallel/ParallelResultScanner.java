@@ -24,9 +24,9 @@ import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
-import org.apache.hadoop.hbase.util.Bytes;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -40,7 +40,7 @@ public class ParallelResultScanner implements ResultScanner {
 
     private final AbstractRowKeyDistributor keyDistributor;
     private final List<ScanTask> scanTasks;
-    private final Result[] nextResults;
+    private final RowKeyMerger merger;
     private Result next = null;
 
     public ParallelResultScanner(TableName tableName, HbaseAccessor hbaseAccessor, ExecutorService executor, Scan originalScan, AbstractRowKeyDistributor keyDistributor, int numParallelThreads) throws IOException {
@@ -54,7 +54,7 @@ public class ParallelResultScanner implements ResultScanner {
         final Scan[] splitScans = ScanUtils.splitScans(originalScan, keyDistributor);
 
         this.scanTasks = createScanTasks(scanTaskConfig, splitScans, numParallelThreads);
-        this.nextResults = new Result[scanTasks.size()];
+        this.merger = new RowKeyMerger(keyDistributor, scanTasks, originalScan.isReversed());
         for (ScanTask scanTask : scanTasks) {
             executor.execute(scanTask);
         }
@@ -105,33 +105,16 @@ public class ParallelResultScanner implements ResultScanner {
     }
 
     private Result nextInternal() throws IOException {
-        Result result = null;
-        int indexOfResultToUse = -1;
-        for (int i = 0; i < this.scanTasks.size(); i++) {
-            ScanTask scanTask = this.scanTasks.get(i);
-            // fail fast in case of errors
+        // fail fast in case of errors
+        for (ScanTask scanTask : this.scanTasks) {
             checkTask(scanTask);
-            if (nextResults[i] == null) {
-                try {
-                    nextResults[i] = scanTask.getResult();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return null;
-                }
-                if (nextResults[i] == null) {
-                    continue;
-                }
-            }
-            if (result == null || Bytes.compareTo(keyDistributor.getOriginalKey(nextResults[i].getRow()),
-                    keyDistributor.getOriginalKey(result.getRow())) < 0) {
-                result = nextResults[i];
-                indexOfResultToUse = i;
-            }
         }
-        if (indexOfResultToUse >= 0) {
-            nextResults[indexOfResultToUse] = null;
+        try {
+            return merger.next();
+        } catch (InterruptedIOException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
-        return result;
     }
 
     private void checkTask(ScanTask scanTask) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.parallel;
+
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of salted partitions by their original row key.
+ * <p>
+ * Each source must return its results in scan order, ascending or descending when the scan is reversed.
+ * A source is read again only when the next result is requested after its previous result was taken,
+ * so a caller that stops at its limit never waits for a source it does not need.
+ */
+public class RowKeyMerger {
+
+    @FunctionalInterface
+    public interface ResultSource {
+        /**
+         * @return next result, or null at the end of the source
+         */
+        Result next() throws IOException;
+    }
+
+    private final AbstractRowKeyDistributor keyDistributor;
+    private final List<? extends ResultSource> sources;
+    private final PriorityQueue<Head> heap;
+    private boolean initialized = false;
+    private int takenSourceIndex = -1;
+
+    public RowKeyMerger(AbstractRowKeyDistributor keyDistributor, List<? extends ResultSource> sources, boolean reversed) {
+        this.keyDistributor = Objects.requireNonNull(keyDistributor, "keyDistributor");
+        this.sources = Objects.requireNonNull(sources, "sources");
+
+        Comparator<Head> comparator = Comparator.comparing(Head::originalKey, Bytes.BYTES_COMPARATOR);
+        if (reversed) {
+            comparator = comparator.reversed();
+        }
+        this.heap = new PriorityQueue<>(Math.max(1, sources.size()), comparator);
+    }
+
+    public Result next() throws IOException {
+        if (!initialized) {
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+            initialized = true;
+        } else if (takenSourceIndex != -1) {
+            advance(takenSourceIndex);
+            takenSourceIndex = -1;
+        }
+        final Head head = heap.poll();
+        if (head == null) {
+            return null;
+        }
+        takenSourceIndex = head.sourceIndex();
+        return head.result();
+    }
+
+    private void advance(int sourceIndex) throws IOException {
+        final Result result = sources.get(sourceIndex).next();
+        if (result != null) {
+            final byte[] originalKey = keyDistributor.getOriginalKey(result.getRow());
+            heap.add(new Head(result, originalKey, sourceIndex));
+        }
+    }
+
+    private record Head(Result result, byte[] originalKey, int sourceIndex) {
+    }
+}
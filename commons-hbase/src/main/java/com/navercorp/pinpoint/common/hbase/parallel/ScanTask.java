@@ -17,8 +17,8 @@
 package com.navercorp.pinpoint.common.hbase.parallel;
 
 import com.navercorp.pinpoint.common.hbase.TableFactory;
+import com.navercorp.pinpoint.common.hbase.scan.ScanUtils;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
-import com.sematext.hbase.wd.DistributedScanner;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
@@ -26,6 +26,9 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -33,7 +36,7 @@ import java.util.concurrent.BlockingQueue;
 /**
  * @author HyunGil Jeong
  */
-public class ScanTask implements Runnable {
+public class ScanTask implements Runnable, RowKeyMerger.ResultSource {
 
     private static final Result END_RESULT = new Result();
 
@@ -67,18 +70,21 @@ public class ScanTask implements Runnable {
         try {
             // TODO Avoid ThreadPool Deadlock : tableFactory.getTable(this.tableName, ParallelScannerThreadPool);
             table = tableFactory.getTable(this.tableName);
-            ResultScanner scanner = createResultScanner(table);
+            final ResultScanner[] scanners = ScanUtils.newScanners(table, this.scans);
             try {
-                for (Result result : scanner) {
-                    this.resultQueue.put(result);
-                    if (this.isDone) {
+                final RowKeyMerger merger = new RowKeyMerger(this.rowKeyDistributor, toSources(scanners), this.scans[0].isReversed());
+                // check before fetching the next batch, a closed task must not cost another RPC
+                while (!this.isDone) {
+                    final Result result = merger.next();
+                    if (result == null) {
                         break;
                     }
+                    this.resultQueue.put(result);
                 }
             } finally {
                 this.isDone = true;
                 this.resultQueue.put(END_RESULT);
-                scanner.close();
+                ScanUtils.closeScanner(scanners);
             }
         } catch (Throwable th) {
             this.throwable = th;
@@ -89,16 +95,20 @@ public class ScanTask implements Runnable {
         }
     }
 
-    private ResultScanner createResultScanner(Table table) throws IOException {
-        if (scans.length == 1) {
-            Scan scan = scans[0];
-            return table.getScanner(scan);
-        } else {
-            ResultScanner[] scanners = new ResultScanner[this.scans.length];
-            for (int i = 0; i < scanners.length; i++) {
-                scanners[i] = table.getScanner(this.scans[i]);
-            }
-            return new DistributedScanner(this.rowKeyDistributor, scanners);
+    private static List<RowKeyMerger.ResultSource> toSources(ResultScanner[] scanners) {
+        final List<RowKeyMerger.ResultSource> sources = new ArrayList<>(scanners.length);
+        for (ResultScanner scanner : scanners) {
+            sources.add(scanner::next);
+        }
+        return sources;
+    }
+
+    @Override
+    public Result next() throws IOException {
+        try {
+            return getResult();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("interrupted while waiting scan result. table:" + tableName);
         }
     }
 
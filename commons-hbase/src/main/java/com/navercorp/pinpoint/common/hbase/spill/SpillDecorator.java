@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriterDecorator;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SpillDecorator implements HbasePutWriterDecorator, AutoCloseable {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final SpillProperties properties;
+    private final String name;
+
+    private final List<SpillHbasePutWriter> writers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService replayScheduler;
+
+    public SpillDecorator(SpillProperties properties, String name) {
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    @Override
+    public synchronized HbasePutWriter decorator(HbasePutWriter hbasePutWriter) {
+        if (!properties.isEnable()) {
+            return hbasePutWriter;
+        }
+
+        // one directory per writer, a log is owned by a single writer
+        final Path directory = Path.of(properties.getDirectory(), name + "-" + writers.size());
+        final SpillLog spillLog;
+        try {
+            spillLog = new SpillLog(directory, properties.getSegmentSize(), properties.getMaxSegments());
+        } catch (IOException e) {
+            throw new UncheckedIOException("SpillLog create failed. directory:" + directory, e);
+        }
+        final SpillHbasePutWriter writer = new SpillHbasePutWriter(hbasePutWriter, spillLog,
+                properties.getReplayBatchSize(), properties.getReplayPermitsPerSecond(), properties.getReplayTimeoutMillis());
+        writers.add(writer);
+
+        if (replayScheduler == null) {
+            replayScheduler = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory("Pinpoint-hbase-spill-replay-" + name, true));
+        }
+        final long interval = properties.getReplayIntervalMillis();
+        replayScheduler.scheduleWithFixedDelay(writer::replay, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("SpillHbasePutWriter directory:{} {}", directory, properties);
+        return writer;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (replayScheduler != null) {
+            replayScheduler.shutdownNow();
+            try {
+                replayScheduler.awaitTermination(3000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (SpillHbasePutWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("{} close failed", writer, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends the rejected and failed puts to a {@link SpillLog} instead of failing them,
+ * and replays the log at a limited rate through the same writer once HBase accepts puts again.
+ * <p>
+ * A replay batch that fails is appended to the end of the log and the replay stops until the next round.
+ * Replay is at-least-once, a put may be written twice after a timeout or a restart.
+ */
+public class SpillHbasePutWriter implements HbasePutWriter, Closeable {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final HbasePutWriter delegate;
+    private final SpillLog spillLog;
+
+    private final int replayBatchSize;
+    private final long replayNanosPerPermit;
+    private final long replayTimeoutMillis;
+
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    public SpillHbasePutWriter(HbasePutWriter delegate, SpillLog spillLog,
+                               int replayBatchSize, int replayPermitsPerSecond, long replayTimeoutMillis) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.spillLog = Objects.requireNonNull(spillLog, "spillLog");
+        if (replayBatchSize <= 0) {
+            throw new IllegalArgumentException("replayBatchSize must be positive");
+        }
+        if (replayPermitsPerSecond <= 0) {
+            throw new IllegalArgumentException("replayPermitsPerSecond must be positive");
+        }
+        this.replayBatchSize = replayBatchSize;
+        this.replayNanosPerPermit = TimeUnit.SECONDS.toNanos(1) / replayPermitsPerSecond;
+        this.replayTimeoutMillis = replayTimeoutMillis;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(TableName tableName, Put put) {
+        final CompletableFuture<Void> future;
+        try {
+            future = delegate.put(tableName, put);
+        } catch (RequestNotPermittedException notPermitted) {
+            if (spill(tableName, put)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            throw notPermitted;
+        }
+        return spillOnFailure(future, tableName, put);
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> put(TableName tableName, List<Put> puts) {
+        final List<CompletableFuture<Void>> futures;
+        try {
+            futures = delegate.put(tableName, puts);
+        } catch (RequestNotPermittedException notPermitted) {
+            final List<CompletableFuture<Void>> spilled = new ArrayList<>(puts.size());
+            for (Put put : puts) {
+                if (!spill(tableName, put)) {
+                    throw notPermitted;
+                }
+                spilled.add(CompletableFuture.completedFuture(null));
+            }
+            return spilled;
+        }
+
+        final List<CompletableFuture<Void>> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(spillOnFailure(futures.get(i), tableName, puts.get(i)));
+        }
+        return results;
+    }
+
+    private CompletableFuture<Void> spillOnFailure(CompletableFuture<Void> future, TableName tableName, Put put) {
+        if (future == null) {
+            return null;
+        }
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        future.whenComplete((unused, throwable) -> {
+            if (throwable == null || spill(tableName, put)) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+        return result;
+    }
+
+    private boolean spill(TableName tableName, Put put) {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (spillLog.append(new SpillRecord(tableName, put))) {
+                spilledCount.incrementAndGet();
+                return true;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("spill failed. table:{}", tableName, e);
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Replays the spilled puts until the log is drained or a batch fails.
+     */
+    public void replay() {
+        try {
+            final long startTime = System.nanoTime();
+            long replayed = 0;
+            while (!closed) {
+                final List<SpillRecord> records = spillLog.read(replayBatchSize);
+                if (records.isEmpty()) {
+                    break;
+                }
+                final boolean success = replayBatch(records);
+                spillLog.compact();
+                if (!success) {
+                    break;
+                }
+                replayed += records.size();
+                throttle(startTime, replayed);
+            }
+            if (replayed > 0) {
+                logger.info("replay spilled puts:{} total:{} segments:{}", replayed, replayedCount.addAndGet(replayed), spillLog.getSegmentCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable th) {
+            logger.warn("replay failed", th);
+        }
+    }
+
+    private boolean replayBatch(List<SpillRecord> records) throws InterruptedException {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(records.size());
+        for (SpillRecord record : records) {
+            try {
+                futures.add(delegate.put(record.tableName(), record.put()));
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(replayTimeoutMillis);
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            final CompletableFuture<Void> future = futures.get(i);
+            try {
+                if (future != null) {
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                failed++;
+                if (!spillLog.append(records.get(i))) {
+                    droppedCount.incrementAndGet();
+                }
+            }
+        }
+        if (failed > 0) {
+            logger.info("replay stopped. failed:{}/{}", failed, records.size());
+        }
+        return failed == 0;
+    }
+
+    private void throttle(long startTime, long replayed) throws InterruptedException {
+        final long waitNanos = replayed * replayNanosPerPermit - (System.nanoTime() - startTime);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getReplayedCount() {
+        return replayedCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.spillLog.close();
+    }
+
+    @Override
+    public String toString() {
+        return "SpillHbasePutWriter{" +
+                "delegate=" + delegate +
+                ", spillLog=" + spillLog +
+                '}';
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of spilled puts, split into fixed size segments.
+ * <p>
+ * Records are read from the oldest segment. A segment is deleted by {@link #compact()} once it is fully read
+ * and no longer appended to, so the records read but not yet replayed survive a restart and are replayed again.
+ */
+public class SpillLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spill";
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    // oldest first, the last one is appended to
+    private final Deque<SpillSegment> segments = new ArrayDeque<>();
+    private long nextSequence;
+    private boolean sealed;
+
+    public SpillLog(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        if (segmentSize <= SpillSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize is too small");
+        }
+        if (maxSegments <= 0) {
+            throw new IllegalArgumentException("maxSegments must be positive");
+        }
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final List<Path> paths;
+        try (Stream<Path> stream = Files.list(directory)) {
+            paths = stream.filter(SpillLog::isSegment)
+                    .sorted()
+                    .toList();
+        }
+        for (Path path : paths) {
+            final long sequence = parseSequence(path);
+            segments.add(SpillSegment.open(sequence, path));
+            nextSequence = Math.max(nextSequence, sequence + 1);
+        }
+        // recovered segments are not appended to, their tail may have been torn
+        this.sealed = true;
+        if (!segments.isEmpty()) {
+            logger.info("recover spilled segments:{} directory:{}", segments.size(), directory);
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        final String fileName = path.getFileName().toString();
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long parseSequence(Path path) {
+        final String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static String segmentName(long sequence) {
+        // zero padded to keep the file names sorted
+        return String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * @return false if the record does not fit in the log
+     */
+    public synchronized boolean append(SpillRecord record) {
+        Objects.requireNonNull(record, "record");
+
+        final byte[] payload = record.encode();
+        if (SpillSegment.HEADER_SIZE + payload.length > segmentSize) {
+            return false;
+        }
+        final SpillSegment active = segments.peekLast();
+        if (!sealed && active != null && active.append(payload)) {
+            return true;
+        }
+        if (segments.size() >= maxSegments) {
+            return false;
+        }
+        final SpillSegment segment = newSegment();
+        segments.addLast(segment);
+        this.sealed = false;
+        return segment.append(payload);
+    }
+
+    private SpillSegment newSegment() {
+        final long sequence = nextSequence++;
+        try {
+            return SpillSegment.create(sequence, directory.resolve(segmentName(sequence)), segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("segment create failed. directory:" + directory, e);
+        }
+    }
+
+    /**
+     * Reads the next records from the oldest segments. The records stay on disk until {@link #compact()}.
+     */
+    public synchronized List<SpillRecord> read(int maxRecords) {
+        List<SpillRecord> records = null;
+        for (SpillSegment segment : segments) {
+            byte[] payload;
+            while ((payload = segment.read()) != null) {
+                if (records == null) {
+                    records = new ArrayList<>(maxRecords);
+                }
+                records.add(SpillRecord.decode(ByteBuffer.wrap(payload)));
+                if (records.size() >= maxRecords) {
+                    return records;
+                }
+            }
+        }
+        if (records == null) {
+            return Collections.emptyList();
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the segments which are fully read and no longer appended to.
+     */
+    public synchronized void compact() {
+        final Iterator<SpillSegment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            final SpillSegment segment = iterator.next();
+            if (!segment.isFullyRead()) {
+                return;
+            }
+            if (!sealed && segment == segments.peekLast()) {
+                return;
+            }
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                logger.warn("segment delete failed. {}", segment, e);
+            }
+            iterator.remove();
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        for (SpillSegment segment : segments) {
+            if (!segment.isFullyRead()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (SpillSegment segment : segments) {
+            segment.force();
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "SpillLog{" +
+                "directory=" + directory +
+                ", segmentSize=" + segmentSize +
+                ", maxSegments=" + maxSegments +
+                '}';
+    }
+}
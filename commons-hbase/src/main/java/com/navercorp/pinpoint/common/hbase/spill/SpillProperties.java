@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import java.nio.file.Path;
+
+public class SpillProperties {
+    private boolean enable = false;
+    private String directory = Path.of(System.getProperty("java.io.tmpdir"), "pinpoint-hbase-spill").toString();
+    private int segmentSize = 64 * 1024 * 1024;
+    private int maxSegments = 16;
+
+    private long replayIntervalMillis = 5000;
+    private int replayBatchSize = 100;
+    private int replayPermitsPerSecond = 1000;
+    private long replayTimeoutMillis = 10000;
+
+    public SpillProperties() {
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public long getReplayIntervalMillis() {
+        return replayIntervalMillis;
+    }
+
+    public void setReplayIntervalMillis(long replayIntervalMillis) {
+        this.replayIntervalMillis = replayIntervalMillis;
+    }
+
+    public int getReplayBatchSize() {
+        return replayBatchSize;
+    }
+
+    public void setReplayBatchSize(int replayBatchSize) {
+        this.replayBatchSize = replayBatchSize;
+    }
+
+    public int getReplayPermitsPerSecond() {
+        return replayPermitsPerSecond;
+    }
+
+    public void setReplayPermitsPerSecond(int replayPermitsPerSecond) {
+        this.replayPermitsPerSecond = replayPermitsPerSecond;
+    }
+
+    public long getReplayTimeoutMillis() {
+        return replayTimeoutMillis;
+    }
+
+    public void setReplayTimeoutMillis(long replayTimeoutMillis) {
+        this.replayTimeoutMillis = replayTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SpillProperties{" +
+                "enable=" + enable +
+                ", directory='" + directory + '\'' +
+                ", segmentSize=" + segmentSize +
+                ", maxSegments=" + maxSegments +
+                ", replayIntervalMillis=" + replayIntervalMillis +
+                ", replayBatchSize=" + replayBatchSize +
+                ", replayPermitsPerSecond=" + replayPermitsPerSecond +
+                ", replayTimeoutMillis=" + replayTimeoutMillis +
+                '}';
+    }
+}
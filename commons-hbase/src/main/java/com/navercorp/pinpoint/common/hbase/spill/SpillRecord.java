@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A put spilled to the local disk.
+ * <pre>
+ * format = TABLE_NAME(4bytes len + str) + ROW(4bytes len + bytes) + CELL_COUNT(4bytes)
+ *          + CELL_COUNT * (FAMILY(4bytes len + bytes) + QUALIFIER(4bytes len + bytes) + TIMESTAMP(8bytes) + VALUE(4bytes len + bytes))
+ * </pre>
+ * Only the cells of the put are kept. Attributes, TTL and durability fall back to the table defaults on replay.
+ */
+public record SpillRecord(TableName tableName, Put put) {
+
+    public SpillRecord {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(put, "put");
+    }
+
+    public byte[] encode() {
+        final byte[] tableNameBytes = tableName.getName();
+        final byte[] row = put.getRow();
+
+        int size = Integer.BYTES + tableNameBytes.length + Integer.BYTES + row.length + Integer.BYTES;
+        int cellCount = 0;
+        for (List<Cell> cells : put.getFamilyCellMap().values()) {
+            for (Cell cell : cells) {
+                size += Integer.BYTES + cell.getFamilyLength()
+                        + Integer.BYTES + cell.getQualifierLength()
+                        + Long.BYTES
+                        + Integer.BYTES + cell.getValueLength();
+                cellCount++;
+            }
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        putBytes(buffer, tableNameBytes);
+        putBytes(buffer, row);
+        buffer.putInt(cellCount);
+        for (List<Cell> cells : put.getFamilyCellMap().values()) {
+            for (Cell cell : cells) {
+                putBytes(buffer, CellUtil.cloneFamily(cell));
+                putBytes(buffer, CellUtil.cloneQualifier(cell));
+                buffer.putLong(cell.getTimestamp());
+                putBytes(buffer, CellUtil.cloneValue(cell));
+            }
+        }
+        return buffer.array();
+    }
+
+    public static SpillRecord decode(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        final TableName tableName = TableName.valueOf(getBytes(buffer));
+        final Put put = new Put(getBytes(buffer));
+        final int cellCount = buffer.getInt();
+        for (int i = 0; i < cellCount; i++) {
+            final byte[] family = getBytes(buffer);
+            final byte[] qualifier = getBytes(buffer);
+            final long timestamp = buffer.getLong();
+            final byte[] value = getBytes(buffer);
+            put.addColumn(family, qualifier, timestamp, value);
+        }
+        return new SpillRecord(tableName, put);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "SpillRecord{" +
+                "tableName=" + tableName +
+                ", row=" + Bytes.toStringBinary(put.getRow()) +
+                '}';
+    }
+}
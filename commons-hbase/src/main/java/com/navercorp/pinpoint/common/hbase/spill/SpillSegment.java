@@ -0,0 +1,176 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped file of spilled records.
+ * <pre>
+ * record format = LENGTH(4bytes) + CRC32(4bytes) + PAYLOAD(LENGTH bytes)
+ * </pre>
+ * The length is written last, so a zero length marks the end of the segment.
+ * A record with a bad checksum ends the segment as well, dropping the torn tail of a crash.
+ * Not thread-safe, guarded by {@link SpillLog}.
+ */
+class SpillSegment implements Closeable {
+
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private int writePosition;
+    private int readPosition;
+
+    private SpillSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = Objects.requireNonNull(path, "path");
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.buffer = Objects.requireNonNull(buffer, "buffer");
+    }
+
+    static SpillSegment create(long sequence, Path path, int size) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new SpillSegment(sequence, path, channel, buffer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static SpillSegment open(long sequence, Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            final SpillSegment segment = new SpillSegment(sequence, path, channel, buffer);
+            segment.writePosition = segment.recover();
+            return segment;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private int recover() {
+        int position = 0;
+        while (readPayload(position) != null) {
+            position += HEADER_SIZE + buffer.getInt(position);
+        }
+        return position;
+    }
+
+    boolean append(byte[] payload) {
+        final int recordSize = HEADER_SIZE + payload.length;
+        if (writePosition + recordSize > buffer.capacity()) {
+            return false;
+        }
+        buffer.put(writePosition + HEADER_SIZE, payload);
+        buffer.putInt(writePosition + Integer.BYTES, crc32(payload));
+        buffer.putInt(writePosition, payload.length);
+        writePosition += recordSize;
+        return true;
+    }
+
+    /**
+     * @return the next record, or null if the segment is fully read or the rest of the segment is corrupted
+     */
+    byte[] read() {
+        if (readPosition >= writePosition) {
+            return null;
+        }
+        final byte[] payload = readPayload(readPosition);
+        if (payload == null) {
+            // unreachable records are skipped
+            readPosition = writePosition;
+            return null;
+        }
+        readPosition += HEADER_SIZE + payload.length;
+        return payload;
+    }
+
+    private byte[] readPayload(int position) {
+        if (position + HEADER_SIZE > buffer.capacity()) {
+            return null;
+        }
+        final int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+            return null;
+        }
+        final byte[] payload = new byte[length];
+        buffer.get(position + HEADER_SIZE, payload);
+        if (buffer.getInt(position + Integer.BYTES) != crc32(payload)) {
+            return null;
+        }
+        return payload;
+    }
+
+    private static int crc32(byte[] payload) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    boolean isFullyRead() {
+        return readPosition >= writePosition;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        // the mapping is released by GC, the file is gone already
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public String toString() {
+        return "SpillSegment{" +
+                "path=" + path +
+                ", writePosition=" + writePosition +
+                ", readPosition=" + readPosition +
+                '}';
+    }
+}
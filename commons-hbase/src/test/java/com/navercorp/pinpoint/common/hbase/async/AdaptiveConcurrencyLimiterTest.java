@@ -0,0 +1,80 @@
+package com.navercorp.pinpoint.common.hbase.async;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void acquire() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2, TARGET, 0.5);
+        Assertions.assertTrue(limiter.acquire(2));
+        Assertions.assertFalse(limiter.acquire(1));
+        Assertions.assertEquals(2, limiter.count());
+        Assertions.assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release(2);
+        Assertions.assertEquals(0, limiter.count());
+    }
+
+    @Test
+    void backoff_slow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 100, TARGET, 0.5);
+        long now = System.nanoTime();
+        for (int i = 0; i < 32; i++) {
+            limiter.acquire(1);
+            limiter.onComplete(TARGET * 10, null, now);
+        }
+        // cut once per target latency
+        Assertions.assertEquals(50, limiter.getLimit());
+
+        limiter.acquire(1);
+        limiter.onComplete(TARGET * 10, null, now + TARGET);
+        Assertions.assertEquals(25, limiter.getLimit());
+
+        limiter.acquire(1);
+        limiter.onComplete(TARGET * 10, null, now + TARGET * 2);
+        Assertions.assertEquals(12, limiter.getLimit());
+
+        limiter.acquire(1);
+        limiter.onComplete(TARGET * 10, null, now + TARGET * 3);
+        Assertions.assertEquals(10, limiter.getLimit());
+        Assertions.assertEquals(0, limiter.count());
+    }
+
+    @Test
+    void backoff_error() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 100, TARGET, 0.5);
+        limiter.acquire(1);
+        limiter.onComplete(0, new RuntimeException("error"), System.nanoTime());
+        Assertions.assertEquals(50, limiter.getLimit());
+    }
+
+    @Test
+    void increase() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 100, TARGET, 0.5);
+        limiter.acquire(1);
+        limiter.onComplete(0, new RuntimeException("error"), System.nanoTime());
+        Assertions.assertEquals(50, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire(1);
+            limiter.onComplete(1000, null, System.nanoTime());
+        }
+        Assertions.assertEquals(51, limiter.getLimit());
+    }
+
+    @Test
+    void increase_maxLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2, TARGET, 0.5);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(1);
+            limiter.onComplete(1000, null, System.nanoTime());
+        }
+        Assertions.assertEquals(2, limiter.getLimit());
+    }
+}
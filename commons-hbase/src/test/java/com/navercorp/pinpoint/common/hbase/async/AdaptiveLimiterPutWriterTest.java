@@ -0,0 +1,96 @@
+package com.navercorp.pinpoint.common.hbase.async;
+
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveLimiterPutWriterTest {
+
+    TableName tableName = TableName.valueOf("test");
+    TableName otherTableName = TableName.valueOf("other");
+
+    @Mock
+    HbasePutWriter putWriter;
+
+    private AdaptiveLimiterPutWriter newWriter(int maxLimit) {
+        long target = TimeUnit.SECONDS.toNanos(1);
+        return new AdaptiveLimiterPutWriter(putWriter, table -> new AdaptiveConcurrencyLimiter(1, maxLimit, target, 0.5));
+    }
+
+    @Test
+    void put() {
+        when(putWriter.put(any(TableName.class), any(Put.class)))
+                .then((Answer<CompletableFuture<Void>>) invocation -> new CompletableFuture<>());
+
+        AdaptiveLimiterPutWriter writer = newWriter(1);
+
+        writer.put(tableName, new Put(new byte[10]));
+        Assertions.assertThrows(RequestNotPermittedException.class, () -> {
+            writer.put(tableName, new Put(new byte[10]));
+        });
+        // limit per table
+        writer.put(otherTableName, new Put(new byte[10]));
+    }
+
+    @Test
+    void putN_complete() {
+        when(putWriter.put(any(TableName.class), any(List.class)))
+                .then((Answer<List<CompletableFuture<Void>>>) invocation -> List.of(new CompletableFuture<>(), new CompletableFuture<>()));
+
+        AdaptiveLimiterPutWriter writer = newWriter(2);
+
+        Put put = new Put(new byte[10]);
+        List<CompletableFuture<Void>> results = writer.put(tableName, List.of(put, put));
+        Assertions.assertThrows(RequestNotPermittedException.class, () -> {
+            writer.put(tableName, List.of(put, put));
+        });
+        results.forEach(future -> future.complete(null));
+        assertEquals(0, writer.getLimiter(tableName).count());
+
+        writer.put(tableName, List.of(put, put));
+    }
+
+    @Test
+    void put_error() {
+        when(putWriter.put(any(TableName.class), any(Put.class)))
+                .thenThrow(new RuntimeException("error"));
+
+        AdaptiveLimiterPutWriter writer = newWriter(1);
+
+        Assertions.assertThrows(RuntimeException.class, () -> {
+            writer.put(tableName, new Put(new byte[10]));
+        });
+        assertEquals(0, writer.getLimiter(tableName).count());
+    }
+
+    @Test
+    void put_failedFuture() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        when(putWriter.put(any(TableName.class), any(Put.class)))
+                .thenReturn(future);
+
+        AdaptiveLimiterPutWriter writer = newWriter(10);
+
+        writer.put(tableName, new Put(new byte[10]));
+        future.completeExceptionally(new RuntimeException("timeout"));
+
+        AdaptiveConcurrencyLimiter limiter = writer.getLimiter(tableName);
+        assertEquals(0, limiter.count());
+        assertEquals(5, limiter.getLimit());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.common.hbase.config;
+
+import com.navercorp.pinpoint.common.hbase.async.AdaptiveLimiterPutWriter;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriterDecorator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+
+class HbaseTemplateConfigurationTest {
+
+    @Test
+    void newConcurrencyDecorator_unlimited() {
+        HbasePutWriter putWriter = mock(HbasePutWriter.class);
+
+        HbasePutWriterDecorator decorator = HbaseTemplateConfiguration.newConcurrencyDecorator(0, Optional.empty());
+        Assertions.assertSame(putWriter, decorator.decorator(putWriter));
+    }
+
+    @Test
+    void newConcurrencyDecorator_adaptiveUnlimited() {
+        HbasePutWriter putWriter = mock(HbasePutWriter.class);
+
+        HbasePutWriterDecorator decorator = HbaseTemplateConfiguration.newConcurrencyDecorator(0, Optional.of(new AdaptiveConcurrency()));
+        Assertions.assertInstanceOf(AdaptiveLimiterPutWriter.class, decorator.decorator(putWriter));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.parallel;
+
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import com.sematext.hbase.wd.RowKeyDistributorByOneBytePrefix;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MergedResultScannerTest {
+
+    private final AbstractRowKeyDistributor keyDistributor = new RowKeyDistributorByOneBytePrefix((byte) 2);
+
+    @Test
+    public void next_reversed() throws IOException {
+        ResultScanner scanner0 = scanner(0, "c", "a");
+        ResultScanner scanner1 = scanner(1, "d", "b");
+
+        List<String> keys = new ArrayList<>();
+        try (ResultScanner scanner = new MergedResultScanner(keyDistributor, new ResultScanner[]{scanner0, scanner1}, true)) {
+            for (Result result : scanner) {
+                keys.add(Bytes.toString(keyDistributor.getOriginalKey(result.getRow())));
+            }
+        }
+
+        Assertions.assertEquals(List.of("d", "c", "b", "a"), keys);
+        verify(scanner0).close();
+        verify(scanner1).close();
+    }
+
+    private ResultScanner scanner(int salt, String... originalKeys) throws IOException {
+        Result[] results = new Result[originalKeys.length + 1];
+        for (int i = 0; i < originalKeys.length; i++) {
+            byte[] row = Bytes.add(new byte[]{(byte) salt}, Bytes.toBytes(originalKeys[i]));
+            Cell cell = new KeyValue(row, Bytes.toBytes("f"), Bytes.toBytes("q"), Bytes.toBytes(originalKeys[i]));
+            results[i] = Result.create(new Cell[]{cell});
+        }
+        ResultScanner scanner = mock(ResultScanner.class);
+        when(scanner.next()).thenReturn(results[0], Arrays.copyOfRange(results, 1, results.length));
+        return scanner;
+    }
+}
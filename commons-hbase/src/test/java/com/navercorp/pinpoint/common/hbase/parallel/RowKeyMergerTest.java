@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.parallel;
+
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import com.sematext.hbase.wd.RowKeyDistributorByOneBytePrefix;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class RowKeyMergerTest {
+
+    private final AbstractRowKeyDistributor keyDistributor = new RowKeyDistributorByOneBytePrefix((byte) 3);
+
+    @Test
+    public void merge() throws IOException {
+        List<Source> sources = List.of(
+                new Source(0, "a", "d", "g"),
+                new Source(1, "b", "e"),
+                new Source(2, "c", "f", "h", "i"));
+
+        RowKeyMerger merger = new RowKeyMerger(keyDistributor, sources, false);
+
+        Assertions.assertEquals(List.of("a", "b", "c", "d", "e", "f", "g", "h", "i"), drain(merger));
+    }
+
+    @Test
+    public void merge_reversed() throws IOException {
+        List<Source> sources = List.of(
+                new Source(0, "g", "d", "a"),
+                new Source(1, "e", "b"),
+                new Source(2, "i", "h", "f", "c"));
+
+        RowKeyMerger merger = new RowKeyMerger(keyDistributor, sources, true);
+
+        Assertions.assertEquals(List.of("i", "h", "g", "f", "e", "d", "c", "b", "a"), drain(merger));
+    }
+
+    @Test
+    public void merge_empty() throws IOException {
+        List<Source> sources = List.of(new Source(0), new Source(1, "a"), new Source(2));
+
+        RowKeyMerger merger = new RowKeyMerger(keyDistributor, sources, false);
+
+        Assertions.assertEquals(List.of("a"), drain(merger));
+        Assertions.assertNull(merger.next());
+    }
+
+    @Test
+    public void next_lazy() throws IOException {
+        Source source0 = new Source(0, "a", "b", "c");
+        Source source1 = new Source(1, "d", "e");
+
+        RowKeyMerger merger = new RowKeyMerger(keyDistributor, List.of(source0, source1), false);
+
+        Assertions.assertEquals("a", originalKey(merger.next()));
+        Assertions.assertEquals(1, source0.readCount);
+        Assertions.assertEquals(1, source1.readCount);
+
+        Assertions.assertEquals("b", originalKey(merger.next()));
+        Assertions.assertEquals(2, source0.readCount);
+        Assertions.assertEquals(1, source1.readCount);
+    }
+
+    private List<String> drain(RowKeyMerger merger) throws IOException {
+        List<String> keys = new ArrayList<>();
+        Result result;
+        while ((result = merger.next()) != null) {
+            keys.add(originalKey(result));
+        }
+        return keys;
+    }
+
+    private String originalKey(Result result) {
+        return Bytes.toString(keyDistributor.getOriginalKey(result.getRow()));
+    }
+
+    private class Source implements RowKeyMerger.ResultSource {
+        private final Iterator<Result> iterator;
+        private int readCount;
+
+        Source(int salt, String... originalKeys) {
+            List<Result> results = new ArrayList<>();
+            for (String originalKey : originalKeys) {
+                byte[] row = Bytes.add(new byte[]{(byte) salt}, Bytes.toBytes(originalKey));
+                Cell cell = new KeyValue(row, Bytes.toBytes("f"), Bytes.toBytes("q"), Bytes.toBytes(originalKey));
+                results.add(Result.create(new Cell[]{cell}));
+            }
+            this.iterator = results.iterator();
+        }
+
+        @Override
+        public Result next() {
+            readCount++;
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpillHbasePutWriterTest {
+
+    TableName tableName = TableName.valueOf("test");
+
+    @Mock
+    HbasePutWriter putWriter;
+
+    @TempDir
+    Path directory;
+
+    SpillLog spillLog;
+    SpillHbasePutWriter writer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spillLog = new SpillLog(directory, 1024 * 1024, 2);
+        writer = new SpillHbasePutWriter(putWriter, spillLog, 10, 100000, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        writer.close();
+    }
+
+    private Put newPut() {
+        Put put = new Put(Bytes.toBytes("row"));
+        put.addColumn(Bytes.toBytes("F"), Bytes.toBytes("q"), Bytes.toBytes("value"));
+        return put;
+    }
+
+    @Test
+    void put_notPermitted() {
+        when(putWriter.put(any(TableName.class), any(Put.class)))
+                .thenThrow(new RequestNotPermittedException("limit", false));
+
+        CompletableFuture<Void> future = writer.put(tableName, newPut());
+
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertFalse(future.isCompletedExceptionally());
+        Assertions.assertEquals(1, writer.getSpilledCount());
+        Assertions.assertFalse(spillLog.isEmpty());
+    }
+
+    @Test
+    void put_failed() {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        when(putWriter.put(any(TableName.class), any(List.class)))
+                .thenReturn(List.of(CompletableFuture.completedFuture(null), failed));
+
+        List<CompletableFuture<Void>> futures = writer.put(tableName, List.of(newPut(), newPut()));
+        failed.completeExceptionally(new RuntimeException("region server down"));
+
+        futures.forEach(future -> Assertions.assertFalse(future.isCompletedExceptionally()));
+        Assertions.assertEquals(1, writer.getSpilledCount());
+    }
+
+    @Test
+    void replay() {
+        when(putWriter.put(any(TableName.class), any(Put.class)))
+                .thenThrow(new RequestNotPermittedException("limit", false))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        writer.put(tableName, newPut());
+        writer.replay();
+
+        verify(putWriter, times(2)).put(any(TableName.class), any(Put.class));
+        Assertions.assertEquals(1, writer.getReplayedCount());
+        Assertions.assertTrue(spillLog.isEmpty());
+    }
+
+    @Test
+    void replay_failed() {
+        when(putWriter.put(any(TableName.class), any(Put.class)))
+                .thenThrow(new RequestNotPermittedException("limit", false))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("region server down")));
+
+        writer.put(tableName, newPut());
+        writer.replay();
+
+        Assertions.assertEquals(0, writer.getReplayedCount());
+        // appended again
+        Assertions.assertFalse(spillLog.isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+class SpillLogTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("ns", "test");
+
+    @TempDir
+    Path directory;
+
+    private static SpillRecord newRecord(int i) {
+        Put put = new Put(Bytes.toBytes("row" + i));
+        put.addColumn(Bytes.toBytes("F"), Bytes.toBytes("q" + i), 1000L + i, Bytes.toBytes("value" + i));
+        return new SpillRecord(TABLE_NAME, put);
+    }
+
+    @Test
+    void encode() {
+        SpillRecord record = newRecord(1);
+        SpillRecord decoded = SpillRecord.decode(ByteBuffer.wrap(record.encode()));
+
+        Assertions.assertEquals(TABLE_NAME, decoded.tableName());
+        Assertions.assertArrayEquals(record.put().getRow(), decoded.put().getRow());
+        Assertions.assertEquals(0, record.put().compareTo(decoded.put()));
+        Assertions.assertEquals(record.put().getFamilyCellMap().toString(), decoded.put().getFamilyCellMap().toString());
+    }
+
+    @Test
+    void appendAndRead() throws IOException {
+        try (SpillLog log = new SpillLog(directory, 256, 10)) {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertTrue(log.append(newRecord(i)));
+            }
+            Assertions.assertTrue(log.getSegmentCount() > 1);
+
+            List<SpillRecord> first = log.read(4);
+            Assertions.assertEquals(4, first.size());
+            Assertions.assertArrayEquals(Bytes.toBytes("row0"), first.get(0).put().getRow());
+
+            List<SpillRecord> rest = log.read(100);
+            Assertions.assertEquals(6, rest.size());
+            Assertions.assertArrayEquals(Bytes.toBytes("row9"), rest.get(5).put().getRow());
+            Assertions.assertTrue(log.isEmpty());
+
+            log.compact();
+            // the active segment is kept
+            Assertions.assertEquals(1, log.getSegmentCount());
+        }
+    }
+
+    @Test
+    void maxSegments() throws IOException {
+        try (SpillLog log = new SpillLog(directory, 64, 1)) {
+            Assertions.assertTrue(log.append(newRecord(1)));
+            Assertions.assertFalse(log.append(newRecord(2)));
+        }
+    }
+
+    @Test
+    void recover() throws IOException {
+        try (SpillLog log = new SpillLog(directory, 1024, 10)) {
+            log.append(newRecord(1));
+            log.append(newRecord(2));
+            // read but not replayed yet
+            log.read(1);
+        }
+
+        try (SpillLog log = new SpillLog(directory, 1024, 10)) {
+            List<SpillRecord> records = log.read(100);
+            Assertions.assertEquals(2, records.size());
+
+            // recovered segments are not appended to
+            log.append(newRecord(3));
+            Assertions.assertEquals(2, log.getSegmentCount());
+            log.read(100);
+            log.compact();
+            Assertions.assertEquals(1, log.getSegmentCount());
+        }
+    }
+
+    @Test
+    void recover_corrupted() throws IOException {
+        try (SpillLog log = new SpillLog(directory, 1024, 10)) {
+            log.append(newRecord(1));
+            log.append(newRecord(2));
+        }
+        Path segment;
+        try (Stream<Path> stream = Files.list(directory)) {
+            segment = stream.findFirst().orElseThrow();
+        }
+        final int firstLength = SpillSegment.HEADER_SIZE + newRecord(1).encode().length;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // flip a payload byte of the second record
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), firstLength + SpillSegment.HEADER_SIZE + 2);
+        }
+
+        try (SpillLog log = new SpillLog(directory, 1024, 10)) {
+            List<SpillRecord> records = log.read(100);
+            Assertions.assertEquals(1, records.size());
+            Assertions.assertArrayEquals(Bytes.toBytes("row1"), records.get(0).put().getRow());
+        }
+    }
+}
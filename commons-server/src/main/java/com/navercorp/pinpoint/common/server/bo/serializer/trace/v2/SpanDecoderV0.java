@@ -48,6 +48,24 @@ public class SpanDecoderV0 implements SpanDecoder {
 
     private static final AnnotationTranscoder transcoder = new AnnotationTranscoder();
 
+    private final boolean summary;
+
+    public SpanDecoderV0() {
+        this(false);
+    }
+
+    /**
+     * @param summary decode the span-level fields only.
+     *                The annotations and the span events, which are stored after them, are not decoded and stay empty.
+     */
+    public SpanDecoderV0(boolean summary) {
+        this.summary = summary;
+    }
+
+    public static SpanDecoderV0 summary() {
+        return new SpanDecoderV0(true);
+    }
+
     @Override
     public Object decode(Buffer qualifier, Buffer columnValue, SpanDecodingContext decodingContext) {
         final byte type = qualifier.readByte();
@@ -100,6 +118,9 @@ public class SpanDecoderV0 implements SpanDecoder {
             final long keyTime = buffer.readVLong();
             spanChunk.setKeyTime(keyTime);
         }
+        if (summary) {
+            return;
+        }
 
         List<SpanEventBo> spanEventBoList = readSpanEvent(buffer, decodingContext, SEQUENCE_SPAN_EVENT_FILTER);
         spanChunk.addSpanEventBoList(spanEventBoList);
@@ -162,7 +183,9 @@ public class SpanDecoderV0 implements SpanDecoder {
         }
 
         span.setAcceptorHost(buffer.readPrefixedString());
-
+        if (summary) {
+            return;
+        }
 
         if (bitFiled.isSetAnnotation()) {
             List<AnnotationBo> annotationBoList = readAnnotationList(buffer, decodingContext);
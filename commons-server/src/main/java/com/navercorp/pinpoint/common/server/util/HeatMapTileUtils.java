@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.util;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+
+import java.util.Objects;
+
+/**
+ * Pre-aggregated heatmap tiles of an application.
+ * <pre>
+ * rowkey format = APPNAMELEN(2bytes) + APPLICATIONNAME(str) + REVERSE_TIMESLOT(8bytes)
+ * columnName format = ELAPSED_BUCKET(4bytes) + STATUS(1byte)
+ * </pre>
+ * The elapsed time is rounded down to two significant digits, so a tile keeps the exact elapsed time below 100ms
+ * and is off by less than 1% above it, whatever the elapsed axis of the heatmap.
+ */
+public final class HeatMapTileUtils {
+
+    public static final byte STATUS_SUCCESS = 0;
+    public static final byte STATUS_FAIL = 1;
+
+    private static final int SIGNIFICANT_LIMIT = 100;
+
+    private HeatMapTileUtils() {
+    }
+
+    public static int getElapsedBucket(int elapsed) {
+        if (elapsed < SIGNIFICANT_LIMIT) {
+            return Math.max(elapsed, 0);
+        }
+        int unit = 1;
+        int value = elapsed;
+        while (value >= SIGNIFICANT_LIMIT) {
+            value /= 10;
+            unit *= 10;
+        }
+        return value * unit;
+    }
+
+    public static byte[] makeRowKey(String applicationName, long timeSlot) {
+        Objects.requireNonNull(applicationName, "applicationName");
+
+        final byte[] applicationNameBytes = BytesUtils.toBytes(applicationName);
+
+        final Buffer buffer = new AutomaticBuffer(BytesUtils.SHORT_BYTE_LENGTH + applicationNameBytes.length + BytesUtils.LONG_BYTE_LENGTH);
+        buffer.putShort((short) applicationNameBytes.length);
+        buffer.putBytes(applicationNameBytes);
+        buffer.putLong(TimeUtils.reverseTimeMillis(timeSlot));
+        return buffer.getBuffer();
+    }
+
+    public static String getApplicationNameFromRowKey(byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        final short applicationNameLength = BytesUtils.bytesToShort(bytes, 0);
+        return BytesUtils.toString(bytes, BytesUtils.SHORT_BYTE_LENGTH, applicationNameLength);
+    }
+
+    public static long getTimeSlotFromRowKey(byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        final short applicationNameLength = BytesUtils.bytesToShort(bytes, 0);
+        return TimeUtils.recoveryTimeMillis(BytesUtils.bytesToLong(bytes, BytesUtils.SHORT_BYTE_LENGTH + applicationNameLength));
+    }
+
+    public static byte[] makeColumnName(int elapsedBucket, boolean success) {
+        final byte[] columnName = new byte[BytesUtils.INT_BYTE_LENGTH + 1];
+        BytesUtils.writeInt(elapsedBucket, columnName, 0);
+        columnName[BytesUtils.INT_BYTE_LENGTH] = success ? STATUS_SUCCESS : STATUS_FAIL;
+        return columnName;
+    }
+
+    public static int getElapsedBucketFromColumnName(byte[] bytes, int offset) {
+        return BytesUtils.bytesToInt(bytes, offset);
+    }
+
+    public static boolean isSuccessFromColumnName(byte[] bytes, int offset) {
+        return bytes[offset + BytesUtils.INT_BYTE_LENGTH] == STATUS_SUCCESS;
+    }
+}
@@ -21,4 +21,6 @@ package com.navercorp.pinpoint.common.server.util;
  */
 public interface TimeSlot {
     long getTimeSlot(long time);
+
+    long getResolution();
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.RandomTSpan;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.filter.EmptySpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.thrift.SpanFactory;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public class SpanDecoderV0Test {
+
+    private final long spanAcceptedTime = System.currentTimeMillis();
+
+    private final RandomTSpan randomTSpan = new RandomTSpan();
+    private final SpanFactory spanFactory = new SpanFactory();
+
+    private final SpanEncoder spanEncoder = new SpanEncoderV0();
+
+    @Test
+    public void decodeSummary() {
+        TSpan tSpan = randomTSpan.randomTSpan();
+        tSpan.setSpanEventList(List.of(randomTSpan.randomTSpanEvent((short) 1), randomTSpan.randomTSpanEvent((short) 2)));
+        SpanBo spanBo = spanFactory.buildSpanBo(tSpan, spanAcceptedTime, new EmptySpanEventFilter());
+
+        SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+        ByteBuffer qualifier = spanEncoder.encodeSpanQualifier(encodingContext);
+        ByteBuffer column = spanEncoder.encodeSpanColumnValue(encodingContext);
+
+        SpanBo full = (SpanBo) new SpanDecoderV0().decode(wrapBuffer(qualifier.duplicate()), wrapBuffer(column.duplicate()), newDecodingContext(spanBo));
+        SpanBo summary = (SpanBo) SpanDecoderV0.summary().decode(wrapBuffer(qualifier.duplicate()), wrapBuffer(column.duplicate()), newDecodingContext(spanBo));
+
+        Assertions.assertEquals(full.getAgentId(), summary.getAgentId());
+        Assertions.assertEquals(full.getApplicationId(), summary.getApplicationId());
+        Assertions.assertEquals(full.getSpanId(), summary.getSpanId());
+        Assertions.assertEquals(full.getParentSpanId(), summary.getParentSpanId());
+        Assertions.assertEquals(full.getStartTime(), summary.getStartTime());
+        Assertions.assertEquals(full.getElapsed(), summary.getElapsed());
+        Assertions.assertEquals(full.getRpc(), summary.getRpc());
+        Assertions.assertEquals(full.getEndPoint(), summary.getEndPoint());
+        Assertions.assertEquals(full.getRemoteAddr(), summary.getRemoteAddr());
+        Assertions.assertEquals(full.getErrCode(), summary.getErrCode());
+        Assertions.assertEquals(full.hasException(), summary.hasException());
+        Assertions.assertEquals(full.getAcceptorHost(), summary.getAcceptorHost());
+
+        Assertions.assertEquals(2, full.getSpanEventBoList().size());
+        Assertions.assertTrue(summary.getSpanEventBoList().isEmpty());
+        Assertions.assertTrue(summary.getAnnotationBoList().isEmpty());
+    }
+
+    @Test
+    public void decodeSummary_spanChunk() {
+        TSpanChunk tSpanChunk = randomTSpan.randomTSpanChunk();
+        tSpanChunk.setSpanEventList(List.of(randomTSpan.randomTSpanEvent((short) 1)));
+        SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkBo(tSpanChunk, spanAcceptedTime, new EmptySpanEventFilter());
+
+        SpanEncodingContext<SpanChunkBo> encodingContext = new SpanEncodingContext<>(spanChunkBo);
+        Buffer qualifier = wrapBuffer(spanEncoder.encodeSpanChunkQualifier(encodingContext));
+        Buffer column = wrapBuffer(spanEncoder.encodeSpanChunkColumnValue(encodingContext));
+
+        SpanDecodingContext decodingContext = new SpanDecodingContext();
+        decodingContext.setTransactionId(spanChunkBo.getTransactionId());
+        decodingContext.setCollectorAcceptedTime(spanChunkBo.getCollectorAcceptTime());
+        SpanChunkBo summary = (SpanChunkBo) SpanDecoderV0.summary().decode(qualifier, column, decodingContext);
+
+        Assertions.assertEquals(spanChunkBo.getAgentId(), summary.getAgentId());
+        Assertions.assertEquals(spanChunkBo.getSpanId(), summary.getSpanId());
+        Assertions.assertTrue(summary.getSpanEventBoList().isEmpty());
+    }
+
+    private SpanDecodingContext newDecodingContext(SpanBo spanBo) {
+        SpanDecodingContext decodingContext = new SpanDecodingContext();
+        decodingContext.setTransactionId(spanBo.getTransactionId());
+        decodingContext.setCollectorAcceptedTime(spanBo.getCollectorAcceptTime());
+        return decodingContext;
+    }
+
+    private Buffer wrapBuffer(ByteBuffer byteBuffer) {
+        byte[] buffer = new byte[byteBuffer.remaining()];
+        byteBuffer.get(buffer);
+        return new FixedBuffer(buffer);
+    }
+}
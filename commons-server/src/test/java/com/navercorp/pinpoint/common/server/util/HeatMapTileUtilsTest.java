@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class HeatMapTileUtilsTest {
+
+    @Test
+    public void getElapsedBucket() {
+        Assertions.assertEquals(0, HeatMapTileUtils.getElapsedBucket(-1));
+        Assertions.assertEquals(0, HeatMapTileUtils.getElapsedBucket(0));
+        Assertions.assertEquals(99, HeatMapTileUtils.getElapsedBucket(99));
+        Assertions.assertEquals(100, HeatMapTileUtils.getElapsedBucket(109));
+        Assertions.assertEquals(990, HeatMapTileUtils.getElapsedBucket(999));
+        Assertions.assertEquals(1200, HeatMapTileUtils.getElapsedBucket(1234));
+        Assertions.assertEquals(98000, HeatMapTileUtils.getElapsedBucket(98765));
+        Assertions.assertEquals(2100000000, HeatMapTileUtils.getElapsedBucket(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void rowKey() {
+        long timeSlot = 1_700_000_040_000L;
+        byte[] rowKey = HeatMapTileUtils.makeRowKey("TESTAPP", timeSlot);
+
+        Assertions.assertEquals("TESTAPP", HeatMapTileUtils.getApplicationNameFromRowKey(rowKey));
+        Assertions.assertEquals(timeSlot, HeatMapTileUtils.getTimeSlotFromRowKey(rowKey));
+
+        // newer time slot first
+        byte[] nextRowKey = HeatMapTileUtils.makeRowKey("TESTAPP", timeSlot + 60_000);
+        Assertions.assertTrue(Arrays.compareUnsigned(nextRowKey, rowKey) < 0);
+    }
+
+    @Test
+    public void columnName() {
+        byte[] success = HeatMapTileUtils.makeColumnName(1200, true);
+        Assertions.assertEquals(1200, HeatMapTileUtils.getElapsedBucketFromColumnName(success, 0));
+        Assertions.assertTrue(HeatMapTileUtils.isSuccessFromColumnName(success, 0));
+
+        byte[] fail = HeatMapTileUtils.makeColumnName(1200, false);
+        Assertions.assertEquals(1200, HeatMapTileUtils.getElapsedBucketFromColumnName(fail, 0));
+        Assertions.assertFalse(HeatMapTileUtils.isSuccessFromColumnName(fail, 0));
+    }
+}
@@ -16,6 +16,7 @@
 package com.navercorp.pinpoint.exceptiontrace.collector.config;
 
 import com.navercorp.pinpoint.exceptiontrace.collector.entity.ExceptionMetaDataEntity;
+import com.navercorp.pinpoint.exceptiontrace.collector.entity.StackTraceEntity;
 import com.navercorp.pinpoint.pinot.kafka.KafkaConfiguration;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -37,4 +38,11 @@ public class ExceptionMetricKafkaConfiguration {
     ) {
         return new KafkaTemplate<String, ExceptionMetaDataEntity>(producerFactory);
     }
+
+    @Bean
+    public KafkaTemplate<String, StackTraceEntity> kafkaStackTraceTemplate(
+            @Qualifier("kafkaProducerFactory") ProducerFactory producerFactory
+    ) {
+        return new KafkaTemplate<String, StackTraceEntity>(producerFactory);
+    }
 }
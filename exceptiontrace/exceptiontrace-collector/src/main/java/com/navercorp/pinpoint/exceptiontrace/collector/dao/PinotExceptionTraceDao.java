@@ -16,23 +16,22 @@
 
 package com.navercorp.pinpoint.exceptiontrace.collector.dao;
 
+import com.codahale.metrics.MetricRegistry;
 import com.navercorp.pinpoint.common.server.util.StringPrecondition;
 import com.navercorp.pinpoint.exceptiontrace.collector.entity.ExceptionMetaDataEntity;
 import com.navercorp.pinpoint.exceptiontrace.collector.mapper.ExceptionMetaDataMapper;
 import com.navercorp.pinpoint.exceptiontrace.common.model.ExceptionMetaData;
-import com.navercorp.pinpoint.pinot.kafka.util.KafkaCallbacks;
+import com.navercorp.pinpoint.pinot.kafka.KafkaBatchPublisher;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.function.BiConsumer;
+import java.util.Optional;
 
 /**
  * @author intr3p1d
@@ -42,23 +41,22 @@ public class PinotExceptionTraceDao implements ExceptionTraceDao {
     private final Logger logger = LogManager.getLogger(this.getClass());
     private final boolean isDebugEnabled = logger.isDebugEnabled();
 
-    private final KafkaTemplate<String, ExceptionMetaDataEntity> kafkaExceptionMetaDataTemplate;
+    private final KafkaBatchPublisher<ExceptionMetaDataEntity> publisher;
 
     private final ExceptionMetaDataMapper mapper;
 
-    private final String topic;
-
-    private final BiConsumer<SendResult<String, ExceptionMetaDataEntity>, Throwable> resultCallback
-            = KafkaCallbacks.loggingCallback("Kafka(ExceptionMetaDataEntity)", logger);
-
-
     public PinotExceptionTraceDao(
             @Qualifier("kafkaExceptionMetaDataTemplate") KafkaTemplate<String, ExceptionMetaDataEntity> kafkaExceptionMetaDataTemplate,
             @Value("${kafka.exception.topic}") String topic,
+            @Value("${pinpoint.metric.kafka.max.in.flight.records:100000}") long maxInFlight,
+            @Value("${pinpoint.metric.kafka.max.in.flight.wait.ms:1000}") long maxWaitMillis,
+            Optional<MetricRegistry> metricRegistry,
             ExceptionMetaDataMapper mapper
     ) {
-        this.kafkaExceptionMetaDataTemplate = Objects.requireNonNull(kafkaExceptionMetaDataTemplate, "kafkaExceptionMetaDataTemplate");
-        this.topic = StringPrecondition.requireHasLength(topic, "topic");
+        Objects.requireNonNull(kafkaExceptionMetaDataTemplate, "kafkaExceptionMetaDataTemplate");
+        StringPrecondition.requireHasLength(topic, "topic");
+        this.publisher = new KafkaBatchPublisher<>("Kafka(ExceptionMetaDataEntity)", kafkaExceptionMetaDataTemplate, topic, maxInFlight, maxWaitMillis);
+        metricRegistry.ifPresent(registry -> registry.register(publisher.getName(), publisher));
         this.mapper = Objects.requireNonNull(mapper, "mapper");
     }
 
@@ -70,15 +68,14 @@ public class PinotExceptionTraceDao implements ExceptionTraceDao {
             logger.debug("Pinot data insert: {}", exceptionMetaData);
         }
 
-        for (ExceptionMetaData e : exceptionMetaData) {
-            ExceptionMetaDataEntity dataEntity = mapper.toEntity(e);
-            if (isDebugEnabled) {
-                logger.debug("data insert {}", dataEntity);
-            }
-            CompletableFuture<SendResult<String, ExceptionMetaDataEntity>> response = this.kafkaExceptionMetaDataTemplate.send(
-                    topic, dataEntity
-            );
-            response.whenComplete(resultCallback);
+        publisher.send(exceptionMetaData, null, this::toEntity);
+    }
+
+    private ExceptionMetaDataEntity toEntity(ExceptionMetaData exceptionMetaData) {
+        ExceptionMetaDataEntity dataEntity = mapper.toEntity(exceptionMetaData);
+        if (isDebugEnabled) {
+            logger.debug("data insert {}", dataEntity);
         }
+        return dataEntity;
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.exceptiontrace.collector.dao;
+
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.common.server.util.StringPrecondition;
+import com.navercorp.pinpoint.exceptiontrace.collector.entity.StackTraceEntity;
+import com.navercorp.pinpoint.exceptiontrace.collector.mapper.ExceptionMetaDataMapper;
+import com.navercorp.pinpoint.exceptiontrace.common.model.ExceptionMetaData;
+import com.navercorp.pinpoint.pinot.kafka.KafkaBatchPublisher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Repository
+public class PinotStackTraceDao implements StackTraceDao {
+
+    private final KafkaBatchPublisher<StackTraceEntity> publisher;
+
+    private final ExceptionMetaDataMapper mapper;
+
+    public PinotStackTraceDao(
+            @Qualifier("kafkaStackTraceTemplate") KafkaTemplate<String, StackTraceEntity> kafkaStackTraceTemplate,
+            @Value("${kafka.exception.stacktrace.topic}") String topic,
+            @Value("${pinpoint.metric.kafka.max.in.flight.records:100000}") long maxInFlight,
+            @Value("${pinpoint.metric.kafka.max.in.flight.wait.ms:1000}") long maxWaitMillis,
+            Optional<MetricRegistry> metricRegistry,
+            ExceptionMetaDataMapper mapper
+    ) {
+        Objects.requireNonNull(kafkaStackTraceTemplate, "kafkaStackTraceTemplate");
+        StringPrecondition.requireHasLength(topic, "topic");
+        this.publisher = new KafkaBatchPublisher<>("Kafka(StackTraceEntity)", kafkaStackTraceTemplate, topic, maxInFlight, maxWaitMillis);
+        metricRegistry.ifPresent(registry -> registry.register(publisher.getName(), publisher));
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    @Override
+    public CompletableFuture<Void> insert(List<ExceptionMetaData> exceptionMetaData) {
+        Objects.requireNonNull(exceptionMetaData);
+
+        return publisher.send(exceptionMetaData, ExceptionMetaData::getStackTraceHash, mapper::toStackTraceEntity);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.exceptiontrace.collector.entity;
+
+import java.util.List;
+
+/**
+ * Stack trace dictionary row, the frames of a stackTraceHash.
+ */
+public class StackTraceEntity {
+
+    private String tenantId;
+    private long timestamp;
+    private String stackTraceHash;
+
+    private List<String> stackTraceClassName;
+    private List<String> stackTraceFileName;
+    private List<Integer> stackTraceLineNumber;
+    private List<String> stackTraceMethodName;
+
+    public StackTraceEntity() {
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getStackTraceHash() {
+        return stackTraceHash;
+    }
+
+    public void setStackTraceHash(String stackTraceHash) {
+        this.stackTraceHash = stackTraceHash;
+    }
+
+    public List<String> getStackTraceClassName() {
+        return stackTraceClassName;
+    }
+
+    public void setStackTraceClassName(List<String> stackTraceClassName) {
+        this.stackTraceClassName = stackTraceClassName;
+    }
+
+    public List<String> getStackTraceFileName() {
+        return stackTraceFileName;
+    }
+
+    public void setStackTraceFileName(List<String> stackTraceFileName) {
+        this.stackTraceFileName = stackTraceFileName;
+    }
+
+    public List<Integer> getStackTraceLineNumber() {
+        return stackTraceLineNumber;
+    }
+
+    public void setStackTraceLineNumber(List<Integer> stackTraceLineNumber) {
+        this.stackTraceLineNumber = stackTraceLineNumber;
+    }
+
+    public List<String> getStackTraceMethodName() {
+        return stackTraceMethodName;
+    }
+
+    public void setStackTraceMethodName(List<String> stackTraceMethodName) {
+        this.stackTraceMethodName = stackTraceMethodName;
+    }
+
+    @Override
+    public String toString() {
+        return "StackTraceEntity{" +
+                "tenantId='" + tenantId + '\'' +
+                ", timestamp=" + timestamp +
+                ", stackTraceHash='" + stackTraceHash + '\'' +
+                ", stackTraceClassName=" + stackTraceClassName +
+                ", stackTraceFileName=" + stackTraceFileName +
+                ", stackTraceLineNumber=" + stackTraceLineNumber +
+                ", stackTraceMethodName=" + stackTraceMethodName +
+                '}';
+    }
+}
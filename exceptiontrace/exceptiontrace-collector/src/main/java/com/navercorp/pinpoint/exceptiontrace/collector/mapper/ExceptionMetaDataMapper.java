@@ -16,6 +16,7 @@
 package com.navercorp.pinpoint.exceptiontrace.collector.mapper;
 
 import com.navercorp.pinpoint.exceptiontrace.collector.entity.ExceptionMetaDataEntity;
+import com.navercorp.pinpoint.exceptiontrace.collector.entity.StackTraceEntity;
 import com.navercorp.pinpoint.exceptiontrace.common.model.ExceptionMetaData;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -36,4 +37,12 @@ public interface ExceptionMetaDataMapper {
     })
     ExceptionMetaDataEntity toEntity(ExceptionMetaData model);
 
+    @Mappings({
+            @Mapping(source = "stackTrace", target = "stackTraceClassName", qualifiedBy = StackTraceMapper.StackTraceToClassNames.class),
+            @Mapping(source = "stackTrace", target = "stackTraceFileName", qualifiedBy = StackTraceMapper.StackTraceToFileNames.class),
+            @Mapping(source = "stackTrace", target = "stackTraceLineNumber", qualifiedBy = StackTraceMapper.StackTraceToLineNumbers.class),
+            @Mapping(source = "stackTrace", target = "stackTraceMethodName", qualifiedBy = StackTraceMapper.StackTraceToMethodNames.class),
+    })
+    StackTraceEntity toStackTraceEntity(ExceptionMetaData model);
+
 }
@@ -34,6 +34,7 @@ import org.springframework.validation.annotation.Validated;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -46,21 +47,27 @@ public class PinotExceptionTraceService implements ExceptionMetaDataService {
     private final ExceptionTraceDao exceptionTraceDao;
     private final ServiceTypeRegistryService registry;
     private final TenantProvider tenantProvider;
+    private final StackTraceDictionaryService stackTraceDictionaryService;
 
 
     public PinotExceptionTraceService(
             ExceptionTraceDao exceptionTraceDao,
             ServiceTypeRegistryService registry,
-            TenantProvider tenantProvider
+            TenantProvider tenantProvider,
+            Optional<StackTraceDictionaryService> stackTraceDictionaryService
     ) {
         this.exceptionTraceDao = Objects.requireNonNull(exceptionTraceDao, "exceptionTraceDao");
         this.registry = Objects.requireNonNull(registry, "serviceTypeRegistryService");
         this.tenantProvider = Objects.requireNonNull(tenantProvider, "tenantProvider");
+        this.stackTraceDictionaryService = Objects.requireNonNull(stackTraceDictionaryService, "stackTraceDictionaryService").orElse(null);
     }
 
     @Override
     public void save(@Valid ExceptionMetaDataBo exceptionMetaDataBo) {
         List<ExceptionMetaData> exceptionMetaData = toExceptionMetaData(exceptionMetaDataBo);
+        if (stackTraceDictionaryService != null) {
+            stackTraceDictionaryService.encode(exceptionMetaData);
+        }
         exceptionTraceDao.insert(exceptionMetaData);
     }
 
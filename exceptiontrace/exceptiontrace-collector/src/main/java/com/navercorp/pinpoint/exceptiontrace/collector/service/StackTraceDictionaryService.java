@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.exceptiontrace.collector.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.exceptiontrace.collector.dao.StackTraceDao;
+import com.navercorp.pinpoint.exceptiontrace.common.model.ExceptionMetaData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the frames of a stack trace once per stackTraceHash, then the exception rows keep only the stackTraceHash.
+ * A hash is written again after it expires from the cache, the dictionary table is keyed by the hash.
+ * <p>
+ * A hash is cached only once its insert is completed, the frames are dropped only from the rows of cached hashes.
+ * The rows of a hash whose insert is in flight, rejected or failed keep their frames,
+ * a hash is not inserted again while its insert is in flight.
+ */
+@Service
+@ConditionalOnProperty(name = "pinpoint.collector.exceptiontrace.stacktrace.dictionary.enabled", havingValue = "true")
+public class StackTraceDictionaryService {
+
+    private final StackTraceDao stackTraceDao;
+
+    private final Cache<String, Boolean> writtenHashes;
+
+    private final Set<String> pendingHashes = ConcurrentHashMap.newKeySet();
+
+    public StackTraceDictionaryService(
+            StackTraceDao stackTraceDao,
+            @Value("${pinpoint.collector.exceptiontrace.stacktrace.dictionary.cache.size:100000}") long cacheSize,
+            @Value("${pinpoint.collector.exceptiontrace.stacktrace.dictionary.cache.expire:3600000}") long cacheExpireMillis
+    ) {
+        this.stackTraceDao = Objects.requireNonNull(stackTraceDao, "stackTraceDao");
+        this.writtenHashes = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheExpireMillis))
+                .build();
+    }
+
+    public void encode(List<ExceptionMetaData> exceptionMetaData) {
+        Objects.requireNonNull(exceptionMetaData, "exceptionMetaData");
+
+        final Map<String, ExceptionMetaData> newStackTraces = new LinkedHashMap<>();
+        for (ExceptionMetaData e : exceptionMetaData) {
+            final String key = key(e);
+            if (writtenHashes.getIfPresent(key) != null) {
+                e.setStackTrace(Collections.emptyList());
+            } else if (!newStackTraces.containsKey(key) && pendingHashes.add(key)) {
+                newStackTraces.put(key, e);
+            }
+        }
+
+        if (!newStackTraces.isEmpty()) {
+            insert(newStackTraces);
+        }
+    }
+
+    private void insert(Map<String, ExceptionMetaData> newStackTraces) {
+        final Set<String> keys = newStackTraces.keySet();
+        CompletableFuture<Void> future;
+        try {
+            future = stackTraceDao.insert(List.copyOf(newStackTraces.values()));
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                for (String key : keys) {
+                    writtenHashes.put(key, Boolean.TRUE);
+                }
+            }
+            pendingHashes.removeAll(keys);
+        });
+    }
+
+    private static String key(ExceptionMetaData e) {
+        return e.getTenantId() + "/" + e.getStackTraceHash();
+    }
+}
@@ -0,0 +1,111 @@
+package com.navercorp.pinpoint.exceptiontrace.collector.service;
+
+import com.navercorp.pinpoint.exceptiontrace.common.model.ExceptionMetaData;
+import com.navercorp.pinpoint.exceptiontrace.common.model.StackTraceElementWrapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+class StackTraceDictionaryServiceTest {
+
+    private final List<ExceptionMetaData> written = new ArrayList<>();
+    private CompletableFuture<Void> insertResult = CompletableFuture.completedFuture(null);
+    private final StackTraceDictionaryService service = new StackTraceDictionaryService(exceptionMetaData -> {
+        written.addAll(exceptionMetaData);
+        return insertResult;
+    }, 100, 60000);
+
+    @Test
+    void encode() {
+        List<StackTraceElementWrapper> stackTrace = stackTrace();
+
+        ExceptionMetaData first = exceptionMetaData(stackTrace);
+        ExceptionMetaData second = exceptionMetaData(stackTrace);
+        Assertions.assertEquals(first.getStackTraceHash(), second.getStackTraceHash());
+
+        service.encode(new ArrayList<>(List.of(first)));
+        service.encode(new ArrayList<>(List.of(second)));
+
+        Assertions.assertEquals(1, written.size());
+        Assertions.assertSame(first, written.get(0));
+        // the insert was not confirmed yet when the first row was encoded
+        Assertions.assertFalse(first.getStackTrace().isEmpty());
+        Assertions.assertTrue(second.getStackTrace().isEmpty());
+        Assertions.assertNotNull(second.getStackTraceHash());
+    }
+
+    @Test
+    void encode_pending() {
+        List<StackTraceElementWrapper> stackTrace = stackTrace();
+
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        insertResult = pending;
+        ExceptionMetaData first = exceptionMetaData(stackTrace);
+        ExceptionMetaData second = exceptionMetaData(stackTrace);
+        service.encode(new ArrayList<>(List.of(first, second)));
+        ExceptionMetaData third = exceptionMetaData(stackTrace);
+        service.encode(new ArrayList<>(List.of(third)));
+
+        Assertions.assertEquals(1, written.size());
+        Assertions.assertFalse(first.getStackTrace().isEmpty());
+        Assertions.assertFalse(second.getStackTrace().isEmpty());
+        Assertions.assertFalse(third.getStackTrace().isEmpty());
+
+        pending.complete(null);
+        ExceptionMetaData fourth = exceptionMetaData(stackTrace);
+        service.encode(new ArrayList<>(List.of(fourth)));
+
+        Assertions.assertEquals(1, written.size());
+        Assertions.assertTrue(fourth.getStackTrace().isEmpty());
+    }
+
+    @Test
+    void encode_rejected() {
+        List<StackTraceElementWrapper> stackTrace = stackTrace();
+
+        insertResult = CompletableFuture.failedFuture(new RejectedExecutionException("test"));
+        ExceptionMetaData first = exceptionMetaData(stackTrace);
+        service.encode(new ArrayList<>(List.of(first)));
+        Assertions.assertFalse(first.getStackTrace().isEmpty());
+
+        insertResult = CompletableFuture.completedFuture(null);
+        ExceptionMetaData second = exceptionMetaData(stackTrace);
+        service.encode(new ArrayList<>(List.of(second)));
+
+        Assertions.assertEquals(2, written.size());
+        Assertions.assertFalse(second.getStackTrace().isEmpty());
+    }
+
+    @Test
+    void encode_failed() {
+        List<StackTraceElementWrapper> stackTrace = stackTrace();
+
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        insertResult = pending;
+        ExceptionMetaData first = exceptionMetaData(stackTrace);
+        service.encode(new ArrayList<>(List.of(first)));
+        pending.completeExceptionally(new RuntimeException("test"));
+        Assertions.assertFalse(first.getStackTrace().isEmpty());
+
+        insertResult = CompletableFuture.completedFuture(null);
+        ExceptionMetaData second = exceptionMetaData(stackTrace);
+        service.encode(new ArrayList<>(List.of(second)));
+
+        Assertions.assertEquals(2, written.size());
+        Assertions.assertFalse(second.getStackTrace().isEmpty());
+    }
+
+    private List<StackTraceElementWrapper> stackTrace() {
+        return List.of(new StackTraceElementWrapper("className", "fileName", 1, "methodName"));
+    }
+
+    private ExceptionMetaData exceptionMetaData(List<StackTraceElementWrapper> stackTrace) {
+        return ExceptionMetaData.valueOf("tenant", 1000L, "transactionId", 1L, 1L,
+                "applicationServiceType", "applicationName", "agentId", "uriTemplate",
+                "errorClassName", "errorMessage", 0, stackTrace);
+    }
+}
@@ -19,6 +19,7 @@ import com.navercorp.pinpoint.exceptiontrace.web.entity.ExceptionMetaDataEntity;
 import com.navercorp.pinpoint.exceptiontrace.web.entity.ExceptionTraceSummaryEntity;
 import com.navercorp.pinpoint.exceptiontrace.web.entity.ExceptionTraceValueViewEntity;
 import com.navercorp.pinpoint.exceptiontrace.web.entity.GroupedFieldNameEntity;
+import com.navercorp.pinpoint.exceptiontrace.web.entity.StackTraceEntity;
 import com.navercorp.pinpoint.exceptiontrace.web.util.ExceptionTraceQueryParameter;
 import com.navercorp.pinpoint.mybatis.MyBatisRegistryHandler;
 import org.apache.ibatis.type.TypeAliasRegistry;
@@ -35,6 +36,7 @@ public class ExceptionTraceRegistryHandler implements MyBatisRegistryHandler {
         typeAliasRegistry.registerAlias(ExceptionTraceSummaryEntity.class);
         typeAliasRegistry.registerAlias(ExceptionTraceValueViewEntity.class);
         typeAliasRegistry.registerAlias(ExceptionTraceQueryParameter.class);
+        typeAliasRegistry.registerAlias(StackTraceEntity.class);
     }
 
     @Override
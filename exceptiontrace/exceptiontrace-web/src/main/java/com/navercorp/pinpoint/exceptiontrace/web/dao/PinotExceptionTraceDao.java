@@ -20,19 +20,25 @@ import com.navercorp.pinpoint.exceptiontrace.common.model.ExceptionMetaData;
 import com.navercorp.pinpoint.exceptiontrace.web.entity.ExceptionMetaDataEntity;
 import com.navercorp.pinpoint.exceptiontrace.web.entity.ExceptionTraceSummaryEntity;
 import com.navercorp.pinpoint.exceptiontrace.web.entity.ExceptionTraceValueViewEntity;
+import com.navercorp.pinpoint.exceptiontrace.web.entity.StackTraceEntity;
 import com.navercorp.pinpoint.exceptiontrace.web.mapper.ExceptionMetaDataEntityMapper;
 import com.navercorp.pinpoint.exceptiontrace.web.model.ExceptionTraceSummary;
 import com.navercorp.pinpoint.exceptiontrace.web.model.ExceptionTraceValueView;
 import com.navercorp.pinpoint.exceptiontrace.web.util.ExceptionTraceQueryParameter;
 import com.navercorp.pinpoint.exceptiontrace.web.view.ExceptionMetaDataView;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -54,22 +60,64 @@ public class PinotExceptionTraceDao implements ExceptionTraceDao {
 
     private final ExceptionMetaDataEntityMapper mapper;
 
+    private final StackTraceDao stackTraceDao;
+
     public PinotExceptionTraceDao(
             @Qualifier("exceptionTracePinotSessionTemplate") SqlSessionTemplate sqlPinotSessionTemplate,
-            ExceptionMetaDataEntityMapper mapper
+            ExceptionMetaDataEntityMapper mapper,
+            StackTraceDao stackTraceDao
     ) {
         this.sqlPinotSessionTemplate = Objects.requireNonNull(sqlPinotSessionTemplate, "sqlPinotSessionTemplate");
         this.mapper = Objects.requireNonNull(mapper, "mapper");
+        this.stackTraceDao = Objects.requireNonNull(stackTraceDao, "stackTraceDao");
     }
 
     @Override
     public List<ExceptionMetaDataView> getExceptions(ExceptionTraceQueryParameter exceptionTraceQueryParameter) {
         List<ExceptionMetaDataEntity> dataEntities = this.sqlPinotSessionTemplate.selectList(NAMESPACE + SELECT_QUERY, exceptionTraceQueryParameter);
+        resolveStackTraces(exceptionTraceQueryParameter.getTenantId(), dataEntities);
         return dataEntities.stream()
                 .map(mapper::toView)
                 .collect(Collectors.toList());
     }
 
+    void resolveStackTraces(String tenantId, List<ExceptionMetaDataEntity> entities) {
+        final List<ExceptionMetaDataEntity> unresolved = new ArrayList<>();
+        final Set<String> stackTraceHashes = new HashSet<>();
+        for (ExceptionMetaDataEntity entity : entities) {
+            if (entity.getStackTraceHash() != null && isStackTraceEmpty(entity.getStackTraceClassName())) {
+                unresolved.add(entity);
+                stackTraceHashes.add(entity.getStackTraceHash());
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+
+        final Map<String, StackTraceEntity> stackTraces = stackTraceDao.getStackTraces(tenantId, stackTraceHashes);
+        for (ExceptionMetaDataEntity entity : unresolved) {
+            StackTraceEntity stackTrace = stackTraces.get(entity.getStackTraceHash());
+            if (stackTrace == null) {
+                logger.debug("stackTraceHash not found {}", entity.getStackTraceHash());
+                continue;
+            }
+            entity.setStackTraceClassName(stackTrace.getStackTraceClassName());
+            entity.setStackTraceFileName(stackTrace.getStackTraceFileName());
+            entity.setStackTraceLineNumber(stackTrace.getStackTraceLineNumber());
+            entity.setStackTraceMethodName(stackTrace.getStackTraceMethodName());
+        }
+    }
+
+    // rows written with the stack trace dictionary keep only the hash,
+    // pinot stores the empty multi-value column as the default null value
+    static boolean isStackTraceEmpty(String stackTraceClassName) {
+        if (StringUtils.isEmpty(stackTraceClassName)) {
+            return true;
+        }
+        final String value = StringUtils.deleteWhitespace(stackTraceClassName);
+        return value.equals("[]") || value.equals("[\"null\"]");
+    }
+
     @Override
     public List<ExceptionMetaDataView> getSummarizedExceptions(ExceptionTraceQueryParameter exceptionTraceQueryParameter) {
         List<ExceptionMetaDataEntity> dataEntities = this.sqlPinotSessionTemplate.selectList(NAMESPACE + SELECT_SUMMARIZED_QUERY, exceptionTraceQueryParameter);
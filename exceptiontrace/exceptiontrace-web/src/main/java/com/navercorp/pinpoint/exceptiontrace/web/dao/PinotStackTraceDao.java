@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.exceptiontrace.web.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.exceptiontrace.web.entity.StackTraceEntity;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolves stackTraceHashes from the stack trace dictionary table, the frames of a hash never change so they are cached.
+ * Missing hashes are not cached, their rows may not be ingested yet.
+ * <p>
+ * The hashes of a page are selected with a single query. The dictionary is an upsert table keyed by tenantId and stackTraceHash,
+ * so the query returns at most one row per hash.
+ */
+@Repository
+public class PinotStackTraceDao implements StackTraceDao {
+
+    private static final String NAMESPACE = PinotStackTraceDao.class.getName() + ".";
+
+    private static final String SELECT_STACK_TRACES_QUERY = "selectStackTraces";
+
+    private final SqlSessionTemplate sqlPinotSessionTemplate;
+
+    private final String tableName;
+
+    private final Cache<StackTraceKey, StackTraceEntity> cache;
+
+    public PinotStackTraceDao(
+            @Qualifier("exceptionTracePinotSessionTemplate") SqlSessionTemplate sqlPinotSessionTemplate,
+            @Value("${pinpoint.modules.web.exceptiontrace.stacktrace.table:exceptionStackTrace}") String tableName,
+            @Value("${pinpoint.modules.web.exceptiontrace.stacktrace.cache.size:10000}") long cacheSize
+    ) {
+        this.sqlPinotSessionTemplate = Objects.requireNonNull(sqlPinotSessionTemplate, "sqlPinotSessionTemplate");
+        this.tableName = Objects.requireNonNull(tableName, "tableName");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    @Override
+    public Map<String, StackTraceEntity> getStackTraces(String tenantId, Collection<String> stackTraceHashes) {
+        Objects.requireNonNull(stackTraceHashes, "stackTraceHashes");
+        if (stackTraceHashes.isEmpty()) {
+            return Map.of();
+        }
+
+        final List<StackTraceKey> keys = new ArrayList<>(stackTraceHashes.size());
+        for (String stackTraceHash : stackTraceHashes) {
+            keys.add(new StackTraceKey(tenantId, stackTraceHash));
+        }
+        final Map<StackTraceKey, StackTraceEntity> found = cache.getAll(keys, missing -> selectStackTraces(tenantId, missing));
+
+        final Map<String, StackTraceEntity> result = new HashMap<>(found.size());
+        for (Map.Entry<StackTraceKey, StackTraceEntity> entry : found.entrySet()) {
+            result.put(entry.getKey().stackTraceHash(), entry.getValue());
+        }
+        return result;
+    }
+
+    private Map<StackTraceKey, StackTraceEntity> selectStackTraces(String tenantId, Iterable<? extends StackTraceKey> keys) {
+        final Set<String> stackTraceHashes = new LinkedHashSet<>();
+        for (StackTraceKey key : keys) {
+            stackTraceHashes.add(key.stackTraceHash());
+        }
+
+        final Map<String, Object> parameter = Map.of(
+                "tableName", tableName,
+                "tenantId", tenantId,
+                "stackTraceHashes", stackTraceHashes,
+                "limit", stackTraceHashes.size()
+        );
+        final List<StackTraceEntity> entities = sqlPinotSessionTemplate.selectList(NAMESPACE + SELECT_STACK_TRACES_QUERY, parameter);
+
+        final Map<StackTraceKey, StackTraceEntity> result = new HashMap<>(entities.size());
+        for (StackTraceEntity entity : entities) {
+            result.put(new StackTraceKey(tenantId, entity.getStackTraceHash()), entity);
+        }
+        return result;
+    }
+
+    private record StackTraceKey(String tenantId, String stackTraceHash) {
+    }
+}
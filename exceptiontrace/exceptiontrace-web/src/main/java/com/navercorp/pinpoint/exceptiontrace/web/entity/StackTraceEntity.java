@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.exceptiontrace.web.entity;
+
+/**
+ * Stack trace dictionary row, the frames of a stackTraceHash.
+ */
+public class StackTraceEntity {
+
+    private String stackTraceHash;
+    private String stackTraceClassName;
+    private String stackTraceFileName;
+    private String stackTraceLineNumber;
+    private String stackTraceMethodName;
+
+    public StackTraceEntity() {
+    }
+
+    public String getStackTraceHash() {
+        return stackTraceHash;
+    }
+
+    public void setStackTraceHash(String stackTraceHash) {
+        this.stackTraceHash = stackTraceHash;
+    }
+
+    public String getStackTraceClassName() {
+        return stackTraceClassName;
+    }
+
+    public void setStackTraceClassName(String stackTraceClassName) {
+        this.stackTraceClassName = stackTraceClassName;
+    }
+
+    public String getStackTraceFileName() {
+        return stackTraceFileName;
+    }
+
+    public void setStackTraceFileName(String stackTraceFileName) {
+        this.stackTraceFileName = stackTraceFileName;
+    }
+
+    public String getStackTraceLineNumber() {
+        return stackTraceLineNumber;
+    }
+
+    public void setStackTraceLineNumber(String stackTraceLineNumber) {
+        this.stackTraceLineNumber = stackTraceLineNumber;
+    }
+
+    public String getStackTraceMethodName() {
+        return stackTraceMethodName;
+    }
+
+    public void setStackTraceMethodName(String stackTraceMethodName) {
+        this.stackTraceMethodName = stackTraceMethodName;
+    }
+}
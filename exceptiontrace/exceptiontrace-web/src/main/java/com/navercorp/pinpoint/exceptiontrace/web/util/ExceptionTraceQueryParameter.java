@@ -72,6 +72,10 @@ public class ExceptionTraceQueryParameter extends QueryParameter {
         this.timeWindowRangeCount = builder.timeWindowRangeCount;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
     public List<GroupByAttributes> getGroupByAttributes() {
         return groupByAttributes;
     }
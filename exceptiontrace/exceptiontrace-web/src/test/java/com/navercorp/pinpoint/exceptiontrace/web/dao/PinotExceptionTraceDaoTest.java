@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.exceptiontrace.web.dao;
+
+import com.navercorp.pinpoint.exceptiontrace.web.entity.ExceptionMetaDataEntity;
+import com.navercorp.pinpoint.exceptiontrace.web.entity.StackTraceEntity;
+import com.navercorp.pinpoint.exceptiontrace.web.mapper.ExceptionMetaDataEntityMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+
+class PinotExceptionTraceDaoTest {
+
+    private final List<Set<String>> requested = new ArrayList<>();
+
+    private final StackTraceDao stackTraceDao = (String tenantId, Collection<String> stackTraceHashes) -> {
+        requested.add(Set.copyOf(stackTraceHashes));
+        return Map.of("a", PinotStackTraceDaoTest.stackTrace("a"));
+    };
+
+    private final PinotExceptionTraceDao dao = new PinotExceptionTraceDao(
+            mock(SqlSessionTemplate.class), mock(ExceptionMetaDataEntityMapper.class), stackTraceDao);
+
+    @Test
+    void resolveStackTraces() {
+        ExceptionMetaDataEntity first = entity("a", null);
+        ExceptionMetaDataEntity second = entity("a", "[]");
+        ExceptionMetaDataEntity missing = entity("b", null);
+        ExceptionMetaDataEntity inline = entity("c", "[\"inlineClassName\"]");
+
+        dao.resolveStackTraces("tenant", List.of(first, second, missing, inline));
+
+        Assertions.assertEquals(List.of(Set.of("a", "b")), requested);
+        StackTraceEntity expected = PinotStackTraceDaoTest.stackTrace("a");
+        for (ExceptionMetaDataEntity resolved : List.of(first, second)) {
+            Assertions.assertEquals(expected.getStackTraceClassName(), resolved.getStackTraceClassName());
+            Assertions.assertEquals(expected.getStackTraceFileName(), resolved.getStackTraceFileName());
+            Assertions.assertEquals(expected.getStackTraceLineNumber(), resolved.getStackTraceLineNumber());
+            Assertions.assertEquals(expected.getStackTraceMethodName(), resolved.getStackTraceMethodName());
+        }
+        Assertions.assertNull(missing.getStackTraceClassName());
+        Assertions.assertEquals("[\"inlineClassName\"]", inline.getStackTraceClassName());
+    }
+
+    @Test
+    void resolveStackTraces_inlineOnly() {
+        dao.resolveStackTraces("tenant", List.of(entity("c", "[\"inlineClassName\"]"), entity(null, null)));
+
+        Assertions.assertTrue(requested.isEmpty());
+    }
+
+    private ExceptionMetaDataEntity entity(String stackTraceHash, String stackTraceClassName) {
+        ExceptionMetaDataEntity entity = new ExceptionMetaDataEntity();
+        entity.setStackTraceHash(stackTraceHash);
+        entity.setStackTraceClassName(stackTraceClassName);
+        return entity;
+    }
+}
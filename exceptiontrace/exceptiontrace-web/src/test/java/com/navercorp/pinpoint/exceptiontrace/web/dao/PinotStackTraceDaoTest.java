@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.exceptiontrace.web.dao;
+
+import com.navercorp.pinpoint.exceptiontrace.web.entity.StackTraceEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PinotStackTraceDaoTest {
+
+    private final SqlSessionTemplate sqlSessionTemplate = mock(SqlSessionTemplate.class);
+    private final PinotStackTraceDao dao = new PinotStackTraceDao(sqlSessionTemplate, "exceptionStackTrace", 100);
+
+    @Test
+    void getStackTraces() {
+        when(sqlSessionTemplate.selectList(anyString(), any())).thenReturn(List.of(stackTrace("a")));
+
+        Map<String, StackTraceEntity> first = dao.getStackTraces("tenant", List.of("a", "b"));
+        Assertions.assertEquals(Map.of("a", first.get("a")), first);
+
+        when(sqlSessionTemplate.selectList(anyString(), any())).thenReturn(List.of(stackTrace("b")));
+
+        Map<String, StackTraceEntity> second = dao.getStackTraces("tenant", List.of("a", "b"));
+        Assertions.assertEquals(2, second.size());
+        Assertions.assertSame(first.get("a"), second.get("a"));
+        verify(sqlSessionTemplate, times(2)).selectList(anyString(), any());
+    }
+
+    @Test
+    void getStackTraces_oneQueryPerPage() {
+        when(sqlSessionTemplate.selectList(anyString(), any())).thenReturn(List.of(stackTrace("a"), stackTrace("b")));
+
+        dao.getStackTraces("tenant", List.of("a", "b"));
+        dao.getStackTraces("tenant", List.of("b", "a"));
+
+        verify(sqlSessionTemplate, times(1)).selectList(anyString(), any());
+    }
+
+    @Test
+    void getStackTraces_limit() {
+        when(sqlSessionTemplate.selectList(anyString(), any())).thenAnswer(invocation -> {
+            Map<String, Object> parameter = invocation.getArgument(1);
+            Assertions.assertEquals(2, parameter.get("limit"));
+            Assertions.assertEquals(2, ((Collection<?>) parameter.get("stackTraceHashes")).size());
+            return List.of();
+        });
+
+        Assertions.assertTrue(dao.getStackTraces("tenant", List.of("a", "b", "a")).isEmpty());
+    }
+
+    static StackTraceEntity stackTrace(String stackTraceHash) {
+        StackTraceEntity entity = new StackTraceEntity();
+        entity.setStackTraceHash(stackTraceHash);
+        entity.setStackTraceClassName("[\"className\"]");
+        entity.setStackTraceFileName("[\"fileName\"]");
+        entity.setStackTraceLineNumber("[1]");
+        entity.setStackTraceMethodName("[\"methodName\"]");
+        return entity;
+    }
+}
@@ -17,6 +17,7 @@ package com.navercorp.pinpoint.flink;
 
 import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import com.navercorp.pinpoint.flink.function.ApplicationStatBoAggregateFunction;
 import com.navercorp.pinpoint.flink.function.ApplicationStatBoWindow;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.api.java.tuple.Tuple3;
@@ -61,7 +62,7 @@ public class StatStreamingVer2Job implements Serializable {
                 .keyBy(el -> el.f0)
                 .window(TumblingEventTimeWindows.of(flowParams.getWindowSize()))
                 .allowedLateness(flowParams.getAllowedLateness())
-                .apply(new ApplicationStatBoWindow()).name("ApplicationStatBoWindow")
+                .aggregate(new ApplicationStatBoAggregateFunction(), new ApplicationStatBoWindow()).name("ApplicationStatBoWindow")
                 .addSink(bootstrap.getStatisticsDao()).name("StatisticsDao");
         env.execute(JOB_NAME);
     }
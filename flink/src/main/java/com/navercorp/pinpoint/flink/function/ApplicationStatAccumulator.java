@@ -0,0 +1,317 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDirectBufferBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinFileDescriptorBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinLoadedClassBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinMemoryBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTotalThreadCountBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Window state of {@link ApplicationStatBoAggregateFunction}.
+ * Joins the {@link JoinApplicationStatBo} of a window as they arrive, with the result of
+ * {@link JoinApplicationStatBo#joinApplicationStatBoByTimeSlice(List)} over all of them.
+ * <p>
+ * Each stat type keeps a {@link JoinFieldAccumulator} per field and per 5 second time slice,
+ * the first stat of a time slice is kept for its id and metadata.
+ */
+public class ApplicationStatAccumulator {
+
+    private static final StatJoiner<JoinCpuLoadBo> CPU_LOAD = new StatJoiner<>(
+            List.of(JoinCpuLoadBo::getJvmCpuLoadJoinValue, JoinCpuLoadBo::getSystemCpuLoadJoinValue),
+            (first, timestamp, fields) -> new JoinCpuLoadBo(first.getId(), fields[0].toDoubleFieldBo(), fields[1].toDoubleFieldBo(), timestamp),
+            JoinApplicationStatBo.Builder::addCpuLoad);
+
+    private static final StatJoiner<JoinMemoryBo> MEMORY = new StatJoiner<>(
+            List.of(JoinMemoryBo::getHeapUsedJoinValue, JoinMemoryBo::getNonHeapUsedJoinValue),
+            (first, timestamp, fields) -> new JoinMemoryBo(first.getId(), timestamp, fields[0].toLongFieldBo(), fields[1].toLongFieldBo()),
+            JoinApplicationStatBo.Builder::addMemory);
+
+    private static final StatJoiner<JoinTransactionBo> TRANSACTION = new StatJoiner<>(
+            List.of(JoinTransactionBo::getTotalCountJoinValue),
+            (first, timestamp, fields) -> new JoinTransactionBo(first.getId(), first.getCollectInterval(), fields[0].toLongFieldBo(), timestamp),
+            JoinApplicationStatBo.Builder::addTransaction);
+
+    private static final StatJoiner<JoinActiveTraceBo> ACTIVE_TRACE = new StatJoiner<>(
+            List.of(JoinActiveTraceBo::getTotalCountJoinValue),
+            (first, timestamp, fields) -> new JoinActiveTraceBo(first.getId(), first.getHistogramSchemaType(), first.getVersion(), fields[0].toIntFieldBo(), timestamp),
+            JoinApplicationStatBo.Builder::addActiveTrace);
+
+    private static final StatJoiner<JoinResponseTimeBo> RESPONSE_TIME = new StatJoiner<>(
+            List.of(JoinResponseTimeBo::getResponseTimeJoinValue),
+            (first, timestamp, fields) -> new JoinResponseTimeBo(first.getId(), timestamp, fields[0].toLongFieldBo()),
+            JoinApplicationStatBo.Builder::addResponseTime);
+
+    private static final StatJoiner<JoinFileDescriptorBo> FILE_DESCRIPTOR = new StatJoiner<>(
+            List.of(JoinFileDescriptorBo::getOpenFdCountJoinValue),
+            (first, timestamp, fields) -> new JoinFileDescriptorBo(first.getId(), fields[0].toLongFieldBo(), timestamp),
+            JoinApplicationStatBo.Builder::addFileDescriptor);
+
+    private static final StatJoiner<JoinDirectBufferBo> DIRECT_BUFFER = new StatJoiner<>(
+            List.of(JoinDirectBufferBo::getDirectCountJoinValue, JoinDirectBufferBo::getDirectMemoryUsedJoinValue,
+                    JoinDirectBufferBo::getMappedCountJoinValue, JoinDirectBufferBo::getMappedMemoryUsedJoinValue),
+            (first, timestamp, fields) -> new JoinDirectBufferBo(first.getId(), fields[0].toLongFieldBo(), fields[1].toLongFieldBo(),
+                    fields[2].toLongFieldBo(), fields[3].toLongFieldBo(), timestamp),
+            JoinApplicationStatBo.Builder::addDirectBuffer);
+
+    private static final StatJoiner<JoinTotalThreadCountBo> TOTAL_THREAD_COUNT = new StatJoiner<>(
+            List.of(JoinTotalThreadCountBo::getTotalThreadCountJoinValue),
+            (first, timestamp, fields) -> new JoinTotalThreadCountBo(first.getId(), timestamp, fields[0].toLongFieldBo()),
+            JoinApplicationStatBo.Builder::addTotalThreadCount);
+
+    private static final StatJoiner<JoinLoadedClassBo> LOADED_CLASS = new StatJoiner<>(
+            List.of(JoinLoadedClassBo::getLoadedClassJoinValue, JoinLoadedClassBo::getUnloadedClassJoinValue),
+            (first, timestamp, fields) -> new JoinLoadedClassBo(first.getId(), fields[0].toLongFieldBo(), fields[1].toLongFieldBo(), timestamp),
+            JoinApplicationStatBo.Builder::addLoadedClass);
+
+    private String applicationId;
+    private long count;
+    private long minTimestamp = Long.MAX_VALUE;
+
+    private final Map<Long, StatSlot> cpuLoad = new HashMap<>();
+    private final Map<Long, StatSlot> memory = new HashMap<>();
+    private final Map<Long, StatSlot> transaction = new HashMap<>();
+    private final Map<Long, StatSlot> activeTrace = new HashMap<>();
+    private final Map<Long, StatSlot> responseTime = new HashMap<>();
+    private final Map<Long, DataSourceSlot> dataSourceList = new HashMap<>();
+    private final Map<Long, StatSlot> fileDescriptor = new HashMap<>();
+    private final Map<Long, StatSlot> directBuffer = new HashMap<>();
+    private final Map<Long, StatSlot> totalThreadCount = new HashMap<>();
+    private final Map<Long, StatSlot> loadedClass = new HashMap<>();
+
+    public ApplicationStatAccumulator() {
+    }
+
+    public void add(JoinApplicationStatBo joinApplicationStatBo) {
+        Objects.requireNonNull(joinApplicationStatBo, "joinApplicationStatBo");
+        if (applicationId == null) {
+            applicationId = joinApplicationStatBo.getId();
+        }
+        count++;
+
+        add(cpuLoad, joinApplicationStatBo.getJoinCpuLoadBoList(), CPU_LOAD);
+        add(memory, joinApplicationStatBo.getJoinMemoryBoList(), MEMORY);
+        add(transaction, joinApplicationStatBo.getJoinTransactionBoList(), TRANSACTION);
+        add(activeTrace, joinApplicationStatBo.getJoinActiveTraceBoList(), ACTIVE_TRACE);
+        add(responseTime, joinApplicationStatBo.getJoinResponseTimeBoList(), RESPONSE_TIME);
+        addDataSourceList(joinApplicationStatBo.getJoinDataSourceListBoList());
+        add(fileDescriptor, joinApplicationStatBo.getJoinFileDescriptorBoList(), FILE_DESCRIPTOR);
+        add(directBuffer, joinApplicationStatBo.getJoinDirectBufferBoList(), DIRECT_BUFFER);
+        add(totalThreadCount, joinApplicationStatBo.getJoinTotalThreadCountBoList(), TOTAL_THREAD_COUNT);
+        add(loadedClass, joinApplicationStatBo.getJoinLoadedClassBoList(), LOADED_CLASS);
+    }
+
+    private <T extends JoinStatBo> void add(Map<Long, StatSlot> slots, List<T> statList, StatJoiner<T> joiner) {
+        for (T stat : statList) {
+            final long timestamp = stat.getTimestamp();
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            final StatSlot slot = slots.computeIfAbsent(JoinApplicationStatBo.shiftTimestamp(timestamp),
+                    k -> new StatSlot(stat, joiner.fieldSize()));
+            joiner.add(slot, stat);
+        }
+    }
+
+    private void addDataSourceList(List<JoinDataSourceListBo> statList) {
+        for (JoinDataSourceListBo stat : statList) {
+            final long timestamp = stat.getTimestamp();
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            final DataSourceSlot slot = dataSourceList.computeIfAbsent(JoinApplicationStatBo.shiftTimestamp(timestamp),
+                    k -> new DataSourceSlot(stat.getId()));
+            slot.add(stat);
+        }
+    }
+
+    public void merge(ApplicationStatAccumulator other) {
+        Objects.requireNonNull(other, "other");
+        if (other.count == 0) {
+            return;
+        }
+        if (applicationId == null) {
+            applicationId = other.applicationId;
+        }
+        count += other.count;
+        minTimestamp = Math.min(minTimestamp, other.minTimestamp);
+
+        merge(cpuLoad, other.cpuLoad);
+        merge(memory, other.memory);
+        merge(transaction, other.transaction);
+        merge(activeTrace, other.activeTrace);
+        merge(responseTime, other.responseTime);
+        for (Map.Entry<Long, DataSourceSlot> entry : other.dataSourceList.entrySet()) {
+            dataSourceList.merge(entry.getKey(), entry.getValue(), DataSourceSlot::merge);
+        }
+        merge(fileDescriptor, other.fileDescriptor);
+        merge(directBuffer, other.directBuffer);
+        merge(totalThreadCount, other.totalThreadCount);
+        merge(loadedClass, other.loadedClass);
+    }
+
+    private void merge(Map<Long, StatSlot> slots, Map<Long, StatSlot> otherSlots) {
+        for (Map.Entry<Long, StatSlot> entry : otherSlots.entrySet()) {
+            slots.merge(entry.getKey(), entry.getValue(), StatSlot::merge);
+        }
+    }
+
+    public JoinApplicationStatBo build() {
+        if (count == 0) {
+            return JoinApplicationStatBo.EMPTY_JOIN_APPLICATION_STAT_BO;
+        }
+        final JoinApplicationStatBo.Builder builder = JoinApplicationStatBo.newBuilder(applicationId, minTimestamp);
+        build(builder, cpuLoad, CPU_LOAD);
+        build(builder, memory, MEMORY);
+        build(builder, transaction, TRANSACTION);
+        build(builder, activeTrace, ACTIVE_TRACE);
+        build(builder, responseTime, RESPONSE_TIME);
+        for (Map.Entry<Long, DataSourceSlot> entry : dataSourceList.entrySet()) {
+            builder.addDataSourceList(entry.getValue().build(entry.getKey()));
+        }
+        build(builder, fileDescriptor, FILE_DESCRIPTOR);
+        build(builder, directBuffer, DIRECT_BUFFER);
+        build(builder, totalThreadCount, TOTAL_THREAD_COUNT);
+        build(builder, loadedClass, LOADED_CLASS);
+        return builder.build();
+    }
+
+    private <T extends JoinStatBo> void build(JoinApplicationStatBo.Builder builder, Map<Long, StatSlot> slots, StatJoiner<T> joiner) {
+        for (Map.Entry<Long, StatSlot> entry : slots.entrySet()) {
+            joiner.build(builder, entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Stats of a type in a time slice, the first stat and a running merge per field.
+     */
+    static class StatSlot {
+        private JoinStatBo first;
+        private JoinFieldAccumulator[] fields;
+
+        StatSlot() {
+        }
+
+        StatSlot(JoinStatBo first, int fieldSize) {
+            this.first = Objects.requireNonNull(first, "first");
+            this.fields = new JoinFieldAccumulator[fieldSize];
+            for (int i = 0; i < fieldSize; i++) {
+                this.fields[i] = new JoinFieldAccumulator();
+            }
+        }
+
+        StatSlot merge(StatSlot other) {
+            for (int i = 0; i < fields.length; i++) {
+                fields[i].merge(other.fields[i]);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Data sources in a time slice, a running merge of the active connections per url and service type.
+     */
+    static class DataSourceSlot {
+        private String id;
+        private Map<JoinDataSourceListBo.DataSourceKey, JoinFieldAccumulator> dataSources;
+
+        DataSourceSlot() {
+        }
+
+        DataSourceSlot(String id) {
+            this.id = id;
+            this.dataSources = new HashMap<>();
+        }
+
+        void add(JoinDataSourceListBo dataSourceListBo) {
+            for (JoinDataSourceBo dataSourceBo : dataSourceListBo.getJoinDataSourceBoList()) {
+                final JoinDataSourceListBo.DataSourceKey key = new JoinDataSourceListBo.DataSourceKey(dataSourceBo.getUrl(), dataSourceBo.getServiceTypeCode());
+                dataSources.computeIfAbsent(key, k -> new JoinFieldAccumulator())
+                        .add(dataSourceBo.getActiveConnectionSizeJoinValue());
+            }
+        }
+
+        DataSourceSlot merge(DataSourceSlot other) {
+            for (Map.Entry<JoinDataSourceListBo.DataSourceKey, JoinFieldAccumulator> entry : other.dataSources.entrySet()) {
+                dataSources.computeIfAbsent(entry.getKey(), k -> new JoinFieldAccumulator())
+                        .merge(entry.getValue());
+            }
+            return this;
+        }
+
+        JoinDataSourceListBo build(long timestamp) {
+            final List<JoinDataSourceBo> dataSourceBoList = new ArrayList<>(dataSources.size());
+            for (Map.Entry<JoinDataSourceListBo.DataSourceKey, JoinFieldAccumulator> entry : dataSources.entrySet()) {
+                final JoinDataSourceListBo.DataSourceKey key = entry.getKey();
+                dataSourceBoList.add(new JoinDataSourceBo(key.getServiceTypeCode(), key.getUrl(), entry.getValue().toIntFieldBo()));
+            }
+            return new JoinDataSourceListBo(id, dataSourceBoList, timestamp);
+        }
+    }
+
+    /**
+     * Fields and result of a stat type, the slots only hold data so the window state stays serializable.
+     */
+    private static class StatJoiner<T extends JoinStatBo> {
+        private final List<Function<T, ? extends JoinFieldBo<?>>> fieldGetters;
+        private final StatFactory<T> factory;
+        private final BiConsumer<JoinApplicationStatBo.Builder, T> appender;
+
+        private StatJoiner(List<Function<T, ? extends JoinFieldBo<?>>> fieldGetters,
+                           StatFactory<T> factory,
+                           BiConsumer<JoinApplicationStatBo.Builder, T> appender) {
+            this.fieldGetters = fieldGetters;
+            this.factory = factory;
+            this.appender = appender;
+        }
+
+        int fieldSize() {
+            return fieldGetters.size();
+        }
+
+        void add(StatSlot slot, T stat) {
+            for (int i = 0; i < fieldGetters.size(); i++) {
+                slot.fields[i].add(fieldGetters.get(i).apply(stat));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void build(JoinApplicationStatBo.Builder builder, StatSlot slot, long timestamp) {
+            final T stat = factory.create((T) slot.first, timestamp, slot.fields);
+            appender.accept(builder, stat);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatFactory<T> {
+        T create(T first, long timestamp, JoinFieldAccumulator[] fields);
+    }
+}
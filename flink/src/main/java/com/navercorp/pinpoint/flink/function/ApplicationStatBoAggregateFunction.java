@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.java.tuple.Tuple3;
+
+import java.io.Serial;
+
+/**
+ * Joins the {@link JoinApplicationStatBo} of an application window incrementally,
+ * the window state is an {@link ApplicationStatAccumulator} instead of every stat of the window.
+ * The joined stat is handed to {@link ApplicationStatBoWindow}.
+ */
+public class ApplicationStatBoAggregateFunction implements AggregateFunction<Tuple3<String, JoinStatBo, Long>, ApplicationStatAccumulator, Tuple3<String, JoinStatBo, Long>> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public ApplicationStatAccumulator createAccumulator() {
+        return new ApplicationStatAccumulator();
+    }
+
+    @Override
+    public ApplicationStatAccumulator add(Tuple3<String, JoinStatBo, Long> value, ApplicationStatAccumulator accumulator) {
+        accumulator.add((JoinApplicationStatBo) value.f1);
+        return accumulator;
+    }
+
+    @Override
+    public Tuple3<String, JoinStatBo, Long> getResult(ApplicationStatAccumulator accumulator) {
+        final JoinApplicationStatBo joinApplicationStatBo = accumulator.build();
+        return new Tuple3<>(joinApplicationStatBo.getId(), joinApplicationStatBo, joinApplicationStatBo.getTimestamp());
+    }
+
+    @Override
+    public ApplicationStatAccumulator merge(ApplicationStatAccumulator a, ApplicationStatAccumulator b) {
+        a.merge(b);
+        return a;
+    }
+}
@@ -28,9 +28,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.Serial;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 
 /**
  * @author minwoo.jung
@@ -58,7 +56,7 @@ public class ApplicationStatBoWindow extends RichWindowFunction<Tuple3<String, J
     public void apply(String groupingKey, TimeWindow window, Iterable<Tuple3<String, JoinStatBo, Long>> values, Collector<Tuple3<String, JoinStatBo, Long>> out) throws Exception {
         applicationStatBoWindowInterceptor.before(values);
         try {
-            JoinApplicationStatBo joinApplicationStatBo = join(values);
+            JoinApplicationStatBo joinApplicationStatBo = getJoinApplicationStatBo(values);
             long delayTime = new Date().getTime() - joinApplicationStatBo.getTimestamp();
             if (delayTime > 35000) {
                 if (logger.isDebugEnabled()) {
@@ -91,14 +89,11 @@ public class ApplicationStatBoWindow extends RichWindowFunction<Tuple3<String, J
         }
     }
 
-    private JoinApplicationStatBo join(Iterable<Tuple3<String, JoinStatBo, Long>> values) {
-        List<JoinApplicationStatBo> joinApplicaitonStatBoList = new ArrayList<>();
-
+    private JoinApplicationStatBo getJoinApplicationStatBo(Iterable<Tuple3<String, JoinStatBo, Long>> values) {
+        // joined by ApplicationStatBoAggregateFunction, the window holds a single result
         for (Tuple3<String, JoinStatBo, Long> value : values) {
-            joinApplicaitonStatBoList.add((JoinApplicationStatBo) value.f1);
+            return (JoinApplicationStatBo) value.f1;
         }
-
-        return JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicaitonStatBoList);
-
+        return JoinApplicationStatBo.EMPTY_JOIN_APPLICATION_STAT_BO;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDoubleFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinIntFieldBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinLongFieldBo;
+
+import java.util.Objects;
+
+/**
+ * Running merge of a join field, same result as the merge of the field list in {@link JoinLongFieldBo},
+ * {@link JoinIntFieldBo} and {@link JoinDoubleFieldBo}.
+ * Keeps the sum and count of the averages, and the first field holding the min and the max value.
+ */
+public class JoinFieldAccumulator {
+
+    private long count;
+    private long longSum;
+    private double doubleSum;
+    private JoinFieldBo<?> min;
+    private JoinFieldBo<?> max;
+
+    public JoinFieldAccumulator() {
+    }
+
+    public void add(JoinFieldBo<?> field) {
+        Objects.requireNonNull(field, "field");
+
+        final Number avg = field.getAvg();
+        if (avg instanceof Double) {
+            doubleSum += avg.doubleValue();
+        } else {
+            longSum += avg.longValue();
+        }
+        count++;
+        updateMin(field);
+        updateMax(field);
+    }
+
+    public void merge(JoinFieldAccumulator other) {
+        Objects.requireNonNull(other, "other");
+        if (other.count == 0) {
+            return;
+        }
+        count += other.count;
+        longSum += other.longSum;
+        doubleSum += other.doubleSum;
+        updateMin(other.min);
+        updateMax(other.max);
+    }
+
+    private void updateMin(JoinFieldBo<?> field) {
+        if (min == null || compare(field.getMin(), min.getMin()) < 0) {
+            min = field;
+        }
+    }
+
+    private void updateMax(JoinFieldBo<?> field) {
+        if (max == null || compare(field.getMax(), max.getMax()) > 0) {
+            max = field;
+        }
+    }
+
+    private static int compare(Number n1, Number n2) {
+        if (n1 instanceof Double || n2 instanceof Double) {
+            return Double.compare(n1.doubleValue(), n2.doubleValue());
+        }
+        return Long.compare(n1.longValue(), n2.longValue());
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public JoinLongFieldBo toLongFieldBo() {
+        checkNotEmpty();
+        final double avg = (double) longSum / count;
+        return new JoinLongFieldBo((long) avg, min.getMin().longValue(), min.getMinAgentId(), max.getMax().longValue(), max.getMaxAgentId());
+    }
+
+    public JoinIntFieldBo toIntFieldBo() {
+        checkNotEmpty();
+        final double avg = (double) longSum / count;
+        return new JoinIntFieldBo((int) avg, min.getMin().intValue(), min.getMinAgentId(), max.getMax().intValue(), max.getMaxAgentId());
+    }
+
+    public JoinDoubleFieldBo toDoubleFieldBo() {
+        checkNotEmpty();
+        final double avg = doubleSum / count;
+        return new JoinDoubleFieldBo(avg, min.getMin().doubleValue(), min.getMinAgentId(), max.getMax().doubleValue(), max.getMaxAgentId());
+    }
+
+    private void checkNotEmpty() {
+        if (count == 0) {
+            throw new IllegalStateException("empty accumulator");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.function;
+
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinMemoryBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+import org.apache.flink.api.java.tuple.Tuple3;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ApplicationStatBoAggregateFunctionTest {
+
+    private static final String APPLICATION_ID = "application";
+    private static final long TIMESTAMP = 1487149800000L;
+
+    private final ApplicationStatBoAggregateFunction function = new ApplicationStatBoAggregateFunction();
+
+    @Test
+    public void getResult_sameAsJoinByTimeSlice() {
+        List<JoinApplicationStatBo> statList = statList();
+
+        ApplicationStatAccumulator accumulator = function.createAccumulator();
+        for (JoinApplicationStatBo stat : statList) {
+            accumulator = function.add(new Tuple3<>(APPLICATION_ID, stat, stat.getTimestamp()), accumulator);
+        }
+        Tuple3<String, JoinStatBo, Long> result = function.getResult(accumulator);
+
+        JoinApplicationStatBo expected = JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(statList);
+        assertJoinApplicationStatBo(expected, (JoinApplicationStatBo) result.f1);
+        assertEquals(expected.getTimestamp(), result.f2);
+    }
+
+    @Test
+    public void merge() {
+        List<JoinApplicationStatBo> statList = statList();
+
+        ApplicationStatAccumulator first = function.createAccumulator();
+        ApplicationStatAccumulator second = function.createAccumulator();
+        for (int i = 0; i < statList.size(); i++) {
+            JoinApplicationStatBo stat = statList.get(i);
+            ApplicationStatAccumulator accumulator = i < 2 ? first : second;
+            function.add(new Tuple3<>(APPLICATION_ID, stat, stat.getTimestamp()), accumulator);
+        }
+        ApplicationStatAccumulator merged = function.merge(first, second);
+
+        JoinApplicationStatBo expected = JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(statList);
+        assertJoinApplicationStatBo(expected, merged.build());
+    }
+
+    @Test
+    public void getResult_empty() {
+        Tuple3<String, JoinStatBo, Long> result = function.getResult(function.createAccumulator());
+        assertSame(JoinApplicationStatBo.EMPTY_JOIN_APPLICATION_STAT_BO, result.f1);
+    }
+
+    private List<JoinApplicationStatBo> statList() {
+        List<JoinApplicationStatBo> statList = new ArrayList<>();
+        for (int agent = 0; agent < 3; agent++) {
+            String agentId = "agent" + agent;
+            for (int slice = 0; slice < 2; slice++) {
+                long timestamp = TIMESTAMP + slice * 5000 + agent * 1000;
+                statList.add(stat(agentId, agent, timestamp));
+            }
+        }
+        return statList;
+    }
+
+    private JoinApplicationStatBo stat(String agentId, int plus, long timestamp) {
+        JoinApplicationStatBo.Builder builder = JoinApplicationStatBo.newBuilder(APPLICATION_ID, timestamp);
+        builder.addCpuLoad(new JoinCpuLoadBo(APPLICATION_ID, 0.25 * plus, 0.5 + plus, agentId, 0.125, agentId,
+                0.5, 0.75 + plus, agentId, 0.25 * plus, agentId, timestamp));
+        builder.addMemory(new JoinMemoryBo(APPLICATION_ID, timestamp, 3000 + plus, 2000 - plus, 5000 + plus, agentId, agentId,
+                500 + plus, 50, 600 + plus, agentId, agentId));
+        builder.addTransaction(new JoinTransactionBo(APPLICATION_ID, 5000, 100 + plus, 10 + plus, agentId, 200 - plus, agentId, timestamp));
+        builder.addActiveTrace(new JoinActiveTraceBo(APPLICATION_ID, 1, (short) 2, 7 + plus, 1, agentId, 11 + plus, agentId, timestamp));
+
+        List<JoinDataSourceBo> dataSourceList = List.of(
+                new JoinDataSourceBo((short) 1000, "jdbc:mysql://db1", 10 + plus, 1 + plus, agentId, 20 + plus, agentId),
+                new JoinDataSourceBo((short) 1000, "jdbc:mysql://db2", 30 - plus, 3, agentId, 40 - plus, agentId));
+        builder.addDataSourceList(new JoinDataSourceListBo(APPLICATION_ID, dataSourceList, timestamp));
+        return builder.build();
+    }
+
+    private void assertJoinApplicationStatBo(JoinApplicationStatBo expected, JoinApplicationStatBo actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertEquals(new HashSet<>(expected.getJoinCpuLoadBoList()), new HashSet<>(actual.getJoinCpuLoadBoList()));
+        assertEquals(new HashSet<>(expected.getJoinMemoryBoList()), new HashSet<>(actual.getJoinMemoryBoList()));
+        assertEquals(new HashSet<>(expected.getJoinTransactionBoList()), new HashSet<>(actual.getJoinTransactionBoList()));
+        assertEquals(new HashSet<>(expected.getJoinActiveTraceBoList()), new HashSet<>(actual.getJoinActiveTraceBoList()));
+        assertEquals(expected.getJoinDataSourceListBoList().size(), actual.getJoinDataSourceListBoList().size());
+        for (JoinDataSourceListBo expectedDataSourceList : expected.getJoinDataSourceListBoList()) {
+            JoinDataSourceListBo actualDataSourceList = actual.getJoinDataSourceListBoList().stream()
+                    .filter(dataSourceList -> dataSourceList.getTimestamp() == expectedDataSourceList.getTimestamp())
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(new HashSet<>(expectedDataSourceList.getJoinDataSourceBoList()), new HashSet<>(actualDataSourceList.getJoinDataSourceBoList()));
+        }
+    }
+}
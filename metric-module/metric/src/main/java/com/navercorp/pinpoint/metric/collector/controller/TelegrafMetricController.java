@@ -16,9 +16,12 @@
 
 package com.navercorp.pinpoint.metric.collector.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.navercorp.pinpoint.common.util.CollectionUtils;
 import com.navercorp.pinpoint.metric.collector.model.TelegrafMetric;
 import com.navercorp.pinpoint.metric.collector.model.TelegrafMetrics;
+import com.navercorp.pinpoint.metric.collector.model.serialize.InfluxLineProtocolParser;
+import com.navercorp.pinpoint.metric.collector.model.serialize.TelegrafJsonStreamParser;
 import com.navercorp.pinpoint.metric.collector.service.SystemMetricDataTypeService;
 import com.navercorp.pinpoint.metric.collector.service.SystemMetricService;
 import com.navercorp.pinpoint.metric.collector.service.SystemMetricTagService;
@@ -30,20 +33,30 @@ import com.navercorp.pinpoint.metric.common.model.validation.SimpleErrorMessage;
 import com.navercorp.pinpoint.pinot.tenant.TenantProvider;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 /**
  * @author Hyunjoon Cho
@@ -57,17 +70,29 @@ public class TelegrafMetricController {
     private final SystemMetricDataTypeService systemMetricMetadataService;
     private final SystemMetricTagService systemMetricTagService;
     private final TenantProvider tenantProvider;
+    private final TelegrafJsonStreamParser telegrafJsonStreamParser;
+    private final InfluxLineProtocolParser influxLineProtocolParser;
+    private final int streamBatchSize;
 
     private static final List<String> ignoreTags = Collections.singletonList("host");
 
     public TelegrafMetricController(SystemMetricService systemMetricService,
                                     SystemMetricDataTypeService systemMetricMetadataService,
                                     SystemMetricTagService systemMetricTagService,
-                                    TenantProvider tenantProvider) {
+                                    TenantProvider tenantProvider,
+                                    TelegrafJsonStreamParser telegrafJsonStreamParser,
+                                    InfluxLineProtocolParser influxLineProtocolParser,
+                                    @Value("${collector.metric.telegraf.stream.batch.size:1000}") int streamBatchSize) {
         this.systemMetricService = Objects.requireNonNull(systemMetricService, "systemMetricService");
         this.systemMetricMetadataService = Objects.requireNonNull(systemMetricMetadataService, "systemMetricMetadataService");
         this.systemMetricTagService = Objects.requireNonNull(systemMetricTagService, "systemMetricTagService");
         this.tenantProvider = Objects.requireNonNull(tenantProvider, "tenantProvider");
+        this.telegrafJsonStreamParser = Objects.requireNonNull(telegrafJsonStreamParser, "telegrafJsonStreamParser");
+        this.influxLineProtocolParser = Objects.requireNonNull(influxLineProtocolParser, "influxLineProtocolParser");
+        if (streamBatchSize <= 0) {
+            throw new IllegalArgumentException("streamBatchSize must be positive");
+        }
+        this.streamBatchSize = streamBatchSize;
     }
 
 
@@ -98,6 +123,102 @@ public class TelegrafMetricController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Streaming variant of /telegraf, the body is parsed token by token and written in chunks of streamBatchSize.
+     * Chunks written before a parse error are kept.
+     */
+    @PostMapping(value = "/telegraf/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> saveSystemMetricStream(
+            @RequestHeader(value = "hostGroupName") String hostGroupName,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request
+    ) throws IOException {
+        return saveStream(hostGroupName, contentEncoding, request, telegrafJsonStreamParser::parse);
+    }
+
+    @PostMapping(value = "/telegraf/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Void> saveSystemMetricLineProtocol(
+            @RequestHeader(value = "hostGroupName") String hostGroupName,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestParam(value = "precision", defaultValue = "ns") String precision,
+            HttpServletRequest request
+    ) throws IOException {
+        final TimeUnit timeUnit;
+        try {
+            timeUnit = InfluxLineProtocolParser.precisionOf(precision);
+        } catch (IllegalArgumentException e) {
+            logger.warn("telegraf line protocol error. header=hostGroupName:{} {}", hostGroupName, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        return saveStream(hostGroupName, contentEncoding, request,
+                (in, consumer) -> influxLineProtocolParser.parse(in, timeUnit, consumer));
+    }
+
+    private ResponseEntity<Void> saveStream(String hostGroupName, String contentEncoding,
+                                            HttpServletRequest request, MetricStreamParser parser) throws IOException {
+        final MetricChunk chunk = new MetricChunk(tenantProvider.getTenantId(), hostGroupName);
+        try (InputStream in = getInputStream(request, contentEncoding)) {
+            parser.parse(in, chunk);
+            chunk.flush();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            logger.warn("telegraf stream error. header=hostGroupName:{} written:{} {}", hostGroupName, chunk.getCount(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("hostGroupName:{} size:{}", hostGroupName, chunk.getCount());
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private InputStream getInputStream(HttpServletRequest request, String contentEncoding) throws IOException {
+        final InputStream in = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            return new GZIPInputStream(in);
+        }
+        return in;
+    }
+
+    @FunctionalInterface
+    private interface MetricStreamParser {
+        void parse(InputStream in, Consumer<DoubleMetric> consumer) throws IOException;
+    }
+
+    private class MetricChunk implements Consumer<DoubleMetric> {
+        private final String tenantId;
+        private final String hostGroupName;
+        private final List<SystemMetric> metrics = new ArrayList<>(streamBatchSize);
+        private int count;
+
+        private MetricChunk(String tenantId, String hostGroupName) {
+            this.tenantId = tenantId;
+            this.hostGroupName = hostGroupName;
+        }
+
+        @Override
+        public void accept(DoubleMetric metric) {
+            metrics.add(metric);
+            if (metrics.size() >= streamBatchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (metrics.isEmpty()) {
+                return;
+            }
+            final Metrics systemMetric = new Metrics(tenantId, hostGroupName, metrics.get(0).getHostName(), metrics);
+            updateMetadata(systemMetric);
+            systemMetricService.insert(systemMetric);
+            count += metrics.size();
+            metrics.clear();
+        }
+
+        private int getCount() {
+            return count;
+        }
+    }
+
     private String getHost(TelegrafMetrics metrics) {
         List<TelegrafMetric> metricList = metrics.getMetrics();
         if (CollectionUtils.isEmpty(metricList)) {
@@ -16,21 +16,18 @@
 
 package com.navercorp.pinpoint.metric.collector.dao.pinot;
 
+import com.codahale.metrics.MetricRegistry;
 import com.navercorp.pinpoint.metric.collector.dao.SystemMetricDao;
 import com.navercorp.pinpoint.metric.collector.view.SystemMetricView;
 import com.navercorp.pinpoint.metric.common.model.DoubleMetric;
-import com.navercorp.pinpoint.pinot.kafka.util.KafkaCallbacks;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import com.navercorp.pinpoint.pinot.kafka.KafkaBatchPublisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.function.BiConsumer;
+import java.util.Optional;
 
 /**
  * @author Hyunjoon Cho
@@ -38,20 +35,17 @@ import java.util.function.BiConsumer;
 @Repository
 public class PinotSystemMetricDoubleDao implements SystemMetricDao<DoubleMetric> {
 
-    private final Logger logger = LogManager.getLogger(this.getClass());
-
-    private final KafkaTemplate<String, SystemMetricView> kafkaDoubleTemplate;
-
-    private final String topic;
-
-    private final BiConsumer<SendResult<String, SystemMetricView>, Throwable> resultCallback
-            = KafkaCallbacks.loggingCallback("Kafka(SystemMetricView)", logger);
+    private final KafkaBatchPublisher<SystemMetricView> publisher;
 
     public PinotSystemMetricDoubleDao(KafkaTemplate<String, SystemMetricView> kafkaDoubleTemplate,
-                                      @Value("${kafka.double.topic}") String topic) {
-        this.kafkaDoubleTemplate = Objects.requireNonNull(kafkaDoubleTemplate, "kafkaDoubleTemplate");
-        this.topic = Objects.requireNonNull(topic, "topic");
-
+                                      @Value("${kafka.double.topic}") String topic,
+                                      @Value("${pinpoint.metric.kafka.max.in.flight.records:100000}") long maxInFlight,
+                                      @Value("${pinpoint.metric.kafka.max.in.flight.wait.ms:1000}") long maxWaitMillis,
+                                      Optional<MetricRegistry> metricRegistry) {
+        Objects.requireNonNull(kafkaDoubleTemplate, "kafkaDoubleTemplate");
+        Objects.requireNonNull(topic, "topic");
+        this.publisher = new KafkaBatchPublisher<>("Kafka(SystemMetricView)", kafkaDoubleTemplate, topic, maxInFlight, maxWaitMillis);
+        metricRegistry.ifPresent(registry -> registry.register(publisher.getName(), publisher));
     }
 
     @Override
@@ -60,12 +54,8 @@ public class PinotSystemMetricDoubleDao implements SystemMetricDao<DoubleMetric>
         Objects.requireNonNull(hostGroupName, "hostGroupName");
         Objects.requireNonNull(systemMetrics, "systemMetrics");
 
-        for (DoubleMetric doubleMetric : systemMetrics) {
-            String kafkaKey = generateKafkaKey(doubleMetric);
-            SystemMetricView systemMetricView = new SystemMetricView(tenantId, hostGroupName, doubleMetric);
-            CompletableFuture<SendResult<String, SystemMetricView>> callback = this.kafkaDoubleTemplate.send(topic, kafkaKey, systemMetricView);
-            callback.whenComplete(resultCallback);
-        }
+        publisher.send(systemMetrics, this::generateKafkaKey,
+                doubleMetric -> new SystemMetricView(tenantId, hostGroupName, doubleMetric));
     }
 
     private String generateKafkaKey(DoubleMetric doubleMetric) {
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.metric.collector.model.serialize;
+
+import com.navercorp.pinpoint.metric.common.model.DoubleMetric;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reads the influx line protocol output of telegraf line by line.
+ * <pre>
+ * measurement,tag1=value1,tag2=value2 field1=1.0,field2=2i 1458229140000000000
+ * </pre>
+ * Each numeric field is handed to the consumer as a {@link DoubleMetric}, string and boolean fields are skipped.
+ */
+@Component
+public class InfluxLineProtocolParser {
+
+    /**
+     * @return the number of emitted metrics
+     */
+    public int parse(InputStream in, TimeUnit precision, Consumer<DoubleMetric> consumer) throws IOException {
+        Objects.requireNonNull(in, "in");
+        Objects.requireNonNull(precision, "precision");
+
+        final TelegrafMetricBuilder builder = new TelegrafMetricBuilder(consumer);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        int count = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.charAt(0) == '#') {
+                continue;
+            }
+            try {
+                new LineReader(line).read(builder, precision);
+                count += builder.emit();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return count;
+    }
+
+    public static TimeUnit precisionOf(String precision) {
+        return switch (precision) {
+            case "ns" -> TimeUnit.NANOSECONDS;
+            case "u", "us" -> TimeUnit.MICROSECONDS;
+            case "ms" -> TimeUnit.MILLISECONDS;
+            case "s" -> TimeUnit.SECONDS;
+            default -> throw new IllegalArgumentException("unsupported precision:" + precision);
+        };
+    }
+
+    private static class LineReader {
+        private final String line;
+        private int pos;
+
+        private LineReader(String line) {
+            this.line = line;
+        }
+
+        private void read(TelegrafMetricBuilder builder, TimeUnit precision) {
+            final String measurement = token(", ");
+            if (measurement.isEmpty()) {
+                throw new IllegalArgumentException("measurement not found");
+            }
+            builder.name(measurement);
+            while (peek() == ',') {
+                pos++;
+                final String tagName = token("=");
+                expect('=');
+                builder.tag(tagName, token(", "));
+            }
+            skipSpaces();
+
+            do {
+                final String fieldName = token("=");
+                expect('=');
+                readField(builder, fieldName);
+            } while (next(','));
+            skipSpaces();
+
+            if (pos < line.length()) {
+                final long timestamp = parseLong(line.substring(pos).trim());
+                builder.timestamp(precision.toMillis(timestamp));
+            } else {
+                builder.timestamp(System.currentTimeMillis());
+            }
+        }
+
+        private void readField(TelegrafMetricBuilder builder, String fieldName) {
+            if (peek() == '"') {
+                skipString();
+                return;
+            }
+            final String value = token(", ");
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("empty field value:" + fieldName);
+            }
+            final char last = value.charAt(value.length() - 1);
+            if (last == 'i' || last == 'u') {
+                builder.field(fieldName, parseLong(value.substring(0, value.length() - 1)));
+            } else if (isBoolean(value)) {
+                return;
+            } else {
+                builder.field(fieldName, parseDouble(value));
+            }
+        }
+
+        private String token(String delimiters) {
+            StringBuilder unescaped = null;
+            final int start = pos;
+            while (pos < line.length()) {
+                final char c = line.charAt(pos);
+                if (c == '\\' && pos + 1 < line.length()) {
+                    if (unescaped == null) {
+                        unescaped = new StringBuilder(line.length() - start);
+                        unescaped.append(line, start, pos);
+                    }
+                    unescaped.append(line.charAt(pos + 1));
+                    pos += 2;
+                    continue;
+                }
+                if (delimiters.indexOf(c) != -1) {
+                    break;
+                }
+                if (unescaped != null) {
+                    unescaped.append(c);
+                }
+                pos++;
+            }
+            if (unescaped != null) {
+                return unescaped.toString();
+            }
+            return line.substring(start, pos);
+        }
+
+        private void skipString() {
+            pos++;
+            while (pos < line.length()) {
+                final char c = line.charAt(pos++);
+                if (c == '\\') {
+                    pos++;
+                } else if (c == '"') {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("unterminated string field");
+        }
+
+        private void skipSpaces() {
+            while (peek() == ' ') {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            return pos < line.length() ? line.charAt(pos) : 0;
+        }
+
+        private boolean next(char c) {
+            if (peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!next(c)) {
+                throw new IllegalArgumentException("'" + c + "' expected at " + pos);
+            }
+        }
+
+        private static boolean isBoolean(String value) {
+            return switch (value) {
+                case "t", "T", "true", "True", "TRUE", "f", "F", "false", "False", "FALSE" -> true;
+                default -> false;
+            };
+        }
+
+        private static long parseLong(String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid integer:" + value, e);
+            }
+        }
+
+        private static double parseDouble(String value) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid number:" + value, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.metric.collector.model.serialize;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.navercorp.pinpoint.metric.common.model.DoubleMetric;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reads the telegraf json output token by token, the batch format ({"metrics":[...]}) and the standard format.
+ * Only the metric being read is kept in memory, each numeric field is handed to the consumer as a {@link DoubleMetric}.
+ * Non numeric fields are skipped.
+ */
+@Component
+public class TelegrafJsonStreamParser {
+
+    private static final String METRICS = "metrics";
+
+    private final JsonFactory jsonFactory;
+
+    public TelegrafJsonStreamParser() {
+        this(new JsonFactory());
+    }
+
+    TelegrafJsonStreamParser(JsonFactory jsonFactory) {
+        this.jsonFactory = Objects.requireNonNull(jsonFactory, "jsonFactory");
+    }
+
+    /**
+     * @return the number of emitted metrics
+     */
+    public int parse(InputStream in, Consumer<DoubleMetric> consumer) throws IOException {
+        Objects.requireNonNull(in, "in");
+
+        final TelegrafMetricBuilder builder = new TelegrafMetricBuilder(consumer);
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.FIELD_NAME && METRICS.equals(parser.currentName())) {
+                return parseBatch(parser, builder);
+            }
+            readMetric(parser, token, builder);
+            return builder.emit();
+        }
+    }
+
+    private int parseBatch(JsonParser parser, TelegrafMetricBuilder builder) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            readMetric(parser, parser.nextToken(), builder);
+            count += builder.emit();
+        }
+        expect(parser, token, JsonToken.END_ARRAY);
+        return count;
+    }
+
+    private void readMetric(JsonParser parser, JsonToken token, TelegrafMetricBuilder builder) throws IOException {
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            final String fieldName = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            switch (fieldName) {
+                case "name" -> builder.name(parser.getText());
+                case "timestamp" -> builder.timestamp(TimeUnit.SECONDS.toMillis(parser.getLongValue()));
+                case "tags" -> readTags(parser, value, builder);
+                case "fields" -> readFields(parser, value, builder);
+                default -> parser.skipChildren();
+            }
+        }
+        expect(parser, token, JsonToken.END_OBJECT);
+    }
+
+    private void readTags(JsonParser parser, JsonToken token, TelegrafMetricBuilder builder) throws IOException {
+        expect(parser, token, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String tagName = parser.currentName();
+            parser.nextToken();
+            builder.tag(tagName, parser.getText());
+        }
+    }
+
+    private void readFields(JsonParser parser, JsonToken token, TelegrafMetricBuilder builder) throws IOException {
+        expect(parser, token, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (value.isNumeric()) {
+                builder.field(fieldName, parser.getDoubleValue());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void expect(JsonParser parser, JsonToken token, JsonToken expected) throws JsonParseException {
+        if (token != expected) {
+            throw new JsonParseException(parser, "Unexpected token " + token + ", expected " + expected);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.metric.collector.model.serialize;
+
+import com.navercorp.pinpoint.metric.common.model.DoubleMetric;
+import com.navercorp.pinpoint.metric.common.model.Tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collects one telegraf metric at a time and emits a {@link DoubleMetric} per field.
+ * Equal tag sets of a request share one interned tag list.
+ */
+class TelegrafMetricBuilder {
+
+    private static final String HOST_TAG = "host";
+    private static final int MAX_INTERNED_TAGS = 1024;
+
+    private final Consumer<DoubleMetric> consumer;
+    private final Map<List<Tag>, List<Tag>> internedTags = new HashMap<>();
+
+    private String name;
+    private String host;
+    private final List<Tag> tags = new ArrayList<>();
+    private final List<String> fieldNames = new ArrayList<>();
+    private double[] fieldValues = new double[16];
+    private long timestamp = -1;
+
+    TelegrafMetricBuilder(Consumer<DoubleMetric> consumer) {
+        this.consumer = Objects.requireNonNull(consumer, "consumer");
+    }
+
+    void name(String name) {
+        this.name = name;
+    }
+
+    void tag(String name, String value) {
+        if (HOST_TAG.equals(name)) {
+            this.host = value;
+        } else {
+            this.tags.add(new Tag(name, value));
+        }
+    }
+
+    void field(String name, double value) {
+        final int index = fieldNames.size();
+        if (index == fieldValues.length) {
+            fieldValues = Arrays.copyOf(fieldValues, index * 2);
+        }
+        fieldNames.add(name);
+        fieldValues[index] = value;
+    }
+
+    void timestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the number of emitted metrics
+     */
+    int emit() {
+        try {
+            if (name == null) {
+                throw new IllegalArgumentException("metric name not found");
+            }
+            if (host == null) {
+                throw new IllegalArgumentException("host tag not found");
+            }
+            if (timestamp < 0) {
+                throw new IllegalArgumentException("timestamp not found");
+            }
+            final List<Tag> metricTags = intern(tags);
+            final int size = fieldNames.size();
+            for (int i = 0; i < size; i++) {
+                consumer.accept(new DoubleMetric(name, host, fieldNames.get(i), fieldValues[i], metricTags, timestamp));
+            }
+            return size;
+        } finally {
+            reset();
+        }
+    }
+
+    private List<Tag> intern(List<Tag> tags) {
+        final List<Tag> interned = internedTags.get(tags);
+        if (interned != null) {
+            return interned;
+        }
+        final List<Tag> copy = List.copyOf(tags);
+        if (internedTags.size() < MAX_INTERNED_TAGS) {
+            internedTags.put(copy, copy);
+        }
+        return copy;
+    }
+
+    private void reset() {
+        this.name = null;
+        this.host = null;
+        this.tags.clear();
+        this.fieldNames.clear();
+        this.timestamp = -1;
+    }
+}
@@ -33,6 +33,7 @@ import org.springframework.kafka.support.SendResult;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 
@@ -75,7 +76,7 @@ public class PinotSystemMetricDaoTest {
 
     @Test
     public void testLogDao() {
-        PinotSystemMetricDoubleDao longDao = new PinotSystemMetricDoubleDao(kafkaTemplate, TOPIC);
+        PinotSystemMetricDoubleDao longDao = new PinotSystemMetricDoubleDao(kafkaTemplate, TOPIC, 1000, 0, Optional.empty());
         List<DoubleMetric> doubleMetricList = createDoubleCounterList();
 
         longDao.insert("tenantId", "hostGroupName", "hostName", doubleMetricList);
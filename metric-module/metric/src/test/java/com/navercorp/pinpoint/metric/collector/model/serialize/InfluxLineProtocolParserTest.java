@@ -0,0 +1,89 @@
+package com.navercorp.pinpoint.metric.collector.model.serialize;
+
+import com.navercorp.pinpoint.metric.common.model.DoubleMetric;
+import com.navercorp.pinpoint.metric.common.model.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class InfluxLineProtocolParserTest {
+
+    private final InfluxLineProtocolParser parser = new InfluxLineProtocolParser();
+
+    @Test
+    public void parse() throws IOException {
+        String lines = """
+                # comment
+                cpu,cpu=cpu-total,host=raynor usage_user=1.5,usage_system=2i 1458229140000000000
+
+                cpu,cpu=cpu-total,host=raynor usage_user=3.5 1458229150000000000
+                """;
+
+        List<DoubleMetric> metrics = new ArrayList<>();
+        int count = parser.parse(toStream(lines), TimeUnit.NANOSECONDS, metrics::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(metrics)
+                .extracting(DoubleMetric::getFieldName)
+                .containsExactly("usage_user", "usage_system", "usage_user");
+        assertThat(metrics)
+                .extracting(DoubleMetric::getFieldValue)
+                .containsExactly(1.5, 2.0, 3.5);
+
+        DoubleMetric metric = metrics.get(0);
+        assertThat(metric.getMetricName()).isEqualTo("cpu");
+        assertThat(metric.getHostName()).isEqualTo("raynor");
+        assertThat(metric.getEventTime()).isEqualTo(1458229140000L);
+        assertThat(metric.getTags()).containsExactly(new Tag("cpu", "cpu-total"));
+        assertThat(metrics.get(2).getTags()).isSameAs(metric.getTags());
+    }
+
+    @Test
+    public void parse_escape() throws IOException {
+        String line = "disk\\ io,path=/var\\,log,host=raynor mode=\"r,w \\\"x\\\"\",used=10u,ok=true,free=2.5e3 1458229140";
+
+        List<DoubleMetric> metrics = new ArrayList<>();
+        parser.parse(toStream(line), TimeUnit.SECONDS, metrics::add);
+
+        assertThat(metrics).hasSize(2);
+        assertThat(metrics.get(0).getMetricName()).isEqualTo("disk io");
+        assertThat(metrics.get(0).getTags()).containsExactly(new Tag("path", "/var,log"));
+        assertThat(metrics)
+                .extracting(DoubleMetric::getFieldName)
+                .containsExactly("used", "free");
+        assertThat(metrics.get(1).getFieldValue()).isEqualTo(2500);
+        assertThat(metrics.get(1).getEventTime()).isEqualTo(1458229140000L);
+    }
+
+    @Test
+    public void parse_invalid() {
+        assertThatThrownBy(() -> parser.parse(toStream("cpu,host=raynor usage_user=abc"), TimeUnit.NANOSECONDS, metric -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("line 1");
+        assertThatThrownBy(() -> parser.parse(toStream("cpu usage_user=1.0"), TimeUnit.NANOSECONDS, metric -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void precisionOf() {
+        assertThat(InfluxLineProtocolParser.precisionOf("ns")).isEqualTo(TimeUnit.NANOSECONDS);
+        assertThat(InfluxLineProtocolParser.precisionOf("us")).isEqualTo(TimeUnit.MICROSECONDS);
+        assertThat(InfluxLineProtocolParser.precisionOf("s")).isEqualTo(TimeUnit.SECONDS);
+        assertThatThrownBy(() -> InfluxLineProtocolParser.precisionOf("m"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private InputStream toStream(String lines) {
+        return new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+    }
+}
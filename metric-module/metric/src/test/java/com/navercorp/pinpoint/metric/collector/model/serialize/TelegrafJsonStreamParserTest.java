@@ -0,0 +1,81 @@
+package com.navercorp.pinpoint.metric.collector.model.serialize;
+
+import com.navercorp.pinpoint.metric.common.model.DoubleMetric;
+import com.navercorp.pinpoint.metric.common.model.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class TelegrafJsonStreamParserTest {
+
+    private final TelegrafJsonStreamParser parser = new TelegrafJsonStreamParser();
+
+    @Test
+    public void parse_batch() throws IOException {
+        InputStream stream = this.getClass().getResourceAsStream("/telegraf-json/telegraf-batch.json");
+
+        List<DoubleMetric> metrics = new ArrayList<>();
+        int count = parser.parse(stream, metrics::add);
+
+        assertThat(count).isEqualTo(8);
+        assertThat(metrics)
+                .hasSize(8)
+                .allMatch(metric -> metric.getHostName().equals("raynor"))
+                .allMatch(metric -> metric.getEventTime() == 1458229140000L)
+                .allMatch(metric -> metric.getTags().isEmpty());
+        assertThat(metrics.get(0).getTags()).isSameAs(metrics.get(7).getTags());
+    }
+
+    @Test
+    public void parse_standard() throws IOException {
+        InputStream stream = this.getClass().getResourceAsStream("/telegraf-json/telegraf-standard.json");
+
+        List<DoubleMetric> metrics = new ArrayList<>();
+        parser.parse(stream, metrics::add);
+
+        assertThat(metrics)
+                .hasSize(4)
+                .extracting(DoubleMetric::getFieldName)
+                .containsExactly("field_1", "field_2", "field_N", "n_images");
+        assertThat(metrics.get(0).getMetricName()).isEqualTo("docker");
+        assertThat(metrics.get(0).getFieldValue()).isEqualTo(30);
+    }
+
+    @Test
+    public void parse_skipNonNumericField() throws IOException {
+        String json = """
+                {"name":"disk","timestamp":1458229140,"fields":{"mode":"rw","used":1.5,"ok":true},
+                "tags":{"path":"/","host":"raynor"},"extra":{"a":[1,2]}}""";
+
+        List<DoubleMetric> metrics = new ArrayList<>();
+        parser.parse(toStream(json), metrics::add);
+
+        assertThat(metrics).hasSize(1);
+        DoubleMetric metric = metrics.get(0);
+        assertThat(metric.getFieldName()).isEqualTo("used");
+        assertThat(metric.getFieldValue()).isEqualTo(1.5);
+        assertThat(metric.getTags()).containsExactly(new Tag("path", "/"));
+    }
+
+    @Test
+    public void parse_hostNotFound() {
+        String json = """
+                {"name":"disk","timestamp":1458229140,"fields":{"used":1.5},"tags":{"path":"/"}}""";
+
+        assertThatThrownBy(() -> parser.parse(toStream(json), metric -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,238 @@
+package com.navercorp.pinpoint.pinot.kafka;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Publishes a batch of records to a topic and reports the outcome once per batch.
+ * The producer completes each record separately, the record completions only update the counters
+ * and the batch future is completed and logged when the last record of the batch is completed.
+ * The records are coalesced into producer batches per partition by the producer (linger.ms, batch.size).
+ * <p>
+ * When the records in flight would exceed maxInFlight, the caller waits up to maxWait for records to complete,
+ * the batch is rejected after that.
+ */
+public class KafkaBatchPublisher<V> implements MetricSet {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final String name;
+    private final KafkaTemplate<String, V> kafkaTemplate;
+    private final String topic;
+    private final long maxInFlight;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public KafkaBatchPublisher(String name, KafkaTemplate<String, V> kafkaTemplate, String topic, long maxInFlight, long maxWaitMillis) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.kafkaTemplate = Objects.requireNonNull(kafkaTemplate, "kafkaTemplate");
+        this.topic = Objects.requireNonNull(topic, "topic");
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        if (maxWaitMillis < 0) {
+            throw new IllegalArgumentException("maxWaitMillis must not be negative");
+        }
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Blocks up to maxWait while the records in flight would exceed maxInFlight.
+     *
+     * @param keyFunction null to send without a key
+     * @return completed when every record of the batch is completed, exceptionally with the first error of the batch,
+     * or with a {@link RejectedExecutionException} if the batch is rejected
+     */
+    public <T> CompletableFuture<Void> send(List<T> records, Function<T, String> keyFunction, Function<T, V> valueFunction) {
+        Objects.requireNonNull(records, "records");
+        Objects.requireNonNull(valueFunction, "valueFunction");
+
+        final int size = records.size();
+        if (size == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!acquire(size)) {
+            rejectedCount.addAndGet(size);
+            logger.warn("{} batch rejected. size:{} inFlight:{} maxInFlight:{}", name, size, inFlight.get(), maxInFlight);
+            return CompletableFuture.failedFuture(new RejectedExecutionException(name + " batch rejected. size:" + size));
+        }
+
+        final BatchCompletion completion = new BatchCompletion(size);
+        for (T record : records) {
+            try {
+                final String key = keyFunction == null ? null : keyFunction.apply(record);
+                final V value = valueFunction.apply(record);
+                kafkaTemplate.send(topic, key, value)
+                        .whenComplete((result, throwable) -> completion.complete(throwable));
+            } catch (RuntimeException e) {
+                completion.complete(e);
+            }
+        }
+        return completion.future;
+    }
+
+    private boolean acquire(int size) {
+        if (tryAcquire(size)) {
+            return true;
+        }
+        if (size > maxInFlight || maxWaitNanos == 0) {
+            return false;
+        }
+        final long deadline = System.nanoTime() + maxWaitNanos;
+        lock.lock();
+        // registered before tryAcquire, a release after a failed tryAcquire always signals
+        waiters.incrementAndGet();
+        try {
+            while (!tryAcquire(size)) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    released.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            waiters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    private boolean tryAcquire(int size) {
+        while (true) {
+            final long current = inFlight.get();
+            if (current + size > maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        return Map.of(
+                "inflight", (Gauge<Long>) this::getInFlight,
+                "sent.count", (Gauge<Long>) this::getSentCount,
+                "failed.count", (Gauge<Long>) this::getFailedCount,
+                "rejected.count", (Gauge<Long>) this::getRejectedCount
+        );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private class BatchCompletion {
+        private final int size;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicInteger remaining;
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+        private BatchCompletion(int size) {
+            this.size = size;
+            this.remaining = new AtomicInteger(size);
+        }
+
+        void complete(Throwable throwable) {
+            release();
+            if (throwable == null) {
+                sentCount.incrementAndGet();
+            } else {
+                failedCount.incrementAndGet();
+                failed.incrementAndGet();
+                firstError.compareAndSet(null, throwable);
+            }
+            if (remaining.decrementAndGet() == 0) {
+                onBatchComplete();
+            }
+        }
+
+        private void onBatchComplete() {
+            final Throwable error = firstError.get();
+            if (error != null) {
+                logger.warn("{} onFailure:{}/{} {}", name, failed.get(), size, error.getMessage(), error);
+                future.completeExceptionally(error);
+            } else {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("{} onSuccess:{}", name, size);
+                }
+                future.complete(null);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KafkaBatchPublisher{" +
+                "name='" + name + '\'' +
+                ", topic='" + topic + '\'' +
+                ", maxInFlight=" + maxInFlight +
+                ", maxWaitNanos=" + maxWaitNanos +
+                ", inFlight=" + inFlight +
+                ", sentCount=" + sentCount +
+                ", failedCount=" + failedCount +
+                ", rejectedCount=" + rejectedCount +
+                '}';
+    }
+}
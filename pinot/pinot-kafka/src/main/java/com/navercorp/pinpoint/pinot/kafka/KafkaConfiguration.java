@@ -30,6 +30,8 @@ public class KafkaConfiguration {
         config.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, properties.getPartitionerClass());
         config.put(ProducerConfig.ACKS_CONFIG, properties.getAcks());
         config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getCompressionType());
+        config.put(ProducerConfig.LINGER_MS_CONFIG, properties.getLingerMs());
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.getBatchSize());
 
         return config;
     }
@@ -63,6 +65,8 @@ public class KafkaConfiguration {
         bindProperties(env, "pinpoint.metric.kafka.value.serializer", properties::setValueSerializer);
         bindProperties(env, "pinpoint.metric.kafka.acks", properties::setAcks);
         bindProperties(env, "pinpoint.metric.kafka.compressionType", properties::setCompressionType);
+        bindProperties(env, "pinpoint.metric.kafka.linger.ms", properties::setLingerMs);
+        bindProperties(env, "pinpoint.metric.kafka.batch.size", properties::setBatchSize);
 
         return properties;
     }
@@ -13,6 +13,8 @@ public class KafkaProperties {
     private String partitionerClass = DefaultPartitioner.class.getName();
     private String acks = "1";
     private String compressionType = "zstd";
+    private String lingerMs = "20";
+    private String batchSize = "65536";
 
 
     public String getBootstrapServers() {
@@ -67,6 +69,22 @@ public class KafkaProperties {
         this.compressionType = compressionType;
     }
 
+    public String getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(String lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public String getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(String batchSize) {
+        this.batchSize = batchSize;
+    }
+
 
     @Override
     public String toString() {
@@ -77,6 +95,8 @@ public class KafkaProperties {
                 ", partitionerClass='" + partitionerClass + '\'' +
                 ", acks='" + acks + '\'' +
                 ", compressionType='" + compressionType + '\'' +
+                ", lingerMs='" + lingerMs + '\'' +
+                ", batchSize='" + batchSize + '\'' +
                 '}';
     }
 }
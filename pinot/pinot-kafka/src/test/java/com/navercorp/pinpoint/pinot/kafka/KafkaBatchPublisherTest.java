@@ -0,0 +1,105 @@
+package com.navercorp.pinpoint.pinot.kafka;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaBatchPublisherTest {
+
+    private static final String TOPIC = "test-topic";
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+
+    @Test
+    void send() {
+        CompletableFuture<SendResult<String, String>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(future);
+
+        KafkaBatchPublisher<String> publisher = new KafkaBatchPublisher<>("test", kafkaTemplate, TOPIC, 10, 0);
+        CompletableFuture<Void> batch = publisher.send(List.of("a", "b", "c"), Function.identity(), Function.identity());
+        Assertions.assertEquals(3, publisher.getInFlight());
+        Assertions.assertFalse(batch.isDone());
+
+        future.complete(null);
+        Assertions.assertTrue(batch.isDone());
+        Assertions.assertFalse(batch.isCompletedExceptionally());
+        Assertions.assertEquals(0, publisher.getInFlight());
+        Assertions.assertEquals(3, publisher.getSentCount());
+        Assertions.assertEquals(0, publisher.getFailedCount());
+    }
+
+    @Test
+    void send_failed() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("test")))
+                .thenThrow(new IllegalStateException("test"));
+
+        KafkaBatchPublisher<String> publisher = new KafkaBatchPublisher<>("test", kafkaTemplate, TOPIC, 10, 0);
+        CompletableFuture<Void> batch = publisher.send(List.of("a", "b"), null, Function.identity());
+
+        Assertions.assertTrue(batch.isCompletedExceptionally());
+        Assertions.assertEquals(0, publisher.getInFlight());
+        Assertions.assertEquals(2, publisher.getFailedCount());
+    }
+
+    @Test
+    void send_rejected() {
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+
+        KafkaBatchPublisher<String> publisher = new KafkaBatchPublisher<>("test", kafkaTemplate, TOPIC, 2, 10);
+        publisher.send(List.of("a"), Function.identity(), Function.identity());
+        CompletableFuture<Void> rejected = publisher.send(List.of("b", "c"), Function.identity(), Function.identity());
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, rejected::get);
+        Assertions.assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        Assertions.assertEquals(1, publisher.getInFlight());
+        Assertions.assertEquals(2, publisher.getRejectedCount());
+        verify(kafkaTemplate, never()).send(TOPIC, "b", "b");
+    }
+
+    @Test
+    void send_waitInFlight() throws Exception {
+        CompletableFuture<SendResult<String, String>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+                .thenReturn(future)
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        KafkaBatchPublisher<String> publisher = new KafkaBatchPublisher<>("test", kafkaTemplate, TOPIC, 1, 10000);
+        publisher.send(List.of("a"), Function.identity(), Function.identity());
+
+        CompletableFuture<CompletableFuture<Void>> waiting = CompletableFuture.supplyAsync(
+                () -> publisher.send(List.of("b"), Function.identity(), Function.identity()));
+        future.complete(null);
+
+        CompletableFuture<Void> batch = waiting.get(10, TimeUnit.SECONDS);
+        batch.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(0, publisher.getInFlight());
+        Assertions.assertEquals(2, publisher.getSentCount());
+        Assertions.assertEquals(0, publisher.getRejectedCount());
+    }
+
+    @Test
+    void metrics() {
+        KafkaBatchPublisher<String> publisher = new KafkaBatchPublisher<>("test", kafkaTemplate, TOPIC, 1, 0);
+
+        Assertions.assertEquals(Set.of("inflight", "sent.count", "failed.count", "rejected.count"), publisher.getMetrics().keySet());
+    }
+}
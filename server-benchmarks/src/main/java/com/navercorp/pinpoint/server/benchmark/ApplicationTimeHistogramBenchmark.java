@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.server.benchmark;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindow;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.histogram.ApplicationTimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.histogram.ApplicationTimeHistogramBuilder;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.ResponseTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application time histogram of a node from the minute response times of {@code agentCount} agents over {@code rangeHours}.
+ * <p>
+ * {@code matrix} is the {@link ApplicationTimeHistogramBuilder} path, adding into the long[] columns of a TimeHistogramMatrix.
+ * {@code timeHistogramMap} is the previous path, a TimeHistogram per timestamp in a HashMap re-mapped to the window.
+ * Run with {@code -prof gc} to compare the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicationTimeHistogramBenchmark {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Param({"1", "24"})
+    private int rangeHours;
+
+    @Param({"10"})
+    private int agentCount;
+
+    private final Application application = new Application("benchmark", ServiceType.STAND_ALONE);
+    private Range range;
+    private List<ResponseTime> responseTimeList;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final long to = (System.currentTimeMillis() / MINUTE) * MINUTE;
+        this.range = Range.between(to - TimeUnit.HOURS.toMillis(rangeHours), to);
+
+        final short[] slotTimes = {100, 1000, 3000, 5000, 0, -1};
+        this.responseTimeList = new ArrayList<>();
+        for (long time = range.getFrom(); time <= range.getTo(); time += MINUTE) {
+            final ResponseTime responseTime = new ResponseTime(application.getName(), application.getServiceType(), time);
+            for (int agent = 0; agent < agentCount; agent++) {
+                final String agentId = "agent-" + agent;
+                for (short slotTime : slotTimes) {
+                    responseTime.addResponseTime(agentId, slotTime, 10);
+                }
+            }
+            responseTimeList.add(responseTime);
+        }
+    }
+
+    @Benchmark
+    public ApplicationTimeHistogram matrix() {
+        return new ApplicationTimeHistogramBuilder(application, range).build(responseTimeList);
+    }
+
+    @Benchmark
+    public List<TimeHistogram> timeHistogramMap() {
+        final Map<Long, TimeHistogram> applicationLevelHistogram = new HashMap<>();
+        for (ResponseTime responseTime : responseTimeList) {
+            final Long timeStamp = responseTime.getTimeStamp();
+            final TimeHistogram timeHistogram = applicationLevelHistogram.computeIfAbsent(timeStamp,
+                    t -> new TimeHistogram(application.getServiceType(), t));
+            timeHistogram.add(responseTime.getApplicationResponseHistogram());
+        }
+        return interpolation(applicationLevelHistogram.values());
+    }
+
+    private List<TimeHistogram> interpolation(Collection<TimeHistogram> histogramList) {
+        final TimeWindow window = new TimeWindow(range);
+        final Map<Long, TimeHistogram> resultMap = new HashMap<>();
+        for (Long time : window) {
+            resultMap.put(time, new TimeHistogram(application.getServiceType(), time));
+        }
+        for (TimeHistogram timeHistogram : histogramList) {
+            final long time = window.refineTimestamp(timeHistogram.getTimeStamp());
+            resultMap.computeIfAbsent(time, t -> new TimeHistogram(application.getServiceType(), t)).add(timeHistogram);
+        }
+        final List<TimeHistogram> result = new ArrayList<>(resultMap.values());
+        result.sort(TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
+        return result;
+    }
+}
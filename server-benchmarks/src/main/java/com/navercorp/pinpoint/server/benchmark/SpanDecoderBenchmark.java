@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.server.benchmark;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a span column of {@code spanEventCount} span events, full decode versus the span-level summary
+ * used by the scatter, heatmap and transaction list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpanDecoderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int spanEventCount;
+
+    private final SpanDecoder fullDecoder = new SpanDecoderV0();
+    private final SpanDecoder summaryDecoder = SpanDecoderV0.summary();
+
+    private TransactionId transactionId;
+    private long collectorAcceptTime;
+    private byte[] qualifier;
+    private byte[] columnValue;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SpanBo spanBo = newSpanBo(spanEventCount);
+        this.transactionId = spanBo.getTransactionId();
+        this.collectorAcceptTime = spanBo.getCollectorAcceptTime();
+
+        final SpanEncoder encoder = new SpanEncoderV0();
+        final SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+        this.qualifier = toBytes(encoder.encodeSpanQualifier(encodingContext));
+        this.columnValue = toBytes(encoder.encodeSpanColumnValue(encodingContext));
+    }
+
+    private static SpanBo newSpanBo(int spanEventCount) {
+        final long startTime = System.currentTimeMillis();
+
+        final SpanBo spanBo = new SpanBo();
+        spanBo.setAgentId("agent");
+        spanBo.setApplicationId("application");
+        spanBo.setAgentStartTime(startTime - 10_000);
+        spanBo.setTransactionId(new TransactionId("agent", startTime - 10_000, 1));
+        spanBo.setSpanId(1);
+        spanBo.setParentSpanId(-1);
+        spanBo.setStartTime(startTime);
+        spanBo.setCollectorAcceptTime(startTime + 1_000);
+        spanBo.setElapsed(1_000);
+        spanBo.setRpc("/benchmark/span/decode");
+        spanBo.setServiceType((short) 1010);
+        spanBo.setEndPoint("localhost:8080");
+        spanBo.setRemoteAddr("127.0.0.1");
+        spanBo.setApiId(1);
+        spanBo.setAcceptorHost("localhost:8080");
+        spanBo.setAnnotationBoList(new ArrayList<>(List.of(AnnotationBo.of(40, "GET"), AnnotationBo.of(46, "200"))));
+
+        for (int i = 0; i < spanEventCount; i++) {
+            final SpanEventBo spanEventBo = new SpanEventBo();
+            spanEventBo.setSequence((short) i);
+            spanEventBo.setDepth(i % 10 + 1);
+            spanEventBo.setServiceType((short) 5011);
+            spanEventBo.setStartElapsed(i);
+            spanEventBo.setEndElapsed(1);
+            spanEventBo.setApiId(i % 100 + 2);
+            spanEventBo.setAnnotationBoList(new ArrayList<>(List.of(
+                    AnnotationBo.of(20, "select * from benchmark where id = ?"),
+                    AnnotationBo.of(21, "1"))));
+            spanBo.addSpanEvent(spanEventBo);
+        }
+        return spanBo;
+    }
+
+    private static byte[] toBytes(ByteBuffer byteBuffer) {
+        final byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.get(bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decodeFull() {
+        return decode(fullDecoder);
+    }
+
+    @Benchmark
+    public Object decodeSummary() {
+        return decode(summaryDecoder);
+    }
+
+    private Object decode(SpanDecoder decoder) {
+        final Buffer qualifierBuffer = new FixedBuffer(qualifier);
+        final Buffer columnValueBuffer = new FixedBuffer(columnValue);
+
+        final SpanDecodingContext decodingContext = new SpanDecodingContext();
+        decodingContext.setTransactionId(transactionId);
+        decodingContext.setCollectorAcceptedTime(collectorAcceptTime);
+        return decoder.decode(qualifierBuffer, columnValueBuffer, decodingContext);
+    }
+}
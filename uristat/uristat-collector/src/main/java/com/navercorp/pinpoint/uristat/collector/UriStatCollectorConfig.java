@@ -3,6 +3,7 @@ package com.navercorp.pinpoint.uristat.collector;
 
 import com.navercorp.pinpoint.pinot.config.PinotConfiguration;
 import com.navercorp.pinpoint.uristat.collector.config.UriMetricKafkaConfiguration;
+import com.navercorp.pinpoint.uristat.collector.config.UriStatRollupConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -11,7 +12,7 @@ import org.springframework.context.annotation.PropertySource;
 
 @Profile("uri")
 @Configuration
-@Import({PinotConfiguration.class, UriMetricKafkaConfiguration.class})
+@Import({PinotConfiguration.class, UriMetricKafkaConfiguration.class, UriStatRollupConfiguration.class})
 @ComponentScan({"com.navercorp.pinpoint.uristat.collector.service", "com.navercorp.pinpoint.uristat.collector.dao"})
 @PropertySource({UriStatCollectorConfig.KAFKA_TOPIC_PROPERTIES})
 public class UriStatCollectorConfig {
@@ -1,6 +1,7 @@
 package com.navercorp.pinpoint.uristat.collector.config;
 
 import com.navercorp.pinpoint.pinot.kafka.KafkaConfiguration;
+import com.navercorp.pinpoint.uristat.collector.model.ApplicationUriStat;
 import com.navercorp.pinpoint.uristat.collector.model.UriStat;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -20,4 +21,9 @@ public class UriMetricKafkaConfiguration {
     public KafkaTemplate<String, UriStat> kafkaUriStatTemplate(@Qualifier("kafkaProducerFactory") ProducerFactory producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
+
+    @Bean
+    public KafkaTemplate<String, ApplicationUriStat> kafkaApplicationUriStatTemplate(@Qualifier("kafkaProducerFactory") ProducerFactory producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
 }
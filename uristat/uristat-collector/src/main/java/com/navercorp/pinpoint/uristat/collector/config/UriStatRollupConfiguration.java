@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.uristat.collector.config;
+
+import com.navercorp.pinpoint.uristat.collector.dao.ApplicationUriStatDao;
+import com.navercorp.pinpoint.uristat.collector.service.ApplicationUriStatRollup;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+
+/**
+ * Application level roll-up of the agent uri stats, written to ${kafka.uri.application.topic}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "pinpoint.modules.collector.uristat.rollup.enabled", havingValue = "true")
+public class UriStatRollupConfiguration {
+
+    @Bean
+    public TaskScheduler uriStatRollupScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("Pinpoint-UriStat-Rollup-");
+        scheduler.setDaemon(true);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+
+    @Bean(destroyMethod = "flushAll")
+    public ApplicationUriStatRollup applicationUriStatRollup(ApplicationUriStatDao applicationUriStatDao,
+                                                             @Qualifier("uriStatRollupScheduler") TaskScheduler scheduler,
+                                                             @Value("${collector.uristat.rollup.flush.delay:60000}") long flushDelayMillis,
+                                                             @Value("${collector.uristat.rollup.flush.interval:5000}") long flushIntervalMillis) {
+        ApplicationUriStatRollup rollup = new ApplicationUriStatRollup(applicationUriStatDao, flushDelayMillis);
+        scheduler.scheduleWithFixedDelay(rollup::flush, Duration.ofMillis(flushIntervalMillis));
+        return rollup;
+    }
+}
@@ -0,0 +1,38 @@
+package com.navercorp.pinpoint.uristat.collector.dao;
+
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.common.server.util.StringPrecondition;
+import com.navercorp.pinpoint.pinot.kafka.KafkaBatchPublisher;
+import com.navercorp.pinpoint.uristat.collector.model.ApplicationUriStat;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Repository
+public class PinotApplicationUriStatDao implements ApplicationUriStatDao {
+    private final KafkaBatchPublisher<ApplicationUriStat> publisher;
+
+    public PinotApplicationUriStatDao(@Qualifier("kafkaApplicationUriStatTemplate") KafkaTemplate<String, ApplicationUriStat> kafkaApplicationUriStatTemplate,
+                                      @Value("${kafka.uri.application.topic}") String topic,
+                                      @Value("${pinpoint.metric.kafka.max.in.flight.records:100000}") long maxInFlight,
+                                      @Value("${pinpoint.metric.kafka.max.in.flight.wait.ms:1000}") long maxWaitMillis,
+                                      Optional<MetricRegistry> metricRegistry) {
+        Objects.requireNonNull(kafkaApplicationUriStatTemplate, "kafkaApplicationUriStatTemplate");
+        StringPrecondition.requireHasLength(topic, "topic");
+        this.publisher = new KafkaBatchPublisher<>("Kafka(ApplicationUriStat)", kafkaApplicationUriStatTemplate, topic, maxInFlight, maxWaitMillis);
+        metricRegistry.ifPresent(registry -> registry.register(publisher.getName(), publisher));
+    }
+
+    @Override
+    public void insert(List<ApplicationUriStat> data) {
+        Objects.requireNonNull(data);
+
+        publisher.send(data, ApplicationUriStat::getApplicationName, Function.identity());
+    }
+}
@@ -1,46 +1,38 @@
 package com.navercorp.pinpoint.uristat.collector.dao;
 
+import com.codahale.metrics.MetricRegistry;
 import com.navercorp.pinpoint.common.server.util.StringPrecondition;
-import com.navercorp.pinpoint.pinot.kafka.util.KafkaCallbacks;
+import com.navercorp.pinpoint.pinot.kafka.KafkaBatchPublisher;
 import com.navercorp.pinpoint.uristat.collector.model.UriStat;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.function.BiConsumer;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Repository
 public class PinotUriStatDao implements UriStatDao {
-    private final Logger logger = LogManager.getLogger(getClass());
-
-    private final KafkaTemplate<String, UriStat> kafkaUriStatTemplate;
-
-    private final String topic;
-
-    private final BiConsumer<SendResult<String, UriStat>, Throwable> resultCallback
-            = KafkaCallbacks.loggingCallback("Kafka(UriStat)", logger);
+    private final KafkaBatchPublisher<UriStat> publisher;
 
     public PinotUriStatDao(@Qualifier("kafkaUriStatTemplate") KafkaTemplate<String, UriStat> kafkaUriStatTemplate,
-                           @Value("${kafka.uri.topic}") String topic) {
-        this.kafkaUriStatTemplate = Objects.requireNonNull(kafkaUriStatTemplate, "kafkaUriStatTemplate");
-        this.topic = StringPrecondition.requireHasLength(topic, "topic");
+                           @Value("${kafka.uri.topic}") String topic,
+                           @Value("${pinpoint.metric.kafka.max.in.flight.records:100000}") long maxInFlight,
+                           @Value("${pinpoint.metric.kafka.max.in.flight.wait.ms:1000}") long maxWaitMillis,
+                           Optional<MetricRegistry> metricRegistry) {
+        Objects.requireNonNull(kafkaUriStatTemplate, "kafkaUriStatTemplate");
+        StringPrecondition.requireHasLength(topic, "topic");
+        this.publisher = new KafkaBatchPublisher<>("Kafka(UriStat)", kafkaUriStatTemplate, topic, maxInFlight, maxWaitMillis);
+        metricRegistry.ifPresent(registry -> registry.register(publisher.getName(), publisher));
     }
 
     @Override
     public void insert(List<UriStat> data) {
         Objects.requireNonNull(data);
 
-        for (UriStat uriStat : data) {
-            CompletableFuture<SendResult<String, UriStat>> response = this.kafkaUriStatTemplate.send(topic, uriStat.getApplicationName(), uriStat);
-            response.whenComplete(resultCallback);
-        }
-
+        publisher.send(data, UriStat::getApplicationName, Function.identity());
     }
 }
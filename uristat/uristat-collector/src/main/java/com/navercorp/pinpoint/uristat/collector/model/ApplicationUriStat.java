@@ -0,0 +1,199 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.uristat.collector.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.navercorp.pinpoint.common.server.util.StringPrecondition;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * {@link UriStat} of an application, the histograms of every agent are merged.
+ */
+public class ApplicationUriStat {
+    private final String tenantId;
+    private final String serviceName;
+    private final String applicationName;
+    private final String uri;
+    private final double apdexRaw;
+    private final long count;
+    private final long failCount;
+    private final long maxLatencyMs;
+    private final long totalTimeMs;
+    private final int[] totalHistogram;
+    private final int[] failureHistogram;
+    private final int agentCount;
+    private final long timestamp;
+    private final int version;
+
+    public ApplicationUriStat(long timestamp, String tenantId, String serviceName, String applicationName, String uri, long maxLatencyMs, long totalTimeMs, int[] totalHistogram, int[] failureHistogram, int agentCount, int version) {
+        this.timestamp = timestamp;
+        this.tenantId = tenantId;
+        this.serviceName = Objects.requireNonNull(serviceName, "serviceName");
+        this.applicationName = StringPrecondition.requireHasLength(applicationName, "applicationName");
+        this.uri = StringPrecondition.requireHasLength(uri, "uri");
+        this.maxLatencyMs = maxLatencyMs;
+        this.totalTimeMs = totalTimeMs;
+        this.totalHistogram = Objects.requireNonNull(totalHistogram, "totalHistogram");
+        this.failureHistogram = Objects.requireNonNull(failureHistogram, "failureHistogram");
+        this.count = Arrays.stream(totalHistogram).sum();
+        this.failCount = Arrays.stream(failureHistogram).sum();
+        this.apdexRaw = (totalHistogram[0] + totalHistogram[1] + totalHistogram[2] + totalHistogram[3] + (0.5 * totalHistogram[4]));
+        this.agentCount = agentCount;
+        this.version = version;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public double getApdexRaw() {
+        return apdexRaw;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getFailureCount() {
+        return failCount;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getTot0() {
+        return totalHistogram[0];
+    }
+
+    public int getTot1() {
+        return totalHistogram[1];
+    }
+
+    public int getTot2() {
+        return totalHistogram[2];
+    }
+
+    public int getTot3() {
+        return totalHistogram[3];
+    }
+
+    public int getTot4() {
+        return totalHistogram[4];
+    }
+
+    public int getTot5() {
+        return totalHistogram[5];
+    }
+
+    public int getTot6() {
+        return totalHistogram[6];
+    }
+
+    public int getTot7() {
+        return totalHistogram[7];
+    }
+
+    public int getFail0() {
+        return failureHistogram[0];
+    }
+
+    public int getFail1() {
+        return failureHistogram[1];
+    }
+
+    public int getFail2() {
+        return failureHistogram[2];
+    }
+
+    public int getFail3() {
+        return failureHistogram[3];
+    }
+
+    public int getFail4() {
+        return failureHistogram[4];
+    }
+
+    public int getFail5() {
+        return failureHistogram[5];
+    }
+
+    public int getFail6() {
+        return failureHistogram[6];
+    }
+
+    public int getFail7() {
+        return failureHistogram[7];
+    }
+
+    @JsonIgnore
+    public int[] getTotalHistogram() {
+        return totalHistogram;
+    }
+
+    @JsonIgnore
+    public int[] getFailureHistogram() {
+        return failureHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationUriStat{" +
+                "serviceName='" + serviceName + '\'' +
+                ", applicationName='" + applicationName + '\'' +
+                ", uri=" + uri +
+                ", apdexRaw= " + apdexRaw +
+                ", count=" + count +
+                ", maxLatencyMs=" + maxLatencyMs +
+                ", totalTimeMs=" + totalTimeMs +
+                ", totalHistogram=" + Arrays.toString(totalHistogram) +
+                ", failureHistogram=" + Arrays.toString(failureHistogram) +
+                ", agentCount=" + agentCount +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
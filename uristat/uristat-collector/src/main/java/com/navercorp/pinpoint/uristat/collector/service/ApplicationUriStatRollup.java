@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.uristat.collector.service;
+
+import com.navercorp.pinpoint.uristat.collector.dao.ApplicationUriStatDao;
+import com.navercorp.pinpoint.uristat.collector.model.ApplicationUriStat;
+import com.navercorp.pinpoint.uristat.collector.model.UriStat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges the {@link UriStat} of the agents of an application into an {@link ApplicationUriStat} per uri and timestamp.
+ * A bucket is written once its timestamp is older than flushDelayMillis,
+ * stats arriving after the flush start a new bucket, the rows are additive so the summary queries are not affected.
+ */
+public class ApplicationUriStatRollup {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final ApplicationUriStatDao applicationUriStatDao;
+    private final long flushDelayMillis;
+
+    private final Map<RollupKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public ApplicationUriStatRollup(ApplicationUriStatDao applicationUriStatDao, long flushDelayMillis) {
+        this.applicationUriStatDao = Objects.requireNonNull(applicationUriStatDao, "applicationUriStatDao");
+        if (flushDelayMillis < 0) {
+            throw new IllegalArgumentException("flushDelayMillis must not be negative");
+        }
+        this.flushDelayMillis = flushDelayMillis;
+    }
+
+    public void add(List<UriStat> data) {
+        Objects.requireNonNull(data, "data");
+
+        for (UriStat uriStat : data) {
+            final RollupKey key = new RollupKey(uriStat.getTenantId(), uriStat.getServiceName(), uriStat.getApplicationName(),
+                    uriStat.getUri(), uriStat.getVersion(), uriStat.getTimestamp());
+            buckets.compute(key, (k, bucket) -> {
+                if (bucket == null) {
+                    bucket = new Bucket(uriStat.getTotalHistogram().length);
+                }
+                bucket.add(uriStat);
+                return bucket;
+            });
+        }
+    }
+
+    public void flush() {
+        flush(System.currentTimeMillis() - flushDelayMillis);
+    }
+
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+    }
+
+    void flush(long maxTimestamp) {
+        final List<ApplicationUriStat> data = new ArrayList<>();
+        final Iterator<RollupKey> iterator = buckets.keySet().iterator();
+        while (iterator.hasNext()) {
+            final RollupKey key = iterator.next();
+            if (key.timestamp() > maxTimestamp) {
+                continue;
+            }
+            final Bucket bucket = buckets.remove(key);
+            if (bucket != null) {
+                data.add(bucket.toApplicationUriStat(key));
+            }
+        }
+        if (data.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("flush {} application uri stats", data.size());
+        }
+        applicationUriStatDao.insert(data);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private record RollupKey(String tenantId, String serviceName, String applicationName, String uri, int version, long timestamp) {
+    }
+
+    private static class Bucket {
+        private final int[] totalHistogram;
+        private final int[] failureHistogram;
+        private long maxLatencyMs;
+        private long totalTimeMs;
+        private int agentCount;
+
+        private Bucket(int bucketSize) {
+            this.totalHistogram = new int[bucketSize];
+            this.failureHistogram = new int[bucketSize];
+        }
+
+        private void add(UriStat uriStat) {
+            merge(totalHistogram, uriStat.getTotalHistogram());
+            merge(failureHistogram, uriStat.getFailureHistogram());
+            maxLatencyMs = Math.max(maxLatencyMs, uriStat.getMaxLatencyMs());
+            totalTimeMs += uriStat.getTotalTimeMs();
+            agentCount++;
+        }
+
+        private static void merge(int[] to, int[] from) {
+            final int length = Math.min(to.length, from.length);
+            for (int i = 0; i < length; i++) {
+                to[i] += from[i];
+            }
+        }
+
+        private ApplicationUriStat toApplicationUriStat(RollupKey key) {
+            return new ApplicationUriStat(key.timestamp(), key.tenantId(), key.serviceName(), key.applicationName(), key.uri(),
+                    maxLatencyMs, totalTimeMs, totalHistogram, failureHistogram, agentCount, key.version());
+        }
+    }
+}
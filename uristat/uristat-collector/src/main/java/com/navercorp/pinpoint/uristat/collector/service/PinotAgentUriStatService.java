@@ -31,6 +31,7 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @Profile("uri")
@@ -41,10 +42,13 @@ public class PinotAgentUriStatService implements AgentUriStatService {
     private final int[] EMPTY_BUCKETS = new int[BUCKET_SIZE];
     private final UriStatDao uriStatDao;
     private final TenantProvider tenantProvider;
+    private final ApplicationUriStatRollup applicationUriStatRollup;
 
-    public PinotAgentUriStatService(UriStatDao uriStatDao, TenantProvider tenantProvider) {
+    public PinotAgentUriStatService(UriStatDao uriStatDao, TenantProvider tenantProvider,
+                                    Optional<ApplicationUriStatRollup> applicationUriStatRollup) {
         this.uriStatDao = Objects.requireNonNull(uriStatDao, "uriStatDao");
         this.tenantProvider = Objects.requireNonNull(tenantProvider, "tenantProvider");
+        this.applicationUriStatRollup = Objects.requireNonNull(applicationUriStatRollup, "applicationUriStatRollup").orElse(null);
     }
 
     @Override
@@ -69,6 +73,9 @@ public class PinotAgentUriStatService implements AgentUriStatService {
                     totalHistogram.getTotal(), getHistogramArray(totalHistogram), getHistogramArray(failureHistogram), version));
         }
         uriStatDao.insert(data);
+        if (applicationUriStatRollup != null) {
+            applicationUriStatRollup.add(data);
+        }
     }
 
     public int[] getHistogramArray(UriStatHistogram histogram) {
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.uristat.collector.service;
+
+import com.navercorp.pinpoint.uristat.collector.model.ApplicationUriStat;
+import com.navercorp.pinpoint.uristat.collector.model.UriStat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ApplicationUriStatRollupTest {
+
+    private static final long TIMESTAMP = 1700000000000L;
+
+    private final List<ApplicationUriStat> inserted = new ArrayList<>();
+    private final ApplicationUriStatRollup rollup = new ApplicationUriStatRollup(inserted::addAll, 0);
+
+    @Test
+    public void flush_mergeAgents() {
+        rollup.add(List.of(
+                uriStat("agent1", "/a", TIMESTAMP, 100, new int[]{1, 2, 0, 0, 0, 0, 0, 0}),
+                uriStat("agent2", "/a", TIMESTAMP, 300, new int[]{3, 0, 1, 0, 0, 0, 0, 0}),
+                uriStat("agent1", "/b", TIMESTAMP, 50, new int[]{1, 0, 0, 0, 0, 0, 0, 0})));
+
+        rollup.flush(TIMESTAMP);
+
+        Assertions.assertEquals(2, inserted.size());
+        ApplicationUriStat stat = inserted.stream()
+                .filter(applicationUriStat -> applicationUriStat.getUri().equals("/a"))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertArrayEquals(new int[]{4, 2, 1, 0, 0, 0, 0, 0}, stat.getTotalHistogram());
+        Assertions.assertEquals(7, stat.getCount());
+        Assertions.assertEquals(300, stat.getMaxLatencyMs());
+        Assertions.assertEquals(400, stat.getTotalTimeMs());
+        Assertions.assertEquals(2, stat.getAgentCount());
+        Assertions.assertEquals(0, rollup.size());
+    }
+
+    @Test
+    public void flush_keepRecentBucket() {
+        rollup.add(List.of(
+                uriStat("agent1", "/a", TIMESTAMP, 100, new int[8]),
+                uriStat("agent1", "/a", TIMESTAMP + 30000, 100, new int[8])));
+
+        rollup.flush(TIMESTAMP);
+
+        Assertions.assertEquals(1, inserted.size());
+        Assertions.assertEquals(TIMESTAMP, inserted.get(0).getTimestamp());
+        Assertions.assertEquals(1, rollup.size());
+
+        rollup.flushAll();
+        Assertions.assertEquals(2, inserted.size());
+    }
+
+    private UriStat uriStat(String agentId, String uri, long timestamp, long latency, int[] totalHistogram) {
+        return new UriStat(timestamp, "tenant", "service", "application", agentId, uri, latency, latency,
+                totalHistogram, new int[8], 100);
+    }
+}
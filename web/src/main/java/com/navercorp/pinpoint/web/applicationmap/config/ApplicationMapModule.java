@@ -19,7 +19,9 @@ package com.navercorp.pinpoint.web.applicationmap.config;
 
 import com.navercorp.pinpoint.common.server.executor.ExecutorCustomizer;
 import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.navercorp.pinpoint.common.server.util.CallerUtils;
+import com.navercorp.pinpoint.common.task.TimerTaskDecoratorFactory;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMapBuilderFactory;
 import com.navercorp.pinpoint.web.applicationmap.appender.histogram.NodeHistogramAppenderFactory;
 import com.navercorp.pinpoint.web.applicationmap.appender.server.ServerInfoAppenderFactory;
@@ -28,15 +30,23 @@ import com.navercorp.pinpoint.web.applicationmap.map.LinkSelectorFactory;
 import com.navercorp.pinpoint.web.applicationmap.map.processor.ApplicationLimiterProcessorFactory;
 import com.navercorp.pinpoint.web.applicationmap.map.processor.LinkDataMapProcessor;
 import com.navercorp.pinpoint.web.applicationmap.service.LinkDataMapService;
+import com.navercorp.pinpoint.web.applicationmap.service.MapService;
+import com.navercorp.pinpoint.web.applicationmap.websocket.ServerMapWebSocketHandler;
+import com.navercorp.pinpoint.web.component.ApplicationFactory;
 import com.navercorp.pinpoint.web.dao.HostApplicationMapDao;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
 import com.navercorp.pinpoint.web.task.ChainedTaskDecorator;
 import com.navercorp.pinpoint.web.task.RequestContextPropagatingTaskDecorator;
 import com.navercorp.pinpoint.web.task.SecurityContextPropagatingTaskDecorator;
+import com.navercorp.pinpoint.web.websocket.PinpointWebSocketHandler;
+import com.navercorp.pinpoint.web.websocket.PinpointWebSocketTimerTaskDecoratorFactory;
+import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageConverter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -46,7 +56,10 @@ import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.annotation.Validated;
 
+import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
@@ -150,6 +163,52 @@ public class ApplicationMapModule {
         return executor;
     }
 
+    @Bean
+    @Validated
+    @ConfigurationProperties("web.servermap.filtered.worker")
+    public ExecutorProperties filteredExecutorProperties() {
+        return new ExecutorProperties();
+    }
+
+    @Bean
+    public Executor filteredMapSelectExecutor(@Qualifier("filteredExecutorProperties") ExecutorProperties executorProperties) {
+        ExecutorCustomizer<ThreadPoolTaskExecutor> customizer = executorCustomizer();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        customizer.customize(executor, executorProperties);
+
+        String beanName = CallerUtils.getCallerMethodName();
+        executor.setThreadNamePrefix(beanName);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "web.servermap.realtime.enable", havingValue = "true")
+    public PinpointWebSocketHandler serverMapWebSocketHandler(
+            MapService mapService,
+            ApplicationFactory applicationFactory,
+            PinpointWebSocketMessageConverter converter,
+            ObjectMapper objectMapper,
+            @Autowired(required = false) @Nullable ServerMapDataFilter serverMapDataFilter,
+            @Autowired(required = false) @Nullable TimerTaskDecoratorFactory timerTaskDecoratorFactory,
+            @Value("${web.servermap.realtime.refreshInterval:10000}") long refreshInterval,
+            @Value("${web.servermap.realtime.maxPeriod:3600000}") long maxPeriod,
+            @Value("${web.servermap.realtime.maxSubscriptions:100}") int maxSubscriptions,
+            @Value("${web.servermap.realtime.worker.poolSize:4}") int poolSize
+    ) {
+        return new ServerMapWebSocketHandler(
+                mapService,
+                applicationFactory,
+                converter,
+                objectMapper,
+                serverMapDataFilter,
+                Objects.requireNonNullElseGet(timerTaskDecoratorFactory, PinpointWebSocketTimerTaskDecoratorFactory::new),
+                Duration.ofMillis(refreshInterval),
+                Duration.ofMillis(maxPeriod),
+                maxSubscriptions,
+                poolSize
+        );
+    }
 
     public TaskDecorator contextPropagatingTaskDecorator() {
         TaskDecorator requestDecorator = new RequestContextPropagatingTaskDecorator();
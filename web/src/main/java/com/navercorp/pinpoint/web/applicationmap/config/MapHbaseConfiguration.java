@@ -30,9 +30,17 @@ import com.navercorp.pinpoint.common.hbase.config.ParallelScan;
 import com.navercorp.pinpoint.common.hbase.util.ScanMetricReporter;
 import com.navercorp.pinpoint.common.server.executor.ExecutorCustomizer;
 import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapStatisticsCallerDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.CachedMapResponseDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.CachedMapStatisticsCalleeDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.CachedMapStatisticsCallerDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.LinkDataMapSlotCache;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.LinkDataMapSlotCacheProperties;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.ResponseTimeSlotCache;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.ResponseTimeSlotCacheProperties;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapResponseTimeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapStatisticsCalleeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapStatisticsCallerDao;
@@ -55,6 +63,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
@@ -119,6 +128,11 @@ public class MapHbaseConfiguration {
         return new MapScanFactory(rangeFactory);
     }
 
+    @Bean
+    public ResponseTimeSlotCacheProperties responseTimeSlotCacheProperties() {
+        return new ResponseTimeSlotCacheProperties();
+    }
+
     @Bean
     public MapResponseDao hbaseMapResponseTimeDao(@Qualifier("mapHbaseTemplate")
                                                   HbaseTemplate hbaseTemplate,
@@ -127,8 +141,22 @@ public class MapHbaseConfiguration {
                                                   RowMapper<ResponseTime> responseTimeMapper,
                                                   MapScanFactory mapScanFactory,
                                                   @Qualifier("statisticsSelfRowKeyDistributor")
-                                                  RowKeyDistributorByHashPrefix rowKeyDistributor) {
-        return new HbaseMapResponseTimeDao(hbaseTemplate, tableNameProvider, responseTimeMapper, mapScanFactory, rowKeyDistributor);
+                                                  RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                                  ResponseTimeSlotCacheProperties cacheProperties,
+                                                  TimeSlot timeSlot) {
+        MapResponseDao dao = new HbaseMapResponseTimeDao(hbaseTemplate, tableNameProvider, responseTimeMapper, mapScanFactory, rowKeyDistributor);
+        if (!cacheProperties.isEnable()) {
+            return dao;
+        }
+        logger.info("MapResponseDao cache {}", cacheProperties);
+        Duration expireAfterWrite = Duration.ofMillis(cacheProperties.getExpireAfterWrite());
+        Duration minAge = Duration.ofMillis(cacheProperties.getMinAge());
+        return new CachedMapResponseDao(dao, new ResponseTimeSlotCache(timeSlot, expireAfterWrite, cacheProperties.getMaximumSize(), minAge));
+    }
+
+    @Bean
+    public LinkDataMapSlotCacheProperties linkDataMapSlotCacheProperties() {
+        return new LinkDataMapSlotCacheProperties();
     }
 
     @Bean
@@ -139,8 +167,15 @@ public class MapHbaseConfiguration {
                                                               RowMapperFactory<LinkDataMap> calleeMapper,
                                                               MapScanFactory mapScanFactory,
                                                               @Qualifier("statisticsCalleeRowKeyDistributor")
-                                                              RowKeyDistributorByHashPrefix rowKeyDistributor) {
-        return new HbaseMapStatisticsCalleeDao(hbaseTemplate, tableNameProvider, calleeMapper, mapScanFactory, rowKeyDistributor);
+                                                              RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                                              LinkDataMapSlotCacheProperties cacheProperties,
+                                                              TimeSlot timeSlot) {
+        MapStatisticsCalleeDao dao = new HbaseMapStatisticsCalleeDao(hbaseTemplate, tableNameProvider, calleeMapper, mapScanFactory, rowKeyDistributor);
+        if (!cacheProperties.isEnable()) {
+            return dao;
+        }
+        logger.info("MapStatisticsCalleeDao cache {}", cacheProperties);
+        return new CachedMapStatisticsCalleeDao(dao, newLinkDataMapSlotCache(cacheProperties, timeSlot));
     }
 
     @Bean
@@ -151,8 +186,20 @@ public class MapHbaseConfiguration {
                                                               RowMapperFactory<LinkDataMap> callerMapper,
                                                               MapScanFactory mapScanFactory,
                                                               @Qualifier("statisticsCallerRowKeyDistributor")
-                                                              RowKeyDistributorByHashPrefix rowKeyDistributor) {
-        return new HbaseMapStatisticsCallerDao(hbaseTemplate, tableNameProvider, callerMapper, mapScanFactory, rowKeyDistributor);
+                                                              RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                                              LinkDataMapSlotCacheProperties cacheProperties,
+                                                              TimeSlot timeSlot) {
+        MapStatisticsCallerDao dao = new HbaseMapStatisticsCallerDao(hbaseTemplate, tableNameProvider, callerMapper, mapScanFactory, rowKeyDistributor);
+        if (!cacheProperties.isEnable()) {
+            return dao;
+        }
+        logger.info("MapStatisticsCallerDao cache {}", cacheProperties);
+        return new CachedMapStatisticsCallerDao(dao, newLinkDataMapSlotCache(cacheProperties, timeSlot));
     }
-}
 
+    private LinkDataMapSlotCache newLinkDataMapSlotCache(LinkDataMapSlotCacheProperties cacheProperties, TimeSlot timeSlot) {
+        Duration expireAfterWrite = Duration.ofMillis(cacheProperties.getExpireAfterWrite());
+        Duration minAge = Duration.ofMillis(cacheProperties.getMinAge());
+        return new LinkDataMapSlotCache(timeSlot, expireAfterWrite, cacheProperties.getMaximumSize(), minAge);
+    }
+}
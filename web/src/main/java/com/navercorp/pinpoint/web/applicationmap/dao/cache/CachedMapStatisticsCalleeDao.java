@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.applicationmap.dao.MapStatisticsCalleeDao;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.vo.Application;
+
+import java.util.Objects;
+
+public class CachedMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
+
+    private final MapStatisticsCalleeDao delegate;
+
+    private final LinkDataMapSlotCache cache;
+
+    public CachedMapStatisticsCalleeDao(MapStatisticsCalleeDao delegate, LinkDataMapSlotCache cache) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.cache = Objects.requireNonNull(cache, "cache");
+    }
+
+    @Override
+    public LinkDataMap selectCallee(Application calleeApplication, Range range, boolean timeAggregated) {
+        return cache.select(calleeApplication, range, timeAggregated, delegate::selectCallee);
+    }
+}
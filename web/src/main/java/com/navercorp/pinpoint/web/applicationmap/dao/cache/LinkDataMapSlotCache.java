@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindow;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowDownSampler;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowFunction;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMapUtils;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the link data of an application by minute slot, so overlapping ranges of repeated map requests
+ * only read the missing minutes from the storage.
+ * A minute slot is cached only once it has been closed for at least minAge, the collector flushes its counters
+ * asynchronously and the clocks of the hosts drift, so the recent slots (including empty ones) are always read from the storage.
+ * Cached slots are never handed out, they are copied into the result.
+ */
+public class LinkDataMapSlotCache {
+
+    static final long SLOT_SIZE = TimeUnit.MINUTES.toMillis(1);
+    // the storage keeps the minute resolution up to an hour, see TimeWindowDownSampler
+    static final int MAX_SLOT_COUNT = 60;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final TimeSlot timeSlot;
+    private final long minAge;
+    private final Clock clock;
+    private final Cache<SlotKey, LinkDataMap> cache;
+
+    public LinkDataMapSlotCache(TimeSlot timeSlot, Duration expireAfterWrite, long maximumSize, Duration minAge) {
+        this(timeSlot, expireAfterWrite, maximumSize, minAge, Clock.systemUTC());
+    }
+
+    LinkDataMapSlotCache(TimeSlot timeSlot, Duration expireAfterWrite, long maximumSize, Duration minAge, Clock clock) {
+        this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        Objects.requireNonNull(expireAfterWrite, "expireAfterWrite");
+        this.minAge = Objects.requireNonNull(minAge, "minAge").toMillis();
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public LinkDataMap select(Application application, Range range, boolean timeAggregated, Loader loader) {
+        Objects.requireNonNull(application, "application");
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(loader, "loader");
+
+        final long fromSlot = timeSlot.getTimeSlot(range.getFrom());
+        final long toSlot = timeSlot.getTimeSlot(range.getTo());
+        final int slotCount = Math.toIntExact((toSlot - fromSlot) / SLOT_SIZE) + 1;
+        if (slotCount > MAX_SLOT_COUNT) {
+            return loader.load(application, range, timeAggregated);
+        }
+
+        final long cacheableTo = clock.millis() - minAge;
+        final LinkDataMap[] slots = new LinkDataMap[slotCount];
+        int missFrom = -1;
+        for (int i = 0; i < slotCount; i++) {
+            final long slot = fromSlot + i * SLOT_SIZE;
+            final LinkDataMap cached = isCacheable(slot, cacheableTo) ? cache.getIfPresent(new SlotKey(application, slot)) : null;
+            if (cached != null) {
+                slots[i] = cached;
+                if (missFrom != -1) {
+                    load(application, fromSlot, missFrom, i - 1, cacheableTo, slots, loader);
+                    missFrom = -1;
+                }
+            } else if (missFrom == -1) {
+                missFrom = i;
+            }
+        }
+        if (missFrom != -1) {
+            load(application, fromSlot, missFrom, slotCount - 1, cacheableTo, slots, loader);
+        }
+        return merge(slots, range, timeAggregated);
+    }
+
+    static boolean isCacheable(long slot, long cacheableTo) {
+        return slot + SLOT_SIZE <= cacheableTo;
+    }
+
+    private void load(Application application, long fromSlot, int fromIndex, int toIndex, long cacheableTo,
+                      LinkDataMap[] slots, Loader loader) {
+        final Range loadRange = Range.between(fromSlot + fromIndex * SLOT_SIZE, fromSlot + toIndex * SLOT_SIZE);
+        if (logger.isDebugEnabled()) {
+            logger.debug("load {} slots:{} range:{}", application, toIndex - fromIndex + 1, loadRange.prettyToString());
+        }
+        final LinkDataMap linkDataMap = loader.load(application, loadRange, false);
+        final Map<Long, LinkDataMap> slotMaps = LinkDataMapUtils.splitByTimestamp(linkDataMap);
+
+        for (int i = fromIndex; i <= toIndex; i++) {
+            final long slot = fromSlot + i * SLOT_SIZE;
+            LinkDataMap slotMap = slotMaps.get(slot);
+            if (slotMap == null) {
+                slotMap = new LinkDataMap();
+            }
+            slots[i] = slotMap;
+            if (isCacheable(slot, cacheableTo)) {
+                cache.put(new SlotKey(application, slot), slotMap);
+            }
+        }
+    }
+
+    private LinkDataMap merge(LinkDataMap[] slots, Range range, boolean timeAggregated) {
+        final LinkDataMap slotsMap = new LinkDataMap(timeAggregated ? TimeWindowFunction.ALL_IN_ONE : TimeWindowFunction.identity());
+        for (LinkDataMap slot : slots) {
+            slotsMap.addLinkDataMap(slot);
+        }
+        if (!LinkDataMapUtils.hasLength(slotsMap)) {
+            return new LinkDataMap();
+        }
+
+        final TimeWindow timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
+        final LinkDataMap result = new LinkDataMap(timeWindow);
+        result.addLinkDataMap(slotsMap);
+        return result;
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        LinkDataMap load(Application application, Range range, boolean timeAggregated);
+    }
+
+    private record SlotKey(Application application, long slot) {
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.ResponseTime;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the response time of an application by minute slot, so auto refreshed server maps
+ * only read the missing minutes from the storage.
+ * A minute slot is cached only once it has been closed for at least minAge, see {@link LinkDataMapSlotCache}.
+ * Cached slots are never handed out, they are copied into the result.
+ */
+public class ResponseTimeSlotCache {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final TimeSlot timeSlot;
+    private final long minAge;
+    private final Clock clock;
+    private final Cache<SlotKey, List<ResponseTime>> cache;
+
+    public ResponseTimeSlotCache(TimeSlot timeSlot, Duration expireAfterWrite, long maximumSize, Duration minAge) {
+        this(timeSlot, expireAfterWrite, maximumSize, minAge, Clock.systemUTC());
+    }
+
+    ResponseTimeSlotCache(TimeSlot timeSlot, Duration expireAfterWrite, long maximumSize, Duration minAge, Clock clock) {
+        this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        Objects.requireNonNull(expireAfterWrite, "expireAfterWrite");
+        this.minAge = Objects.requireNonNull(minAge, "minAge").toMillis();
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public List<ResponseTime> select(Application application, Range range, Loader loader) {
+        Objects.requireNonNull(application, "application");
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(loader, "loader");
+
+        final long slotSize = LinkDataMapSlotCache.SLOT_SIZE;
+        final long fromSlot = timeSlot.getTimeSlot(range.getFrom());
+        final long toSlot = timeSlot.getTimeSlot(range.getTo());
+        final int slotCount = Math.toIntExact((toSlot - fromSlot) / slotSize) + 1;
+        if (slotCount > LinkDataMapSlotCache.MAX_SLOT_COUNT) {
+            return loader.load(application, range);
+        }
+
+        final long cacheableTo = clock.millis() - minAge;
+        final List<List<ResponseTime>> slots = new ArrayList<>(slotCount);
+        int missFrom = -1;
+        for (int i = 0; i < slotCount; i++) {
+            final long slot = fromSlot + i * slotSize;
+            final List<ResponseTime> cached = LinkDataMapSlotCache.isCacheable(slot, cacheableTo) ? cache.getIfPresent(new SlotKey(application, slot)) : null;
+            slots.add(cached);
+            if (cached != null) {
+                if (missFrom != -1) {
+                    load(application, fromSlot, missFrom, i - 1, cacheableTo, slots, loader);
+                    missFrom = -1;
+                }
+            } else if (missFrom == -1) {
+                missFrom = i;
+            }
+        }
+        if (missFrom != -1) {
+            load(application, fromSlot, missFrom, slotCount - 1, cacheableTo, slots, loader);
+        }
+        return merge(application, slots);
+    }
+
+    private void load(Application application, long fromSlot, int fromIndex, int toIndex, long cacheableTo,
+                      List<List<ResponseTime>> slots, Loader loader) {
+        final long slotSize = LinkDataMapSlotCache.SLOT_SIZE;
+        final Range loadRange = Range.between(fromSlot + fromIndex * slotSize, fromSlot + toIndex * slotSize);
+        if (logger.isDebugEnabled()) {
+            logger.debug("load {} slots:{} range:{}", application, toIndex - fromIndex + 1, loadRange.prettyToString());
+        }
+        final List<ResponseTime> responseTimeList = loader.load(application, loadRange);
+        final Map<Long, List<ResponseTime>> slotMap = new HashMap<>();
+        for (ResponseTime responseTime : responseTimeList) {
+            final long slot = timeSlot.getTimeSlot(responseTime.getTimeStamp());
+            slotMap.computeIfAbsent(slot, k -> new ArrayList<>(1)).add(responseTime);
+        }
+
+        for (int i = fromIndex; i <= toIndex; i++) {
+            final long slot = fromSlot + i * slotSize;
+            final List<ResponseTime> slotList = slotMap.getOrDefault(slot, List.of());
+            slots.set(i, slotList);
+            if (LinkDataMapSlotCache.isCacheable(slot, cacheableTo)) {
+                cache.put(new SlotKey(application, slot), slotList);
+            }
+        }
+    }
+
+    private List<ResponseTime> merge(Application application, List<List<ResponseTime>> slots) {
+        final List<ResponseTime> result = new ArrayList<>(slots.size());
+        // newest first, as the reversed row key of the storage
+        for (int i = slots.size() - 1; i >= 0; i--) {
+            for (ResponseTime responseTime : slots.get(i)) {
+                result.add(copy(application, responseTime));
+            }
+        }
+        return result;
+    }
+
+    private ResponseTime copy(Application application, ResponseTime responseTime) {
+        final ResponseTime copy = new ResponseTime(responseTime.getApplicationName(), application.getServiceType(), responseTime.getTimeStamp());
+        for (Map.Entry<String, TimeHistogram> entry : responseTime.getAgentHistogram()) {
+            copy.addResponseTime(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        List<ResponseTime> load(Application application, Range range);
+    }
+
+    private record SlotKey(Application application, long slot) {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+
+public class ResponseTimeSlotCacheProperties {
+
+    @Value("${web.servermap.responseTime.cache.enable:false}")
+    private boolean enable;
+
+    @Value("${web.servermap.responseTime.cache.expireAfterWrite:600000}")
+    private long expireAfterWrite;
+
+    @Value("${web.servermap.responseTime.cache.maximumSize:10000}")
+    private long maximumSize;
+
+    @Value("${web.servermap.responseTime.cache.minAge:120000}")
+    private long minAge;
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getMinAge() {
+        return minAge;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseTimeSlotCacheProperties{" +
+                "enable=" + enable +
+                ", expireAfterWrite=" + expireAfterWrite +
+                ", maximumSize=" + maximumSize +
+                ", minAge=" + minAge +
+                '}';
+    }
+}
@@ -26,7 +26,6 @@ import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowDownSample
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.ResponseTime;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -77,26 +76,14 @@ public class AgentTimeHistogramBuilder {
             return new AgentHistogramList();
         }
 
-        // create window space. Prior to using a AgentHistogramList, we used a raw data structure.
-        // could've been a list, but since range overflow may occur when applying filters, we use a map instead.
-        // TODO: find better structure
         final AgentHistogramList resultAgentHistogramList = new AgentHistogramList();
         for (AgentHistogram agentHistogram : agentHistogramList.getAgentHistogramList()) {
-            List<TimeHistogram> timeHistogramList = new ArrayList<>();
-            for (Long time : window) {
-                timeHistogramList.add(new TimeHistogram(application.getServiceType(), time));
-            }
-            resultAgentHistogramList.addTimeHistogram(agentHistogram.getAgentId(), timeHistogramList);
-        }
-
-        for (AgentHistogram agentHistogram : agentHistogramList.getAgentHistogramList()) {
+            final Application agentId = agentHistogram.getAgentId();
+            final TimeHistogramMatrix matrix = new TimeHistogramMatrix(agentId.getServiceType().getHistogramSchema(), window);
             for (TimeHistogram timeHistogram : agentHistogram.getTimeHistogram()) {
-                final long time = window.refineTimestamp(timeHistogram.getTimeStamp());
-                Application agentId = agentHistogram.getAgentId();
-                TimeHistogram windowHistogram = new TimeHistogram(timeHistogram.getHistogramSchema(), time);
-                windowHistogram.add(timeHistogram);
-                resultAgentHistogramList.addTimeHistogram(agentId, windowHistogram);
+                matrix.add(timeHistogram);
             }
+            resultAgentHistogramList.addTimeHistogram(agentId, matrix.toList());
         }
 
         return resultAgentHistogramList;
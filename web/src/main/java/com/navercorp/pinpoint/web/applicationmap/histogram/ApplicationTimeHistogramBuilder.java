@@ -16,7 +16,6 @@
 
 package com.navercorp.pinpoint.web.applicationmap.histogram;
 
-import com.google.common.collect.Ordering;
 import com.navercorp.pinpoint.common.server.util.time.Range;
 import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindow;
 import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowDownSampler;
@@ -27,9 +26,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -38,8 +35,6 @@ import java.util.Objects;
 public class ApplicationTimeHistogramBuilder {
     private final Logger logger = LogManager.getLogger(this.getClass());
 
-    private static final Ordering<TimeHistogram> histogramOrdering = Ordering.from(TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-
     private final Application application;
     private final TimeWindow window;
 
@@ -52,72 +47,39 @@ public class ApplicationTimeHistogramBuilder {
     public ApplicationTimeHistogram build(List<ResponseTime> responseHistogramList) {
         Objects.requireNonNull(responseHistogramList, "responseHistogramList");
 
-        Map<Long, TimeHistogram> applicationLevelHistogram = new HashMap<>();
-
+        final TimeHistogramMatrix matrix = newMatrix();
         for (ResponseTime responseTime : responseHistogramList) {
-            final Long timeStamp = responseTime.getTimeStamp();
-            TimeHistogram timeHistogram = applicationLevelHistogram.get(timeStamp);
-            if (timeHistogram == null) {
-                timeHistogram = new TimeHistogram(application.getServiceType(), timeStamp);
-                applicationLevelHistogram.put(timeStamp, timeHistogram);
-            }
+            final long timeStamp = responseTime.getTimeStamp();
             // add each agent-level data
-            Histogram applicationResponseHistogram = responseTime.getApplicationResponseHistogram();
-            timeHistogram.add(applicationResponseHistogram);
-        }
-
-
-//        Collections.sort(histogramList, TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-        List<TimeHistogram> histogramList = interpolation(applicationLevelHistogram.values());
-        if (logger.isTraceEnabled()) {
-            for (TimeHistogram histogram : histogramList) {
-                logger.trace("applicationLevel histogram:{}", histogram);
+            for (TimeHistogram agentHistogram : responseTime.getAgentResponseHistogramList()) {
+                matrix.add(timeStamp, agentHistogram);
             }
         }
-        return new ApplicationTimeHistogram(application, histogramList);
+        return build(matrix);
     }
 
     public ApplicationTimeHistogram build(Collection<LinkCallData> linkCallDataMapList) {
-        Map<Long, TimeHistogram> applicationLevelHistogram = new HashMap<>();
+        final TimeHistogramMatrix matrix = newMatrix();
         for (LinkCallData linkCallData : linkCallDataMapList) {
             for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
-                Long timeStamp = timeHistogram.getTimeStamp();
-                TimeHistogram histogram = applicationLevelHistogram.get(timeStamp);
-                if (histogram == null) {
-                    histogram = new TimeHistogram(timeHistogram.getHistogramSchema(), timeStamp);
-                    applicationLevelHistogram.put(timeStamp, histogram);
-                }
-                histogram.add(timeHistogram);
+                matrix.add(timeHistogram);
             }
         }
+        return build(matrix);
+    }
 
-        List<TimeHistogram> histogramList = interpolation(applicationLevelHistogram.values());
+    private TimeHistogramMatrix newMatrix() {
+        return new TimeHistogramMatrix(application.getServiceType().getHistogramSchema(), window);
+    }
+
+    private ApplicationTimeHistogram build(TimeHistogramMatrix matrix) {
+        List<TimeHistogram> histogramList = matrix.toList();
         if (logger.isTraceEnabled()) {
             for (TimeHistogram histogram : histogramList) {
                 logger.trace("applicationLevel histogram:{}", histogram);
             }
         }
         return new ApplicationTimeHistogram(application, histogramList);
-
-    }
-
-    private List<TimeHistogram> interpolation(Collection<TimeHistogram> histogramList) {
-        // upon individual span query, "window time" alone may not be enough
-        //
-        Map<Long, TimeHistogram> resultMap = new HashMap<>();
-        for (Long time : window) {
-            resultMap.put(time, new TimeHistogram(application.getServiceType(), time));
-        }
-
-
-        for (TimeHistogram timeHistogram : histogramList) {
-            long time = window.refineTimestamp(timeHistogram.getTimeStamp());
-
-            TimeHistogram windowHistogram = resultMap.computeIfAbsent(time, t -> new TimeHistogram(application.getServiceType(), t));
-            windowHistogram.add(timeHistogram);
-        }
-
-        return histogramOrdering.sortedCopy(resultMap.values());
     }
 
 }
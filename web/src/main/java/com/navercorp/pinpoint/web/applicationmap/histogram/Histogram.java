@@ -263,6 +263,42 @@ public class Histogram implements StatisticsHistogram {
         this.pingCount += histogram.getPingCount();
     }
 
+    /**
+     * adds this histogram to the columns of {@link TimeHistogramMatrix}
+     */
+    void addTo(long[][] columns, int index) {
+        columns[TimeHistogramMatrix.FAST][index] += fastCount;
+        columns[TimeHistogramMatrix.NORMAL][index] += normalCount;
+        columns[TimeHistogramMatrix.SLOW][index] += slowCount;
+        columns[TimeHistogramMatrix.VERY_SLOW][index] += verySlowCount;
+        columns[TimeHistogramMatrix.ERROR][index] += errorCount;
+        columns[TimeHistogramMatrix.FAST_ERROR][index] += fastErrorCount;
+        columns[TimeHistogramMatrix.NORMAL_ERROR][index] += normalErrorCount;
+        columns[TimeHistogramMatrix.SLOW_ERROR][index] += slowErrorCount;
+        columns[TimeHistogramMatrix.VERY_SLOW_ERROR][index] += verySlowErrorCount;
+        columns[TimeHistogramMatrix.SUM_ELAPSED][index] += sumElapsed;
+        columns[TimeHistogramMatrix.MAX_ELAPSED][index] = Math.max(columns[TimeHistogramMatrix.MAX_ELAPSED][index], maxElapsed);
+        columns[TimeHistogramMatrix.PING][index] += pingCount;
+    }
+
+    /**
+     * adds a row of the columns of {@link TimeHistogramMatrix} to this histogram
+     */
+    void addFrom(long[][] columns, int index) {
+        this.fastCount += columns[TimeHistogramMatrix.FAST][index];
+        this.normalCount += columns[TimeHistogramMatrix.NORMAL][index];
+        this.slowCount += columns[TimeHistogramMatrix.SLOW][index];
+        this.verySlowCount += columns[TimeHistogramMatrix.VERY_SLOW][index];
+        this.errorCount += columns[TimeHistogramMatrix.ERROR][index];
+        this.fastErrorCount += columns[TimeHistogramMatrix.FAST_ERROR][index];
+        this.normalErrorCount += columns[TimeHistogramMatrix.NORMAL_ERROR][index];
+        this.slowErrorCount += columns[TimeHistogramMatrix.SLOW_ERROR][index];
+        this.verySlowErrorCount += columns[TimeHistogramMatrix.VERY_SLOW_ERROR][index];
+        this.sumElapsed += columns[TimeHistogramMatrix.SUM_ELAPSED][index];
+        updateMaxElapsed(columns[TimeHistogramMatrix.MAX_ELAPSED][index]);
+        this.pingCount += columns[TimeHistogramMatrix.PING][index];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
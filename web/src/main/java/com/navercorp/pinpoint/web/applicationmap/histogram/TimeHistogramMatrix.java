@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindow;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Time series of histograms over a {@link TimeWindow}, stored as one long[] column per slot indexed by the window slot.
+ * Merging the minute histograms of a node or link adds into the columns,
+ * a {@link TimeHistogram} is only created per window slot by {@link #toList()}.
+ * <p>
+ * Histograms outside the window, e.g. of a filtered map, are kept as {@link TimeHistogram}.
+ */
+public class TimeHistogramMatrix {
+
+    static final int FAST = 0;
+    static final int NORMAL = 1;
+    static final int SLOW = 2;
+    static final int VERY_SLOW = 3;
+    static final int ERROR = 4;
+    static final int FAST_ERROR = 5;
+    static final int NORMAL_ERROR = 6;
+    static final int SLOW_ERROR = 7;
+    static final int VERY_SLOW_ERROR = 8;
+    static final int SUM_ELAPSED = 9;
+    static final int MAX_ELAPSED = 10;
+    static final int PING = 11;
+    static final int COLUMN_SIZE = 12;
+
+    private final HistogramSchema schema;
+    private final TimeWindow window;
+    private final long windowFrom;
+    private final int size;
+
+    private final long[][] columns;
+    private Map<Long, TimeHistogram> overflow;
+
+    public TimeHistogramMatrix(HistogramSchema schema, TimeWindow window) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+        this.window = Objects.requireNonNull(window, "window");
+        this.windowFrom = window.getWindowRange().getFrom();
+        this.size = Math.toIntExact(window.getWindowRangeCount());
+        this.columns = new long[COLUMN_SIZE][size];
+    }
+
+    public void add(long timestamp, Histogram histogram) {
+        Objects.requireNonNull(histogram, "histogram");
+        if (this.schema != histogram.getHistogramSchema()) {
+            throw new IllegalArgumentException("schema not equals. this=" + schema + ", histogram=" + histogram);
+        }
+
+        final long time = window.refineTimestamp(timestamp);
+        final int index = window.getWindowIndex(time);
+        if (time < windowFrom || index >= size) {
+            addOverflow(time, histogram);
+            return;
+        }
+        histogram.addTo(columns, index);
+    }
+
+    public void add(TimeHistogram timeHistogram) {
+        Objects.requireNonNull(timeHistogram, "timeHistogram");
+        add(timeHistogram.getTimeStamp(), timeHistogram);
+    }
+
+    private void addOverflow(long time, Histogram histogram) {
+        if (overflow == null) {
+            overflow = new HashMap<>();
+        }
+        overflow.computeIfAbsent(time, t -> new TimeHistogram(schema, t)).add(histogram);
+    }
+
+    /**
+     * @return a histogram per window slot sorted by timestamp, empty slots included
+     */
+    public List<TimeHistogram> toList() {
+        final int overflowSize = overflow == null ? 0 : overflow.size();
+        final List<TimeHistogram> result = new ArrayList<>(size + overflowSize);
+        final long slotSize = window.getWindowSlotSize();
+        for (int i = 0; i < size; i++) {
+            final TimeHistogram timeHistogram = new TimeHistogram(schema, windowFrom + i * slotSize);
+            timeHistogram.addFrom(columns, i);
+            result.add(timeHistogram);
+        }
+        if (overflowSize > 0) {
+            result.addAll(overflow.values());
+            result.sort(TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
+        }
+        return result;
+    }
+}
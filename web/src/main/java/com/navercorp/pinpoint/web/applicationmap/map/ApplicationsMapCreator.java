@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
 import com.navercorp.pinpoint.web.vo.Application;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author HyunGil Jeong
@@ -28,4 +29,6 @@ import java.util.List;
 public interface ApplicationsMapCreator {
 
     LinkDataDuplexMap createLinkDataDuplexMap(List<Application> applications, LinkSelectContext linkSelectContext);
+
+    CompletableFuture<LinkDataDuplexMap> createLinkDataDuplexMapAsync(Application application, LinkSelectContext linkSelectContext);
 }
@@ -30,7 +30,7 @@ import java.util.List;
 import java.util.Objects;
 
 /**
- * Breadth-first link search
+ * Breadth-first link search, pipelined across depths
  * not thread safe
  *
  * @author emeroad
@@ -69,22 +69,10 @@ public class BidirectionalLinkSelector implements LinkSelector {
         final SearchDepth outDepth = new SearchDepth(outSearchDepth);
         final SearchDepth inDepth = new SearchDepth(inSearchDepth);
 
-        LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
-        List<Application> applications = filterApplications(sourceApplications);
         LinkSelectContext linkSelectContext = new LinkSelectContext(range, outDepth, inDepth, linkVisitChecker, timeAggregated);
+        PipelinedLinkSearch linkSearch = new PipelinedLinkSearch(applicationsMapCreator, this::filterApplications);
+        LinkDataDuplexMap linkDataDuplexMap = linkSearch.search(sourceApplications, linkSelectContext);
 
-        while (!applications.isEmpty()) {
-
-            logger.info("depth search start. depth:{} -> {}, size:{}, nodes:{}", linkSelectContext.getOutDepth(), linkSelectContext.getInDepth(), applications.size(), applications);
-            LinkDataDuplexMap levelData = applicationsMapCreator.createLinkDataDuplexMap(applications, linkSelectContext);
-            logger.info("depth search end. depth:{} -> {}", linkSelectContext.getOutDepth(), linkSelectContext.getInDepth());
-
-            linkDataDuplexMap.addLinkDataDuplexMap(levelData);
-
-            List<Application> nextApplications = linkSelectContext.getNextApplications();
-            applications = filterApplications(nextApplications);
-            linkSelectContext = linkSelectContext.advance();
-        }
         return virtualLinkHandler.processVirtualLinks(linkDataDuplexMap, linkVisitChecker, range);
     }
 
@@ -92,15 +92,21 @@ public class DefaultApplicationsMapCreator implements ApplicationsMapCreator {
         CompletableFuture<LinkDataDuplexMap>[] linkDataDuplexMapFutures = new CompletableFuture[targetApplicationList.size()];
         for (int i = 0; i < targetApplicationList.size(); i++) {
             final Application targetApplication = targetApplicationList.get(i);
-
-            CompletableFuture<LinkDataDuplexMap> future = CompletableFuture.supplyAsync(new Supplier<>() {
-                @Override
-                public LinkDataDuplexMap get() {
-                    return applicationMapCreator.createMap(targetApplication, linkSelectContext);
-                }
-            }, executor);
-            linkDataDuplexMapFutures[i] = future;
+            linkDataDuplexMapFutures[i] = createLinkDataDuplexMapAsync(targetApplication, linkSelectContext);
         }
         return linkDataDuplexMapFutures;
     }
+
+    @Override
+    public CompletableFuture<LinkDataDuplexMap> createLinkDataDuplexMapAsync(Application application, LinkSelectContext linkSelectContext) {
+        Objects.requireNonNull(application, "application");
+        Objects.requireNonNull(linkSelectContext, "linkSelectContext");
+
+        return CompletableFuture.supplyAsync(new Supplier<>() {
+            @Override
+            public LinkDataDuplexMap get() {
+                return applicationMapCreator.createMap(application, linkSelectContext);
+            }
+        }, executor);
+    }
 }
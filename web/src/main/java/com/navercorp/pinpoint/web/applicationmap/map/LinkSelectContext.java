@@ -108,4 +108,11 @@ public class LinkSelectContext {
         SearchDepth nextInDepth = inDepth.nextDepth();
         return new LinkSelectContext(range, nextOutDepth, nextInDepth, linkVisitChecker, timeAggregated);
     }
+
+    /**
+     * @return context of the same depth that collects its own next applications
+     */
+    public LinkSelectContext fork() {
+        return new LinkSelectContext(range, outDepth, inDepth, linkVisitChecker, timeAggregated);
+    }
 }
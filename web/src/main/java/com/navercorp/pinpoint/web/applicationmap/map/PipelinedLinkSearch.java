@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.map;
+
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.UnaryOperator;
+
+/**
+ * Breadth-first link search without a barrier between depths.
+ * <p>
+ * Every node is searched as its own task, and the nodes it finds are scheduled as soon as their depth is final.
+ * The depth of a node is final once every node two depths above it is done, so the next frontier starts while
+ * the slow nodes of the current one are still being searched, and each node is still searched at its breadth-first depth.
+ * The first failed node fails the search and cancels the nodes still running or queued.
+ * <p>
+ * not thread safe, one instance per search
+ */
+class PipelinedLinkSearch {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final ApplicationsMapCreator applicationsMapCreator;
+    private final UnaryOperator<List<Application>> applicationFilter;
+
+    private final List<Depth> depths = new ArrayList<>();
+    // shallowest depth each application was found at
+    private final Map<Application, Integer> foundDepth = new HashMap<>();
+
+    private final BlockingQueue<NodeResult> results = new LinkedBlockingQueue<>();
+    private final List<CompletableFuture<LinkDataDuplexMap>> futures = new ArrayList<>();
+    private int running;
+    // every depth up to this one is done
+    private int doneDepth = -1;
+
+    PipelinedLinkSearch(ApplicationsMapCreator applicationsMapCreator, UnaryOperator<List<Application>> applicationFilter) {
+        this.applicationsMapCreator = Objects.requireNonNull(applicationsMapCreator, "applicationsMapCreator");
+        this.applicationFilter = Objects.requireNonNull(applicationFilter, "applicationFilter");
+    }
+
+    LinkDataDuplexMap search(List<Application> sourceApplications, LinkSelectContext linkSelectContext) {
+        Objects.requireNonNull(sourceApplications, "sourceApplications");
+        Objects.requireNonNull(linkSelectContext, "linkSelectContext");
+
+        final LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
+        depths.add(new Depth(linkSelectContext));
+        for (Application application : applicationFilter.apply(sourceApplications)) {
+            found(application, 0);
+        }
+        schedule();
+
+        while (running > 0) {
+            final NodeResult result = take();
+            running--;
+            final Depth depth = depths.get(result.depth);
+            depth.running--;
+
+            if (result.error != null) {
+                cancel();
+                throw asCompletionException(result.error);
+            }
+            linkDataDuplexMap.addLinkDataDuplexMap(result.linkDataDuplexMap);
+
+            final List<Application> nextApplications = applicationFilter.apply(result.context.getNextApplications());
+            for (Application nextApplication : nextApplications) {
+                found(nextApplication, result.depth + 1);
+            }
+            schedule();
+        }
+        return linkDataDuplexMap;
+    }
+
+    private NodeResult take() {
+        try {
+            return results.take();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new CompletionException("link search interrupted", e);
+        }
+    }
+
+    private void cancel() {
+        for (CompletableFuture<LinkDataDuplexMap> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    private CompletionException asCompletionException(Throwable error) {
+        if (error instanceof CompletionException completionException) {
+            return completionException;
+        }
+        return new CompletionException(error);
+    }
+
+    private void found(Application application, int depth) {
+        final Integer prevDepth = foundDepth.get(application);
+        if (prevDepth != null) {
+            if (prevDepth <= depth) {
+                return;
+            }
+            // found through a shorter path before being scheduled
+            depths.get(prevDepth).waiting.remove(application);
+        }
+        foundDepth.put(application, depth);
+        getDepth(depth).waiting.add(application);
+    }
+
+    private Depth getDepth(int depth) {
+        while (depths.size() <= depth) {
+            final Depth last = depths.get(depths.size() - 1);
+            depths.add(new Depth(last.context.advance()));
+        }
+        return depths.get(depth);
+    }
+
+    private void schedule() {
+        while (doneDepth + 1 < depths.size() && depths.get(doneDepth + 1).isDone()) {
+            doneDepth++;
+            logger.info("depth search end. depth:{}", doneDepth);
+        }
+
+        final int scheduleLimit = Math.min(doneDepth + 2, depths.size() - 1);
+        for (int i = doneDepth + 1; i <= scheduleLimit; i++) {
+            final Depth depth = depths.get(i);
+            if (depth.waiting.isEmpty()) {
+                continue;
+            }
+            logger.info("depth search start. depth:{} -> {}, size:{}, nodes:{}",
+                    depth.context.getOutDepth(), depth.context.getInDepth(), depth.waiting.size(), depth.waiting);
+            for (Application application : depth.waiting) {
+                start(application, i, depth);
+            }
+            depth.waiting.clear();
+        }
+    }
+
+    private void start(Application application, int depthIndex, Depth depth) {
+        final LinkSelectContext nodeContext = depth.context.fork();
+        depth.running++;
+        running++;
+        final CompletableFuture<LinkDataDuplexMap> future = applicationsMapCreator.createLinkDataDuplexMapAsync(application, nodeContext);
+        futures.add(future);
+        future.whenComplete((linkDataDuplexMap, throwable) ->
+                results.add(new NodeResult(depthIndex, nodeContext, linkDataDuplexMap, throwable)));
+    }
+
+    private static class Depth {
+        private final LinkSelectContext context;
+        private final Set<Application> waiting = new LinkedHashSet<>();
+        private int running;
+
+        private Depth(LinkSelectContext context) {
+            this.context = context;
+        }
+
+        private boolean isDone() {
+            return waiting.isEmpty() && running == 0;
+        }
+    }
+
+    private record NodeResult(int depth, LinkSelectContext context, LinkDataDuplexMap linkDataDuplexMap, Throwable error) {
+    }
+}
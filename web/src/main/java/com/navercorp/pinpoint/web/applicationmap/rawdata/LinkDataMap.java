@@ -69,7 +69,7 @@ public class LinkDataMap {
         linkData.add(copyLinkData);
     }
 
-    private LinkData getLinkData(Application fromApplication, Application toApplication) {
+    LinkData getLinkData(Application fromApplication, Application toApplication) {
         final LinkKey key = new LinkKey(fromApplication, toApplication);
         return linkDataMap.computeIfAbsent(key, k -> new LinkData(fromApplication, toApplication, timeWindow));
     }
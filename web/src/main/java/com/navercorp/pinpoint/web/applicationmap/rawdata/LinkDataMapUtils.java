@@ -17,6 +17,13 @@
 
 package com.navercorp.pinpoint.web.applicationmap.rawdata;
 
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 public final class LinkDataMapUtils {
     private LinkDataMapUtils() {
     }
@@ -24,4 +31,23 @@ public final class LinkDataMapUtils {
     public static boolean hasLength(LinkDataMap linkDataMap) {
         return linkDataMap != null && linkDataMap.size() > 0;
     }
+
+    /**
+     * Splits the link data by the timestamp of its histograms. The histograms are copied.
+     */
+    public static Map<Long, LinkDataMap> splitByTimestamp(LinkDataMap linkDataMap) {
+        Objects.requireNonNull(linkDataMap, "linkDataMap");
+
+        final Map<Long, LinkDataMap> result = new HashMap<>();
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            for (LinkCallData linkCallData : linkData.getLinkCallDataMap().getLinkDataList()) {
+                for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
+                    final LinkDataMap timestampMap = result.computeIfAbsent(timeHistogram.getTimeStamp(), k -> new LinkDataMap());
+                    final LinkData timestampLinkData = timestampMap.getLinkData(linkData.getFromApplication(), linkData.getToApplication());
+                    timestampLinkData.getLinkCallDataMap().addCallData(linkCallData.getSource(), linkCallData.getTarget(), List.of(timeHistogram));
+                }
+            }
+        }
+        return result;
+    }
 }
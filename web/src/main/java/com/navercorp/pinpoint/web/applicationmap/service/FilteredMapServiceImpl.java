@@ -17,9 +17,7 @@
 
 package com.navercorp.pinpoint.web.applicationmap.service;
 
-import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
-import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.util.time.Range;
 import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
@@ -38,7 +36,6 @@ import com.navercorp.pinpoint.web.applicationmap.map.FilteredMapBuilder;
 import com.navercorp.pinpoint.web.component.ApplicationFactory;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
-import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
 import com.navercorp.pinpoint.web.service.ServerInstanceDatasourceService;
@@ -46,6 +43,7 @@ import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
@@ -57,6 +55,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * @author netspider
@@ -82,18 +81,27 @@ public class FilteredMapServiceImpl implements FilteredMapService {
 
     private final ApplicationMapBuilderFactory applicationMapBuilderFactory;
 
+    private final Executor executor;
+
     private static final Object V = new Object();
 
     @Value("${web.servermap.build.timeout:600000}")
     private long buildTimeoutMillis;
 
+    @Value("${web.servermap.filtered.select.partitionSize:500}")
+    private int selectPartitionSize = 500;
+
+    @Value("${web.servermap.filtered.select.parallelism:4}")
+    private int selectParallelism = 4;
+
     public FilteredMapServiceImpl(TraceDao traceDao,
                                   ApplicationTraceIndexDao applicationTraceIndexDao,
                                   ServiceTypeRegistryService registry,
                                   ApplicationFactory applicationFactory,
                                   ServerInstanceDatasourceService serverInstanceDatasourceService,
                                   Optional<ServerMapDataFilter> serverMapDataFilter,
-                                  ApplicationMapBuilderFactory applicationMapBuilderFactory) {
+                                  ApplicationMapBuilderFactory applicationMapBuilderFactory,
+                                  @Qualifier("filteredMapSelectExecutor") Executor executor) {
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
         this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao");
         this.registry = Objects.requireNonNull(registry, "registry");
@@ -101,6 +109,7 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         this.serverInstanceDatasourceService = Objects.requireNonNull(serverInstanceDatasourceService, "serverInstanceDatasourceService");
         this.serverMapDataFilter = Objects.requireNonNull(serverMapDataFilter, "serverMapDataFilter").orElse(null);
         this.applicationMapBuilderFactory = Objects.requireNonNull(applicationMapBuilderFactory, "applicationMapBuilderFactory");
+        this.executor = Objects.requireNonNull(executor, "executor");
     }
 
     @Override
@@ -120,22 +129,8 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return this.applicationTraceIndexDao.scanTraceIndex(applicationName, range, limit, backwardDirection);
     }
 
-    private List<List<SpanBo>> filterList2(List<List<SpanBo>> transactionList, Filter<List<SpanBo>> filter) {
-        final List<List<SpanBo>> filteredResult = new ArrayList<>();
-        for (List<SpanBo> transaction : transactionList) {
-            if (filter.include(transaction)) {
-                filteredResult.add(transaction);
-            }
-        }
-        return filteredResult;
-    }
-
     public ApplicationMap selectApplicationMap(FilteredMapServiceOption option) {
-        final List<List<SpanBo>> filterList = selectFilteredSpan(option.getTransactionIdList(), option.getFilter(), option.getColumnGetCount());
-        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
-        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
-        FilteredMap filteredMap = filteredMapBuilder.build();
+        FilteredMap filteredMap = buildFilteredMap(option);
 
         ApplicationMap map = createMap(option, filteredMap, false);
         return map;
@@ -145,11 +140,7 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(option.getTransactionIdList(), option.getFilter(), option.getColumnGetCount());
-        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
-        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
-        FilteredMap filteredMap = filteredMapBuilder.build();
+        FilteredMap filteredMap = buildFilteredMap(option);
 
         ApplicationMap map = createMap(option, filteredMap, false);
 
@@ -167,11 +158,7 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(option.getTransactionIdList(), option.getFilter(), option.getColumnGetCount());
-        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
-        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
-        FilteredMap filteredMap = filteredMapBuilder.build();
+        FilteredMap filteredMap = buildFilteredMap(option);
 
         ApplicationMap map = createMap(option, filteredMap, true);
 
@@ -184,15 +171,18 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return applicationMapWithScatterDataV3;
     }
 
-    private List<List<SpanBo>> selectFilteredSpan(List<TransactionId> transactionIdList, Filter<List<SpanBo>> filter, ColumnGetCount columnGetCount) {
+    private FilteredMap buildFilteredMap(FilteredMapServiceOption option) {
+        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
+        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
+
         // filters out recursive calls by looking at each objects
         // do not filter here if we change to a tree-based collision check in the future.
-        final List<TransactionId> recursiveFilterList = recursiveCallFilter(transactionIdList);
-
-        // FIXME might be better to simply traverse the List<Span> and create a process chain for execution
-        final List<List<SpanBo>> originalList = this.traceDao.selectAllSpans(recursiveFilterList, columnGetCount);
+        final List<TransactionId> recursiveFilterList = recursiveCallFilter(option.getTransactionIdList());
 
-        return filterList2(originalList, filter);
+        // each partition is aggregated as soon as it is filtered, the spans of the filtered out transactions are released early
+        StreamingTransactionSelector selector = new StreamingTransactionSelector(traceDao, executor, selectPartitionSize, selectParallelism);
+        selector.select(recursiveFilterList, option.getColumnGetCount(), option.getFilter(), filteredMapBuilder::addTransactions);
+        return filteredMapBuilder.build();
     }
 
     private ApplicationMap createMap(FilteredMapServiceOption option, FilteredMap filteredMap, boolean v3Format) {
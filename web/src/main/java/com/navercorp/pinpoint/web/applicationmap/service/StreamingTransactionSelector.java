@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.service;
+
+import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.filter.Filter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Selects the spans of the transactions partition by partition, and filters each partition on the worker thread.
+ * <p>
+ * Only the filtered transactions of a partition are handed to the consumer, on the calling thread,
+ * so at most {@code parallelism} partitions of unfiltered spans are in memory at once
+ * instead of every transaction of the request.
+ * The first failed partition fails the select and cancels the partitions still running or queued.
+ * <p>
+ * not thread safe, one instance per select
+ */
+class StreamingTransactionSelector {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final TraceDao traceDao;
+    private final Executor executor;
+    private final int partitionSize;
+    private final int parallelism;
+
+    private final BlockingQueue<PartitionResult> results = new LinkedBlockingQueue<>();
+    private final List<CompletableFuture<PartitionResult>> futures = new ArrayList<>();
+    private int running;
+
+    StreamingTransactionSelector(TraceDao traceDao, Executor executor, int partitionSize, int parallelism) {
+        this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("partitionSize must be positive:" + partitionSize);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive:" + parallelism);
+        }
+        this.partitionSize = partitionSize;
+        this.parallelism = parallelism;
+    }
+
+    void select(List<TransactionId> transactionIdList, ColumnGetCount columnGetCount,
+                Filter<List<SpanBo>> filter, Consumer<List<List<SpanBo>>> consumer) {
+        Objects.requireNonNull(transactionIdList, "transactionIdList");
+        Objects.requireNonNull(filter, "filter");
+        Objects.requireNonNull(consumer, "consumer");
+
+        int next = 0;
+        int selected = 0;
+        int included = 0;
+        while (next < transactionIdList.size() || running > 0) {
+            while (next < transactionIdList.size() && running < parallelism) {
+                final int end = Math.min(next + partitionSize, transactionIdList.size());
+                start(transactionIdList.subList(next, end), columnGetCount, filter);
+                next = end;
+            }
+
+            final PartitionResult result = take();
+            running--;
+            if (result.error != null) {
+                cancel();
+                throw asCompletionException(result.error);
+            }
+            selected += result.selected;
+            included += result.transactionList.size();
+            consumer.accept(result.transactionList);
+        }
+        logger.debug("filtered transactions selected. transactions:{} selected:{} included:{}", transactionIdList.size(), selected, included);
+    }
+
+    private void start(List<TransactionId> partition, ColumnGetCount columnGetCount, Filter<List<SpanBo>> filter) {
+        running++;
+        try {
+            final CompletableFuture<PartitionResult> future =
+                    CompletableFuture.supplyAsync(() -> selectPartition(partition, columnGetCount, filter), executor);
+            futures.add(future);
+            future.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    results.add(new PartitionResult(null, 0, throwable));
+                } else {
+                    results.add(result);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // worker queue is full, select on the calling thread
+            logger.debug("partition select rejected, select on the calling thread. size:{}", partition.size());
+            results.add(selectPartition(partition, columnGetCount, filter));
+        }
+    }
+
+    private PartitionResult selectPartition(List<TransactionId> partition, ColumnGetCount columnGetCount, Filter<List<SpanBo>> filter) {
+        final List<List<SpanBo>> transactionList = traceDao.selectAllSpans(partition, columnGetCount);
+        final List<List<SpanBo>> filteredList = new ArrayList<>();
+        for (List<SpanBo> transaction : transactionList) {
+            if (filter.include(transaction)) {
+                filteredList.add(transaction);
+            }
+        }
+        return new PartitionResult(filteredList, transactionList.size(), null);
+    }
+
+    private PartitionResult take() {
+        try {
+            return results.take();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new CompletionException("transaction select interrupted", e);
+        }
+    }
+
+    private void cancel() {
+        for (CompletableFuture<PartitionResult> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    private CompletionException asCompletionException(Throwable error) {
+        if (error instanceof CompletionException completionException) {
+            return completionException;
+        }
+        return new CompletionException(error);
+    }
+
+    private record PartitionResult(List<List<SpanBo>> transactionList, int selected, Throwable error) {
+    }
+}
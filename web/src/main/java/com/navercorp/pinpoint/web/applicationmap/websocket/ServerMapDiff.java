@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the last serialized server map of a subscription and computes the delta of the next one.
+ * Nodes and links are identified by their {@code key} field, a node or link is part of the delta
+ * when it is new or any of its fields changed.
+ * <p>
+ * Not thread safe, a diff is owned by a single subscription of {@link ServerMapWebSocketHandler}.
+ */
+public class ServerMapDiff {
+
+    static final String APPLICATION_MAP_DATA = "applicationMapData";
+    static final String NODE_DATA_ARRAY = "nodeDataArray";
+    static final String LINK_DATA_ARRAY = "linkDataArray";
+    static final String KEY = "key";
+
+    public static final String FULL = "full";
+    public static final String REMOVED_NODE_KEYS = "removedNodeKeys";
+    public static final String REMOVED_LINK_KEYS = "removedLinkKeys";
+
+    private Map<String, JsonNode> nodes;
+    private Map<String, JsonNode> links;
+
+    /**
+     * @param mapWrap the server map serialized as {@link com.navercorp.pinpoint.web.applicationmap.MapWrap}
+     * @return changed nodes and links with the keys of the removed ones, the whole map for the first call
+     */
+    public Map<String, Object> update(JsonNode mapWrap) {
+        Objects.requireNonNull(mapWrap, "mapWrap");
+
+        final JsonNode applicationMap = mapWrap.path(APPLICATION_MAP_DATA);
+        final Map<String, JsonNode> newNodes = toKeyMap(applicationMap.path(NODE_DATA_ARRAY));
+        final Map<String, JsonNode> newLinks = toKeyMap(applicationMap.path(LINK_DATA_ARRAY));
+
+        final boolean full = this.nodes == null;
+        final Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put(FULL, full);
+        if (full) {
+            delta.put(NODE_DATA_ARRAY, new ArrayList<>(newNodes.values()));
+            delta.put(LINK_DATA_ARRAY, new ArrayList<>(newLinks.values()));
+            delta.put(REMOVED_NODE_KEYS, List.of());
+            delta.put(REMOVED_LINK_KEYS, List.of());
+        } else {
+            delta.put(NODE_DATA_ARRAY, changed(this.nodes, newNodes));
+            delta.put(LINK_DATA_ARRAY, changed(this.links, newLinks));
+            delta.put(REMOVED_NODE_KEYS, removed(this.nodes, newNodes));
+            delta.put(REMOVED_LINK_KEYS, removed(this.links, newLinks));
+        }
+
+        this.nodes = newNodes;
+        this.links = newLinks;
+        return delta;
+    }
+
+    public static boolean isEmpty(Map<String, Object> delta) {
+        return isEmptyList(delta.get(NODE_DATA_ARRAY))
+                && isEmptyList(delta.get(LINK_DATA_ARRAY))
+                && isEmptyList(delta.get(REMOVED_NODE_KEYS))
+                && isEmptyList(delta.get(REMOVED_LINK_KEYS));
+    }
+
+    private static boolean isEmptyList(Object value) {
+        return value instanceof List<?> list && list.isEmpty();
+    }
+
+    private Map<String, JsonNode> toKeyMap(JsonNode array) {
+        final Map<String, JsonNode> result = new LinkedHashMap<>(Math.max(16, array.size() * 2));
+        for (JsonNode element : array) {
+            final JsonNode key = element.get(KEY);
+            if (key == null) {
+                continue;
+            }
+            result.put(key.isTextual() ? key.asText() : key.toString(), element);
+        }
+        return result;
+    }
+
+    private List<JsonNode> changed(Map<String, JsonNode> prev, Map<String, JsonNode> current) {
+        final List<JsonNode> result = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            final JsonNode prevElement = prev.get(entry.getKey());
+            if (!entry.getValue().equals(prevElement)) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private List<String> removed(Map<String, JsonNode> prev, Map<String, JsonNode> current) {
+        final List<String> result = new ArrayList<>();
+        for (String key : prev.keySet()) {
+            if (!current.containsKey(key)) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+}
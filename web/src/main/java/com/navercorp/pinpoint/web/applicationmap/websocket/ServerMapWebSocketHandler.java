@@ -0,0 +1,453 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.task.TimerTaskDecorator;
+import com.navercorp.pinpoint.common.task.TimerTaskDecoratorFactory;
+import com.navercorp.pinpoint.rpc.util.MapUtils;
+import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
+import com.navercorp.pinpoint.web.applicationmap.MapWrap;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogramFormat;
+import com.navercorp.pinpoint.web.applicationmap.map.LinkSelectorType;
+import com.navercorp.pinpoint.web.applicationmap.map.MapViews;
+import com.navercorp.pinpoint.web.applicationmap.service.MapService;
+import com.navercorp.pinpoint.web.applicationmap.service.MapServiceOption;
+import com.navercorp.pinpoint.web.component.ApplicationFactory;
+import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.SearchOption;
+import com.navercorp.pinpoint.web.websocket.PinpointWebSocketHandler;
+import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessage;
+import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageConverter;
+import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageType;
+import com.navercorp.pinpoint.web.websocket.message.RequestMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Live server map of the last {@code period} minutes of an application.
+ * <p>
+ * A session subscribes with the {@code serverMap} command, the map is then selected every refresh interval
+ * over the sliding window and only the nodes and links that changed since the previous refresh are pushed,
+ * see {@link ServerMapDiff}.
+ * The selection reads the closed minutes from the minute slot caches of the map DAOs,
+ * so a refresh only reads the open minute from the storage.
+ * <p>
+ * Sessions of the same user subscribing to the same application, period and search option share one refresh task.
+ * A session joining a running subscription receives the last selected map in full, then the same deltas
+ * as the other sessions. The refresh runs with the security context of the session that started it,
+ * so the map filtered by the {@link ServerMapDataFilter} for that user is never shared with another user.
+ * At most {@code maxSubscriptions} sessions can subscribe at the same time.
+ */
+public class ServerMapWebSocketHandler extends TextWebSocketHandler implements PinpointWebSocketHandler {
+
+    public static final String DEFAULT_REQUEST_MAPPING = "/servermap";
+
+    static final String API_SERVER_MAP = "serverMap";
+
+    static final String APPLICATION_NAME_KEY = "applicationName";
+    static final String SERVICE_TYPE_CODE_KEY = "serviceTypeCode";
+    static final String PERIOD_KEY = "period";
+    static final String CALLER_RANGE_KEY = "callerRange";
+    static final String CALLEE_RANGE_KEY = "calleeRange";
+    static final String BIDIRECTIONAL_KEY = "bidirectional";
+    static final String WAS_ONLY_KEY = "wasOnly";
+
+    private static final int DEFAULT_PERIOD_MINUTES = 5;
+    private static final int DEFAULT_SEARCH_DEPTH = 4;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final MapService mapService;
+    private final ApplicationFactory applicationFactory;
+    private final PinpointWebSocketMessageConverter messageConverter;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter mapWriter;
+    private final ServerMapDataFilter serverMapDataFilter;
+    private final TimerTaskDecoratorFactory timerTaskDecoratorFactory;
+
+    private final Duration refreshInterval;
+    private final Duration maxPeriod;
+    private final int maxSubscriptions;
+    private final int poolSize;
+    private final Clock clock;
+
+    private final Object subscriptionLock = new Object();
+    // guarded by subscriptionLock
+    private final Map<SubscriptionKey, Subscription> subscriptions = new HashMap<>();
+    // guarded by subscriptionLock
+    private final Map<String, Subscription> sessionSubscriptions = new HashMap<>();
+    private ThreadPoolTaskScheduler scheduler;
+
+    public ServerMapWebSocketHandler(MapService mapService,
+                                     ApplicationFactory applicationFactory,
+                                     PinpointWebSocketMessageConverter messageConverter,
+                                     ObjectMapper objectMapper,
+                                     ServerMapDataFilter serverMapDataFilter,
+                                     TimerTaskDecoratorFactory timerTaskDecoratorFactory,
+                                     Duration refreshInterval,
+                                     Duration maxPeriod,
+                                     int maxSubscriptions,
+                                     int poolSize) {
+        this.mapService = Objects.requireNonNull(mapService, "mapService");
+        this.applicationFactory = Objects.requireNonNull(applicationFactory, "applicationFactory");
+        this.messageConverter = Objects.requireNonNull(messageConverter, "messageConverter");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        this.mapWriter = objectMapper.writerWithView(MapViews.Simplified.class);
+        this.serverMapDataFilter = serverMapDataFilter;
+        this.timerTaskDecoratorFactory = Objects.requireNonNull(timerTaskDecoratorFactory, "timerTaskDecoratorFactory");
+        this.refreshInterval = Objects.requireNonNull(refreshInterval, "refreshInterval");
+        this.maxPeriod = Objects.requireNonNull(maxPeriod, "maxPeriod");
+        if (maxSubscriptions <= 0) {
+            throw new IllegalArgumentException("maxSubscriptions must be positive");
+        }
+        this.maxSubscriptions = maxSubscriptions;
+        this.poolSize = poolSize;
+        this.clock = Clock.systemUTC();
+    }
+
+    @Override
+    public void start() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("ServerMapWebSocket-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void stop() {
+        synchronized (subscriptionLock) {
+            subscriptions.values().forEach(Subscription::cancel);
+            subscriptions.clear();
+            sessionSubscriptions.clear();
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Override
+    public String getRequestMapping() {
+        return DEFAULT_REQUEST_MAPPING;
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    protected void handleTextMessage(@NonNull WebSocketSession webSocketSession, TextMessage message) throws Exception {
+        logger.info("handleTextMessage. session:{}, remote:{}, message:{}.", webSocketSession, webSocketSession.getRemoteAddress(), message.getPayload());
+
+        PinpointWebSocketMessage webSocketMessage = messageConverter.getWebSocketMessage(message.getPayload());
+        PinpointWebSocketMessageType webSocketMessageType = webSocketMessage.getType();
+        if (webSocketMessageType == PinpointWebSocketMessageType.REQUEST) {
+            handleRequestMessage0(webSocketSession, (RequestMessage) webSocketMessage);
+        } else {
+            logger.debug("Unexpected WebSocketMessageType received. messageType:{}.", webSocketMessageType);
+        }
+
+        super.handleTextMessage(webSocketSession, message);
+    }
+
+    private void handleRequestMessage0(WebSocketSession webSocketSession, RequestMessage requestMessage) {
+        if (serverMapDataFilter != null && serverMapDataFilter.filter(webSocketSession, requestMessage)) {
+            closeSession(webSocketSession, serverMapDataFilter.getCloseStatus(requestMessage));
+            return;
+        }
+
+        final String command = requestMessage.getCommand();
+        if (API_SERVER_MAP.equals(command)) {
+            handleServerMap(webSocketSession, requestMessage);
+        } else {
+            logger.debug("unknown command:{}", command);
+        }
+    }
+
+    private void handleServerMap(WebSocketSession webSocketSession, RequestMessage requestMessage) {
+        final Map<String, Object> parameters = requestMessage.getParameters();
+        final String applicationName = MapUtils.getString(parameters, APPLICATION_NAME_KEY);
+        final Integer serviceTypeCode = MapUtils.getInteger(parameters, SERVICE_TYPE_CODE_KEY);
+        if (applicationName == null || serviceTypeCode == null) {
+            logger.debug("applicationName and serviceTypeCode required. parameters:{}", parameters);
+            return;
+        }
+
+        final Application application = applicationFactory.createApplication(applicationName, serviceTypeCode.shortValue());
+        final Duration period = getPeriod(MapUtils.getInteger(parameters, PERIOD_KEY, DEFAULT_PERIOD_MINUTES));
+        final SearchOption searchOption = SearchOption.newBuilder(DEFAULT_SEARCH_DEPTH).build(
+                MapUtils.getInteger(parameters, CALLER_RANGE_KEY, DEFAULT_SEARCH_DEPTH),
+                MapUtils.getInteger(parameters, CALLEE_RANGE_KEY, DEFAULT_SEARCH_DEPTH),
+                MapUtils.getBoolean(parameters, BIDIRECTIONAL_KEY, true),
+                MapUtils.getBoolean(parameters, WAS_ONLY_KEY, false));
+
+        final SubscriptionKey key = SubscriptionKey.of(getPrincipalName(webSocketSession), application, period, searchOption);
+        if (!subscribe(webSocketSession, key, searchOption)) {
+            logger.info("serverMap subscriptions exceeded. session:{}, maxSubscriptions:{}", webSocketSession.getId(), maxSubscriptions);
+            closeSession(webSocketSession, CloseStatus.SERVICE_OVERLOAD);
+        }
+    }
+
+    private boolean subscribe(WebSocketSession webSocketSession, SubscriptionKey key, SearchOption searchOption) {
+        final Subscription subscription;
+        synchronized (subscriptionLock) {
+            final Subscription prev = sessionSubscriptions.get(webSocketSession.getId());
+            if (prev != null && prev.key.equals(key)) {
+                return true;
+            }
+            if (prev == null && sessionSubscriptions.size() >= maxSubscriptions) {
+                return false;
+            }
+            if (prev != null) {
+                unsubscribe0(webSocketSession, prev);
+            }
+            subscription = subscriptions.computeIfAbsent(key, k -> newSubscription(k, searchOption));
+            subscription.members++;
+            sessionSubscriptions.put(webSocketSession.getId(), subscription);
+        }
+        subscription.join(webSocketSession);
+        if (!webSocketSession.isOpen()) {
+            unsubscribe(webSocketSession);
+        }
+        return true;
+    }
+
+    private Subscription newSubscription(SubscriptionKey key, SearchOption searchOption) {
+        final Subscription subscription = new Subscription(key, searchOption);
+        // captures the security context of the first session for the shared refresh task
+        final TimerTaskDecorator decorator = timerTaskDecoratorFactory.createTimerTaskDecorator();
+        final TimerTask refreshTask = decorator.decorate(new RefreshTask(subscription));
+        subscription.future = scheduler.scheduleWithFixedDelay(refreshTask, refreshInterval);
+        return subscription;
+    }
+
+    private void unsubscribe(WebSocketSession webSocketSession) {
+        synchronized (subscriptionLock) {
+            final Subscription subscription = sessionSubscriptions.get(webSocketSession.getId());
+            if (subscription != null) {
+                unsubscribe0(webSocketSession, subscription);
+            }
+        }
+    }
+
+    // guarded by subscriptionLock
+    private void unsubscribe0(WebSocketSession webSocketSession, Subscription subscription) {
+        sessionSubscriptions.remove(webSocketSession.getId());
+        subscription.sessions.remove(webSocketSession);
+        if (--subscription.members == 0) {
+            subscriptions.remove(subscription.key);
+            subscription.cancel();
+        }
+    }
+
+    private String getPrincipalName(WebSocketSession webSocketSession) {
+        final Principal principal = webSocketSession.getPrincipal();
+        if (principal == null) {
+            return null;
+        }
+        return principal.getName();
+    }
+
+    int getSubscriptionCount() {
+        synchronized (subscriptionLock) {
+            return subscriptions.size();
+        }
+    }
+
+    int getSessionCount() {
+        synchronized (subscriptionLock) {
+            return sessionSubscriptions.size();
+        }
+    }
+
+    private Duration getPeriod(int periodMinutes) {
+        final Duration period = Duration.ofMinutes(Math.max(1, periodMinutes));
+        if (period.compareTo(maxPeriod) > 0) {
+            return maxPeriod;
+        }
+        return period;
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession webSocketSession, @NonNull CloseStatus status) throws Exception {
+        logger.info("ConnectionClosed. session:{}, remote:{}, status:{}", webSocketSession, webSocketSession.getRemoteAddress(), status);
+        unsubscribe(webSocketSession);
+        super.afterConnectionClosed(webSocketSession, status);
+    }
+
+    private void closeSession(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (Exception e) {
+            logger.warn(e.getMessage(), e);
+        }
+    }
+
+    private void send(WebSocketSession webSocketSession, String message) {
+        try {
+            synchronized (webSocketSession) {
+                webSocketSession.sendMessage(new TextMessage(message));
+            }
+        } catch (Exception e) {
+            logger.warn("serverMap send failed. session:{}", webSocketSession.getId(), e);
+        }
+    }
+
+    private String toMessage(Map<String, Object> delta, Range range) throws IOException {
+        delta.put("from", range.getFrom());
+        delta.put("to", range.getTo());
+        return messageConverter.getSendTextMessage(API_SERVER_MAP, delta);
+    }
+
+    private JsonNode toTree(MapWrap mapWrap) throws IOException {
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            mapWriter.writeValue(buffer, mapWrap);
+            return objectMapper.readTree(buffer.asParser());
+        }
+    }
+
+    /**
+     * @param principal name of the authenticated user, the selected map is filtered for this user
+     */
+    private record SubscriptionKey(String principal, Application application, Duration period,
+                                   int outSearchDepth, int inSearchDepth,
+                                   LinkSelectorType linkSelectorType, boolean wasOnly) {
+
+        static SubscriptionKey of(String principal, Application application, Duration period, SearchOption searchOption) {
+            return new SubscriptionKey(principal, application, period,
+                    searchOption.getOutSearchDepth(), searchOption.getInSearchDepth(),
+                    searchOption.getLinkSelectorType(), searchOption.isWasOnly());
+        }
+    }
+
+    private class Subscription {
+
+        private final SubscriptionKey key;
+        private final SearchOption searchOption;
+        private final Set<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
+        private volatile ScheduledFuture<?> future;
+        // guarded by subscriptionLock, sessions subscribed including the ones not joined yet
+        private int members;
+
+        // guarded by this
+        private final ServerMapDiff diff = new ServerMapDiff();
+        // guarded by this
+        private JsonNode lastMap;
+        // guarded by this
+        private Range lastRange;
+
+        private Subscription(SubscriptionKey key, SearchOption searchOption) {
+            this.key = key;
+            this.searchOption = searchOption;
+        }
+
+        /**
+         * Sends the last selected map in full before the session receives the deltas following it.
+         */
+        private synchronized void join(WebSocketSession webSocketSession) {
+            if (lastMap != null) {
+                final Map<String, Object> full = new ServerMapDiff().update(lastMap);
+                try {
+                    send(webSocketSession, toMessage(full, lastRange));
+                } catch (IOException e) {
+                    logger.warn("serverMap serialize failed. session:{}", webSocketSession.getId(), e);
+                }
+            }
+            sessions.add(webSocketSession);
+        }
+
+        private synchronized void publish(JsonNode map, Range range) throws IOException {
+            final Map<String, Object> delta = diff.update(map);
+            this.lastMap = map;
+            this.lastRange = range;
+            if (!Boolean.TRUE.equals(delta.get(ServerMapDiff.FULL)) && ServerMapDiff.isEmpty(delta)) {
+                return;
+            }
+            final String message = toMessage(delta, range);
+            for (WebSocketSession webSocketSession : sessions) {
+                if (!webSocketSession.isOpen()) {
+                    sessions.remove(webSocketSession);
+                    unsubscribe(webSocketSession);
+                    continue;
+                }
+                send(webSocketSession, message);
+            }
+        }
+
+        private void cancel() {
+            final ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private class RefreshTask extends TimerTask {
+
+        private final Subscription subscription;
+
+        private RefreshTask(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void run() {
+            if (subscription.sessions.isEmpty()) {
+                return;
+            }
+            final Application application = subscription.key.application();
+            try {
+                final long now = clock.millis();
+                final Range range = Range.between(now - subscription.key.period().toMillis(), now);
+                final MapServiceOption option = new MapServiceOption.Builder(application, range, subscription.searchOption)
+                        .setSimpleResponseHistogram(true)
+                        .build();
+                final ApplicationMap map = mapService.selectApplicationMap(option);
+
+                subscription.publish(toTree(new MapWrap(map, TimeHistogramFormat.V1)), range);
+            } catch (Exception e) {
+                logger.warn("serverMap refresh failed. application:{}, sessions:{}", application, subscription.sessions.size(), e);
+            }
+        }
+    }
+}
@@ -56,4 +56,14 @@ public class CacheConfiguration implements CachingConfigurer {
         return caffeineCacheManager;
     }
 
+    @Bean
+    public SpanCacheProperties spanCacheProperties() {
+        return new SpanCacheProperties();
+    }
+
+    @Bean
+    public SpanCache spanCache(SpanCacheProperties spanCacheProperties) {
+        return new SpanCache(spanCacheProperties);
+    }
+
 }
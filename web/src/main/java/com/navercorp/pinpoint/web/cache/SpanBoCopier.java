@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.cache;
+
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the mutable part of the decoded spans.
+ * The call tree replaces the annotations and the exception class of the spans it renders,
+ * so a cached span is never handed out as is. {@link AnnotationBo} is immutable and shared.
+ */
+final class SpanBoCopier {
+
+    private SpanBoCopier() {
+    }
+
+    static List<SpanBo> copy(List<SpanBo> spanBoList) {
+        final List<SpanBo> copy = new ArrayList<>(spanBoList.size());
+        for (SpanBo spanBo : spanBoList) {
+            copy.add(copy(spanBo));
+        }
+        return copy;
+    }
+
+    static SpanBo copy(SpanBo spanBo) {
+        final SpanBo copy = new SpanBo();
+        copy.setVersion(spanBo.getVersion());
+        copy.setAgentId(spanBo.getAgentId());
+        copy.setAgentName(spanBo.getAgentName());
+        copy.setApplicationId(spanBo.getApplicationId());
+        copy.setAgentStartTime(spanBo.getAgentStartTime());
+        copy.setTransactionId(spanBo.getTransactionId());
+        copy.setSpanId(spanBo.getSpanId());
+        copy.setParentSpanId(spanBo.getParentSpanId());
+        copy.setParentApplicationId(spanBo.getParentApplicationId());
+        copy.setParentApplicationServiceType(spanBo.getParentApplicationServiceType());
+        copy.setStartTime(spanBo.getStartTime());
+        copy.setElapsed(spanBo.getElapsed());
+        copy.setRpc(spanBo.getRpc());
+        copy.setServiceType(spanBo.getServiceType());
+        copy.setEndPoint(spanBo.getEndPoint());
+        copy.setApiId(spanBo.getApiId());
+        copy.setAnnotationBoList(copyAnnotation(spanBo.getAnnotationBoList()));
+        copy.setFlag(spanBo.getFlag());
+        copy.setErrCode(spanBo.getErrCode());
+        copy.addSpanEventBoList(copySpanEvent(spanBo.getSpanEventBoList()));
+        for (SpanChunkBo spanChunkBo : spanBo.getSpanChunkBoList()) {
+            copy.addSpanChunkBo(copy(spanChunkBo));
+        }
+        copy.setCollectorAcceptTime(spanBo.getCollectorAcceptTime());
+        if (spanBo.hasException()) {
+            copy.setExceptionInfo(spanBo.getExceptionId(), spanBo.getExceptionMessage());
+        }
+        copy.setExceptionClass(spanBo.getExceptionClass());
+        if (spanBo.hasApplicationServiceType()) {
+            copy.setApplicationServiceType(spanBo.getApplicationServiceType());
+        }
+        copy.setAcceptorHost(spanBo.getAcceptorHost());
+        copy.setRemoteAddr(spanBo.getRemoteAddr());
+        copy.setLoggingTransactionInfo(spanBo.getLoggingTransactionInfo());
+        return copy;
+    }
+
+    static SpanChunkBo copy(SpanChunkBo spanChunkBo) {
+        final SpanChunkBo copy = new SpanChunkBo();
+        copy.setVersion(spanChunkBo.getVersion());
+        copy.setAgentId(spanChunkBo.getAgentId());
+        copy.setAgentName(spanChunkBo.getAgentName());
+        copy.setApplicationId(spanChunkBo.getApplicationId());
+        copy.setAgentStartTime(spanChunkBo.getAgentStartTime());
+        copy.setTransactionId(spanChunkBo.getTransactionId());
+        copy.setSpanId(spanChunkBo.getSpanId());
+        copy.setEndPoint(spanChunkBo.getEndPoint());
+        copy.setServiceType(spanChunkBo.getServiceType());
+        if (spanChunkBo.hasApplicationServiceType()) {
+            copy.setApplicationServiceType(spanChunkBo.getApplicationServiceType());
+        }
+        copy.addSpanEventBoList(copySpanEvent(spanChunkBo.getSpanEventBoList()));
+        copy.setCollectorAcceptTime(spanChunkBo.getCollectorAcceptTime());
+        copy.setLocalAsyncId(spanChunkBo.getLocalAsyncId());
+        copy.setKeyTime(spanChunkBo.getKeyTime());
+        return copy;
+    }
+
+    static SpanEventBo copy(SpanEventBo spanEventBo) {
+        final SpanEventBo copy = new SpanEventBo();
+        copy.setVersion(spanEventBo.getVersion());
+        copy.setSequence(spanEventBo.getSequence());
+        copy.setStartElapsed(spanEventBo.getStartElapsed());
+        copy.setEndElapsed(spanEventBo.getEndElapsed());
+        copy.setServiceType(spanEventBo.getServiceType());
+        copy.setDestinationId(spanEventBo.getDestinationId());
+        copy.setEndPoint(spanEventBo.getEndPoint());
+        copy.setApiId(spanEventBo.getApiId());
+        copy.setAnnotationBoList(copyAnnotation(spanEventBo.getAnnotationBoList()));
+        copy.setDepth(spanEventBo.getDepth());
+        copy.setNextSpanId(spanEventBo.getNextSpanId());
+        if (spanEventBo.hasException()) {
+            copy.setExceptionInfo(spanEventBo.getExceptionId(), spanEventBo.getExceptionMessage());
+        }
+        copy.setExceptionClass(spanEventBo.getExceptionClass());
+        copy.setNextAsyncId(spanEventBo.getNextAsyncId());
+        return copy;
+    }
+
+    private static List<SpanEventBo> copySpanEvent(List<SpanEventBo> spanEventBoList) {
+        final List<SpanEventBo> copy = new ArrayList<>(spanEventBoList.size());
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            copy.add(copy(spanEventBo));
+        }
+        return copy;
+    }
+
+    private static List<AnnotationBo> copyAnnotation(List<AnnotationBo> annotationBoList) {
+        if (annotationBoList == null) {
+            return null;
+        }
+        return new ArrayList<>(annotationBoList);
+    }
+}
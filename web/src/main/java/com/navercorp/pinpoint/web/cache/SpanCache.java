@@ -0,0 +1,180 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.web.service.FetchResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the decoded spans of a transaction, so opening the call tree, the transaction info and the mixed view
+ * of the same transaction reads the trace table once.
+ * <p>
+ * A transaction is cached only once its last span is older than minAge, the spans of a running transaction
+ * may still be written. The cache is bounded by the estimated heap size of the spans.
+ * Cached spans are never handed out, they are copied into the result.
+ * The statistics of the cache are logged at most once per statsLogInterval, by the select following it.
+ */
+public class SpanCache {
+
+    // rough heap size of the decoded objects, used as the weight of the cache
+    private static final int SPAN_SIZE = 320;
+    private static final int SPAN_EVENT_SIZE = 160;
+    private static final int SPAN_CHUNK_SIZE = 160;
+    private static final int ANNOTATION_SIZE = 96;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final boolean enable;
+    private final long minAge;
+    private final Clock clock;
+    private final long statsLogInterval;
+    private final AtomicLong lastStatsLogTime;
+    private final Cache<SpanKey, FetchResult<List<SpanBo>>> cache;
+
+    public SpanCache(SpanCacheProperties properties) {
+        this(properties.isEnable(), Duration.ofMillis(properties.getExpireAfterWrite()), properties.getMaximumWeight(),
+                Duration.ofMillis(properties.getMinAge()), Duration.ofMillis(properties.getStatsLogInterval()),
+                Clock.systemUTC());
+    }
+
+    SpanCache(boolean enable, Duration expireAfterWrite, long maximumWeight, Duration minAge, Duration statsLogInterval, Clock clock) {
+        this.enable = enable;
+        Objects.requireNonNull(expireAfterWrite, "expireAfterWrite");
+        this.minAge = Objects.requireNonNull(minAge, "minAge").toMillis();
+        this.statsLogInterval = Objects.requireNonNull(statsLogInterval, "statsLogInterval").toMillis();
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.lastStatsLogTime = new AtomicLong(clock.millis());
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumWeight(maximumWeight)
+                .weigher((SpanKey key, FetchResult<List<SpanBo>> value) -> weigh(value.data()))
+                .recordStats()
+                .build();
+    }
+
+    public FetchResult<List<SpanBo>> select(TransactionId transactionId, ColumnGetCount columnGetCount, Loader loader) {
+        Objects.requireNonNull(transactionId, "transactionId");
+        Objects.requireNonNull(columnGetCount, "columnGetCount");
+        Objects.requireNonNull(loader, "loader");
+
+        if (!enable) {
+            return loader.load(transactionId, columnGetCount);
+        }
+
+        logStats();
+
+        final SpanKey key = new SpanKey(transactionId, columnGetCount);
+        final FetchResult<List<SpanBo>> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            logger.debug("span cache hit {}", transactionId);
+            return new FetchResult<>(cached.fetchCount(), SpanBoCopier.copy(cached.data()));
+        }
+
+        final FetchResult<List<SpanBo>> fetchResult = loader.load(transactionId, columnGetCount);
+        if (isCompleted(fetchResult.data())) {
+            cache.put(key, new FetchResult<>(fetchResult.fetchCount(), SpanBoCopier.copy(fetchResult.data())));
+        }
+        return fetchResult;
+    }
+
+    private boolean isCompleted(List<SpanBo> spanBoList) {
+        if (spanBoList == null || spanBoList.isEmpty()) {
+            return false;
+        }
+        long lastAcceptTime = 0;
+        for (SpanBo spanBo : spanBoList) {
+            lastAcceptTime = Math.max(lastAcceptTime, spanBo.getCollectorAcceptTime());
+            for (SpanChunkBo spanChunkBo : spanBo.getSpanChunkBoList()) {
+                lastAcceptTime = Math.max(lastAcceptTime, spanChunkBo.getCollectorAcceptTime());
+            }
+        }
+        return clock.millis() - lastAcceptTime >= minAge;
+    }
+
+    static int weigh(List<SpanBo> spanBoList) {
+        long weight = 0;
+        for (SpanBo spanBo : spanBoList) {
+            weight += SPAN_SIZE + weighAnnotation(spanBo.getAnnotationBoList());
+            weight += weighSpanEvent(spanBo.getSpanEventBoList());
+            for (SpanChunkBo spanChunkBo : spanBo.getSpanChunkBoList()) {
+                weight += SPAN_CHUNK_SIZE + weighSpanEvent(spanChunkBo.getSpanEventBoList());
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long weighSpanEvent(List<SpanEventBo> spanEventBoList) {
+        long weight = 0;
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            weight += SPAN_EVENT_SIZE + weighAnnotation(spanEventBo.getAnnotationBoList());
+        }
+        return weight;
+    }
+
+    private static long weighAnnotation(List<AnnotationBo> annotationBoList) {
+        if (annotationBoList == null) {
+            return 0;
+        }
+        return (long) ANNOTATION_SIZE * annotationBoList.size();
+    }
+
+    boolean logStats() {
+        if (statsLogInterval <= 0) {
+            return false;
+        }
+        final long now = clock.millis();
+        final long last = lastStatsLogTime.get();
+        if (now - last < statsLogInterval || !lastStatsLogTime.compareAndSet(last, now)) {
+            return false;
+        }
+        logger.info("span cache size:{}, {}", cache.estimatedSize(), cache.stats());
+        return true;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        FetchResult<List<SpanBo>> load(TransactionId transactionId, ColumnGetCount columnGetCount);
+    }
+
+    private record SpanKey(TransactionId transactionId, ColumnGetCount columnGetCount) {
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+
+public class SpanCacheProperties {
+
+    @Value("${web.callstack.span.cache.enable:false}")
+    private boolean enable;
+
+    @Value("${web.callstack.span.cache.expireAfterWrite:300000}")
+    private long expireAfterWrite;
+
+    @Value("${web.callstack.span.cache.maximumWeight:67108864}")
+    private long maximumWeight;
+
+    @Value("${web.callstack.span.cache.minAge:60000}")
+    private long minAge;
+
+    @Value("${web.callstack.span.cache.statsLogInterval:600000}")
+    private long statsLogInterval;
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long getMinAge() {
+        return minAge;
+    }
+
+    public long getStatsLogInterval() {
+        return statsLogInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanCacheProperties{" +
+                "enable=" + enable +
+                ", expireAfterWrite=" + expireAfterWrite +
+                ", maximumWeight=" + maximumWeight +
+                ", minAge=" + minAge +
+                ", statsLogInterval=" + statsLogInterval +
+                '}';
+    }
+}
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.calltree.span;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author jaehong.kim
@@ -44,6 +45,39 @@ public class CallTreeIterator implements Iterator<CallTreeNode> {
         index = -1;
     }
 
+    private CallTreeIterator(List<CallTreeNode> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Gap, depth and execution time of the nodes are kept as computed on the whole tree.
+     *
+     * @return iterator over the nodes inside the window
+     */
+    public CallTreeIterator window(CallTreeWindow window) {
+        Objects.requireNonNull(window, "window");
+        if (window.isAll()) {
+            return this;
+        }
+
+        final List<CallTreeNode> windowNodes = new ArrayList<>();
+        int skip = window.offset();
+        for (CallTreeNode node : nodes) {
+            if (window.isLimitReached(windowNodes.size())) {
+                break;
+            }
+            if (!window.isDepthIncluded(node.getAlign().getDepth())) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            windowNodes.add(node);
+        }
+        return new CallTreeIterator(windowNodes);
+    }
+
     private int traversal(final CallTreeNode node, final boolean populate) {
         if (node == null) {
             return 0;
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.calltree.span;
+
+/**
+ * Page of a call tree in depth-first order.
+ * Nodes deeper than maxDepth are skipped before the offset and limit are applied.
+ *
+ * @param offset   number of nodes to skip
+ * @param limit    maximum number of nodes, -1 for unlimited
+ * @param maxDepth maximum node depth, -1 for unlimited
+ */
+public record CallTreeWindow(int offset, int limit, int maxDepth) {
+
+    public static final int UNLIMITED = -1;
+
+    public static final CallTreeWindow ALL = new CallTreeWindow(0, UNLIMITED, UNLIMITED);
+
+    public CallTreeWindow {
+        if (offset < 0) {
+            throw new IllegalArgumentException("negative offset:" + offset);
+        }
+        if (limit < UNLIMITED) {
+            throw new IllegalArgumentException("invalid limit:" + limit);
+        }
+        if (maxDepth < UNLIMITED) {
+            throw new IllegalArgumentException("invalid maxDepth:" + maxDepth);
+        }
+    }
+
+    public static CallTreeWindow of(int offset, int limit, int maxDepth) {
+        if (offset == 0 && limit == UNLIMITED && maxDepth == UNLIMITED) {
+            return ALL;
+        }
+        return new CallTreeWindow(offset, limit, maxDepth);
+    }
+
+    public boolean isAll() {
+        return offset == 0 && limit == UNLIMITED && maxDepth == UNLIMITED;
+    }
+
+    boolean isDepthIncluded(int depth) {
+        return maxDepth == UNLIMITED || depth <= maxDepth;
+    }
+
+    boolean isLimitReached(int size) {
+        return limit != UNLIMITED && size >= limit;
+    }
+}
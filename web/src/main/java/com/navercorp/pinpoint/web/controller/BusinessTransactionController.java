@@ -25,6 +25,7 @@ import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogramFormat;
 import com.navercorp.pinpoint.web.applicationmap.service.FilteredMapService;
 import com.navercorp.pinpoint.web.applicationmap.service.FilteredMapServiceOption;
 import com.navercorp.pinpoint.web.calltree.span.CallTreeIterator;
+import com.navercorp.pinpoint.web.calltree.span.CallTreeWindow;
 import com.navercorp.pinpoint.web.calltree.span.SpanFilters;
 import com.navercorp.pinpoint.web.service.SpanResult;
 import com.navercorp.pinpoint.web.service.SpanService;
@@ -41,10 +42,12 @@ import jakarta.validation.constraints.PositiveOrZero;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URLEncoder;
@@ -64,6 +67,7 @@ public class BusinessTransactionController {
 
     public static final String DEFAULT_FOCUS_TIMESTAMP = "0";
     public static final String DEFAULT_SPAN_ID = "-1"; // SpanId.NULL
+    public static final String DEFAULT_CALL_TREE_LIMIT = "-1"; // CallTreeWindow.UNLIMITED
     private static final String SERVER_PREFIX = "api";
 
     private final SpanService spanService;
@@ -101,6 +105,12 @@ public class BusinessTransactionController {
             @RequestParam(value = "agentId", required = false) @NotBlank String agentId,
             @RequestParam(value = "spanId", required = false, defaultValue = DEFAULT_SPAN_ID) long spanId,
             @RequestParam(value = "v", required = false, defaultValue = "0") int viewVersion,
+            @RequestParam(value = "callTreeOffset", required = false, defaultValue = "0")
+            int callTreeOffset,
+            @RequestParam(value = "callTreeLimit", required = false, defaultValue = DEFAULT_CALL_TREE_LIMIT)
+            int callTreeLimit,
+            @RequestParam(value = "callTreeMaxDepth", required = false, defaultValue = DEFAULT_CALL_TREE_LIMIT)
+            int callTreeMaxDepth,
             @RequestParam(value = "useStatisticsAgentState", required = false, defaultValue = "false")
             boolean useStatisticsAgentState,
             @RequestParam(value = "useLoadHistogramFormat", required = false, defaultValue = "false")
@@ -111,9 +121,11 @@ public class BusinessTransactionController {
         final TransactionId transactionId = TransactionIdUtils.parseTransactionId(traceId);
         final ColumnGetCount columnGetCount = ColumnGetCount.of(callstackSelectSpansLimit);
 
+        final CallTreeWindow window = newCallTreeWindow(callTreeOffset, callTreeLimit, callTreeMaxDepth);
+
         final Predicate<SpanBo> spanMatchFilter = SpanFilters.spanFilter(spanId, agentId, focusTimestamp);
         // select spans
-        final SpanResult spanResult = this.spanService.selectSpan(transactionId, spanMatchFilter, columnGetCount);
+        final SpanResult spanResult = this.spanService.selectSpan(transactionId, spanMatchFilter, columnGetCount, window);
         final CallTreeIterator callTreeIterator = spanResult.callTree();
 
         // application map
@@ -171,16 +183,24 @@ public class BusinessTransactionController {
             @PositiveOrZero
             long focusTimestamp,
             @RequestParam(value = "agentId", required = false) @NullOrNotBlank String agentId,
-            @RequestParam(value = "spanId", required = false, defaultValue = DEFAULT_SPAN_ID) long spanId
+            @RequestParam(value = "spanId", required = false, defaultValue = DEFAULT_SPAN_ID) long spanId,
+            @RequestParam(value = "callTreeOffset", required = false, defaultValue = "0")
+            int callTreeOffset,
+            @RequestParam(value = "callTreeLimit", required = false, defaultValue = DEFAULT_CALL_TREE_LIMIT)
+            int callTreeLimit,
+            @RequestParam(value = "callTreeMaxDepth", required = false, defaultValue = DEFAULT_CALL_TREE_LIMIT)
+            int callTreeMaxDepth
     ) {
         logger.debug("GET /transactionTimelineInfo params {traceId={}, focusTimestamp={}, agentId={}, spanId={}}",
                 traceId, focusTimestamp, agentId, spanId);
         final TransactionId transactionId = TransactionIdUtils.parseTransactionId(traceId);
         final ColumnGetCount columnGetCount = ColumnGetCount.of(callstackSelectSpansLimit);
 
+        final CallTreeWindow window = newCallTreeWindow(callTreeOffset, callTreeLimit, callTreeMaxDepth);
+
         // select spans
         final Predicate<SpanBo> spanMatchFilter = SpanFilters.spanFilter(spanId, agentId, focusTimestamp);
-        final SpanResult spanResult = this.spanService.selectSpan(transactionId, spanMatchFilter, columnGetCount);
+        final SpanResult spanResult = this.spanService.selectSpan(transactionId, spanMatchFilter, columnGetCount, window);
         final CallTreeIterator callTreeIterator = spanResult.callTree();
 
         final String traceViewerDataURL = ServletUriComponentsBuilder.fromPath(SERVER_PREFIX + "/traceViewerData")
@@ -219,5 +239,11 @@ public class BusinessTransactionController {
         return new TraceViewerDataViewModel(recordSet);
     }
 
-
-}
\ No newline at end of file
+    private CallTreeWindow newCallTreeWindow(int callTreeOffset, int callTreeLimit, int callTreeMaxDepth) {
+        try {
+            return CallTreeWindow.of(callTreeOffset, callTreeLimit, callTreeMaxDepth);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -35,6 +35,12 @@ public interface TraceDao {
     FetchResult<List<SpanBo>> selectSpan(TransactionId transactionId, ColumnGetCount columnGetCount);
 
     List<List<SpanBo>> selectSpans(List<GetTraceInfo> getTraceInfoList);
+
+    /**
+     * Same as {@link #selectSpans(List)} without decoding the annotations and the span events,
+     * for the callers reading the span-level fields only.
+     */
+    List<List<SpanBo>> selectSpanSummaries(List<GetTraceInfo> getTraceInfoList);
     
     List<List<SpanBo>> selectAllSpans(List<TransactionId> transactionIdList);
 
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.hbase.util.CellUtils;
+import com.navercorp.pinpoint.common.server.util.HeatMapTileUtils;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.dao.ApplicationHeatMapDao;
+import com.navercorp.pinpoint.web.scatter.heatmap.HeatMapTile;
+import com.navercorp.pinpoint.web.util.ListListUtils;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads the heatmap tiles aggregated by the collector.
+ */
+@Repository
+public class HbaseApplicationHeatMapDao implements ApplicationHeatMapDao {
+
+    private static final int APPLICATION_HEATMAP_NUM_PARTITIONS = 8;
+
+    private static final HbaseColumnFamily.ApplicationHeatMap DESCRIPTOR = HbaseColumnFamily.APPLICATION_HEATMAP_COUNTER;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final HbaseOperations hbaseOperations;
+    private final TableNameProvider tableNameProvider;
+    private final TimeSlot timeSlot;
+    private final RowKeyDistributorByHashPrefix rowKeyDistributor;
+
+    private final RowMapper<List<HeatMapTile>> tileMapper;
+
+    private int scanCacheSize = 256;
+
+    public HbaseApplicationHeatMapDao(HbaseOperations hbaseOperations,
+                                      TableNameProvider tableNameProvider,
+                                      TimeSlot timeSlot,
+                                      @Qualifier("statisticsSelfRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributor) {
+        this.hbaseOperations = Objects.requireNonNull(hbaseOperations, "hbaseOperations");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
+        this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        this.rowKeyDistributor = Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
+        this.tileMapper = new HeatMapTileMapper(rowKeyDistributor);
+    }
+
+    public void setScanCacheSize(int scanCacheSize) {
+        this.scanCacheSize = scanCacheSize;
+    }
+
+    @Override
+    public List<HeatMapTile> selectHeatMapTiles(String applicationName, Range range) {
+        Objects.requireNonNull(applicationName, "applicationName");
+        Objects.requireNonNull(range, "range");
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("selectHeatMapTiles applicationName:{}, {}", applicationName, range);
+        }
+
+        final Scan scan = createScan(applicationName, range);
+        final TableName heatMapTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        final List<List<HeatMapTile>> tiles = hbaseOperations.findParallel(heatMapTableName, scan, rowKeyDistributor, tileMapper, APPLICATION_HEATMAP_NUM_PARTITIONS);
+        return ListListUtils.toList(tiles);
+    }
+
+    private Scan createScan(String applicationName, Range range) {
+        // start key is replaced by end key because timestamp has been reversed
+        final long fromSlot = timeSlot.getTimeSlot(range.getFrom());
+        final long toSlot = timeSlot.getTimeSlot(range.getTo());
+        final byte[] startKey = HeatMapTileUtils.makeRowKey(applicationName, toSlot);
+        // stop row is exclusive
+        final byte[] endKey = HeatMapTileUtils.makeRowKey(applicationName, fromSlot - 1);
+
+        final Scan scan = new Scan();
+        scan.setCaching(this.scanCacheSize);
+        scan.withStartRow(startKey);
+        scan.withStopRow(endKey);
+        scan.addFamily(DESCRIPTOR.getName());
+        scan.setId("ApplicationHeatMapScan");
+        return scan;
+    }
+
+    static class HeatMapTileMapper implements RowMapper<List<HeatMapTile>> {
+
+        private final RowKeyDistributorByHashPrefix rowKeyDistributor;
+
+        HeatMapTileMapper(RowKeyDistributorByHashPrefix rowKeyDistributor) {
+            this.rowKeyDistributor = Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
+        }
+
+        @Override
+        public List<HeatMapTile> mapRow(Result result, int rowNum) throws Exception {
+            if (result.isEmpty()) {
+                return Collections.emptyList();
+            }
+            final byte[] rowKey = rowKeyDistributor.getOriginalKey(result.getRow());
+            final long timeSlot = HeatMapTileUtils.getTimeSlotFromRowKey(rowKey);
+
+            final Cell[] rawCells = result.rawCells();
+            final List<HeatMapTile> tiles = new ArrayList<>(rawCells.length);
+            for (Cell cell : rawCells) {
+                if (!CellUtil.matchingFamily(cell, DESCRIPTOR.getName())) {
+                    continue;
+                }
+                final byte[] qArray = cell.getQualifierArray();
+                final int qOffset = cell.getQualifierOffset();
+                final int elapsedBucket = HeatMapTileUtils.getElapsedBucketFromColumnName(qArray, qOffset);
+                final boolean success = HeatMapTileUtils.isSuccessFromColumnName(qArray, qOffset);
+                tiles.add(new HeatMapTile(timeSlot, elapsedBucket, success, CellUtils.valueToLong(cell)));
+            }
+            return tiles;
+        }
+    }
+}
@@ -131,7 +131,8 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
             throw new IllegalArgumentException("negative limit:" + limit);
         }
         logger.debug("scanTraceIndex {}", range);
-        Scan scan = createScan(applicationName, range, scanBackward, -1);
+        // every row holds at least one transaction, a partition never contributes more than limit rows to the merged top-N
+        Scan scan = createScan(applicationName, range, scanBackward, limit);
 
         LastRowAccessor lastRowAccessor = new LastRowAccessor();
         TableName applicationTraceIndexTableName = tableNameProvider.getTableName(INDEX.getTable());
@@ -203,7 +204,7 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
     private Scan createScan(String applicationName, Range range, boolean scanBackward, int limit) {
         Scan scan = new Scan();
-        scan.setCaching(this.scanCacheSize);
+        scan.setCaching(getCaching(limit));
         applyLimitForScan(scan, limit);
 
         byte[] traceIndexStartKey = rowKeyEncoder.encodeRowKey(applicationName, range.getFrom());
@@ -227,6 +228,13 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         return scan;
     }
 
+    private int getCaching(int limit) {
+        if (limit > 0) {
+            return Math.min(this.scanCacheSize, limit);
+        }
+        return this.scanCacheSize;
+    }
+
     private void applyLimitForScan(Scan scan, int limit) {
         if (limit == 1) {
             scan.setOneRowLimit();
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.web.dao.hbase;
 
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations;
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
@@ -32,13 +33,17 @@ import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyEncoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoder;
 import com.navercorp.pinpoint.web.dao.TraceDao;
 import com.navercorp.pinpoint.web.mapper.SpanMapperFactory;
+import com.navercorp.pinpoint.web.mapper.SpanMapperV2;
 import com.navercorp.pinpoint.web.service.FetchResult;
 import com.navercorp.pinpoint.web.vo.GetTraceInfo;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CompareOperator;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.filter.BinaryPrefixComparator;
 import org.apache.hadoop.hbase.filter.ByteArrayComparable;
 import org.apache.hadoop.hbase.filter.Filter;
@@ -53,6 +58,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -82,6 +88,9 @@ public class HbaseTraceDaoV2 implements TraceDao {
     @Value("${web.hbase.trace.max.results.limit:50000}")
     private int traceMaxResultsPerColumnFamily;
 
+    @Value("${web.hbase.trace.fetch.batch.size:-1}")
+    private int traceFetchBatchSize;
+
     private final Filter spanFilter = createSpanQualifierFilter();
 
     public HbaseTraceDaoV2(HbaseOperations template2,
@@ -104,6 +113,10 @@ public class HbaseTraceDaoV2 implements TraceDao {
         Objects.requireNonNull(transactionId, "transactionId");
 
         byte[] transactionIdRowKey = rowKeyEncoder.encodeRowKey(transactionId);
+        TableName traceTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        if (traceFetchBatchSize > 0) {
+            return selectSpanInBatches(traceTableName, transactionIdRowKey, columnGetCount);
+        }
 
         final Get get = new Get(transactionIdRowKey);
         get.setMaxResultsPerColumnFamily(traceMaxResultsPerColumnFamily);
@@ -113,7 +126,6 @@ public class HbaseTraceDaoV2 implements TraceDao {
             get.setFilter(filter);
         }
 
-        TableName traceTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
         ResultSizeMapper<List<SpanBo>> resultSizeMapper = new ResultSizeMapper<>();
         RowMapper<List<SpanBo>> rowMapper = new RowMapperResultAdaptor<>(spanMapperFactory.getSpanMapper(), resultSizeMapper);
 
@@ -122,12 +134,62 @@ public class HbaseTraceDaoV2 implements TraceDao {
         return new FetchResult<>(resultSizeMapper.getResultSize(), spanBos);
     }
 
+    /**
+     * Streams the row with a single row scan returning traceFetchBatchSize columns per result,
+     * each batch is decoded before the next one is read, so the raw cells of a huge transaction are never held all at once.
+     */
+    private FetchResult<List<SpanBo>> selectSpanInBatches(TableName traceTableName, byte[] transactionIdRowKey, ColumnGetCount columnGetCount) {
+        int limit = traceMaxResultsPerColumnFamily;
+        if (columnGetCount != null) {
+            limit = Math.min(limit, columnGetCount.getLimit());
+        }
+
+        final Scan scan = new Scan()
+                .withStartRow(transactionIdRowKey)
+                .withStopRow(transactionIdRowKey, true)
+                .addFamily(DESCRIPTOR.getName())
+                .setMaxResultsPerColumnFamily(limit)
+                .setBatch(traceFetchBatchSize)
+                .setAllowPartialResults(true)
+                .setCaching(1);
+
+        final SpanMapperV2.RowDecoder rowDecoder = spanMapperFactory.newRowDecoder(transactionIdRowKey);
+        final ResultsExtractor<Integer> batchExtractor = results -> {
+            int fetchCount = 0;
+            for (Result result : results) {
+                if (result.isEmpty()) {
+                    continue;
+                }
+                final Cell[] rawCells = result.rawCells();
+                rowDecoder.decode(rawCells);
+                fetchCount += rawCells.length;
+            }
+            return fetchCount;
+        };
+
+        final int fetchCount = template2.find(traceTableName, scan, batchExtractor);
+        if (logger.isDebugEnabled()) {
+            logger.debug("selectSpanInBatches fetchCount:{} batchSize:{}", fetchCount, traceFetchBatchSize);
+        }
+        return new FetchResult<>(fetchCount, rowDecoder.build());
+    }
+
     @Override
     public List<List<SpanBo>> selectSpans(List<GetTraceInfo> getTraceInfoList) {
         return selectSpans(getTraceInfoList, selectSpansLimit);
     }
 
     List<List<SpanBo>> selectSpans(List<GetTraceInfo> getTraceInfoList, int eachPartitionSize) {
+        return selectSpans(getTraceInfoList, eachPartitionSize, this::getSpanMapper);
+    }
+
+    @Override
+    public List<List<SpanBo>> selectSpanSummaries(List<GetTraceInfo> getTraceInfoList) {
+        return selectSpans(getTraceInfoList, selectSpansLimit, this::getSpanSummaryMapper);
+    }
+
+    private List<List<SpanBo>> selectSpans(List<GetTraceInfo> getTraceInfoList, int eachPartitionSize,
+                                           Function<SpanQuery, RowMapper<List<SpanBo>>> spanMapperFunction) {
         if (CollectionUtils.isEmpty(getTraceInfoList)) {
             return Collections.emptyList();
         }
@@ -135,7 +197,7 @@ public class HbaseTraceDaoV2 implements TraceDao {
                 .map(this::toSpanQuery)
                 .collect(Collectors.toList());
         List<List<SpanQuery>> partitionGetTraceInfoList = partition(spanQuery, eachPartitionSize);
-        return partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), spanFilter);
+        return partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), spanFilter, spanMapperFunction);
     }
 
     private SpanQuery toSpanQuery(GetTraceInfo getTraceInfo) {
@@ -164,14 +226,15 @@ public class HbaseTraceDaoV2 implements TraceDao {
                 .collect(Collectors.toList());
 
         List<List<SpanQuery>> partitionGetTraceInfoList = partition(getTraceInfoList, eachPartitionSize);
-        return partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), filter);
+        return partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), filter, this::getSpanMapper);
     }
 
     private List<List<SpanQuery>> partition(List<SpanQuery> getTraceInfoList, int maxTransactionIdListSize) {
         return ListUtils.partition(getTraceInfoList, maxTransactionIdListSize);
     }
 
-    private List<List<SpanBo>> partitionSelect(List<List<SpanQuery>> partitionGetTraceInfoList, byte[] columnFamily, Filter filter) {
+    private List<List<SpanBo>> partitionSelect(List<List<SpanQuery>> partitionGetTraceInfoList, byte[] columnFamily, Filter filter,
+                                               Function<SpanQuery, RowMapper<List<SpanBo>>> spanMapperFunction) {
         if (CollectionUtils.isEmpty(partitionGetTraceInfoList)) {
             return Collections.emptyList();
         }
@@ -179,13 +242,14 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
         List<List<SpanBo>> spanBoList = new ArrayList<>();
         for (List<SpanQuery> getTraceInfoList : partitionGetTraceInfoList) {
-            List<List<SpanBo>> result = bulkSelect(getTraceInfoList, columnFamily, filter);
+            List<List<SpanBo>> result = bulkSelect(getTraceInfoList, columnFamily, filter, spanMapperFunction);
             spanBoList.addAll(result);
         }
         return spanBoList;
     }
 
-    private List<List<SpanBo>> bulkSelect(List<SpanQuery> getTraceInfoList, byte[] columnFamily, Filter filter) {
+    private List<List<SpanBo>> bulkSelect(List<SpanQuery> getTraceInfoList, byte[] columnFamily, Filter filter,
+                                          Function<SpanQuery, RowMapper<List<SpanBo>>> spanMapperFunction) {
         if (CollectionUtils.isEmpty(getTraceInfoList)) {
             return Collections.emptyList();
         }
@@ -193,12 +257,12 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
         List<Get> getList = createGetList(getTraceInfoList, columnFamily, filter);
 
-        RowMapper<List<SpanBo>> spanMapperAdaptor = newRowMapper(getTraceInfoList);
+        RowMapper<List<SpanBo>> spanMapperAdaptor = newRowMapper(getTraceInfoList, spanMapperFunction);
         return bulkSelect0(getList, spanMapperAdaptor);
     }
 
-    private RowMapper<List<SpanBo>> newRowMapper(List<SpanQuery> spanQueryList) {
-        RequestAwareRowMapper<List<SpanBo>, SpanQuery> getTraceInfoRowMapper = new RequestAwareDynamicRowMapper<>(this::getSpanMapper);
+    private RowMapper<List<SpanBo>> newRowMapper(List<SpanQuery> spanQueryList, Function<SpanQuery, RowMapper<List<SpanBo>>> spanMapperFunction) {
+        RequestAwareRowMapper<List<SpanBo>, SpanQuery> getTraceInfoRowMapper = new RequestAwareDynamicRowMapper<>(spanMapperFunction);
         return new RequestAwareRowMapperAdaptor<>(spanQueryList, getTraceInfoRowMapper);
     }
 
@@ -207,6 +271,10 @@ public class HbaseTraceDaoV2 implements TraceDao {
         return spanMapperFactory.getSpanMapper(spanQuery.getSpanFilter());
     }
 
+    private RowMapper<List<SpanBo>> getSpanSummaryMapper(SpanQuery spanQuery) {
+        return spanMapperFactory.getSpanSummaryMapper(spanQuery.getSpanFilter());
+    }
+
     private List<Get> createGetList(List<SpanQuery> spanQueryList, byte[] columnFamily, Filter defaultFilter) {
         if (CollectionUtils.isEmpty(spanQueryList)) {
             return Collections.emptyList();
@@ -24,22 +24,33 @@ public class SpanMapperFactory {
 
     private final int stringCacheSize;
 
+    private final SpanMapperV2 spanMapper;
+
     private final RowMapper<List<SpanBo>> mapper;
 
+    private final RowMapper<List<SpanBo>> summaryMapper;
+
     private final SpanDecoder spanDecoder = new SpanDecoderV0();
+    private final SpanDecoder spanSummaryDecoder = SpanDecoderV0.summary();
 
     public SpanMapperFactory(@Qualifier("traceRowKeyDecoderV2") RowKeyDecoder<TransactionId> rowKeyDecoder,
                              @Value("${web.hbase.mapper.cache.string.size:-1}") int stringCacheSize) {
         this.rowKeyDecoder = Objects.requireNonNull(rowKeyDecoder, "rowKeyDecoder");
         this.stringCacheSize = stringCacheSize;
 
-        this.mapper = wrap(new SpanMapperV2(rowKeyDecoder, stringCacheSize));
+        this.spanMapper = new SpanMapperV2(rowKeyDecoder, stringCacheSize);
+        this.mapper = wrap(spanMapper);
+        this.summaryMapper = new SpanMapperV2(rowKeyDecoder, spanSummaryDecoder, stringCacheSize);
     }
 
     public RowMapper<List<SpanBo>> getSpanMapper() {
         return mapper;
     }
 
+    public SpanMapperV2.RowDecoder newRowDecoder(byte[] rowKey) {
+        return spanMapper.newRowDecoder(rowKey);
+    }
+
     private RowMapper<List<SpanBo>> wrap(RowMapper<List<SpanBo>> spanMapperV2) {
         final Logger logger = LogManager.getLogger(spanMapperV2.getClass());
         if (logger.isDebugEnabled()) {
@@ -57,4 +68,16 @@ public class SpanMapperFactory {
         final SpanDecoder targetSpanDecoder = new FilteringSpanDecoder(spanDecoder, spanFilter);
         return new SpanMapperV2(rowKeyDecoder, targetSpanDecoder, stringCacheSize);
     }
+
+    /**
+     * Mapper decoding the span-level fields only, see {@link SpanDecoderV0#summary()}.
+     */
+    public RowMapper<List<SpanBo>> getSpanSummaryMapper(Predicate<SpanBo> spanFilter) {
+        if (spanFilter == null) {
+            return summaryMapper;
+        }
+
+        final SpanDecoder targetSpanDecoder = new FilteringSpanDecoder(spanSummaryDecoder, spanFilter);
+        return new SpanMapperV2(rowKeyDecoder, targetSpanDecoder, stringCacheSize);
+    }
 }
@@ -94,58 +94,72 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
             return Collections.emptyList();
         }
 
+        final RowDecoder rowDecoder = newRowDecoder(result.getRow());
+        rowDecoder.decode(result.rawCells());
+        return rowDecoder.build();
+    }
 
-        byte[] rowKey = result.getRow();
+    /**
+     * Decoder for a row that is read in several column batches.
+     * Cells are decoded as each batch arrives, span chunks are bound to their spans once the row is complete.
+     */
+    public RowDecoder newRowDecoder(byte[] rowKey) {
         final TransactionId transactionId = this.rowKeyDecoder.decodeRowKey(rowKey);
+        return new RowDecoder(transactionId);
+    }
 
-        final Cell[] rawCells = result.rawCells();
-
-        ListMultimap<AgentKey, SpanBo> spanMap = LinkedListMultimap.create();
-        List<SpanChunkBo> spanChunkList = new ArrayList<>();
-
-        final SpanDecodingContext decodingContext = new SpanDecodingContext();
-        decodingContext.setTransactionId(transactionId);
-
-        final BufferFactory bufferFactory = new BufferFactory(cacheSize);
+    public class RowDecoder {
 
-        for (Cell cell : rawCells) {
-            SpanDecoder spanDecoder = null;
-            // only if family name is "span"
-            if (CellUtil.matchingFamily(cell, HbaseColumnFamily.TRACE_V2_SPAN.getName())) {
+        private final ListMultimap<AgentKey, SpanBo> spanMap = LinkedListMultimap.create();
+        private final List<SpanChunkBo> spanChunkList = new ArrayList<>();
 
-                decodingContext.setCollectorAcceptedTime(cell.getTimestamp());
+        private final SpanDecodingContext decodingContext = new SpanDecodingContext();
+        private final BufferFactory bufferFactory = new BufferFactory(cacheSize);
 
-                final Buffer qualifier = bufferFactory.createBuffer(CellUtil.cloneQualifier(cell));
-                final Buffer columnValue = bufferFactory.createBuffer(CellUtil.cloneValue(cell));
+        private RowDecoder(TransactionId transactionId) {
+            this.decodingContext.setTransactionId(transactionId);
+        }
 
-                spanDecoder = resolveDecoder(columnValue);
-                final Object decodeObject = spanDecoder.decode(qualifier, columnValue, decodingContext);
-                if (decodeObject instanceof SpanBo spanBo) {
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("spanBo:{}", spanBo);
-                    }
-                    AgentKey agentKey = newAgentKey(spanBo);
-                    spanMap.put(agentKey, spanBo);
-                } else if (decodeObject instanceof SpanChunkBo spanChunkBo) {
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("spanChunkBo:{}", spanChunkBo);
+        public void decode(Cell[] rawCells) {
+            for (Cell cell : rawCells) {
+                SpanDecoder spanDecoder = null;
+                // only if family name is "span"
+                if (CellUtil.matchingFamily(cell, HbaseColumnFamily.TRACE_V2_SPAN.getName())) {
+
+                    decodingContext.setCollectorAcceptedTime(cell.getTimestamp());
+
+                    final Buffer qualifier = bufferFactory.createBuffer(CellUtil.cloneQualifier(cell));
+                    final Buffer columnValue = bufferFactory.createBuffer(CellUtil.cloneValue(cell));
+
+                    spanDecoder = resolveDecoder(columnValue);
+                    final Object decodeObject = spanDecoder.decode(qualifier, columnValue, decodingContext);
+                    if (decodeObject instanceof SpanBo spanBo) {
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("spanBo:{}", spanBo);
+                        }
+                        AgentKey agentKey = newAgentKey(spanBo);
+                        spanMap.put(agentKey, spanBo);
+                    } else if (decodeObject instanceof SpanChunkBo spanChunkBo) {
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("spanChunkBo:{}", spanChunkBo);
+                        }
+                        spanChunkList.add(spanChunkBo);
                     }
-                    spanChunkList.add(spanChunkBo);
-                }
 
-            } else {
-                if (logger.isWarnEnabled()) {
-                    String columnFamily = Bytes.toStringBinary(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength());
-                    logger.warn("Unknown ColumnFamily :{}", columnFamily);
+                } else {
+                    if (logger.isWarnEnabled()) {
+                        String columnFamily = Bytes.toStringBinary(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength());
+                        logger.warn("Unknown ColumnFamily :{}", columnFamily);
+                    }
                 }
+                nextCell(spanDecoder, decodingContext);
             }
-            nextCell(spanDecoder, decodingContext);
         }
-        decodingContext.finish();
-
-
-        return buildSpanBoList(spanMap, spanChunkList);
 
+        public List<SpanBo> build() {
+            decodingContext.finish();
+            return buildSpanBoList(spanMap, spanChunkList);
+        }
     }
 
     public static class BufferFactory {
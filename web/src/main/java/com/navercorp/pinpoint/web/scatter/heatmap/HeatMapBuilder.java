@@ -83,6 +83,10 @@ public class HeatMapBuilder {
     }
 
     public void addDataPoint(long x, long y, boolean success) {
+        addDataPoint(x, y, success, 1);
+    }
+
+    public void addDataPoint(long x, long y, boolean success, int count) {
 
         final long xTick = xAxisResolver.getIndex(x);
         final long yTick = yAxisResolver.getIndex(y);
@@ -93,9 +97,9 @@ public class HeatMapBuilder {
         final Point2D key = new Point2D(xTick, yTick);
         IntegerValuePair counter = this.map.computeIfAbsent(key, longPair -> new IntegerValuePair(0, 0));
         if (success) {
-            counter.addFirst(1);
+            counter.addFirst(count);
         } else {
-            counter.addSecond(1);
+            counter.addSecond(count);
         }
     }
 
@@ -2,13 +2,16 @@ package com.navercorp.pinpoint.web.service;
 
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.util.TimeSlot;
 import com.navercorp.pinpoint.common.server.util.time.Range;
 import com.navercorp.pinpoint.common.util.CollectionUtils;
+import com.navercorp.pinpoint.web.dao.ApplicationHeatMapDao;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
 import com.navercorp.pinpoint.web.scatter.DragAreaQuery;
 import com.navercorp.pinpoint.web.scatter.heatmap.HeatMap;
 import com.navercorp.pinpoint.web.scatter.heatmap.HeatMapBuilder;
+import com.navercorp.pinpoint.web.scatter.heatmap.HeatMapTile;
 import com.navercorp.pinpoint.web.util.ListListUtils;
 import com.navercorp.pinpoint.web.vo.GetTraceInfo;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
@@ -17,6 +20,7 @@ import com.navercorp.pinpoint.web.vo.scatter.Dot;
 import com.navercorp.pinpoint.web.vo.scatter.DotMetaData;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -31,6 +35,8 @@ import java.util.stream.Collectors;
 @Service
 public class HeatMapServiceImpl implements HeatMapService {
 
+    private static final int SLOT_SIZE = 100;
+
     private final Logger logger = LogManager.getLogger(this.getClass());
 
     private final ApplicationTraceIndexDao applicationTraceIndexDao;
@@ -38,12 +44,22 @@ public class HeatMapServiceImpl implements HeatMapService {
     private final TraceDao traceDao;
     private final SpanService spanService;
 
+    private final ApplicationHeatMapDao applicationHeatMapDao;
+    private final TimeSlot timeSlot;
+    private final boolean tileEnable;
+
     public HeatMapServiceImpl(ApplicationTraceIndexDao applicationTraceIndexDao,
                               SpanService spanService,
-                              TraceDao traceDao) {
+                              TraceDao traceDao,
+                              ApplicationHeatMapDao applicationHeatMapDao,
+                              TimeSlot timeSlot,
+                              @Value("${web.heatmap.tile.enable:false}") boolean tileEnable) {
         this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao");
         this.spanService = Objects.requireNonNull(spanService, "spanService");
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
+        this.applicationHeatMapDao = Objects.requireNonNull(applicationHeatMapDao, "applicationHeatMapDao");
+        this.timeSlot = Objects.requireNonNull(timeSlot, "timeSlot");
+        this.tileEnable = tileEnable;
     }
 
     @Override
@@ -58,7 +74,7 @@ public class HeatMapServiceImpl implements HeatMapService {
 //        boolean requestComplete = scatterData.getDotSize() < limit;
         List<GetTraceInfo> query = buildQuery(applicationName, scanResult.scanData());
 
-        final List<List<SpanBo>> selectedSpans = traceDao.selectSpans(query);
+        final List<List<SpanBo>> selectedSpans = traceDao.selectSpanSummaries(query);
 
         List<SpanBo> spanList = ListListUtils.toList(selectedSpans, selectedSpans.size());
         spanService.populateAgentName(spanList);
@@ -97,7 +113,7 @@ public class HeatMapServiceImpl implements HeatMapService {
                 .collect(Collectors.toList());
 
         List<GetTraceInfo> query = buildQuery(applicationName, dots);
-        final List<List<SpanBo>> selectedSpans = traceDao.selectSpans(query);
+        final List<List<SpanBo>> selectedSpans = traceDao.selectSpanSummaries(query);
         //List<SpanBo> spanList = ListListUtils.toList(selectedSpans, selectedSpans.size());
         List<SpanBo> spanList = pickFirst(selectedSpans);
         spanService.populateAgentName(spanList);
@@ -146,10 +162,13 @@ public class HeatMapServiceImpl implements HeatMapService {
         Objects.requireNonNull(range, "range");
 
 
+        if (isTileResolution(range)) {
+            return getHeatMapFromTile(applicationName, range, maxY);
+        }
+
         LimitedScanResult<List<Dot>> scanResult = applicationTraceIndexDao.scanTraceScatterData(applicationName, range, limit, true);
 
-        final int slotSize = 100;
-        HeatMapBuilder builder = HeatMapBuilder.newBuilder(range.getFrom(), range.getTo(), slotSize, 0, maxY, slotSize);
+        HeatMapBuilder builder = HeatMapBuilder.newBuilder(range.getFrom(), range.getTo(), SLOT_SIZE, 0, maxY, SLOT_SIZE);
         for (Dot dot : scanResult.scanData()) {
             final boolean success = dot.getExceptionCode() == Dot.EXCEPTION_NONE;
             builder.addDataPoint(dot.getAcceptedTime(), dot.getElapsedTime(), success);
@@ -160,6 +179,33 @@ public class HeatMapServiceImpl implements HeatMapService {
         return new LimitedScanResult<>(scanResult.limitedTime(), heatMap);
     }
 
+    /**
+     * Tiles are aggregated by time slot, so they are read only while a column of the heatmap spans a whole time slot.
+     * Narrower ranges are drawn from the dots.
+     */
+    private boolean isTileResolution(Range range) {
+        if (!tileEnable) {
+            return false;
+        }
+        return range.durationMillis() / SLOT_SIZE >= timeSlot.getResolution();
+    }
+
+    private LimitedScanResult<HeatMap> getHeatMapFromTile(String applicationName, Range range, long maxY) {
+        final List<HeatMapTile> tiles = applicationHeatMapDao.selectHeatMapTiles(applicationName, range);
+
+        HeatMapBuilder builder = HeatMapBuilder.newBuilder(range.getFrom(), range.getTo(), SLOT_SIZE, 0, maxY, SLOT_SIZE);
+        for (HeatMapTile tile : tiles) {
+            // the slots at both ends are counted whole
+            final long x = Math.min(Math.max(tile.timeSlot(), range.getFrom()), range.getTo());
+            builder.addDataPoint(x, tile.elapsedBucket(), tile.success(), Math.toIntExact(tile.count()));
+        }
+        HeatMap heatMap = builder.build();
+        logger.debug("getHeatMap applicationName:{} tiles:{} heatMap:{}", applicationName, tiles.size(), heatMap);
+
+        // tiles are never limited
+        return new LimitedScanResult<>(range.getFrom(), heatMap);
+    }
+
     private List<GetTraceInfo> buildQuery(String applicationName, List<Dot> dots) {
         if (CollectionUtils.isEmpty(dots)) {
             return Collections.emptyList();
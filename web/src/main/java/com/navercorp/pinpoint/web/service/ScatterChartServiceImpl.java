@@ -96,7 +96,7 @@ public class ScatterChartServiceImpl implements ScatterChartService {
     public List<SpanBo> selectTransactionMetadata(final List<GetTraceInfo> getTraceInfoList) {
         Objects.requireNonNull(getTraceInfoList, "getTraceInfoList");
 
-        final List<List<SpanBo>> selectedSpans = traceDao.selectSpans(getTraceInfoList);
+        final List<List<SpanBo>> selectedSpans = traceDao.selectSpanSummaries(getTraceInfoList);
         populateAgentNameListOfList(selectedSpans);
 
         return ListListUtils.toList(selectedSpans, getTraceInfoList.size());
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.service;
 import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.web.calltree.span.CallTreeWindow;
 
 import java.util.List;
 import java.util.function.Predicate;
@@ -32,6 +33,11 @@ public interface SpanService {
 
     SpanResult selectSpan(TransactionId transactionId, Predicate<SpanBo> filter, ColumnGetCount columnGetCount);
 
+    /**
+     * metadata of the call tree is only looked up for the nodes inside the window
+     */
+    SpanResult selectSpan(TransactionId transactionId, Predicate<SpanBo> filter, ColumnGetCount columnGetCount, CallTreeWindow window);
+
     void populateAgentName(List<SpanBo> spanBoList);
 
 }
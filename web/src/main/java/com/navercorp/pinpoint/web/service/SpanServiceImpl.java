@@ -37,9 +37,11 @@ import com.navercorp.pinpoint.common.util.LineNumber;
 import com.navercorp.pinpoint.common.util.StringStringValue;
 import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
 import com.navercorp.pinpoint.plugin.mongo.MongoConstants;
+import com.navercorp.pinpoint.web.cache.SpanCache;
 import com.navercorp.pinpoint.web.calltree.span.Align;
 import com.navercorp.pinpoint.web.calltree.span.CallTree;
 import com.navercorp.pinpoint.web.calltree.span.CallTreeIterator;
+import com.navercorp.pinpoint.web.calltree.span.CallTreeWindow;
 import com.navercorp.pinpoint.web.calltree.span.SpanAligner;
 import com.navercorp.pinpoint.web.calltree.span.TraceState;
 import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
@@ -79,6 +81,8 @@ public class SpanServiceImpl implements SpanService {
 
     private final TraceDao traceDao;
 
+    private final SpanCache spanCache;
+
     private final SqlMetaDataDao sqlMetaDataDao;
 
     private final SqlUidMetaDataDao sqlUidMetaDataDao;
@@ -97,6 +101,7 @@ public class SpanServiceImpl implements SpanService {
     private final OutputParameterParser outputParameterParser = new OutputParameterParser();
 
     public SpanServiceImpl(TraceDao traceDao,
+                           SpanCache spanCache,
                            SqlMetaDataDao sqlMetaDataDao,
                            SqlUidMetaDataDao sqlUidMetaDataDao,
                            Optional<MetaDataFilter> metaDataFilter,
@@ -105,6 +110,7 @@ public class SpanServiceImpl implements SpanService {
                            ServiceTypeRegistryService serviceTypeRegistryService,
                            AgentInfoService agentInfoService) {
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
+        this.spanCache = Objects.requireNonNull(spanCache, "spanCache");
         this.sqlMetaDataDao = Objects.requireNonNull(sqlMetaDataDao, "sqlMetaDataDao");
         this.sqlUidMetaDataDao = Objects.requireNonNull(sqlUidMetaDataDao, "sqlUidMetaDataDao");
         this.metaDataFilter = Objects.requireNonNull(metaDataFilter, "metaDataFilter").orElse(null);
@@ -121,11 +127,17 @@ public class SpanServiceImpl implements SpanService {
 
     @Override
     public SpanResult selectSpan(TransactionId transactionId, Predicate<SpanBo> filter, ColumnGetCount columnGetCount) {
+        return selectSpan(transactionId, filter, columnGetCount, CallTreeWindow.ALL);
+    }
+
+    @Override
+    public SpanResult selectSpan(TransactionId transactionId, Predicate<SpanBo> filter, ColumnGetCount columnGetCount, CallTreeWindow window) {
         Objects.requireNonNull(transactionId, "transactionId");
         Objects.requireNonNull(filter, "filter");
         Objects.requireNonNull(columnGetCount, "columnGetCount");
+        Objects.requireNonNull(window, "window");
 
-        final FetchResult<List<SpanBo>> fetchResult = traceDao.selectSpan(transactionId, columnGetCount);
+        final FetchResult<List<SpanBo>> fetchResult = spanCache.select(transactionId, columnGetCount, traceDao::selectSpan);
         final List<SpanBo> spans = fetchResult.data();
         logger.debug("selectSpan spans:{}", spans.size());
 
@@ -136,7 +148,7 @@ public class SpanServiceImpl implements SpanService {
 
         final boolean isReachedLimit = columnGetCount.isReachedLimit(fetchResult.fetchCount());
 
-        final SpanResult result = order(spans, filter, isReachedLimit);
+        final SpanResult result = order(spans, filter, isReachedLimit, window);
         final CallTreeIterator callTreeIterator = result.callTree();
         final List<Align> values = callTreeIterator.values();
 
@@ -551,7 +563,7 @@ public class SpanServiceImpl implements SpanService {
         void replacement(Align align, List<AnnotationBo> annotationBoList);
     }
 
-    private SpanResult order(List<SpanBo> spans, Predicate<SpanBo> filter, boolean isReachedLimit) {
+    private SpanResult order(List<SpanBo> spans, Predicate<SpanBo> filter, boolean isReachedLimit, CallTreeWindow window) {
         SpanAligner spanAligner = new SpanAligner(spans, filter, serviceTypeRegistryService);
         final CallTree callTree = spanAligner.align();
 
@@ -560,7 +572,7 @@ public class SpanServiceImpl implements SpanService {
             matchType = TraceState.State.OVERFLOW;
         }
 
-        return new SpanResult(matchType, callTree.iterator());
+        return new SpanResult(matchType, callTree.iterator().window(window));
     }
 
     private Optional<String> getAgentName(String agentId, long agentStartTime) {
@@ -100,7 +100,7 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
                     .map(GetTraceInfo::new)
                     .collect(Collectors.toList());
 
-            traceList = this.traceDao.selectSpans(queryList);
+            traceList = this.traceDao.selectSpanSummaries(queryList);
         } else {
             traceList = this.traceDao.selectAllSpans(transactionIdList);
         }
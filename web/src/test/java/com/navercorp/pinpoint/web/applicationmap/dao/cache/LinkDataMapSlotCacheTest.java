@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkCallData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class LinkDataMapSlotCacheTest {
+
+    private static final long MINUTE = LinkDataMapSlotCache.SLOT_SIZE;
+    private static final long NOW = 1000 * MINUTE + 30_000;
+
+    private final Application caller = new Application("caller", ServiceType.TEST_STAND_ALONE);
+    private final Application callee = new Application("callee", ServiceType.TEST_STAND_ALONE);
+    private final short slotTime = ServiceType.TEST_STAND_ALONE.getHistogramSchema().getNormalSlot().getSlotTime();
+
+    private final List<Range> loadRanges = new ArrayList<>();
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC);
+
+    private final LinkDataMapSlotCache cache = new LinkDataMapSlotCache(new DefaultTimeSlot(), Duration.ofMinutes(1), 1000,
+            Duration.ZERO, clock);
+
+    @Test
+    public void overlappingRange() {
+        Range range = Range.between(NOW - 5 * MINUTE, NOW);
+        LinkDataMap first = cache.select(caller, range, false, this::load);
+        Assertions.assertEquals(List.of(Range.between(995 * MINUTE, 1000 * MINUTE)), loadRanges);
+        Assertions.assertEquals(6, first.getTotalCount());
+        // the open slot is not cached
+        Assertions.assertEquals(5, cache.size());
+
+        loadRanges.clear();
+        Range shifted = Range.between(NOW - 3 * MINUTE, NOW);
+        LinkDataMap second = cache.select(caller, shifted, false, this::load);
+        Assertions.assertEquals(List.of(Range.between(1000 * MINUTE, 1000 * MINUTE)), loadRanges);
+        Assertions.assertEquals(4, second.getTotalCount());
+        Assertions.assertEquals(Set.of(997 * MINUTE, 998 * MINUTE, 999 * MINUTE, 1000 * MINUTE), timestamps(second));
+    }
+
+    @Test
+    public void recentSlotNotCached() {
+        LinkDataMapSlotCache graceCache = new LinkDataMapSlotCache(new DefaultTimeSlot(), Duration.ofMinutes(1), 1000,
+                Duration.ofMinutes(2), clock);
+        graceCache.select(caller, Range.between(995 * MINUTE, NOW), false, this::load);
+        // closed for 2 minutes : 995, 996, 997
+        Assertions.assertEquals(3, graceCache.size());
+
+        loadRanges.clear();
+        graceCache.select(caller, Range.between(995 * MINUTE, NOW), false, this::load);
+        Assertions.assertEquals(List.of(Range.between(998 * MINUTE, 1000 * MINUTE)), loadRanges);
+    }
+
+    @Test
+    public void loadMissingSlots() {
+        cache.select(caller, Range.between(996 * MINUTE, 996 * MINUTE), false, this::load);
+        cache.select(caller, Range.between(998 * MINUTE, 998 * MINUTE), false, this::load);
+        loadRanges.clear();
+
+        LinkDataMap linkDataMap = cache.select(caller, Range.between(995 * MINUTE, 999 * MINUTE), false, this::load);
+        Assertions.assertEquals(List.of(
+                Range.between(995 * MINUTE, 995 * MINUTE),
+                Range.between(997 * MINUTE, 997 * MINUTE),
+                Range.between(999 * MINUTE, 999 * MINUTE)), loadRanges);
+        Assertions.assertEquals(5, linkDataMap.getTotalCount());
+    }
+
+    @Test
+    public void cachedSlotNotModified() {
+        Range range = Range.between(995 * MINUTE, 999 * MINUTE);
+        LinkDataMap first = cache.select(caller, range, false, this::load);
+        first.addLinkDataMap(load(caller, range, false));
+
+        LinkDataMap second = cache.select(caller, range, false, this::load);
+        Assertions.assertEquals(5, second.getTotalCount());
+    }
+
+    @Test
+    public void timeAggregated() {
+        Range range = Range.between(995 * MINUTE, 999 * MINUTE);
+        cache.select(caller, range, false, this::load);
+
+        LinkDataMap linkDataMap = cache.select(caller, range, true, this::load);
+        Assertions.assertEquals(5, linkDataMap.getTotalCount());
+        Assertions.assertEquals(Set.of(0L), timestamps(linkDataMap));
+    }
+
+    @Test
+    public void bypassLongRange() {
+        Range range = Range.between(NOW - 2 * 60 * MINUTE, NOW);
+        cache.select(caller, range, false, this::load);
+
+        Assertions.assertEquals(List.of(range), loadRanges);
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    private LinkDataMap load(Application application, Range range, boolean timeAggregated) {
+        loadRanges.add(range);
+        LinkDataMap linkDataMap = new LinkDataMap();
+        for (long slot = range.getFrom(); slot <= range.getTo(); slot += MINUTE) {
+            linkDataMap.addLinkData(application, "agent", callee, "calleeHost", slot, slotTime, 1);
+        }
+        return linkDataMap;
+    }
+
+    private Set<Long> timestamps(LinkDataMap linkDataMap) {
+        Set<Long> timestamps = new HashSet<>();
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            for (LinkCallData linkCallData : linkData.getLinkCallDataMap().getLinkDataList()) {
+                for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
+                    timestamps.add(timeHistogram.getTimeStamp());
+                }
+            }
+        }
+        return timestamps;
+    }
+}
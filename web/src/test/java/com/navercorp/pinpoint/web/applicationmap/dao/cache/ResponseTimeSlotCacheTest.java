@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.ResponseTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResponseTimeSlotCacheTest {
+
+    private static final long MINUTE = LinkDataMapSlotCache.SLOT_SIZE;
+    private static final long NOW = 1000 * MINUTE + 30_000;
+
+    private final Application application = new Application("app", ServiceType.TEST_STAND_ALONE);
+    private final short slotTime = ServiceType.TEST_STAND_ALONE.getHistogramSchema().getNormalSlot().getSlotTime();
+
+    private final List<Range> loadRanges = new ArrayList<>();
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC);
+
+    private final ResponseTimeSlotCache cache = new ResponseTimeSlotCache(new DefaultTimeSlot(), Duration.ofMinutes(10), 1000,
+            Duration.ZERO, clock);
+
+    @Test
+    public void overlappingRange() {
+        List<ResponseTime> first = cache.select(application, Range.between(NOW - 5 * MINUTE, NOW), this::load);
+        Assertions.assertEquals(List.of(Range.between(995 * MINUTE, 1000 * MINUTE)), loadRanges);
+        Assertions.assertEquals(6, first.size());
+        // the open slot is not cached
+        Assertions.assertEquals(5, cache.size());
+
+        loadRanges.clear();
+        List<ResponseTime> second = cache.select(application, Range.between(NOW - 3 * MINUTE, NOW), this::load);
+        Assertions.assertEquals(List.of(Range.between(1000 * MINUTE, 1000 * MINUTE)), loadRanges);
+        Assertions.assertEquals(List.of(1000 * MINUTE, 999 * MINUTE, 998 * MINUTE, 997 * MINUTE), timestamps(second));
+    }
+
+    @Test
+    public void emptySlotCached() {
+        Range range = Range.between(995 * MINUTE, 999 * MINUTE);
+        List<ResponseTime> first = cache.select(application, range, (app, loadRange) -> {
+            loadRanges.add(loadRange);
+            return List.of();
+        });
+        Assertions.assertTrue(first.isEmpty());
+
+        cache.select(application, range, this::load);
+        Assertions.assertEquals(1, loadRanges.size());
+    }
+
+    @Test
+    public void emptyRecentSlotNotCached() {
+        ResponseTimeSlotCache graceCache = new ResponseTimeSlotCache(new DefaultTimeSlot(), Duration.ofMinutes(10), 1000,
+                Duration.ofMinutes(2), clock);
+        Range range = Range.between(997 * MINUTE, 999 * MINUTE);
+        graceCache.select(application, range, (app, loadRange) -> {
+            loadRanges.add(loadRange);
+            return List.of();
+        });
+        // closed for 2 minutes : 997
+        Assertions.assertEquals(1, graceCache.size());
+
+        loadRanges.clear();
+        List<ResponseTime> second = graceCache.select(application, range, this::load);
+        Assertions.assertEquals(List.of(Range.between(998 * MINUTE, 999 * MINUTE)), loadRanges);
+        Assertions.assertEquals(List.of(999 * MINUTE, 998 * MINUTE), timestamps(second));
+    }
+
+    @Test
+    public void cachedSlotNotModified() {
+        Range range = Range.between(995 * MINUTE, 999 * MINUTE);
+        List<ResponseTime> first = cache.select(application, range, this::load);
+        first.get(0).addResponseTime("agent", slotTime, 10);
+
+        List<ResponseTime> second = cache.select(application, range, this::load);
+        Assertions.assertEquals(1, second.get(0).getApplicationResponseHistogram().getTotalCount());
+    }
+
+    @Test
+    public void bypassLongRange() {
+        Range range = Range.between(NOW - 2 * 60 * MINUTE, NOW);
+        cache.select(application, range, this::load);
+
+        Assertions.assertEquals(List.of(range), loadRanges);
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    private List<ResponseTime> load(Application application, Range range) {
+        loadRanges.add(range);
+        List<ResponseTime> responseTimeList = new ArrayList<>();
+        for (long slot = range.getTo(); slot >= range.getFrom(); slot -= MINUTE) {
+            ResponseTime responseTime = new ResponseTime(application.getName(), application.getServiceType(), slot);
+            responseTime.addResponseTime("agent", slotTime, 1);
+            responseTimeList.add(responseTime);
+        }
+        return responseTimeList;
+    }
+
+    private List<Long> timestamps(List<ResponseTime> responseTimeList) {
+        List<Long> timestamps = new ArrayList<>();
+        for (ResponseTime responseTime : responseTimeList) {
+            timestamps.add(responseTime.getTimeStamp());
+        }
+        return timestamps;
+    }
+}
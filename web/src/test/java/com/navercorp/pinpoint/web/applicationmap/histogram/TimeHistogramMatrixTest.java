@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindow;
+import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TimeHistogramMatrixTest {
+
+    private static final long MINUTE = 60 * 1000;
+
+    private final HistogramSchema schema = ServiceType.STAND_ALONE.getHistogramSchema();
+    private final TimeWindow window = new TimeWindow(Range.between(0, 4 * MINUTE));
+
+    @Test
+    public void add() {
+        TimeHistogramMatrix matrix = new TimeHistogramMatrix(schema, window);
+        matrix.add(histogram(MINUTE, 100, 10));
+        matrix.add(histogram(MINUTE + 1000, 300, 20));
+        matrix.add(histogram(3 * MINUTE, 100, 5));
+
+        List<TimeHistogram> list = matrix.toList();
+        Assertions.assertEquals(5, list.size());
+        Assertions.assertEquals(List.of(0L, MINUTE, 2 * MINUTE, 3 * MINUTE, 4 * MINUTE), timestamps(list));
+
+        TimeHistogram expected = histogram(MINUTE, 100, 10);
+        expected.add(histogram(MINUTE, 300, 20));
+        assertHistogram(expected, list.get(1));
+        Assertions.assertEquals(0, list.get(0).getTotalCount());
+        Assertions.assertEquals(5, list.get(3).getTotalCount());
+    }
+
+    @Test
+    public void add_outOfWindow() {
+        TimeHistogramMatrix matrix = new TimeHistogramMatrix(schema, window);
+        matrix.add(histogram(10 * MINUTE, 100, 1));
+        matrix.add(histogram(2 * MINUTE, 100, 1));
+
+        List<TimeHistogram> list = matrix.toList();
+        Assertions.assertEquals(List.of(0L, MINUTE, 2 * MINUTE, 3 * MINUTE, 4 * MINUTE, 10 * MINUTE), timestamps(list));
+        Assertions.assertEquals(1, list.get(5).getTotalCount());
+    }
+
+    @Test
+    public void add_schemaNotEquals() {
+        TimeHistogramMatrix matrix = new TimeHistogramMatrix(schema, window);
+        TimeHistogram histogram = new TimeHistogram(BaseHistogramSchema.FAST_SCHEMA, MINUTE);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> matrix.add(histogram));
+    }
+
+    private TimeHistogram histogram(long timestamp, int elapsed, int count) {
+        TimeHistogram histogram = new TimeHistogram(schema, timestamp);
+        for (int i = 0; i < count; i++) {
+            histogram.addCallCountByElapsedTime(elapsed, i % 3 == 0);
+        }
+        histogram.addCallCount(schema.getPingSlot().getSlotTime(), 1);
+        return histogram;
+    }
+
+    private void assertHistogram(Histogram expected, Histogram actual) {
+        Assertions.assertEquals(expected.getFastCount(), actual.getFastCount());
+        Assertions.assertEquals(expected.getNormalCount(), actual.getNormalCount());
+        Assertions.assertEquals(expected.getSlowCount(), actual.getSlowCount());
+        Assertions.assertEquals(expected.getVerySlowCount(), actual.getVerySlowCount());
+        Assertions.assertEquals(expected.getErrorCount(), actual.getErrorCount());
+        Assertions.assertEquals(expected.getFastErrorCount(), actual.getFastErrorCount());
+        Assertions.assertEquals(expected.getNormalErrorCount(), actual.getNormalErrorCount());
+        Assertions.assertEquals(expected.getSlowErrorCount(), actual.getSlowErrorCount());
+        Assertions.assertEquals(expected.getVerySlowErrorCount(), actual.getVerySlowErrorCount());
+        Assertions.assertEquals(expected.getSumElapsed(), actual.getSumElapsed());
+        Assertions.assertEquals(expected.getMaxElapsed(), actual.getMaxElapsed());
+        Assertions.assertEquals(expected.getPingCount(), actual.getPingCount());
+    }
+
+    private List<Long> timestamps(List<TimeHistogram> list) {
+        return list.stream()
+                .map(TimeHistogram::getTimeStamp)
+                .toList();
+    }
+}
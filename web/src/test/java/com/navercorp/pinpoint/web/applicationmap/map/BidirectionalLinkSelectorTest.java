@@ -31,6 +31,8 @@ import org.mockito.stubbing.Answer;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -155,4 +157,51 @@ public class BidirectionalLinkSelectorTest extends LinkSelectorTestBase {
         Assertions.assertNotNull(linkData_OUT_IN_to_OUT);
         Assertions.assertEquals(callCount, linkData_OUT_IN_to_OUT.getTotalCount());
     }
+
+    @Test
+    public void testNextDepthNotBlockedBySlowNode() {
+        // APP_A(selected) -> APP_FAST -> APP_NEXT
+        //           |-> APP_SLOW
+        final Application APP_A = new Application("APP_A", ServiceType.TEST_STAND_ALONE);
+        final Application APP_FAST = new Application("APP_FAST", ServiceType.TEST_STAND_ALONE);
+        final Application APP_SLOW = new Application("APP_SLOW", ServiceType.TEST_STAND_ALONE);
+        final Application APP_NEXT = new Application("APP_NEXT", ServiceType.TEST_STAND_ALONE);
+
+        int callCount = 10;
+        short slotTime = ServiceType.STAND_ALONE.getHistogramSchema().getNormalSlot().getSlotTime();
+
+        LinkDataMap link_A_to_FAST_SLOW = new LinkDataMap();
+        link_A_to_FAST_SLOW.addLinkData(APP_A, "agentA", APP_FAST, "agentFast", 1000, slotTime, callCount);
+        link_A_to_FAST_SLOW.addLinkData(APP_A, "agentA", APP_SLOW, "agentSlow", 1000, slotTime, callCount);
+        LinkDataMap link_FAST_to_NEXT = new LinkDataMap();
+        link_FAST_to_NEXT.addLinkData(APP_FAST, "agentFast", APP_NEXT, "agentNext", 1000, slotTime, callCount);
+
+        final CountDownLatch nextSearched = new CountDownLatch(1);
+        when(linkDataMapService.selectCallerLinkDataMap(any(Application.class), any(Range.class), anyBoolean())).thenAnswer(new Answer<LinkDataMap>() {
+            @Override
+            public LinkDataMap answer(InvocationOnMock invocation) throws Throwable {
+                Application callerApplication = invocation.getArgument(0);
+                if (callerApplication.equals(APP_A)) {
+                    return link_A_to_FAST_SLOW;
+                } else if (callerApplication.equals(APP_FAST)) {
+                    return link_FAST_to_NEXT;
+                } else if (callerApplication.equals(APP_SLOW)) {
+                    // the next depth is searched while this node is still being searched
+                    Assertions.assertTrue(nextSearched.await(5, TimeUnit.SECONDS), "next depth blocked by slow node");
+                } else if (callerApplication.equals(APP_NEXT)) {
+                    nextSearched.countDown();
+                }
+                return newEmptyLinkDataMap();
+            }
+        });
+        when(linkDataMapService.selectCalleeLinkDataMap(any(Application.class), any(Range.class), anyBoolean())).thenReturn(newEmptyLinkDataMap());
+        when(hostApplicationMapDao.findAcceptApplicationName(any(Application.class), any(Range.class))).thenReturn(Set.of());
+
+        LinkSelector linkSelector = linkSelectorFactory.createLinkSelector(getLinkSelectorType());
+        LinkDataDuplexMap linkDataDuplexMap = linkSelector.select(List.of(APP_A), range, 3, 0);
+
+        Assertions.assertEquals(0, nextSearched.getCount());
+        Assertions.assertEquals(3, linkDataDuplexMap.getSourceLinkDataList().size());
+        Assertions.assertEquals(callCount * 3, linkDataDuplexMap.getTotalCount());
+    }
 }
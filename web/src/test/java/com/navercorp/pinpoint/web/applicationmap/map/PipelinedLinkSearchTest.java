@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.map;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.applicationmap.service.SearchDepth;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.UnaryOperator;
+
+public class PipelinedLinkSearchTest {
+
+    private final Application failed = new Application("failed", ServiceType.STAND_ALONE);
+    private final Application running = new Application("running", ServiceType.STAND_ALONE);
+
+    @Test
+    public void search_failed() {
+        CompletableFuture<LinkDataDuplexMap> runningFuture = new CompletableFuture<>();
+        ApplicationsMapCreator creator = new ApplicationsMapCreator() {
+            @Override
+            public LinkDataDuplexMap createLinkDataDuplexMap(List<Application> sourceApplications, LinkSelectContext linkSelectContext) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<LinkDataDuplexMap> createLinkDataDuplexMapAsync(Application application, LinkSelectContext linkSelectContext) {
+                if (application.equals(failed)) {
+                    return CompletableFuture.failedFuture(new IllegalStateException("failed"));
+                }
+                return runningFuture;
+            }
+        };
+        PipelinedLinkSearch search = new PipelinedLinkSearch(creator, UnaryOperator.identity());
+        LinkSelectContext context = new LinkSelectContext(Range.between(0, 100), new SearchDepth(1), new SearchDepth(1),
+                new LinkVisitChecker(), false);
+
+        Assertions.assertThrows(CompletionException.class, () -> search.search(List.of(running, failed), context));
+        Assertions.assertTrue(runningFuture.isCancelled());
+    }
+}
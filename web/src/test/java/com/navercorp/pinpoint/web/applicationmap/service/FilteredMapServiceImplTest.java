@@ -17,6 +17,7 @@
 
 package com.navercorp.pinpoint.web.applicationmap.service;
 
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.util.json.JsonField;
@@ -63,7 +64,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -145,7 +145,7 @@ public class FilteredMapServiceImplTest {
                 });
 
         filteredMapService = new FilteredMapServiceImpl(traceDao, applicationTraceIndexDao,
-                registry, applicationFactory, serverInstanceDatasourceService, Optional.empty(), applicationMapBuilderFactory);
+                registry, applicationFactory, serverInstanceDatasourceService, Optional.empty(), applicationMapBuilderFactory, executor);
 
     }
 
@@ -209,7 +209,7 @@ public class FilteredMapServiceImplTest {
         when(traceDao.selectAllSpans(anyList(), isNull())).thenReturn(List.of(List.of(rootSpan, appASpan)));
 
         // When
-        final FilteredMapServiceOption option = new FilteredMapServiceOption.Builder(Collections.emptyList(), originalRange, 1, 1, Filter.acceptAllFilter(), 0).build();
+        final FilteredMapServiceOption option = new FilteredMapServiceOption.Builder(List.of(new TransactionId("root-agent", 0, 1)), originalRange, 1, 1, Filter.acceptAllFilter(), 0).build();
         ApplicationMap applicationMap = filteredMapService.selectApplicationMapWithScatterData(option);
 
         // Then
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.service;
+
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.filter.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StreamingTransactionSelectorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    private final TraceDao traceDao = mock(TraceDao.class);
+
+    @AfterEach
+    public void cleanUp() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void select() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(traceDao.selectAllSpans(anyList(), isNull())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+                List<TransactionId> partition = invocation.getArgument(0);
+                List<List<SpanBo>> transactionList = new ArrayList<>();
+                for (TransactionId transactionId : partition) {
+                    transactionList.add(List.of(newSpan(transactionId)));
+                }
+                return transactionList;
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+
+        List<TransactionId> transactionIdList = newTransactionIdList(25);
+        // even sequences only
+        Filter<List<SpanBo>> filter = transaction -> transaction.get(0).getTransactionId().getTransactionSequence() % 2 == 0;
+
+        List<List<SpanBo>> consumed = new ArrayList<>();
+        List<Integer> partitionSizes = new ArrayList<>();
+        StreamingTransactionSelector selector = new StreamingTransactionSelector(traceDao, executor, 4, 2);
+        selector.select(transactionIdList, null, filter, transactionList -> {
+            partitionSizes.add(transactionList.size());
+            consumed.addAll(transactionList);
+        });
+
+        verify(traceDao, times(7)).selectAllSpans(anyList(), isNull());
+        assertThat(partitionSizes).hasSize(7);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(consumed)
+                .extracting(transaction -> transaction.get(0).getTransactionId().getTransactionSequence())
+                .containsExactlyInAnyOrder(0L, 2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L);
+    }
+
+    @Test
+    public void select_empty() {
+        StreamingTransactionSelector selector = new StreamingTransactionSelector(traceDao, executor, 4, 2);
+        List<List<SpanBo>> consumed = new ArrayList<>();
+        selector.select(List.of(), null, Filter.acceptAllFilter(), consumed::addAll);
+
+        verify(traceDao, times(0)).selectAllSpans(anyList(), isNull());
+        assertThat(consumed).isEmpty();
+    }
+
+    @Test
+    public void select_error() {
+        when(traceDao.selectAllSpans(anyList(), isNull()))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("hbase"));
+
+        StreamingTransactionSelector selector = new StreamingTransactionSelector(traceDao, executor, 4, 1);
+        assertThatThrownBy(() -> selector.select(newTransactionIdList(12), null, Filter.acceptAllFilter(), transactionList -> {}))
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+        // the partitions after the failed one are not selected
+        verify(traceDao, times(2)).selectAllSpans(anyList(), isNull());
+    }
+
+    @Test
+    public void select_error_cancel() {
+        when(traceDao.selectAllSpans(anyList(), isNull()))
+                .thenThrow(new IllegalStateException("hbase"));
+        // runs the first partition on the calling thread and holds the others
+        List<Runnable> queued = new ArrayList<>();
+        Executor holdingExecutor = task -> {
+            if (queued.isEmpty()) {
+                queued.add(() -> {});
+                task.run();
+            } else {
+                queued.add(task);
+            }
+        };
+
+        StreamingTransactionSelector selector = new StreamingTransactionSelector(traceDao, holdingExecutor, 4, 3);
+        assertThatThrownBy(() -> selector.select(newTransactionIdList(12), null, Filter.acceptAllFilter(), transactionList -> {}))
+                .isInstanceOf(CompletionException.class);
+
+        // the queued partitions were cancelled by the failure
+        queued.forEach(Runnable::run);
+        verify(traceDao, times(1)).selectAllSpans(anyList(), isNull());
+    }
+
+    private List<TransactionId> newTransactionIdList(int size) {
+        List<TransactionId> transactionIdList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            transactionIdList.add(new TransactionId("agent", 0, i));
+        }
+        return transactionIdList;
+    }
+
+    private SpanBo newSpan(TransactionId transactionId) {
+        SpanBo spanBo = new SpanBo();
+        spanBo.setTransactionId(transactionId);
+        return spanBo;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class ServerMapDiffTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void update_full() {
+        ServerMapDiff diff = new ServerMapDiff();
+        Map<String, Object> delta = diff.update(map(List.of(node("A", 1), node("B", 1)), List.of(link("A~B", 1))));
+
+        Assertions.assertEquals(true, delta.get(ServerMapDiff.FULL));
+        Assertions.assertEquals(2, ((List<?>) delta.get(ServerMapDiff.NODE_DATA_ARRAY)).size());
+        Assertions.assertEquals(1, ((List<?>) delta.get(ServerMapDiff.LINK_DATA_ARRAY)).size());
+    }
+
+    @Test
+    public void update_delta() {
+        ServerMapDiff diff = new ServerMapDiff();
+        diff.update(map(List.of(node("A", 1), node("B", 1), node("C", 1)), List.of(link("A~B", 1), link("B~C", 1))));
+
+        Map<String, Object> delta = diff.update(map(List.of(node("A", 1), node("B", 2), node("D", 1)), List.of(link("A~B", 1), link("B~D", 1))));
+
+        Assertions.assertEquals(false, delta.get(ServerMapDiff.FULL));
+        Assertions.assertEquals(List.of("B", "D"), keys(delta.get(ServerMapDiff.NODE_DATA_ARRAY)));
+        Assertions.assertEquals(List.of("B~D"), keys(delta.get(ServerMapDiff.LINK_DATA_ARRAY)));
+        Assertions.assertEquals(List.of("C"), delta.get(ServerMapDiff.REMOVED_NODE_KEYS));
+        Assertions.assertEquals(List.of("B~C"), delta.get(ServerMapDiff.REMOVED_LINK_KEYS));
+    }
+
+    @Test
+    public void update_notChanged() {
+        ServerMapDiff diff = new ServerMapDiff();
+        diff.update(map(List.of(node("A", 1)), List.of()));
+
+        Map<String, Object> delta = diff.update(map(List.of(node("A", 1)), List.of()));
+        Assertions.assertTrue(ServerMapDiff.isEmpty(delta));
+    }
+
+    private JsonNode map(List<JsonNode> nodes, List<JsonNode> links) {
+        ObjectNode root = mapper.createObjectNode();
+        ObjectNode applicationMap = root.putObject(ServerMapDiff.APPLICATION_MAP_DATA);
+        ArrayNode nodeArray = applicationMap.putArray(ServerMapDiff.NODE_DATA_ARRAY);
+        nodes.forEach(nodeArray::add);
+        ArrayNode linkArray = applicationMap.putArray(ServerMapDiff.LINK_DATA_ARRAY);
+        links.forEach(linkArray::add);
+        return root;
+    }
+
+    private JsonNode node(String key, long totalCount) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put(ServerMapDiff.KEY, key);
+        node.put("totalCount", totalCount);
+        return node;
+    }
+
+    private JsonNode link(String key, long totalCount) {
+        return node(key, totalCount);
+    }
+
+    private List<String> keys(Object elements) {
+        return ((List<?>) elements).stream()
+                .map(element -> ((JsonNode) element).get(ServerMapDiff.KEY).asText())
+                .toList();
+    }
+}
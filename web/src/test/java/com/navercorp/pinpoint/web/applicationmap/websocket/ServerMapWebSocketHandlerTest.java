@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.service.MapService;
+import com.navercorp.pinpoint.web.component.ApplicationFactory;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ServerMapWebSocketHandlerTest {
+
+    private static final int MAX_SUBSCRIPTIONS = 3;
+
+    private final PinpointWebSocketMessageConverter converter = new PinpointWebSocketMessageConverter(new ObjectMapper());
+
+    private ServerMapWebSocketHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        MapService mapService = mock(MapService.class);
+        ApplicationFactory applicationFactory = mock(ApplicationFactory.class);
+        when(applicationFactory.createApplication(anyString(), anyShort()))
+                .thenAnswer(invocation -> new Application(invocation.getArgument(0), ServiceType.STAND_ALONE));
+
+        handler = new ServerMapWebSocketHandler(mapService, applicationFactory, converter, new ObjectMapper(),
+                null, () -> timerTask -> timerTask,
+                Duration.ofHours(1), Duration.ofMinutes(5), MAX_SUBSCRIPTIONS, 1);
+        handler.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        handler.stop();
+    }
+
+    @Test
+    public void subscribe_shared() throws Exception {
+        WebSocketSession session1 = session("1", "user");
+        WebSocketSession session2 = session("2", "user");
+
+        subscribe(session1, "app");
+        subscribe(session2, "app");
+
+        Assertions.assertEquals(1, handler.getSubscriptionCount());
+        Assertions.assertEquals(2, handler.getSessionCount());
+    }
+
+    @Test
+    public void subscribe_notSharedBetweenUsers() throws Exception {
+        WebSocketSession session1 = session("1", "user1");
+        WebSocketSession session2 = session("2", "user2");
+
+        subscribe(session1, "app");
+        subscribe(session2, "app");
+
+        Assertions.assertEquals(2, handler.getSubscriptionCount());
+        Assertions.assertEquals(2, handler.getSessionCount());
+    }
+
+    @Test
+    public void subscribe_replacePrevious() throws Exception {
+        WebSocketSession session = session("1", "user");
+
+        subscribe(session, "app1");
+        subscribe(session, "app2");
+        subscribe(session, "app2");
+
+        Assertions.assertEquals(1, handler.getSubscriptionCount());
+        Assertions.assertEquals(1, handler.getSessionCount());
+        verify(session, never()).close(CloseStatus.SERVICE_OVERLOAD);
+    }
+
+    @Test
+    public void subscribe_exceeded() throws Exception {
+        for (int i = 0; i < MAX_SUBSCRIPTIONS; i++) {
+            subscribe(session(String.valueOf(i), "user"), "app");
+        }
+        WebSocketSession exceeded = session("exceeded", "user");
+        subscribe(exceeded, "app");
+
+        verify(exceeded).close(CloseStatus.SERVICE_OVERLOAD);
+        Assertions.assertEquals(MAX_SUBSCRIPTIONS, handler.getSessionCount());
+    }
+
+    @Test
+    public void afterConnectionClosed_lastSession() throws Exception {
+        WebSocketSession session1 = session("1", "user");
+        WebSocketSession session2 = session("2", "user");
+        subscribe(session1, "app");
+        subscribe(session2, "app");
+
+        handler.afterConnectionClosed(session1, CloseStatus.NORMAL);
+        Assertions.assertEquals(1, handler.getSubscriptionCount());
+
+        handler.afterConnectionClosed(session2, CloseStatus.NORMAL);
+        Assertions.assertEquals(0, handler.getSubscriptionCount());
+        Assertions.assertEquals(0, handler.getSessionCount());
+    }
+
+    private void subscribe(WebSocketSession session, String applicationName) throws Exception {
+        Map<String, Object> params = Map.of(
+                ServerMapWebSocketHandler.APPLICATION_NAME_KEY, applicationName,
+                ServerMapWebSocketHandler.SERVICE_TYPE_CODE_KEY, ServiceType.STAND_ALONE.getCode());
+        String message = converter.getRequestTextMessage(ServerMapWebSocketHandler.API_SERVER_MAP, params);
+        handler.handleTextMessage(session, new TextMessage(message));
+    }
+
+    private WebSocketSession session(String id, String user) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getPrincipal()).thenReturn(() -> user);
+        return session;
+    }
+}
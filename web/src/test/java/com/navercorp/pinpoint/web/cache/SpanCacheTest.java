@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.cache;
+
+import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.web.service.FetchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SpanCacheTest {
+
+    private static final long NOW = 1_000_000_000L;
+
+    private final TransactionId transactionId = new TransactionId("agent", 1, 1);
+    private final ColumnGetCount columnGetCount = ColumnGetCount.UNLIMITED_COLUMN_GET_COUNT;
+
+    private int loadCount;
+
+    private SpanCache newCache(boolean enable) {
+        return newCache(enable, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    private SpanCache newCache(boolean enable, Clock clock) {
+        return new SpanCache(enable, Duration.ofMinutes(5), 1024 * 1024, Duration.ofMinutes(1), Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    public void hit() {
+        SpanCache cache = newCache(true);
+        long acceptTime = NOW - Duration.ofMinutes(2).toMillis();
+
+        cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime));
+        FetchResult<List<SpanBo>> second = cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime));
+
+        Assertions.assertEquals(1, loadCount);
+        Assertions.assertEquals(1, second.data().size());
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        Assertions.assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    public void hit_copy() {
+        SpanCache cache = newCache(true);
+        long acceptTime = NOW - Duration.ofMinutes(2).toMillis();
+
+        FetchResult<List<SpanBo>> first = cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime));
+        SpanBo firstSpan = first.data().get(0);
+        firstSpan.getAnnotationBoList().add(AnnotationBo.of(2, "replaced"));
+        firstSpan.getSpanEventBoList().get(0).getAnnotationBoList().add(AnnotationBo.of(2, "replaced"));
+        firstSpan.setExceptionClass("replaced");
+
+        SpanBo secondSpan = cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime)).data().get(0);
+
+        Assertions.assertNotSame(firstSpan, secondSpan);
+        Assertions.assertEquals(1, secondSpan.getAnnotationBoList().size());
+        Assertions.assertEquals(1, secondSpan.getSpanEventBoList().get(0).getAnnotationBoList().size());
+        Assertions.assertNull(secondSpan.getExceptionClass());
+        Assertions.assertEquals(firstSpan.getTransactionId(), secondSpan.getTransactionId());
+        Assertions.assertEquals(firstSpan.getElapsed(), secondSpan.getElapsed());
+    }
+
+    @Test
+    public void recentTransaction_notCached() {
+        SpanCache cache = newCache(true);
+        long acceptTime = NOW - Duration.ofSeconds(10).toMillis();
+
+        cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime));
+        cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime));
+
+        Assertions.assertEquals(2, loadCount);
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void disable() {
+        SpanCache cache = newCache(false);
+        long acceptTime = NOW - Duration.ofMinutes(2).toMillis();
+
+        cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime));
+        cache.select(transactionId, columnGetCount, (id, count) -> load(acceptTime));
+
+        Assertions.assertEquals(2, loadCount);
+    }
+
+    @Test
+    public void logStats() {
+        MutableClock clock = new MutableClock(NOW);
+        SpanCache cache = newCache(true, clock);
+
+        Assertions.assertFalse(cache.logStats());
+
+        clock.millis += Duration.ofMinutes(10).toMillis();
+        Assertions.assertTrue(cache.logStats());
+        Assertions.assertFalse(cache.logStats());
+    }
+
+    private FetchResult<List<SpanBo>> load(long acceptTime) {
+        loadCount++;
+
+        SpanBo spanBo = new SpanBo();
+        spanBo.setTransactionId(transactionId);
+        spanBo.setAgentId("agent");
+        spanBo.setElapsed(100);
+        spanBo.setCollectorAcceptTime(acceptTime);
+        spanBo.setAnnotationBoList(new ArrayList<>(List.of(AnnotationBo.of(1, "value"))));
+
+        SpanEventBo spanEventBo = new SpanEventBo();
+        spanEventBo.setSequence((short) 0);
+        spanEventBo.setAnnotationBoList(new ArrayList<>(List.of(AnnotationBo.of(1, "value"))));
+        spanBo.addSpanEvent(spanEventBo);
+
+        return new FetchResult<>(1, new ArrayList<>(List.of(spanBo)));
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
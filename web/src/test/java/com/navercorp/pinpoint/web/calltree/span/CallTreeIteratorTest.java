@@ -59,6 +59,26 @@ public class CallTreeIteratorTest {
         assertEquals(0, iterator.size());
     }
 
+    @Test
+    public void window() {
+        CallTree callTree = factory.get(List.of("R", "##", "###", "####", "##", "###", "##"));
+        List<Align> all = callTree.iterator().values();
+
+        CallTreeIterator depthLimited = callTree.iterator().window(CallTreeWindow.of(0, CallTreeWindow.UNLIMITED, 2));
+        assertEquals(6, depthLimited.size());
+        for (Align align : depthLimited.values()) {
+            assertTrue(align.getDepth() <= 2);
+        }
+
+        List<Align> page = callTree.iterator().window(CallTreeWindow.of(2, 3, 2)).values();
+        assertEquals(3, page.size());
+        assertEquals(List.of(2, 1, 2), page.stream().map(Align::getDepth).toList());
+        assertEquals(all.get(5).getGap(), page.get(2).getGap());
+        assertEquals(all.get(5).getExecutionMilliseconds(), page.get(2).getExecutionMilliseconds());
+
+        assertTrue(callTree.iterator().window(CallTreeWindow.of(7, 10, CallTreeWindow.UNLIMITED)).isEmpty());
+    }
+
     @Test
     public void internal00() {
         // current is internal, prev is internal
@@ -2,14 +2,21 @@ package com.navercorp.pinpoint.web.mapper;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoderV0;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecodingContext;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Assertions;
@@ -92,4 +99,79 @@ public class SpanMapperV2Test {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void decodeInBatches() throws Exception {
+        TransactionId transactionId = new TransactionId("agent", 1000, 1);
+        SpanMapperV2 mapper = new SpanMapperV2(rowKey -> transactionId);
+
+        SpanBo span = newSpan();
+        span.addSpanEvent(newSpanEvent(0));
+
+        SpanChunkBo spanChunk = new SpanChunkBo();
+        spanChunk.setVersion((byte) 1);
+        spanChunk.setAgentId(span.getAgentId());
+        spanChunk.setApplicationId(span.getApplicationId());
+        spanChunk.setAgentStartTime(span.getAgentStartTime());
+        spanChunk.setSpanId(span.getSpanId());
+        spanChunk.setCollectorAcceptTime(2000);
+        spanChunk.addSpanEventBoList(List.of(newSpanEvent(1)));
+
+        SpanEncoder encoder = new SpanEncoderV0();
+        SpanEncodingContext<SpanBo> spanContext = new SpanEncodingContext<>(span);
+        SpanEncodingContext<SpanChunkBo> spanChunkContext = new SpanEncodingContext<>(spanChunk);
+        byte[] rowKey = new byte[]{1};
+        Cell spanCell = newCell(rowKey, encoder.encodeSpanQualifier(spanContext), encoder.encodeSpanColumnValue(spanContext));
+        Cell spanChunkCell = newCell(rowKey, encoder.encodeSpanChunkQualifier(spanChunkContext), encoder.encodeSpanChunkColumnValue(spanChunkContext));
+
+        // the chunk arrives in a later batch than its span
+        SpanMapperV2.RowDecoder rowDecoder = mapper.newRowDecoder(rowKey);
+        rowDecoder.decode(new Cell[]{spanCell});
+        rowDecoder.decode(new Cell[]{spanChunkCell});
+        List<SpanBo> batched = rowDecoder.build();
+
+        List<SpanBo> whole = mapper.mapRow(Result.create(new Cell[]{spanCell, spanChunkCell}), 0);
+
+        assertThat(batched).hasSize(1);
+        assertThat(batched.get(0).getSpanEventBoList()).hasSize(1);
+        assertThat(batched.get(0).getSpanChunkBoList()).hasSize(1);
+        assertThat(batched.get(0).getSpanChunkBoList().get(0).getSpanEventBoList())
+                .extracting(SpanEventBo::getSequence)
+                .containsExactly((short) 1);
+
+        assertThat(whole).hasSize(1);
+        assertThat(whole.get(0).getSpanChunkBoList()).hasSize(1);
+    }
+
+    private SpanBo newSpan() {
+        SpanBo span = new SpanBo();
+        span.setVersion((byte) 1);
+        span.setAgentId("agent");
+        span.setApplicationId("application");
+        span.setAgentStartTime(1000);
+        span.setSpanId(10);
+        span.setParentSpanId(-1);
+        span.setServiceType((short) 1000);
+        span.setCollectorAcceptTime(2000);
+        return span;
+    }
+
+    private SpanEventBo newSpanEvent(int sequence) {
+        SpanEventBo spanEventBo = new SpanEventBo();
+        spanEventBo.setSequence((short) sequence);
+        spanEventBo.setServiceType((short) 1003);
+        spanEventBo.setEndElapsed(10);
+        return spanEventBo;
+    }
+
+    private Cell newCell(byte[] rowKey, ByteBuffer qualifier, ByteBuffer value) {
+        return CellUtil.createCell(rowKey, HbaseColumnFamily.TRACE_V2_SPAN.getName(), toBytes(qualifier),
+                2000, KeyValue.Type.Put.getCode(), toBytes(value));
+    }
+
+    private byte[] toBytes(ByteBuffer byteBuffer) {
+        byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -2,9 +2,14 @@ package com.navercorp.pinpoint.web.service;
 
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.dao.ApplicationHeatMapDao;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
 import com.navercorp.pinpoint.web.scatter.DragAreaQuery;
+import com.navercorp.pinpoint.web.scatter.heatmap.HeatMap;
+import com.navercorp.pinpoint.web.scatter.heatmap.HeatMapTile;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import com.navercorp.pinpoint.web.vo.scatter.Dot;
 import com.navercorp.pinpoint.web.vo.scatter.DotMetaData;
@@ -15,9 +20,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +37,8 @@ public class HeatMapServiceImplTest {
     SpanService spanService;
     @Mock
     DragAreaQuery dragAreaQuery;
+    @Mock
+    ApplicationHeatMapDao applicationHeatMapDao;
 
     private static final String APPLICATION_NAME = "applicationName";
     private static final int LIMIT = 50;
@@ -42,7 +54,7 @@ public class HeatMapServiceImplTest {
         when(applicationTraceIndexDao.scanScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT))
                 .thenReturn(scanResult);
 
-        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao);
+        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao, applicationHeatMapDao, new DefaultTimeSlot(), false);
         Assertions.assertSame(scanResult, heatMapService.dragScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT));
     }
 
@@ -54,9 +66,9 @@ public class HeatMapServiceImplTest {
         LimitedScanResult<List<DotMetaData>> scanResult = new LimitedScanResult<>(1, legacyDotMataData());
         when(applicationTraceIndexDao.scanScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT))
                 .thenReturn(scanResult);
-        when(traceDao.selectSpans(any())).thenReturn(matchingSpanData());
+        when(traceDao.selectSpanSummaries(any())).thenReturn(matchingSpanData());
 
-        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao);
+        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao, applicationHeatMapDao, new DefaultTimeSlot(), false);
         heatMapService.dragScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT);
         Assertions.assertNotSame(scanResult, heatMapService.dragScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT));
     }
@@ -69,9 +81,9 @@ public class HeatMapServiceImplTest {
         LimitedScanResult<List<DotMetaData>> scanResult = new LimitedScanResult<>(1, legacyDotMataData());
         when(applicationTraceIndexDao.scanScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT))
                 .thenReturn(scanResult);
-        when(traceDao.selectSpans(any())).thenReturn(moreSpanData());
+        when(traceDao.selectSpanSummaries(any())).thenReturn(moreSpanData());
 
-        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao);
+        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao, applicationHeatMapDao, new DefaultTimeSlot(), false);
         heatMapService.dragScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT);
         Assertions.assertNotSame(scanResult, heatMapService.dragScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT));
     }
@@ -83,12 +95,56 @@ public class HeatMapServiceImplTest {
 
         LimitedScanResult<List<DotMetaData>> scanResult = new LimitedScanResult<>(1, legacyDotMataData());
         when(applicationTraceIndexDao.scanScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT)).thenReturn(scanResult);
-        when(traceDao.selectSpans(any())).thenReturn(lessSpanData());
+        when(traceDao.selectSpanSummaries(any())).thenReturn(lessSpanData());
 
-        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao);
+        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao, applicationHeatMapDao, new DefaultTimeSlot(), false);
         Assertions.assertThrows(IllegalStateException.class, () -> heatMapService.dragScatterDataV2(APPLICATION_NAME, dragAreaQuery, LIMIT));
     }
 
+    @Test
+    public void getHeatMap_tile() {
+        ApplicationTraceIndexDao applicationTraceIndexDao = mock(ApplicationTraceIndexDao.class);
+        TraceDao traceDao = mock(TraceDao.class);
+
+        final long from = 1_700_000_000_000L;
+        final Range range = Range.between(from, from + TimeUnit.HOURS.toMillis(6));
+        when(applicationHeatMapDao.selectHeatMapTiles(APPLICATION_NAME, range)).thenReturn(List.of(
+                new HeatMapTile(from - 10_000, 100, true, 3),
+                new HeatMapTile(from + 60_000, 1200, true, 5),
+                new HeatMapTile(from + 60_000, 1200, false, 2)
+        ));
+
+        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao, applicationHeatMapDao, new DefaultTimeSlot(), true);
+        LimitedScanResult<HeatMap> result = heatMapService.getHeatMap(APPLICATION_NAME, range, 10000, LIMIT);
+
+        HeatMap heatMap = result.scanData();
+        Assertions.assertEquals(from, result.limitedTime());
+        Assertions.assertEquals(8, heatMap.getSuccess());
+        Assertions.assertEquals(2, heatMap.getFail());
+        Assertions.assertEquals(from, heatMap.getOldestAcceptedTime());
+        Assertions.assertEquals(2, heatMap.getData().size());
+        verify(applicationTraceIndexDao, never()).scanTraceScatterData(any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void getHeatMap_dot() {
+        ApplicationTraceIndexDao applicationTraceIndexDao = mock(ApplicationTraceIndexDao.class);
+        TraceDao traceDao = mock(TraceDao.class);
+
+        final long from = 1_700_000_000_000L;
+        // narrower than a time slot per column
+        final Range range = Range.between(from, from + TimeUnit.MINUTES.toMillis(30));
+        Dot dot = new Dot(TRANSACTION_ID_1, from + 1000, 1200, 0, "dotAgentId1");
+        when(applicationTraceIndexDao.scanTraceScatterData(APPLICATION_NAME, range, LIMIT, true))
+                .thenReturn(new LimitedScanResult<>(from, List.of(dot)));
+
+        HeatMapService heatMapService = new HeatMapServiceImpl(applicationTraceIndexDao, spanService, traceDao, applicationHeatMapDao, new DefaultTimeSlot(), true);
+        HeatMap heatMap = heatMapService.getHeatMap(APPLICATION_NAME, range, 10000, LIMIT).scanData();
+
+        Assertions.assertEquals(1, heatMap.getSuccess());
+        verify(applicationHeatMapDao, never()).selectHeatMapTiles(any(), any());
+    }
+
     private List<DotMetaData> dotMataData() {
         Dot dot1 = new Dot(TRANSACTION_ID_1, 1, 2, 0, "dotAgentId1");
         Dot dot2 = new Dot(TRANSACTION_ID_2, 3, 4, 0, "dotAgentId2");